@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FlushablePool;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Combines the render calls of mostly static geometry like {@link ModelCache} does, but partitions the world in cubic chunks of
+ * {@link #chunkSize}, each having its own {@link ModelCache}. When a {@link RenderableProvider} is added, removed or changed, only
+ * the chunk containing it has to be rebuilt instead of the whole cache. This keeps the benefit of static batching for worlds that
+ * change occasionally, e.g. when a single building of a city is modified.
+ * <p>
+ * A provider is assigned to the chunk containing its position, which by default is the average center of its renderables. Changes
+ * are not detected automatically: call {@link #invalidate(RenderableProvider)} after changing a provider, and call
+ * {@link #update()} once per frame on the render thread to rebuild the invalidated chunks. While a chunk is being rebuilt its
+ * previous contents are rendered.
+ * <p>
+ * Optionally, the vertices of the chunks can be merged on a background thread (see {@link ModelCache#merge()}), in which case only
+ * the transfer to the meshes is done on the render thread. The vertices and indices of the providers are copied on the render
+ * thread when a chunk is rebuilt, so the background thread never accesses their meshes. */
+public class ChunkedModelCache implements RenderableProvider, Disposable {
+	private static class Chunk implements AsyncTask<Void> {
+		final Array<RenderableProvider> providers = new Array<RenderableProvider>();
+		/** The cache being rendered, only valid when {@link #built} is true. */
+		ModelCache front = new ModelCache(new ModelCache.Sorter(), new ModelCache.TightMeshPool());
+		/** The cache being rebuilt. */
+		ModelCache back = new ModelCache(new ModelCache.Sorter(), new ModelCache.TightMeshPool());
+		boolean built;
+		boolean dirty;
+		AsyncResult<Void> pending;
+
+		@Override
+		public Void call () throws Exception {
+			back.merge();
+			return null;
+		}
+
+		void swap () {
+			final ModelCache cache = front;
+			front = back;
+			back = cache;
+			built = true;
+		}
+
+		void dispose () {
+			front.dispose();
+			back.dispose();
+		}
+	}
+
+	/** The size of the chunks in world units. */
+	public final float chunkSize;
+	private final LongMap<Chunk> chunks = new LongMap<Chunk>();
+	private final ObjectMap<RenderableProvider, Chunk> providers = new ObjectMap<RenderableProvider, Chunk>();
+	private final Array<Chunk> building = new Array<Chunk>();
+	private final AsyncExecutor executor;
+	private final Array<Renderable> tmpRenderables = new Array<Renderable>();
+	private final FlushablePool<Renderable> tmpPool = new FlushablePool<Renderable>() {
+		@Override
+		protected Renderable newObject () {
+			return new Renderable();
+		}
+	};
+	private final Vector3 tmpV = new Vector3();
+	private final Vector3 tmpCenter = new Vector3();
+
+	/** Create a cache which rebuilds the chunks on the render thread.
+	 * @param chunkSize The size of the chunks in world units. */
+	public ChunkedModelCache (final float chunkSize) {
+		this(chunkSize, false);
+	}
+
+	/** @param chunkSize The size of the chunks in world units.
+	 * @param background Whether to merge the vertices of the chunks on a background thread. */
+	public ChunkedModelCache (final float chunkSize, final boolean background) {
+		if (chunkSize <= 0f) throw new GdxRuntimeException("chunkSize must be positive");
+		this.chunkSize = chunkSize;
+		this.executor = background ? new AsyncExecutor(1, "ChunkedModelCache") : null;
+	}
+
+	/** Add the provider to the chunk containing the average center of its renderables. */
+	public void add (final RenderableProvider provider) {
+		add(provider, getPosition(provider, tmpCenter));
+	}
+
+	/** Add the provider to the chunk containing the specified position. */
+	public void add (final RenderableProvider provider, final Vector3 position) {
+		if (providers.containsKey(provider)) throw new GdxRuntimeException("Provider already added");
+		final long key = getKey(position);
+		Chunk chunk = chunks.get(key);
+		if (chunk == null) chunks.put(key, chunk = new Chunk());
+		chunk.providers.add(provider);
+		chunk.dirty = true;
+		providers.put(provider, chunk);
+	}
+
+	/** Add all providers, see {@link #add(RenderableProvider)}. */
+	public <T extends RenderableProvider> void add (final Iterable<T> providers) {
+		for (final RenderableProvider provider : providers)
+			add(provider);
+	}
+
+	/** Remove the provider, its chunk is rebuilt on the next call to {@link #update()}.
+	 * @return Whether the provider was part of this cache. */
+	public boolean remove (final RenderableProvider provider) {
+		final Chunk chunk = providers.remove(provider);
+		if (chunk == null) return false;
+		chunk.providers.removeValue(provider, true);
+		chunk.dirty = true;
+		return true;
+	}
+
+	/** Mark the chunk of the provider as changed, e.g. after the geometry or material of the provider was changed. If the provider
+	 * moved to another chunk, both chunks are rebuilt. */
+	public void invalidate (final RenderableProvider provider) {
+		invalidate(provider, getPosition(provider, tmpCenter));
+	}
+
+	/** Mark the chunk of the provider as changed and move it to the chunk containing the specified position if needed. */
+	public void invalidate (final RenderableProvider provider, final Vector3 position) {
+		final Chunk chunk = providers.get(provider);
+		if (chunk == null) throw new GdxRuntimeException("Provider not added");
+		if (chunks.get(getKey(position)) == chunk)
+			chunk.dirty = true;
+		else {
+			remove(provider);
+			add(provider, position);
+		}
+	}
+
+	/** Mark all chunks as changed. */
+	public void invalidateAll () {
+		for (final Chunk chunk : chunks.values())
+			chunk.dirty = true;
+	}
+
+	/** Rebuild the invalidated chunks and upload chunks which finished merging on the background thread. Must be called on the
+	 * render thread, typically once per frame.
+	 * @return The number of chunks which were updated. */
+	public int update () {
+		int result = uploadFinished(false);
+		final LongMap.Entries<Chunk> entries = chunks.entries();
+		while (entries.hasNext()) {
+			final Chunk chunk = entries.next().value;
+			if (!chunk.dirty || chunk.pending != null) continue;
+			chunk.dirty = false;
+			if (chunk.providers.size == 0) {
+				chunk.dispose();
+				entries.remove();
+				result++;
+				continue;
+			}
+			chunk.back.begin();
+			chunk.back.add(chunk.providers);
+			if (executor == null) {
+				chunk.back.end();
+				chunk.swap();
+				result++;
+			} else {
+				chunk.pending = executor.submit(chunk);
+				building.add(chunk);
+			}
+		}
+		return result;
+	}
+
+	/** Like {@link #update()}, but waits for all chunks to be merged on the background thread, e.g. while loading a level.
+	 * @return The number of chunks which were updated. */
+	public int finishUpdate () {
+		final int result = update();
+		return result + uploadFinished(true);
+	}
+
+	private int uploadFinished (final boolean wait) {
+		int result = 0;
+		for (int i = building.size - 1; i >= 0; i--) {
+			final Chunk chunk = building.get(i);
+			if (!wait && !chunk.pending.isDone()) continue;
+			chunk.pending.get();
+			chunk.pending = null;
+			chunk.back.upload();
+			chunk.swap();
+			building.removeIndex(i);
+			result++;
+		}
+		return result;
+	}
+
+	/** @return The number of chunks, including chunks which aren't built yet. */
+	public int getChunkCount () {
+		return chunks.size;
+	}
+
+	/** @return Whether any chunk is invalidated or still being merged on the background thread. */
+	public boolean isUpdating () {
+		if (building.size > 0) return true;
+		for (final Chunk chunk : chunks.values())
+			if (chunk.dirty) return true;
+		return false;
+	}
+
+	@Override
+	public void getRenderables (final Array<Renderable> renderables, final Pool<Renderable> pool) {
+		for (final Chunk chunk : chunks.values())
+			if (chunk.built) chunk.front.getRenderables(renderables, pool);
+	}
+
+	/** @return The chunk key of the position, the chunk coordinates are packed in 21 bits each. */
+	private long getKey (final Vector3 position) {
+		final long x = MathUtils.floor(position.x / chunkSize) & 0x1FFFFF;
+		final long y = MathUtils.floor(position.y / chunkSize) & 0x1FFFFF;
+		final long z = MathUtils.floor(position.z / chunkSize) & 0x1FFFFF;
+		return x | y << 21 | z << 42;
+	}
+
+	/** @return The average center of the renderables of the provider in world coordinates. */
+	private Vector3 getPosition (final RenderableProvider provider, final Vector3 out) {
+		provider.getRenderables(tmpRenderables, tmpPool);
+		out.setZero();
+		for (final Renderable renderable : tmpRenderables)
+			out.add(tmpV.set(renderable.meshPart.center).mul(renderable.worldTransform));
+		if (tmpRenderables.size > 0) out.scl(1f / tmpRenderables.size);
+		tmpRenderables.clear();
+		tmpPool.flush();
+		return out;
+	}
+
+	@Override
+	public void dispose () {
+		if (executor != null) executor.dispose();
+		for (final Chunk chunk : chunks.values())
+			chunk.dispose();
+		chunks.clear();
+		providers.clear();
+		building.clear();
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.utils.MeshSimplifier;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+
+/** A {@link RenderableProvider} which holds multiple levels of detail of the same object, where each level is a
+ * {@link ModelInstance}. Call {@link #update(Camera)} every frame (or whenever the camera moved) to select the level based on the
+ * projected size of the object on the screen. Level 0 is the most detailed level, each next level should be less detailed. Each
+ * level has a minimum screen size, which is the fraction of the viewport height that the bounding sphere of the object must cover
+ * for the level to be used. If the object is smaller than the minimum screen size of the last level, nothing is rendered. A
+ * hysteresis is applied to avoid switching back and forth when the screen size is close to the minimum screen size of a level.
+ * <p>
+ * All levels share the {@link #transform} of this instance. When added to a {@link ModelCache}, the currently selected level is
+ * added; use the return value of {@link #update(Camera)} or {@link #update(Iterable, Camera)} to decide when the cache needs to be
+ * rebuilt. See {@link MeshSimplifier} to generate the less detailed levels. */
+public class LodModelInstance implements RenderableProvider {
+	/** The levels of detail, the first being the most detailed. */
+	public final Array<ModelInstance> levels = new Array<ModelInstance>();
+	/** The minimum screen size for each level, in descending order. */
+	public final FloatArray minScreenSizes = new FloatArray();
+	/** The world transform, shared by all levels. */
+	public final Matrix4 transform;
+	/** The relative margin around the minimum screen size of a level, in which the level isn't changed (default: 0.1f). */
+	public float hysteresis = 0.1f;
+	/** The center of the bounding sphere in local coordinates, see {@link #calculateBounds()}. */
+	public final Vector3 center = new Vector3();
+	/** The radius of the bounding sphere in local coordinates, see {@link #calculateBounds()}. */
+	public float radius = -1f;
+	private int level;
+
+	public LodModelInstance () {
+		this(new Matrix4());
+	}
+
+	public LodModelInstance (final Matrix4 transform) {
+		this.transform = transform;
+	}
+
+	/** Create an instance with a level for each of the models.
+	 * @param minScreenSizes The minimum screen size for each model, in descending order. */
+	public LodModelInstance (final Model[] models, final float[] minScreenSizes) {
+		this(new Matrix4());
+		if (models.length != minScreenSizes.length) throw new GdxRuntimeException("Each model needs a minimum screen size");
+		for (int i = 0; i < models.length; i++)
+			addLevel(models[i], minScreenSizes[i]);
+	}
+
+	/** Add a less detailed level, which is used when the screen size is at least the specified size.
+	 * @return This instance for chaining. */
+	public LodModelInstance addLevel (final Model model, final float minScreenSize) {
+		return addLevel(new ModelInstance(model), minScreenSize);
+	}
+
+	/** Add a less detailed level, which is used when the screen size is at least the specified size. The transform of the instance
+	 * is replaced by the {@link #transform} of this LodModelInstance.
+	 * @return This instance for chaining. */
+	public LodModelInstance addLevel (final ModelInstance instance, final float minScreenSize) {
+		if (minScreenSizes.size > 0 && minScreenSize > minScreenSizes.peek())
+			throw new GdxRuntimeException("Levels must be added in order of decreasing detail");
+		instance.transform = transform;
+		levels.add(instance);
+		minScreenSizes.add(minScreenSize);
+		if (levels.size == 1) calculateBounds();
+		return this;
+	}
+
+	/** Calculate the local bounding sphere from the bounding box of the most detailed level. This is automatically called when the
+	 * first level is added. */
+	public void calculateBounds () {
+		if (levels.size == 0) throw new GdxRuntimeException("No levels");
+		levels.first().calculateBoundingBox(tmpBounds);
+		tmpBounds.getCenter(center);
+		radius = tmpBounds.getDimensions(tmpV).len() * 0.5f;
+	}
+
+	/** @return The currently selected level, or {@link #getLevelCount()} if the instance is too small to be rendered. */
+	public int getLevel () {
+		return level;
+	}
+
+	/** Force a specific level, until the next call to {@link #update(Camera)}. */
+	public void setLevel (final int level) {
+		if (level < 0 || level > levels.size) throw new GdxRuntimeException("Invalid level: " + level);
+		this.level = level;
+	}
+
+	public int getLevelCount () {
+		return levels.size;
+	}
+
+	/** @return The model instance of the currently selected level, or null if nothing is rendered. */
+	public ModelInstance getCurrent () {
+		return level < levels.size ? levels.get(level) : null;
+	}
+
+	/** @return The fraction of the viewport height that the bounding sphere covers, which might be greater than one if it is very
+	 *         close to the camera. This is an approximation, which is exact for a sphere in the center of the screen. */
+	public float getScreenSize (final Camera camera) {
+		final Vector3 worldCenter = tmpV.set(center).mul(transform);
+		transform.getScale(tmpScale);
+		final float worldRadius = radius * Math.max(Math.abs(tmpScale.x), Math.max(Math.abs(tmpScale.y), Math.abs(tmpScale.z)));
+		final float[] view = camera.view.val;
+		final float[] proj = camera.projection.val;
+		final float viewZ = view[Matrix4.M20] * worldCenter.x + view[Matrix4.M21] * worldCenter.y + view[Matrix4.M22]
+			* worldCenter.z + view[Matrix4.M23];
+		final float w = proj[Matrix4.M32] * viewZ + proj[Matrix4.M33];
+		if (w <= worldRadius * Math.abs(proj[Matrix4.M32])) return Float.POSITIVE_INFINITY;
+		return worldRadius * proj[Matrix4.M11] / w;
+	}
+
+	/** Select the level to render, based on the screen size of this instance as seen by the camera.
+	 * @return True if the level changed, false otherwise. */
+	public boolean update (final Camera camera) {
+		return selectLevel(getScreenSize(camera));
+	}
+
+	/** Select the level to render for the specified screen size, applying the {@link #hysteresis}.
+	 * @return True if the level changed, false otherwise. */
+	public boolean selectLevel (final float screenSize) {
+		final float[] sizes = minScreenSizes.items;
+		final int n = minScreenSizes.size;
+		int target = 0;
+		while (target < n && screenSize < sizes[target] * (target < level ? 1f + hysteresis : 1f - hysteresis))
+			target++;
+		if (target == level) return false;
+		level = target;
+		return true;
+	}
+
+	/** Update all instances, see {@link #update(Camera)}.
+	 * @return True if the level of any of the instances changed, e.g. to decide whether a {@link ModelCache} needs to be rebuilt. */
+	public static boolean update (final Iterable<LodModelInstance> instances, final Camera camera) {
+		boolean result = false;
+		for (final LodModelInstance instance : instances)
+			result |= instance.update(camera);
+		return result;
+	}
+
+	@Override
+	public void getRenderables (final Array<Renderable> renderables, final Pool<Renderable> pool) {
+		if (level < levels.size) levels.get(level).getRenderables(renderables, pool);
+	}
+
+	private final static BoundingBox tmpBounds = new BoundingBox();
+	private final static Vector3 tmpV = new Vector3();
+	private final static Vector3 tmpScale = new Vector3();
+}
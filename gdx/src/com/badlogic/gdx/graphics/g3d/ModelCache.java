@@ -27,9 +27,13 @@ import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.FlushablePool;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ShortArray;
 
 /** ModelCache tries to combine multiple render calls into a single render call by merging them where possible. Can be used for
  * multiple type of models (e.g. varying vertex attributes or materials), the ModelCache will combine where possible. Can be used
@@ -178,9 +182,23 @@ public class ModelCache implements Disposable, RenderableProvider {
 
 	private Array<Renderable> items = new Array<Renderable>();
 	private Array<Renderable> tmp = new Array<Renderable>();
-
-	private MeshBuilder meshBuilder;
+	private FloatArray tmpVertices = new FloatArray();
+	/** The vertices of the meshes and the indices of the mesh parts added to the cache, copied on the render thread so that
+	 * {@link #merge()} doesn't access the meshes. */
+	private FloatArray vertexData = new FloatArray();
+	private ShortArray indexData = new ShortArray();
+	/** The offset of the vertices of each added mesh in vertexData. */
+	private ObjectIntMap<Mesh> meshOffsets = new ObjectIntMap<Mesh>();
+	/** The index of the vertex offset, vertex count and index offset of each item in itemData. */
+	private ObjectIntMap<Renderable> itemOffsets = new ObjectIntMap<Renderable>();
+	private IntArray itemData = new IntArray();
+
+	private Array<MeshBuilder> meshBuilders = new Array<MeshBuilder>();
+	private int meshBuilderCount;
+	private Array<MeshPart> mergedParts = new Array<MeshPart>();
+	private int mergedOffset;
 	private boolean building;
+	private boolean merged;
 	private RenderableSorter sorter;
 	private MeshPool meshPool;
 	private Camera camera;
@@ -198,7 +216,6 @@ public class ModelCache implements Disposable, RenderableProvider {
 	public ModelCache (RenderableSorter sorter, MeshPool meshPool) {
 		this.sorter = sorter;
 		this.meshPool = meshPool;
-		meshBuilder = new MeshBuilder();
 	}
 
 	/** Begin creating the cache, must be followed by a call to {@link #end()}, in between these calls one or more calls to one of
@@ -216,6 +233,7 @@ public class ModelCache implements Disposable, RenderableProvider {
 	 * @param camera The {@link Camera} that will passed to the {@link RenderableSorter} */
 	public void begin (Camera camera) {
 		if (building) throw new GdxRuntimeException("Call end() after calling begin()");
+		if (merged) throw new GdxRuntimeException("Call upload() after calling merge()");
 		building = true;
 
 		this.camera = camera;
@@ -224,6 +242,15 @@ public class ModelCache implements Disposable, RenderableProvider {
 		items.clear();
 		meshPartPool.flush();
 		meshPool.flush();
+		clearData();
+	}
+
+	private void clearData () {
+		vertexData.clear();
+		indexData.clear();
+		meshOffsets.clear();
+		itemOffsets.clear();
+		itemData.clear();
 	}
 
 	private Renderable obtainRenderable (Material material, int primitiveType) {
@@ -244,28 +271,40 @@ public class ModelCache implements Disposable, RenderableProvider {
 		return result;
 	}
 
+	private MeshBuilder obtainMeshBuilder (VertexAttributes vertexAttributes) {
+		if (meshBuilderCount == meshBuilders.size) meshBuilders.add(new MeshBuilder());
+		final MeshBuilder result = meshBuilders.get(meshBuilderCount++);
+		result.begin(vertexAttributes);
+		return result;
+	}
+
 	/** Finishes creating the cache, must be called after a call to {@link #begin()}, only after this call the cache will be valid
 	 * (until the next call to {@link #begin()}). Calling this method will process all renderables added using one of the add(...)
-	 * methods and will combine them if possible. */
+	 * methods and will combine them if possible. This is the same as calling {@link #merge()} followed by {@link #upload()}. */
 	public void end () {
 		if (!building) throw new GdxRuntimeException("Call begin() prior to calling end()");
+		merge();
+		upload();
+	}
+
+	/** The first part of {@link #end()}, which combines the vertices of all renderables added using one of the add(...) methods in
+	 * memory, but doesn't create or update any {@link Mesh}. Because this doesn't require the OpenGL context, this method can be
+	 * called on another thread, e.g. to avoid stalling the render thread while building a large cache. The cache is not valid until
+	 * {@link #upload()} is called on the render thread. The vertices and indices of the meshes are copied when they are added, so
+	 * merging doesn't access the buffers of the meshes. */
+	public void merge () {
+		if (!building) throw new GdxRuntimeException("Call begin() prior to calling merge()");
 		building = false;
+		merged = true;
 
+		mergedOffset = renderables.size;
 		if (items.size == 0) return;
 		sorter.sort(camera, items);
 
-		int itemCount = items.size;
-		int initCount = renderables.size;
-
-		final Renderable first = items.get(0);
-		VertexAttributes vertexAttributes = first.meshPart.mesh.getVertexAttributes();
-		Material material = first.material;
-		int primitiveType = first.meshPart.primitiveType;
-		int offset = renderables.size;
-
-		meshBuilder.begin(vertexAttributes);
-		MeshPart part = meshBuilder.part("", primitiveType, meshPartPool.obtain());
-		renderables.add(obtainRenderable(material, primitiveType));
+		MeshBuilder meshBuilder = null;
+		VertexAttributes vertexAttributes = null;
+		Material material = null;
+		int primitiveType = -1;
 
 		for (int i = 0, n = items.size; i < n; ++i) {
 			final Renderable renderable = items.get(i);
@@ -273,40 +312,85 @@ public class ModelCache implements Disposable, RenderableProvider {
 			final Material mat = renderable.material;
 			final int pt = renderable.meshPart.primitiveType;
 
-			final boolean sameMesh = va.equals(vertexAttributes)
+			final boolean sameMesh = meshBuilder != null && va.equals(vertexAttributes)
 				&& renderable.meshPart.size + meshBuilder.getNumVertices() < Short.MAX_VALUE; // comparing indices and vertices...
 			final boolean samePart = sameMesh && pt == primitiveType && mat.same(material, true);
 
 			if (!samePart) {
-				if (!sameMesh) {
-					final Mesh mesh = meshBuilder.end(meshPool.obtain(vertexAttributes, meshBuilder.getNumVertices(),
-						meshBuilder.getNumIndices()));
-					while (offset < renderables.size)
-						renderables.get(offset++).meshPart.mesh = mesh;
-					meshBuilder.begin(vertexAttributes = va);
-				}
-
-				final MeshPart newPart = meshBuilder.part("", pt, meshPartPool.obtain());
-				final Renderable previous = renderables.get(renderables.size - 1);
-				previous.meshPart.offset = part.offset;
-				previous.meshPart.size = part.size;
-				part = newPart;
-
+				if (!sameMesh) meshBuilder = obtainMeshBuilder(vertexAttributes = va);
+				mergedParts.add(meshBuilder.part("", pt, meshPartPool.obtain()));
 				renderables.add(obtainRenderable(material = mat, primitiveType = pt));
 			}
 
 			meshBuilder.setVertexTransform(renderable.worldTransform);
-			meshBuilder.addMesh(renderable.meshPart.mesh, renderable.meshPart.offset, renderable.meshPart.size);
+			addMesh(meshBuilder, renderable);
 		}
+	}
 
-		final Mesh mesh = meshBuilder.end(meshPool.obtain(vertexAttributes, meshBuilder.getNumVertices(),
-			meshBuilder.getNumIndices()));
-		while (offset < renderables.size)
-			renderables.get(offset++).meshPart.mesh = mesh;
+	/** Adds the vertices and indices of the item copied by {@link #copyData(Renderable)} to the builder. */
+	private void addMesh (MeshBuilder meshBuilder, Renderable renderable) {
+		if (renderable.meshPart.size <= 0) return;
+		final int item = itemOffsets.get(renderable, -1);
+		final int vertexOffset = itemData.get(item), vertexCount = itemData.get(item + 1);
+		// The builder indexes the vertices from the start of the array, so the vertices of the mesh are moved to the start
+		tmpVertices.clear();
+		tmpVertices.ensureCapacity(vertexCount);
+		System.arraycopy(vertexData.items, vertexOffset, tmpVertices.items, 0, vertexCount);
+		meshBuilder.addMesh(tmpVertices.items, indexData.items, itemData.get(item + 2), renderable.meshPart.size);
+	}
 
-		final Renderable previous = renderables.get(renderables.size - 1);
-		previous.meshPart.offset = part.offset;
-		previous.meshPart.size = part.size;
+	/** Copies the vertices of the mesh, unless already copied, and the indices of the mesh part of the renderable. */
+	private void copyData (Renderable renderable) {
+		final MeshPart meshPart = renderable.meshPart;
+		if (meshPart.size <= 0 || itemOffsets.containsKey(renderable)) return;
+		final Mesh mesh = meshPart.mesh;
+		final int vertexCount = mesh.getNumVertices() * mesh.getVertexSize() / 4;
+		int vertexOffset = meshOffsets.get(mesh, -1);
+		if (vertexOffset < 0) {
+			meshOffsets.put(mesh, vertexOffset = vertexData.size);
+			vertexData.ensureCapacity(vertexCount);
+			mesh.getVertices(0, vertexCount, vertexData.items, vertexOffset);
+			vertexData.size += vertexCount;
+		}
+		final int indexOffset = indexData.size;
+		indexData.ensureCapacity(meshPart.size);
+		if (mesh.getNumIndices() > 0)
+			mesh.getIndices(meshPart.offset, meshPart.size, indexData.items, indexOffset);
+		else {
+			for (int i = 0; i < meshPart.size; i++)
+				indexData.items[indexOffset + i] = (short)(meshPart.offset + i);
+		}
+		indexData.size += meshPart.size;
+		itemOffsets.put(renderable, itemData.size);
+		itemData.add(vertexOffset);
+		itemData.add(vertexCount);
+		itemData.add(indexOffset);
+	}
+
+	/** The second part of {@link #end()}, which transfers the vertices combined by {@link #merge()} to the meshes obtained from the
+	 * {@link MeshPool}. Must be called on the render thread, after which the cache is valid (until the next call to
+	 * {@link #begin()}). */
+	public void upload () {
+		if (!merged) throw new GdxRuntimeException("Call merge() prior to calling upload()");
+		merged = false;
+
+		for (int i = 0; i < meshBuilderCount; i++) {
+			final MeshBuilder meshBuilder = meshBuilders.get(i);
+			meshBuilder.end(meshPool.obtain(meshBuilder.getAttributes(), meshBuilder.getNumVertices(), meshBuilder.getNumIndices()));
+		}
+		// Keep a single builder for caches that are rebuilt frequently, release the memory used by any others
+		if (meshBuilders.size > 1) meshBuilders.truncate(1);
+		meshBuilderCount = 0;
+
+		for (int i = 0, n = mergedParts.size; i < n; i++) {
+			final MeshPart part = mergedParts.get(i);
+			final MeshPart target = renderables.get(mergedOffset + i).meshPart;
+			target.mesh = part.mesh;
+			target.offset = part.offset;
+			target.size = part.size;
+		}
+		mergedParts.clear();
+		clearData();
 	}
 
 	/** Adds the specified {@link Renderable} to the cache. Must be called in between a call to {@link #begin()} and {@link #end()}.
@@ -318,9 +402,10 @@ public class ModelCache implements Disposable, RenderableProvider {
 	 * @param renderable The {@link Renderable} to add, should not change while the cache is needed. */
 	public void add (Renderable renderable) {
 		if (!building) throw new GdxRuntimeException("Can only add items to the ModelCache in between .begin() and .end()");
-		if (renderable.bones == null)
+		if (renderable.bones == null) {
+			copyData(renderable);
 			items.add(renderable);
-		else
+		} else
 			renderables.add(renderable);
 	}
 
@@ -341,6 +426,7 @@ public class ModelCache implements Disposable, RenderableProvider {
 	@Override
 	public void getRenderables (Array<Renderable> renderables, Pool<Renderable> pool) {
 		if (building) throw new GdxRuntimeException("Cannot render a ModelCache in between .begin() and .end()");
+		if (merged) throw new GdxRuntimeException("Cannot render a ModelCache in between .merge() and .upload()");
 		for (Renderable r : this.renderables) {
 			r.shader = null;
 			r.environment = null;
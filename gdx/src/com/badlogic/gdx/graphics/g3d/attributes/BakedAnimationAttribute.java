@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.attributes;
+
+import com.badlogic.gdx.graphics.g3d.Attribute;
+import com.badlogic.gdx.graphics.g3d.model.BakedAnimation;
+import com.badlogic.gdx.graphics.g3d.model.BakedAnimation.Clip;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** Plays a clip of a {@link BakedAnimation} completely on the GPU. When this attribute is present the default shader samples the
+ * bone matrices from {@link BakedAnimation#getTexture()} instead of using {@link com.badlogic.gdx.graphics.g3d.Renderable#bones},
+ * which means that no CPU time is spent animating the instance. The current frame is calculated from the shared
+ * {@link BakedAnimation#time}, the {@link #speed} and the {@link #offset}, so give each instance a different offset to avoid all
+ * instances moving in lock-step. */
+public class BakedAnimationAttribute extends Attribute {
+	public final static String Alias = "bakedAnimation";
+	public final static long Type = register(Alias);
+
+	public final static boolean is (final long mask) {
+		return (mask & Type) == mask;
+	}
+
+	/** The baked animation to sample the bones from */
+	public BakedAnimation animation;
+	/** The index of the {@link Clip} within the {@link #animation} to play */
+	public int clip;
+	/** The time offset in seconds, added to the time of the animation */
+	public float offset;
+	/** The playback speed, 1 for normal speed */
+	public float speed = 1f;
+
+	public BakedAnimationAttribute (final BakedAnimation animation) {
+		this(animation, 0, 0f, 1f);
+	}
+
+	public BakedAnimationAttribute (final BakedAnimation animation, final String clipId, final float offset) {
+		this(animation, animation.getClipIndex(clipId), offset, 1f);
+		if (clip < 0) throw new GdxRuntimeException("Unknown clip: " + clipId);
+	}
+
+	public BakedAnimationAttribute (final BakedAnimation animation, final int clip, final float offset, final float speed) {
+		super(Type);
+		this.animation = animation;
+		this.clip = clip;
+		this.offset = offset;
+		this.speed = speed;
+	}
+
+	public BakedAnimationAttribute (final BakedAnimationAttribute copyFrom) {
+		this(copyFrom.animation, copyFrom.clip, copyFrom.offset, copyFrom.speed);
+	}
+
+	/** @return the {@link Clip} being played */
+	public Clip getClip () {
+		return animation.clips.get(clip);
+	}
+
+	@Override
+	public Attribute copy () {
+		return new BakedAnimationAttribute(this);
+	}
+
+	@Override
+	public int hashCode () {
+		int result = super.hashCode();
+		result = 953 * result + (animation == null ? 0 : animation.hashCode());
+		result = 953 * result + clip;
+		result = 953 * result + NumberUtils.floatToRawIntBits(offset);
+		result = 953 * result + NumberUtils.floatToRawIntBits(speed);
+		return result;
+	}
+
+	@Override
+	public int compareTo (Attribute o) {
+		if (type != o.type) return (int)(type - o.type);
+		final BakedAnimationAttribute other = (BakedAnimationAttribute)o;
+		if (animation != other.animation) {
+			final int h1 = animation == null ? 0 : animation.hashCode();
+			final int h2 = other.animation == null ? 0 : other.animation.hashCode();
+			return h1 < h2 ? -1 : (h1 > h2 ? 1 : 0);
+		}
+		if (clip != other.clip) return clip - other.clip;
+		if (!MathUtils.isEqual(speed, other.speed)) return speed < other.speed ? -1 : 1;
+		return MathUtils.isEqual(offset, other.offset) ? 0 : (offset < other.offset ? -1 : 1);
+	}
+}
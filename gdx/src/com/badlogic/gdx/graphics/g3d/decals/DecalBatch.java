@@ -17,13 +17,17 @@
 package com.badlogic.gdx.graphics.g3d.decals;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.SortedIntList;
 
@@ -46,12 +50,24 @@ import com.badlogic.gdx.utils.SortedIntList;
  * states, culling etc. for more details see the {@link GroupStrategy} java doc.<br/>
  * While it shouldn't be necessary to change strategies, if you have to do so, do it before calling {@link #add(Decal)}, and if
  * you already did, call {@link #flush()} first.
+ * </p>
+ * <p>
+ * Decals which don't change, like bullet holes, can be added once using {@link #addStatic(Decal)} instead of every frame. Their
+ * vertices are kept in static meshes, one for each cell of {@link #getStaticCellSize()} and material, which are only rebuilt when
+ * a static decal of that cell is added, removed or {@link #invalidateStatic(Decal) invalidated}. The static decals are rendered
+ * together with the decals of their group on every {@link #flush()}, before the dynamic decals of that group and without being
+ * sorted individually. The cells can be culled using {@link #setStaticCulling(Camera)}.
  * </p> */
 public class DecalBatch implements Disposable {
 	private static final int DEFAULT_SIZE = 1000;
 	private float[] vertices;
 	private Mesh mesh;
 
+	private Camera staticCullingCamera;
+	final StaticDecalBuckets staticBuckets = new StaticDecalBuckets();
+	/** The vertices of a static mesh being rebuilt, grown to the largest mesh. */
+	private float[] staticVertices;
+
 	private final SortedIntList<Array<Decal>> groupList = new SortedIntList<Array<Decal>>();
 	private GroupStrategy groupStrategy;
 	private final Pool<Array<Decal>> groupPool = new Pool<Array<Decal>>(16) {
@@ -130,6 +146,122 @@ public class DecalBatch implements Disposable {
 		targetGroup.add(decal);
 	}
 
+	/** Add a decal which is rendered on every {@link #flush()} until it is {@link #removeStatic(Decal) removed}. The decal must
+	 * not be changed afterwards unless {@link #invalidateStatic(Decal)} is called. The group of the decal is decided by the
+	 * current {@link GroupStrategy}. */
+	public void addStatic (Decal decal) {
+		staticBuckets.add(decal, groupStrategy.decideGroup(decal));
+	}
+
+	/** Remove a decal added with {@link #addStatic(Decal)}.
+	 * @return Whether the decal was a static decal of this batch. */
+	public boolean removeStatic (Decal decal) {
+		return staticBuckets.remove(decal);
+	}
+
+	/** Mark a static decal as changed, e.g. after its position, size, color or material was changed, so its cell is rebuilt on the
+	 * next {@link #flush()}. */
+	public void invalidateStatic (Decal decal) {
+		staticBuckets.invalidate(decal, groupStrategy.decideGroup(decal));
+	}
+
+	/** Remove all static decals and dispose their meshes. */
+	public void clearStatic () {
+		staticBuckets.clear();
+		staticVertices = null;
+	}
+
+	/** @return The number of static decals. */
+	public int getStaticCount () {
+		return staticBuckets.decals.size;
+	}
+
+	/** @return The size of the cells in which the static decals are grouped in world units. */
+	public float getStaticCellSize () {
+		return staticBuckets.cellSize;
+	}
+
+	/** Sets the size of the cells in which the static decals are grouped, can only be changed while there are no static decals.
+	 * Smaller cells are rebuilt and culled more precisely, larger cells require less draw calls. */
+	public void setStaticCellSize (float staticCellSize) {
+		if (staticCellSize <= 0f) throw new GdxRuntimeException("staticCellSize must be positive");
+		if (staticBuckets.decals.size > 0)
+			throw new GdxRuntimeException("Can't change the cell size while there are static decals");
+		staticBuckets.cellSize = staticCellSize;
+	}
+
+	/** Sets the camera against which the cells of the static decals are culled, or null to render all cells. Typically the camera
+	 * of the {@link CameraGroupStrategy}. */
+	public void setStaticCulling (Camera camera) {
+		this.staticCullingCamera = camera;
+	}
+
+	/** Rebuilds the static meshes of the changed cells and makes sure the groups of the static decals are rendered. */
+	private void updateStatic () {
+		staticBuckets.removeEmpty();
+		for (IntMap.Entry<Array<StaticDecalBuckets.Bucket>> entry : staticBuckets.groups) {
+			final Array<StaticDecalBuckets.Bucket> buckets = entry.value;
+			for (StaticDecalBuckets.Bucket bucket : buckets)
+				if (bucket.dirty) build(bucket);
+			if (groupList.get(entry.key) == null) {
+				final Array<Decal> group = groupPool.obtain();
+				group.clear();
+				usedGroups.add(group);
+				groupList.insert(entry.key, group);
+			}
+		}
+	}
+
+	private void build (StaticDecalBuckets.Bucket bucket) {
+		bucket.dirty = false;
+		bucket.count = bucket.decals.size;
+		bucket.bounds.inf();
+		if (bucket.mesh == null || bucket.mesh.getMaxVertices() < bucket.count * 4) {
+			if (bucket.mesh != null) bucket.mesh.dispose();
+			final int capacity = Math.min(StaticDecalBuckets.MAX_SIZE, MathUtils.nextPowerOfTwo(bucket.count));
+			bucket.mesh = new Mesh(Gdx.gl30 != null ? Mesh.VertexDataType.VertexBufferObjectWithVAO
+				: Mesh.VertexDataType.VertexBufferObject, true, capacity * 4, capacity * 6, new VertexAttribute(
+				VertexAttributes.Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(
+				VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE), new VertexAttribute(
+				VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			final short[] indices = new short[capacity * 6];
+			for (int i = 0, v = 0; i < indices.length; i += 6, v += 4) {
+				indices[i] = (short)(v);
+				indices[i + 1] = (short)(v + 2);
+				indices[i + 2] = (short)(v + 1);
+				indices[i + 3] = (short)(v + 1);
+				indices[i + 4] = (short)(v + 2);
+				indices[i + 5] = (short)(v + 3);
+			}
+			bucket.mesh.setIndices(indices);
+		}
+		float[] data = staticVertices;
+		if (data == null || data.length < bucket.count * Decal.SIZE)
+			staticVertices = data = new float[Math.min(StaticDecalBuckets.MAX_SIZE, MathUtils.nextPowerOfTwo(bucket.count))
+				* Decal.SIZE];
+		int idx = 0;
+		for (Decal decal : bucket.decals) {
+			decal.update();
+			System.arraycopy(decal.vertices, 0, data, idx, Decal.SIZE);
+			for (int v = 0; v < Decal.SIZE; v += Decal.SIZE / 4)
+				bucket.bounds.ext(data[idx + v], data[idx + v + 1], data[idx + v + 2]);
+			idx += Decal.SIZE;
+		}
+		bucket.mesh.setVertices(data, 0, idx);
+	}
+
+	/** Renders the static decals of a group. */
+	private void renderStatic (ShaderProgram shader, int group) {
+		final Array<StaticDecalBuckets.Bucket> buckets = staticBuckets.groups.get(group);
+		if (buckets == null) return;
+		for (StaticDecalBuckets.Bucket bucket : buckets) {
+			if (bucket.count == 0) continue;
+			if (staticCullingCamera != null && !staticCullingCamera.frustum.boundsInFrustum(bucket.bounds)) continue;
+			bucket.material.set();
+			bucket.mesh.render(shader, GL20.GL_TRIANGLES, 0, bucket.count * 6);
+		}
+	}
+
 	/** Flush this batch sending all contained decals to GL. After flushing the batch is empty once again. */
 	public void flush () {
 		render();
@@ -138,10 +270,12 @@ public class DecalBatch implements Disposable {
 
 	/** Renders all decals to the buffer and flushes the buffer to the GL when full/done */
 	protected void render () {
+		if (staticBuckets.groups.size > 0) updateStatic();
 		groupStrategy.beforeGroups();
 		for (SortedIntList.Node<Array<Decal>> group : groupList) {
 			groupStrategy.beforeGroup(group.index, group.value);
 			ShaderProgram shader = groupStrategy.getGroupShader(group.index);
+			if (staticBuckets.groups.size > 0) renderStatic(shader, group.index);
 			render(shader, group.value);
 			groupStrategy.afterGroup(group.index);
 		}
@@ -198,6 +332,7 @@ public class DecalBatch implements Disposable {
 	 * {@link #initialize(int) initialized} again. */
 	public void dispose () {
 		clear();
+		clearStatic();
 		vertices = null;
 		mesh.dispose();
 	}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.decals;
+
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** The static decals of a {@link DecalBatch}, assigned to buckets by group, cell and material. The meshes of the buckets are
+ * built and rendered by the batch. */
+class StaticDecalBuckets {
+	/** The maximum number of decals of a bucket, limited by the short indices of its mesh. */
+	static final int MAX_SIZE = 16383;
+
+	/** A static mesh holding the decals of a group, cell and material. */
+	static class Bucket {
+		final Array<Decal> decals = new Array<Decal>(false, 16);
+		final BoundingBox bounds = new BoundingBox();
+		final int group;
+		final long cell;
+		/** A copy of the material of the decals, the material of a decal is changed in place by
+		 * {@link Decal#setTextureRegion(TextureRegion)} and {@link Decal#setBlending(int, int)}. */
+		final DecalMaterial material = new DecalMaterial();
+		Mesh mesh;
+		int count;
+		boolean dirty;
+
+		Bucket (int group, long cell, DecalMaterial material) {
+			this.group = group;
+			this.cell = cell;
+			this.material.textureRegion = new TextureRegion();
+			this.material.textureRegion.setTexture(material.textureRegion.getTexture());
+			this.material.srcBlendFactor = material.srcBlendFactor;
+			this.material.dstBlendFactor = material.dstBlendFactor;
+		}
+	}
+
+	final ObjectMap<Decal, Bucket> decals = new ObjectMap<Decal, Bucket>();
+	final LongMap<Array<Bucket>> cells = new LongMap<Array<Bucket>>();
+	final IntMap<Array<Bucket>> groups = new IntMap<Array<Bucket>>();
+	float cellSize = 16f;
+
+	void add (Decal decal, int group) {
+		if (decals.containsKey(decal)) throw new GdxRuntimeException("Decal already added");
+		final long cell = getCell(decal.getPosition());
+		Array<Bucket> buckets = cells.get(cell);
+		if (buckets == null) cells.put(cell, buckets = new Array<Bucket>(false, 4));
+		Bucket bucket = null;
+		for (Bucket candidate : buckets) {
+			if (candidate.group == group && candidate.decals.size < MAX_SIZE && candidate.material.equals(decal.material)) {
+				bucket = candidate;
+				break;
+			}
+		}
+		if (bucket == null) {
+			bucket = new Bucket(group, cell, decal.material);
+			buckets.add(bucket);
+			Array<Bucket> groupBuckets = groups.get(group);
+			if (groupBuckets == null) groups.put(group, groupBuckets = new Array<Bucket>(false, 16));
+			groupBuckets.add(bucket);
+		}
+		bucket.decals.add(decal);
+		bucket.dirty = true;
+		decals.put(decal, bucket);
+	}
+
+	boolean remove (Decal decal) {
+		final Bucket bucket = decals.remove(decal);
+		if (bucket == null) return false;
+		bucket.decals.removeValue(decal, true);
+		bucket.dirty = true;
+		return true;
+	}
+
+	/** Marks the bucket of the decal as changed, or moves the decal to another bucket if its group, cell or material changed. */
+	void invalidate (Decal decal, int group) {
+		final Bucket bucket = decals.get(decal);
+		if (bucket == null) throw new GdxRuntimeException("Decal not added");
+		if (bucket.group == group && bucket.cell == getCell(decal.getPosition()) && bucket.material.equals(decal.material))
+			bucket.dirty = true;
+		else {
+			remove(decal);
+			add(decal, group);
+		}
+	}
+
+	/** Removes the buckets without decals and disposes their meshes, and the groups and cells without buckets. */
+	void removeEmpty () {
+		final IntMap.Entries<Array<Bucket>> entries = groups.entries();
+		while (entries.hasNext()) {
+			final Array<Bucket> buckets = entries.next().value;
+			for (int i = buckets.size - 1; i >= 0; i--) {
+				final Bucket bucket = buckets.get(i);
+				if (bucket.decals.size > 0) continue;
+				buckets.removeIndex(i);
+				if (bucket.mesh != null) bucket.mesh.dispose();
+				bucket.mesh = null;
+				final Array<Bucket> cell = cells.get(bucket.cell);
+				cell.removeValue(bucket, true);
+				if (cell.size == 0) cells.remove(bucket.cell);
+			}
+			if (buckets.size == 0) entries.remove();
+		}
+	}
+
+	/** Removes all decals and disposes the meshes. */
+	void clear () {
+		for (Array<Bucket> buckets : cells.values())
+			for (Bucket bucket : buckets)
+				if (bucket.mesh != null) bucket.mesh.dispose();
+		decals.clear();
+		cells.clear();
+		groups.clear();
+	}
+
+	/** @return The cell key of the position, the cell coordinates are packed in 21 bits each. */
+	long getCell (Vector3 position) {
+		final long x = MathUtils.floor(position.x / cellSize) & 0x1FFFFF;
+		final long y = MathUtils.floor(position.y / cellSize) & 0x1FFFFF;
+		final long z = MathUtils.floor(position.z / cellSize) & 0x1FFFFF;
+		return x | y << 21 | z << 42;
+	}
+}
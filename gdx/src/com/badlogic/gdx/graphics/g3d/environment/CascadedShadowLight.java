@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.graphics.g3d.utils.DepthShaderProvider;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FlushablePool;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A {@link DirectionalShadowLight} which splits the view frustum of the camera in multiple cascades, each covering a larger
+ * distance with the same resolution. The cascades are stored side by side in the depth map, the default shader selects the most
+ * detailed cascade containing the fragment. Typical usage:
+ *
+ * <pre>
+ * shadowLight.update(camera);
+ * for (int i = 0; i &lt; shadowLight.getCascadeCount(); i++) {
+ * 	if (!shadowLight.begin(i)) continue;
+ * 	shadowBatch.begin(shadowLight.getCascadeCamera(i));
+ * 	shadowLight.render(shadowBatch, i, casters);
+ * 	shadowBatch.end();
+ * 	shadowLight.end();
+ * }
+ * </pre>
+ *
+ * Where shadowBatch is a {@link ModelBatch} using a {@link DepthShaderProvider}. {@link #render(ModelBatch, int, Iterable)} skips
+ * the renderables outside of the frustum of the cascade.
+ * <p>
+ * A cascade can be cached using {@link #setCached(int, boolean)}, which is typically used for the distant cascades containing
+ * static geometry. A cached cascade is fitted with a margin (see {@link #cacheMargin}) and is only rendered again when the camera
+ * moved out of it, when the light direction changed or after calling {@link #invalidate(int)}, e.g. because a caster moved.
+ * @deprecated Experimental, likely to change, do not use! */
+public class CascadedShadowLight extends DirectionalShadowLight implements CascadedShadowMap {
+	public final static int MAX_CASCADES = 4;
+
+	/** Blends between a uniform (0) and a logarithmic (1) distribution of the cascade splits. */
+	public float splitLambda = 0.75f;
+	/** The maximum distance from the camera at which shadows are rendered. */
+	public float shadowDistance;
+	/** The distance in front of each cascade, towards the light, in which casters are still rendered. */
+	public float casterDistance;
+	/** The relative margin added to the radius of cached cascades, so they don't need to be rendered every time the camera moves. */
+	public float cacheMargin = 0.25f;
+
+	protected final int cascadeCount;
+	protected final int cascadeSize;
+	protected final OrthographicCamera[] cascades;
+	/** The distances from the camera at which each cascade starts, followed by the end of the last cascade. */
+	protected final float[] splits;
+	protected final float[] scales;
+	protected final float[] offsets;
+	protected final boolean[] cached;
+	protected final boolean[] valid;
+	protected final Vector3[] centers;
+	protected final float[] radii;
+	protected int current = -1;
+
+	private final Vector3 lastDirection = new Vector3();
+	private final Vector3 lightUp = new Vector3();
+	private final Vector3 lightRight = new Vector3();
+	private final Vector3 sliceCenter = new Vector3();
+	private final Vector3[] corners = new Vector3[8];
+	private final Array<Renderable> tmpRenderables = new Array<Renderable>();
+	private final FlushablePool<Renderable> renderablePool = new FlushablePool<Renderable>() {
+		@Override
+		protected Renderable newObject () {
+			return new Renderable();
+		}
+	};
+
+	/** @param cascadeCount The number of cascades, at most {@link #MAX_CASCADES}.
+	 * @param cascadeSize The width and height of the depth map of each cascade.
+	 * @param shadowDistance See {@link #shadowDistance}.
+	 * @param casterDistance See {@link #casterDistance}.
+	 * @deprecated Experimental, likely to change, do not use! */
+	public CascadedShadowLight (int cascadeCount, int cascadeSize, float shadowDistance, float casterDistance) {
+		super(cascadeSize * cascadeCount, cascadeSize, 1f, 1f, 0f, 1f);
+		if (cascadeCount < 1 || cascadeCount > MAX_CASCADES)
+			throw new GdxRuntimeException("cascadeCount must be in between 1 and " + MAX_CASCADES);
+		this.cascadeCount = cascadeCount;
+		this.cascadeSize = cascadeSize;
+		this.shadowDistance = shadowDistance;
+		this.casterDistance = casterDistance;
+		cascades = new OrthographicCamera[cascadeCount];
+		centers = new Vector3[cascadeCount];
+		for (int i = 0; i < cascadeCount; i++) {
+			cascades[i] = new OrthographicCamera();
+			centers[i] = new Vector3();
+		}
+		cam = cascades[0];
+		splits = new float[cascadeCount + 1];
+		scales = new float[cascadeCount * 3];
+		offsets = new float[cascadeCount * 3];
+		cached = new boolean[cascadeCount];
+		valid = new boolean[cascadeCount];
+		radii = new float[cascadeCount];
+		for (int i = 0; i < corners.length; i++)
+			corners[i] = new Vector3();
+	}
+
+	/** Fit the cascades to the view frustum of the camera. Must be called before rendering the cascades. */
+	@Override
+	public void update (final Camera camera) {
+		final float near = camera.near;
+		final float far = Math.max(near, Math.min(camera.far, shadowDistance));
+		for (int i = 0; i <= cascadeCount; i++) {
+			final float t = (float)i / cascadeCount;
+			final float uniform = near + (far - near) * t;
+			final float log = near > 0f ? near * (float)Math.pow(far / near, t) : uniform;
+			splits[i] = splitLambda * log + (1f - splitLambda) * uniform;
+		}
+
+		if (!lastDirection.epsilonEquals(direction, 0.0001f)) {
+			lastDirection.set(direction);
+			invalidate();
+		}
+		final Vector3 dir = tmpV.set(direction).nor();
+		lightUp.set(Math.abs(dir.y) > 0.99f ? Vector3.Z : Vector3.Y);
+		lightRight.set(dir).crs(lightUp).nor();
+		lightUp.set(lightRight).crs(dir).nor();
+
+		final Vector3[] frustumPoints = camera.frustum.planePoints;
+		for (int i = 0; i < cascadeCount; i++) {
+			// The corners of the slice, interpolated between the near and far plane of the camera
+			final float t1 = (splits[i] - camera.near) / (camera.far - camera.near);
+			final float t2 = (splits[i + 1] - camera.near) / (camera.far - camera.near);
+			for (int j = 0; j < 4; j++) {
+				corners[j].set(frustumPoints[j]).lerp(frustumPoints[j + 4], t1);
+				corners[j + 4].set(frustumPoints[j]).lerp(frustumPoints[j + 4], t2);
+			}
+			sliceCenter.setZero();
+			for (final Vector3 corner : corners)
+				sliceCenter.add(corner);
+			sliceCenter.scl(1f / corners.length);
+			float radius = 0f;
+			for (final Vector3 corner : corners)
+				radius = Math.max(radius, sliceCenter.dst2(corner));
+			// Round the radius up, so the size of the cascade is stable while the camera rotates
+			radius = (float)Math.ceil(Math.sqrt(radius) * 16f) / 16f;
+
+			if (cached[i]) {
+				if (valid[i] && centers[i].dst(sliceCenter) + radius <= radii[i]) continue;
+				radius *= 1f + cacheMargin;
+			}
+			valid[i] = false;
+			fitCascade(i, sliceCenter, radius);
+		}
+
+		final float[] val0 = cascades[0].combined.val;
+		for (int i = 0; i < cascadeCount; i++) {
+			final float[] val = cascades[i].combined.val;
+			for (int axis = 0; axis < 3; axis++) {
+				// All cascades share the same rotation, so each row is a scaled version of the row of the first cascade
+				int column = 0;
+				for (int c = 1; c < 3; c++)
+					if (Math.abs(val0[axis + c * 4]) > Math.abs(val0[axis + column * 4])) column = c;
+				final float scale = val[axis + column * 4] / val0[axis + column * 4];
+				final float offset = val[axis + 12] - scale * val0[axis + 12];
+				// Convert from normalized device coordinates to the range [0, 1]
+				scales[i * 3 + axis] = scale;
+				offsets[i * 3 + axis] = 0.5f * (offset - scale + 1f);
+			}
+		}
+	}
+
+	/** Not supported, use {@link #update(Camera)} instead. */
+	@Override
+	public void update (final Vector3 center, final Vector3 forward) {
+		throw new GdxRuntimeException("Use update(Camera) to fit the cascades");
+	}
+
+	protected void fitCascade (final int cascade, final Vector3 center, final float radius) {
+		final OrthographicCamera camera = cascades[cascade];
+		// Snap the center to the texels of the depth map, to avoid shimmering edges when the camera moves
+		final float texelSize = 2f * radius / cascadeSize;
+		final float x = center.dot(lightRight), y = center.dot(lightUp);
+		final float dx = (float)Math.floor(x / texelSize) * texelSize - x;
+		final float dy = (float)Math.floor(y / texelSize) * texelSize - y;
+		centers[cascade].set(center).mulAdd(lightRight, dx).mulAdd(lightUp, dy);
+		radii[cascade] = radius;
+
+		camera.direction.set(lightRight).crs(lightUp).scl(-1f);
+		camera.up.set(lightUp);
+		camera.position.set(camera.direction).scl(-(radius + casterDistance)).add(centers[cascade]);
+		camera.viewportWidth = camera.viewportHeight = 2f * radius;
+		camera.zoom = 1f;
+		camera.near = 0f;
+		camera.far = 2f * radius + casterDistance;
+		camera.update();
+	}
+
+	/** Start rendering the specified cascade, if needed.
+	 * @return False if the cascade is cached and still valid, in which case it should not be rendered and {@link #end()} must not
+	 *         be called. */
+	public boolean begin (final int cascade) {
+		if (cached[cascade] && valid[cascade]) return false;
+		current = cascade;
+		final int x = cascade * cascadeSize;
+		final int size = cascadeSize;
+		fbo.begin();
+		Gdx.gl.glViewport(x, 0, size, size);
+		Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+		Gdx.gl.glScissor(x, 0, size, size);
+		Gdx.gl.glClearColor(1, 1, 1, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		Gdx.gl.glScissor(x + 1, 1, size - 2, size - 2);
+		return true;
+	}
+
+	/** Not supported, use {@link #begin(int)} instead. */
+	@Override
+	public void begin () {
+		throw new GdxRuntimeException("Use begin(int) to render each cascade");
+	}
+
+	@Override
+	public void end () {
+		super.end();
+		if (current >= 0) valid[current] = true;
+		current = -1;
+	}
+
+	/** Render the renderables of the casters which intersect the frustum of the cascade. The batch must be begun with the
+	 * {@link #getCascadeCamera(int)} of the cascade. */
+	public void render (final ModelBatch batch, final int cascade, final Iterable<? extends RenderableProvider> casters) {
+		renderablePool.flush();
+		final OrthographicCamera camera = cascades[cascade];
+		for (final RenderableProvider caster : casters) {
+			caster.getRenderables(tmpRenderables, renderablePool);
+			for (int i = 0; i < tmpRenderables.size; i++) {
+				final Renderable renderable = tmpRenderables.get(i);
+				if (isVisible(camera, renderable)) batch.render(renderable);
+			}
+			tmpRenderables.clear();
+		}
+	}
+
+	private boolean isVisible (final Camera camera, final Renderable renderable) {
+		final float radius = renderable.meshPart.radius;
+		if (radius <= 0f) return true; // unknown bounds
+		final Matrix4 transform = renderable.worldTransform;
+		final float scale = Math.max(transform.getScaleX(), Math.max(transform.getScaleY(), transform.getScaleZ()));
+		return camera.frustum.sphereInFrustum(tmpV.set(renderable.meshPart.center).mul(transform), radius * scale);
+	}
+
+	/** Mark all cascades to be rendered again. */
+	public void invalidate () {
+		for (int i = 0; i < cascadeCount; i++)
+			valid[i] = false;
+	}
+
+	/** Mark the cascade to be rendered again, e.g. because a caster within a cached cascade moved. */
+	public void invalidate (final int cascade) {
+		valid[cascade] = false;
+	}
+
+	/** @param cached Whether the cascade is only rendered when needed, instead of every frame. */
+	public void setCached (final int cascade, final boolean cached) {
+		this.cached[cascade] = cached;
+		valid[cascade] = false;
+	}
+
+	public boolean isCached (final int cascade) {
+		return cached[cascade];
+	}
+
+	/** @return The camera used to render the specified cascade. */
+	public OrthographicCamera getCascadeCamera (final int cascade) {
+		return cascades[cascade];
+	}
+
+	/** @return The distance from the camera at which the cascade starts, use {@link #getCascadeCount()} to get the end of the last
+	 *         cascade. */
+	public float getCascadeSplit (final int cascade) {
+		return splits[cascade];
+	}
+
+	/** @return The width and height of the depth map of each cascade. */
+	public int getCascadeSize () {
+		return cascadeSize;
+	}
+
+	@Override
+	public int getCascadeCount () {
+		return cascadeCount;
+	}
+
+	@Override
+	public float[] getCascadeScales () {
+		return scales;
+	}
+
+	@Override
+	public float[] getCascadeOffsets () {
+		return offsets;
+	}
+}
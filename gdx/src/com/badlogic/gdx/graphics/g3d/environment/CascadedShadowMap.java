@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+/** A {@link ShadowMap} which consists of multiple cascades of increasing size, stored side by side in a single depth map. All
+ * cascades share the same orientation, therefore the shadow map coordinates of a cascade can be derived from those of the first
+ * cascade (as calculated using {@link #getProjViewTrans()}) by a scale and an offset. The coordinates are in the range [0, 1]
+ * relative to the cascade, not to the depth map. */
+public interface CascadedShadowMap extends ShadowMap {
+	/** @return the number of cascades, at most four */
+	int getCascadeCount ();
+
+	/** @return the scale (three floats per cascade) applied to the shadow map coordinates of the first cascade */
+	float[] getCascadeScales ();
+
+	/** @return the offset (three floats per cascade) added to the scaled shadow map coordinates of the first cascade */
+	float[] getCascadeOffsets ();
+}
@@ -0,0 +1,606 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeKeyframe;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodePart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ArrayMap;
+import com.badlogic.gdx.utils.DataInput;
+import com.badlogic.gdx.utils.DataOutput;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Writes and reads {@link ModelData} in a compact binary form. Reading this format is much faster than parsing a text based
+ * format like Wavefront OBJ or G3DJ, because the vertices and indices are stored as raw arrays. It is not intended as an
+ * interchange format: the layout may change between versions, in which case {@link #read(FileHandle)} throws an exception and the
+ * data should be regenerated from the original file. See {@link ObjLoader.ObjLoaderParameters#cacheFile} to automatically cache
+ * the result of the {@link ObjLoader}.
+ * <p>
+ * The header can store a tag, an arbitrary int which identifies how the data was generated, e.g. the version of a loader and its
+ * parameters. Reading with an expected tag fails when the stored tag differs, so a cache is regenerated when the parameters change.
+ * Likewise the header can store the length and a hash of the source file the data was generated from, so a cache is regenerated
+ * when the source changes. Modification times can't be used for this, as they aren't available for internal and classpath files.
+ * <p>
+ * Arrays which are null in the ModelData are written as null and read back as null. */
+public class ModelDataIO {
+	/** Identifies the binary format, the ASCII characters "G3MD". */
+	public final static int MAGIC = 0x47334D44;
+	public final static int VERSION = 3;
+
+	/** Write the model data in binary form to the specified file, with a tag of zero. */
+	public static void write (final FileHandle file, final ModelData data) {
+		write(file, data, 0);
+	}
+
+	/** Write the model data in binary form to the specified file.
+	 * @param tag stored in the header, see {@link #read(FileHandle, int)} */
+	public static void write (final FileHandle file, final ModelData data, final int tag) {
+		write(file, data, tag, null);
+	}
+
+	/** Write the model data in binary form to the specified file.
+	 * @param tag stored in the header, see {@link #read(FileHandle, int, byte[])}
+	 * @param source the contents of the file the data was generated from, its length and hash are stored in the header. May be
+	 *           null. */
+	public static void write (final FileHandle file, final ModelData data, final int tag, final byte[] source) {
+		OutputStream output = null;
+		try {
+			output = file.write(false, 8192);
+			write(output, data, tag, source);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	/** Write the model data in binary form to the specified stream with a tag of zero, the stream is not closed. */
+	public static void write (final OutputStream output, final ModelData data) {
+		write(output, data, 0);
+	}
+
+	/** Write the model data in binary form to the specified stream, the stream is not closed.
+	 * @param tag stored in the header, see {@link #read(InputStream, int)} */
+	public static void write (final OutputStream output, final ModelData data, final int tag) {
+		write(output, data, tag, null);
+	}
+
+	/** Write the model data in binary form to the specified stream, the stream is not closed.
+	 * @param tag stored in the header, see {@link #read(InputStream, int, byte[])}
+	 * @param source the contents of the file the data was generated from, its length and hash are stored in the header. May be
+	 *           null. */
+	public static void write (final OutputStream output, final ModelData data, final int tag, final byte[] source) {
+		try {
+			final Writer out = new Writer(output);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(tag);
+			out.writeInt(source == null ? -1 : source.length);
+			out.writeInt(source == null ? 0 : hash(source));
+			out.writeString(data.id);
+			out.writeShort(data.version[0]);
+			out.writeShort(data.version[1]);
+			out.writeInt(data.meshes.size, true);
+			for (final ModelMesh mesh : data.meshes)
+				out.writeMesh(mesh);
+			out.writeInt(data.materials.size, true);
+			for (final ModelMaterial material : data.materials)
+				out.writeMaterial(material);
+			out.writeInt(data.nodes.size, true);
+			for (final ModelNode node : data.nodes)
+				out.writeNode(node);
+			out.writeInt(data.animations.size, true);
+			for (final ModelAnimation animation : data.animations)
+				out.writeAnimation(animation);
+			out.flush();
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error writing model data", ex);
+		}
+	}
+
+	/** Read model data previously written using {@link #write(FileHandle, ModelData)}, regardless of its tag. */
+	public static ModelData read (final FileHandle file) {
+		InputStream input = null;
+		try {
+			input = file.read(8192);
+			return read(input);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** Read model data previously written using {@link #write(FileHandle, ModelData, int)}.
+	 * @throws GdxRuntimeException if the file was written with a different tag */
+	public static ModelData read (final FileHandle file, final int tag) {
+		return read(file, tag, null);
+	}
+
+	/** Read model data previously written using {@link #write(FileHandle, ModelData, int, byte[])}.
+	 * @param source the current contents of the file the data was generated from, or null to not check the source.
+	 * @throws GdxRuntimeException if the file was written with a different tag or from a different source */
+	public static ModelData read (final FileHandle file, final int tag, final byte[] source) {
+		InputStream input = null;
+		try {
+			input = file.read(8192);
+			return read(input, tag, source);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** Read model data previously written using {@link #write(OutputStream, ModelData)} regardless of its tag, the stream is not
+	 * closed. */
+	public static ModelData read (final InputStream input) {
+		return read(input, false, 0, null);
+	}
+
+	/** Read model data previously written using {@link #write(OutputStream, ModelData, int)}, the stream is not closed.
+	 * @throws GdxRuntimeException if the data was written with a different tag */
+	public static ModelData read (final InputStream input, final int tag) {
+		return read(input, true, tag, null);
+	}
+
+	/** Read model data previously written using {@link #write(OutputStream, ModelData, int, byte[])}, the stream is not closed.
+	 * @param source the current contents of the file the data was generated from, or null to not check the source.
+	 * @throws GdxRuntimeException if the data was written with a different tag or from a different source */
+	public static ModelData read (final InputStream input, final int tag, final byte[] source) {
+		return read(input, true, tag, source);
+	}
+
+	private static ModelData read (final InputStream input, final boolean checkTag, final int tag, final byte[] source) {
+		try {
+			final Reader in = new Reader(input);
+			if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a binary model data file");
+			final int version = in.readInt();
+			if (version != VERSION) throw new GdxRuntimeException("Unsupported binary model data version: " + version);
+			final int storedTag = in.readInt();
+			if (checkTag && storedTag != tag)
+				throw new GdxRuntimeException("Binary model data tag mismatch, expected: " + tag + ", found: " + storedTag);
+			final int sourceLength = in.readInt(), sourceHash = in.readInt();
+			if (source != null && (sourceLength != source.length || sourceHash != hash(source)))
+				throw new GdxRuntimeException("Binary model data was generated from a different source");
+			final ModelData data = new ModelData();
+			data.id = in.readString();
+			data.version[0] = in.readShort();
+			data.version[1] = in.readShort();
+			for (int i = in.readInt(true); i > 0; i--)
+				data.meshes.add(in.readMesh());
+			for (int i = in.readInt(true); i > 0; i--)
+				data.materials.add(in.readMaterial());
+			for (int i = in.readInt(true); i > 0; i--)
+				data.nodes.add(in.readNode());
+			for (int i = in.readInt(true); i > 0; i--)
+				data.animations.add(in.readAnimation());
+			return data;
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading model data", ex);
+		}
+	}
+
+	/** The 32 bit FNV-1a hash of the bytes. */
+	static int hash (final byte[] bytes) {
+		int hash = 0x811C9DC5;
+		for (int i = 0, n = bytes.length; i < n; i++)
+			hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+		return hash;
+	}
+
+	/** Counts are written incremented by one, so that zero can be used for null. */
+	private static class Writer extends DataOutput {
+		private final byte[] buffer = new byte[4096];
+
+		Writer (OutputStream out) {
+			super(out);
+		}
+
+		void writeCount (final Object array, final int count) throws IOException {
+			writeInt(array == null ? 0 : count + 1, true);
+		}
+
+		void writeFloats (final float[] values) throws IOException {
+			writeCount(values, values == null ? 0 : values.length);
+			if (values == null) return;
+			final byte[] buffer = this.buffer;
+			for (int i = 0; i < values.length;) {
+				int n = 0;
+				for (; i < values.length && n < buffer.length; i++) {
+					final int bits = NumberUtils.floatToRawIntBits(values[i]);
+					buffer[n++] = (byte)(bits >> 24);
+					buffer[n++] = (byte)(bits >> 16);
+					buffer[n++] = (byte)(bits >> 8);
+					buffer[n++] = (byte)bits;
+				}
+				write(buffer, 0, n);
+			}
+		}
+
+		void writeShorts (final short[] values) throws IOException {
+			writeCount(values, values == null ? 0 : values.length);
+			if (values == null) return;
+			final byte[] buffer = this.buffer;
+			for (int i = 0; i < values.length;) {
+				int n = 0;
+				for (; i < values.length && n < buffer.length; i++) {
+					buffer[n++] = (byte)(values[i] >> 8);
+					buffer[n++] = (byte)values[i];
+				}
+				write(buffer, 0, n);
+			}
+		}
+
+		void writeVector3 (final Vector3 value) throws IOException {
+			writeBoolean(value != null);
+			if (value == null) return;
+			writeFloat(value.x);
+			writeFloat(value.y);
+			writeFloat(value.z);
+		}
+
+		void writeQuaternion (final Quaternion value) throws IOException {
+			writeBoolean(value != null);
+			if (value == null) return;
+			writeFloat(value.x);
+			writeFloat(value.y);
+			writeFloat(value.z);
+			writeFloat(value.w);
+		}
+
+		void writeVector2 (final Vector2 value) throws IOException {
+			writeBoolean(value != null);
+			if (value == null) return;
+			writeFloat(value.x);
+			writeFloat(value.y);
+		}
+
+		void writeColor (final Color value) throws IOException {
+			writeBoolean(value != null);
+			if (value == null) return;
+			writeFloat(value.r);
+			writeFloat(value.g);
+			writeFloat(value.b);
+			writeFloat(value.a);
+		}
+
+		void writeMesh (final ModelMesh mesh) throws IOException {
+			writeString(mesh.id);
+			writeCount(mesh.attributes, mesh.attributes == null ? 0 : mesh.attributes.length);
+			if (mesh.attributes != null) {
+				for (final VertexAttribute attribute : mesh.attributes) {
+					writeInt(attribute.usage, true);
+					writeInt(attribute.numComponents, true);
+					writeInt(attribute.type, true);
+					writeBoolean(attribute.normalized);
+					writeString(attribute.alias);
+					writeInt(attribute.unit, true);
+				}
+			}
+			writeFloats(mesh.vertices);
+			writeCount(mesh.parts, mesh.parts == null ? 0 : mesh.parts.length);
+			if (mesh.parts != null) {
+				for (final ModelMeshPart part : mesh.parts) {
+					writeString(part.id);
+					writeInt(part.primitiveType, true);
+					writeShorts(part.indices);
+				}
+			}
+		}
+
+		void writeMaterial (final ModelMaterial material) throws IOException {
+			writeString(material.id);
+			writeInt(material.type == null ? 0 : material.type.ordinal() + 1, true);
+			writeColor(material.ambient);
+			writeColor(material.diffuse);
+			writeColor(material.specular);
+			writeColor(material.emissive);
+			writeColor(material.reflection);
+			writeFloat(material.shininess);
+			writeFloat(material.opacity);
+			writeCount(material.textures, material.textures == null ? 0 : material.textures.size);
+			if (material.textures != null) {
+				for (final ModelTexture texture : material.textures) {
+					writeString(texture.id);
+					writeString(texture.fileName);
+					writeVector2(texture.uvTranslation);
+					writeVector2(texture.uvScaling);
+					writeInt(texture.usage, true);
+				}
+			}
+		}
+
+		void writeNode (final ModelNode node) throws IOException {
+			writeString(node.id);
+			writeVector3(node.translation);
+			writeQuaternion(node.rotation);
+			writeVector3(node.scale);
+			writeString(node.meshId);
+			writeCount(node.parts, node.parts == null ? 0 : node.parts.length);
+			if (node.parts != null) {
+				for (final ModelNodePart part : node.parts) {
+					writeString(part.materialId);
+					writeString(part.meshPartId);
+					writeCount(part.bones, part.bones == null ? 0 : part.bones.size);
+					if (part.bones != null) {
+						for (int i = 0; i < part.bones.size; i++) {
+							writeString(part.bones.getKeyAt(i));
+							final float[] val = part.bones.getValueAt(i).val;
+							for (int j = 0; j < 16; j++)
+								writeFloat(val[j]);
+						}
+					}
+					writeCount(part.uvMapping, part.uvMapping == null ? 0 : part.uvMapping.length);
+					if (part.uvMapping != null) {
+						for (final int[] mapping : part.uvMapping) {
+							writeCount(mapping, mapping == null ? 0 : mapping.length);
+							if (mapping != null) for (final int value : mapping)
+								writeInt(value, true);
+						}
+					}
+				}
+			}
+			writeCount(node.children, node.children == null ? 0 : node.children.length);
+			if (node.children != null) for (final ModelNode child : node.children)
+				writeNode(child);
+		}
+
+		void writeAnimation (final ModelAnimation animation) throws IOException {
+			writeString(animation.id);
+			writeInt(animation.nodeAnimations.size, true);
+			for (final ModelNodeAnimation nodeAnimation : animation.nodeAnimations) {
+				writeString(nodeAnimation.nodeId);
+				writeCount(nodeAnimation.translation, nodeAnimation.translation == null ? 0 : nodeAnimation.translation.size);
+				if (nodeAnimation.translation != null) for (final ModelNodeKeyframe<Vector3> keyframe : nodeAnimation.translation) {
+					writeFloat(keyframe.keytime);
+					writeVector3(keyframe.value);
+				}
+				writeCount(nodeAnimation.rotation, nodeAnimation.rotation == null ? 0 : nodeAnimation.rotation.size);
+				if (nodeAnimation.rotation != null) for (final ModelNodeKeyframe<Quaternion> keyframe : nodeAnimation.rotation) {
+					writeFloat(keyframe.keytime);
+					writeQuaternion(keyframe.value);
+				}
+				writeCount(nodeAnimation.scaling, nodeAnimation.scaling == null ? 0 : nodeAnimation.scaling.size);
+				if (nodeAnimation.scaling != null) for (final ModelNodeKeyframe<Vector3> keyframe : nodeAnimation.scaling) {
+					writeFloat(keyframe.keytime);
+					writeVector3(keyframe.value);
+				}
+			}
+		}
+	}
+
+	private static class Reader extends DataInput {
+		private final byte[] buffer = new byte[4096];
+
+		Reader (InputStream in) {
+			super(in);
+		}
+
+		/** @return The count, or -1 for null. */
+		int readCount () throws IOException {
+			return readInt(true) - 1;
+		}
+
+		float[] readFloats () throws IOException {
+			final int count = readCount();
+			if (count < 0) return null;
+			final float[] result = new float[count];
+			final byte[] buffer = this.buffer;
+			for (int i = 0; i < count;) {
+				final int n = Math.min(count - i, buffer.length / 4) * 4;
+				readFully(buffer, 0, n);
+				for (int j = 0; j < n; j += 4)
+					result[i++] = NumberUtils.intBitsToFloat((buffer[j] & 0xFF) << 24 | (buffer[j + 1] & 0xFF) << 16
+						| (buffer[j + 2] & 0xFF) << 8 | buffer[j + 3] & 0xFF);
+			}
+			return result;
+		}
+
+		short[] readShorts () throws IOException {
+			final int count = readCount();
+			if (count < 0) return null;
+			final short[] result = new short[count];
+			final byte[] buffer = this.buffer;
+			for (int i = 0; i < count;) {
+				final int n = Math.min(count - i, buffer.length / 2) * 2;
+				readFully(buffer, 0, n);
+				for (int j = 0; j < n; j += 2)
+					result[i++] = (short)((buffer[j] & 0xFF) << 8 | buffer[j + 1] & 0xFF);
+			}
+			return result;
+		}
+
+		Vector3 readVector3 () throws IOException {
+			return readBoolean() ? new Vector3(readFloat(), readFloat(), readFloat()) : null;
+		}
+
+		Quaternion readQuaternion () throws IOException {
+			return readBoolean() ? new Quaternion(readFloat(), readFloat(), readFloat(), readFloat()) : null;
+		}
+
+		Vector2 readVector2 () throws IOException {
+			return readBoolean() ? new Vector2(readFloat(), readFloat()) : null;
+		}
+
+		Color readColor () throws IOException {
+			return readBoolean() ? new Color(readFloat(), readFloat(), readFloat(), readFloat()) : null;
+		}
+
+		ModelMesh readMesh () throws IOException {
+			final ModelMesh mesh = new ModelMesh();
+			mesh.id = readString();
+			final int attributeCount = readCount();
+			if (attributeCount >= 0) {
+				mesh.attributes = new VertexAttribute[attributeCount];
+				for (int i = 0; i < attributeCount; i++) {
+					final int usage = readInt(true);
+					final int numComponents = readInt(true);
+					final int type = readInt(true);
+					final boolean normalized = readBoolean();
+					final String alias = readString();
+					mesh.attributes[i] = new VertexAttribute(usage, numComponents, type, normalized, alias, readInt(true));
+				}
+			}
+			mesh.vertices = readFloats();
+			final int partCount = readCount();
+			if (partCount >= 0) {
+				mesh.parts = new ModelMeshPart[partCount];
+				for (int i = 0; i < partCount; i++) {
+					final ModelMeshPart part = new ModelMeshPart();
+					part.id = readString();
+					part.primitiveType = readInt(true);
+					part.indices = readShorts();
+					mesh.parts[i] = part;
+				}
+			}
+			return mesh;
+		}
+
+		ModelMaterial readMaterial () throws IOException {
+			final ModelMaterial material = new ModelMaterial();
+			material.id = readString();
+			final int type = readInt(true);
+			material.type = type == 0 ? null : ModelMaterial.MaterialType.values()[type - 1];
+			material.ambient = readColor();
+			material.diffuse = readColor();
+			material.specular = readColor();
+			material.emissive = readColor();
+			material.reflection = readColor();
+			material.shininess = readFloat();
+			material.opacity = readFloat();
+			final int textureCount = readCount();
+			if (textureCount >= 0) {
+				material.textures = new Array<ModelTexture>(textureCount);
+				for (int i = 0; i < textureCount; i++) {
+					final ModelTexture texture = new ModelTexture();
+					texture.id = readString();
+					texture.fileName = readString();
+					texture.uvTranslation = readVector2();
+					texture.uvScaling = readVector2();
+					texture.usage = readInt(true);
+					material.textures.add(texture);
+				}
+			}
+			return material;
+		}
+
+		ModelNode readNode () throws IOException {
+			final ModelNode node = new ModelNode();
+			node.id = readString();
+			node.translation = readVector3();
+			node.rotation = readQuaternion();
+			node.scale = readVector3();
+			node.meshId = readString();
+			final int partCount = readCount();
+			if (partCount >= 0) {
+				node.parts = new ModelNodePart[partCount];
+				for (int i = 0; i < partCount; i++) {
+					final ModelNodePart part = new ModelNodePart();
+					part.materialId = readString();
+					part.meshPartId = readString();
+					final int boneCount = readCount();
+					if (boneCount >= 0) {
+						part.bones = new ArrayMap<String, Matrix4>(true, boneCount, String.class, Matrix4.class);
+						for (int j = 0; j < boneCount; j++) {
+							final String key = readString();
+							final Matrix4 value = new Matrix4();
+							for (int k = 0; k < 16; k++)
+								value.val[k] = readFloat();
+							part.bones.put(key, value);
+						}
+					}
+					final int mappingCount = readCount();
+					if (mappingCount >= 0) {
+						part.uvMapping = new int[mappingCount][];
+						for (int j = 0; j < mappingCount; j++) {
+							final int count = readCount();
+							if (count < 0) continue;
+							final int[] mapping = part.uvMapping[j] = new int[count];
+							for (int k = 0; k < count; k++)
+								mapping[k] = readInt(true);
+						}
+					}
+					node.parts[i] = part;
+				}
+			}
+			final int childCount = readCount();
+			if (childCount >= 0) {
+				node.children = new ModelNode[childCount];
+				for (int i = 0; i < childCount; i++)
+					node.children[i] = readNode();
+			}
+			return node;
+		}
+
+		ModelAnimation readAnimation () throws IOException {
+			final ModelAnimation animation = new ModelAnimation();
+			animation.id = readString();
+			for (int i = readInt(true); i > 0; i--) {
+				final ModelNodeAnimation nodeAnimation = new ModelNodeAnimation();
+				nodeAnimation.nodeId = readString();
+				int count = readCount();
+				if (count >= 0) {
+					nodeAnimation.translation = new Array<ModelNodeKeyframe<Vector3>>(count);
+					for (int j = 0; j < count; j++) {
+						final ModelNodeKeyframe<Vector3> keyframe = new ModelNodeKeyframe<Vector3>();
+						keyframe.keytime = readFloat();
+						keyframe.value = readVector3();
+						nodeAnimation.translation.add(keyframe);
+					}
+				}
+				count = readCount();
+				if (count >= 0) {
+					nodeAnimation.rotation = new Array<ModelNodeKeyframe<Quaternion>>(count);
+					for (int j = 0; j < count; j++) {
+						final ModelNodeKeyframe<Quaternion> keyframe = new ModelNodeKeyframe<Quaternion>();
+						keyframe.keytime = readFloat();
+						keyframe.value = readQuaternion();
+						nodeAnimation.rotation.add(keyframe);
+					}
+				}
+				count = readCount();
+				if (count >= 0) {
+					nodeAnimation.scaling = new Array<ModelNodeKeyframe<Vector3>>(count);
+					for (int j = 0; j < count; j++) {
+						final ModelNodeKeyframe<Vector3> keyframe = new ModelNodeKeyframe<Vector3>();
+						keyframe.keytime = readFloat();
+						keyframe.value = readVector3();
+						nodeAnimation.scaling.add(keyframe);
+					}
+				}
+				animation.nodeAnimations.add(nodeAnimation);
+			}
+			return animation;
+		}
+	}
+}
@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.g3d.loader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
@@ -44,30 +45,51 @@ import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** {@link ModelLoader} to load Wavefront OBJ files. Only intended for testing basic models/meshes and educational usage. The
  * Wavefront specification is NOT fully implemented, only a subset of the specification is supported. Especially the
  * {@link Material} ({@link Attributes}), e.g. the color or texture applied, might not or not correctly be loaded.</p>
- * 
+ *
  * This {@link ModelLoader} can be used to load very basic models without having to convert them to a more suitable format.
  * Therefore it can be used for educational purposes and to quickly test a basic model, but should not be used in production.
  * Instead use {@link G3dModelLoader}.</p>
- * 
+ *
  * Because of above reasons, when an OBJ file is loaded using this loader, it will log and error. To prevent this error from being
  * logged, set the {@link #logWarning} flag to false. However, it is advised not to do so.</p>
- * 
+ *
  * An OBJ file only contains the mesh (shape). It may link to a separate MTL file, which is used to describe one or more
  * materials. In that case the MTL filename (might be case-sensitive) is expected to be located relative to the OBJ file. The MTL
  * file might reference one or more texture files, in which case those filename(s) are expected to be located relative to the MTL
  * file.</p>
+ *
+ * The OBJ file is parsed directly from its bytes, without creating a string for every line or number. Large files can be split in
+ * chunks which are parsed in parallel, see {@link ObjLoaderParameters#threads}. To skip parsing altogether on subsequent loads,
+ * the result can be cached in binary form, see {@link ObjLoaderParameters#cacheFile}.</p>
  * @author mzechner, espitz, xoppa */
 public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 	/** Set to false to prevent a warning from being logged when this class is used. Do not change this value, unless you are
 	 * absolutely sure what you are doing. Consult the documentation for more information. */
 	public static boolean logWarning = false;
+	/** The minimum number of bytes parsed by each thread when parsing in parallel, smaller files are parsed by less threads. */
+	public static int minChunkSize = 1 << 20;
+	/** Stored in the tag of the {@link ObjLoaderParameters#cacheFile} along with the parameters, increment it when a change to
+	 * this loader changes the resulting model data so existing caches are regenerated. */
+	static final int CACHE_VERSION = 1;
 
 	public static class ObjLoaderParameters extends ModelLoader.ModelParameters {
 		public boolean flipV;
+		/** The maximum number of threads used to parse the file, see {@link ObjLoader#minChunkSize}. The calling thread is one of
+		 * them. (default: 1) */
+		public int threads = 1;
+		/** When set, the loaded model data is written to this file using {@link ModelDataIO}, and subsequent loads read this file
+		 * instead of parsing the OBJ file again, as long as it was written from the same OBJ contents and with the same
+		 * {@link #flipV}. The OBJ file is still read to verify this, but not parsed. Must be writable, e.g. a local file. */
+		public FileHandle cacheFile;
 
 		public ObjLoaderParameters () {
 		}
@@ -75,12 +97,19 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		public ObjLoaderParameters (boolean flipV) {
 			this.flipV = flipV;
 		}
+
+		public ObjLoaderParameters (boolean flipV, int threads, FileHandle cacheFile) {
+			this.flipV = flipV;
+			this.threads = threads;
+			this.cacheFile = cacheFile;
+		}
 	}
 
 	final FloatArray verts = new FloatArray(300);
 	final FloatArray norms = new FloatArray(300);
 	final FloatArray uvs = new FloatArray(200);
 	final Array<Group> groups = new Array<Group>(10);
+	final Array<Chunk> chunks = new Array<Chunk>(1);
 
 	public ObjLoader () {
 		this(null);
@@ -97,15 +126,34 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 
 	@Override
 	public ModelData loadModelData (FileHandle file, ObjLoaderParameters parameters) {
-		return loadModelData(file, parameters != null && parameters.flipV);
+		if (parameters == null) return loadModelData(file, false);
+		final FileHandle cacheFile = parameters.cacheFile;
+		final int cacheTag = (CACHE_VERSION << 1) | (parameters.flipV ? 1 : 0);
+		final byte[] bytes = file.readBytes();
+		if (cacheFile != null && cacheFile.exists()) {
+			try {
+				return ModelDataIO.read(cacheFile, cacheTag, bytes);
+			} catch (GdxRuntimeException ex) {
+				// The cache is outdated, written with other parameters or corrupt, parse the OBJ file and overwrite it
+			}
+		}
+		final ModelData data = loadModelData(file, bytes, parameters.flipV, parameters.threads);
+		if (cacheFile != null && data != null) ModelDataIO.write(cacheFile, data, cacheTag, bytes);
+		return data;
 	}
 
 	protected ModelData loadModelData (FileHandle file, boolean flipV) {
+		return loadModelData(file, flipV, 1);
+	}
+
+	protected ModelData loadModelData (FileHandle file, boolean flipV, int threads) {
+		return loadModelData(file, file.readBytes(), flipV, threads);
+	}
+
+	private ModelData loadModelData (FileHandle file, byte[] bytes, boolean flipV, int threads) {
 		if (logWarning)
 			Gdx.app.error("ObjLoader", "Wavefront (OBJ) is not fully supported, consult the documentation for more information");
-		String line;
-		String[] tokens;
-		char firstChar;
+		final int chunkCount = parse(bytes, flipV, threads);
 		MtlLoader mtl = new MtlLoader();
 
 		// Create a "default" Group and set it as the active group, in case
@@ -113,119 +161,88 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		Group activeGroup = new Group("default");
 		groups.add(activeGroup);
 
-		BufferedReader reader = new BufferedReader(new InputStreamReader(file.read()), 4096);
-		int id = 0;
-		try {
-			while ((line = reader.readLine()) != null) {
-
-				tokens = line.split("\\s+");
-				if (tokens.length < 1) break;
-
-				if (tokens[0].length() == 0) {
-					continue;
-				} else if ((firstChar = tokens[0].toLowerCase().charAt(0)) == '#') {
-					continue;
-				} else if (firstChar == 'v') {
-					if (tokens[0].length() == 1) {
-						verts.add(Float.parseFloat(tokens[1]));
-						verts.add(Float.parseFloat(tokens[2]));
-						verts.add(Float.parseFloat(tokens[3]));
-					} else if (tokens[0].charAt(1) == 'n') {
-						norms.add(Float.parseFloat(tokens[1]));
-						norms.add(Float.parseFloat(tokens[2]));
-						norms.add(Float.parseFloat(tokens[3]));
-					} else if (tokens[0].charAt(1) == 't') {
-						uvs.add(Float.parseFloat(tokens[1]));
-						uvs.add((flipV ? 1 - Float.parseFloat(tokens[2]) : Float.parseFloat(tokens[2])));
-					}
-				} else if (firstChar == 'f') {
-					String[] parts;
-					Array<Integer> faces = activeGroup.faces;
-					for (int i = 1; i < tokens.length - 2; i--) {
-						parts = tokens[1].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) {
-							if (i == 1) activeGroup.hasNorms = true;
-							faces.add(getIndex(parts[2], norms.size));
-						}
-						if (parts.length > 1 && parts[1].length() > 0) {
-							if (i == 1) activeGroup.hasUVs = true;
-							faces.add(getIndex(parts[1], uvs.size));
-						}
-						parts = tokens[++i].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) faces.add(getIndex(parts[2], norms.size));
-						if (parts.length > 1 && parts[1].length() > 0) faces.add(getIndex(parts[1], uvs.size));
-						parts = tokens[++i].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) faces.add(getIndex(parts[2], norms.size));
-						if (parts.length > 1 && parts[1].length() > 0) faces.add(getIndex(parts[1], uvs.size));
-						activeGroup.numFaces++;
-					}
-				} else if (firstChar == 'o' || firstChar == 'g') {
+		// Merge the chunks in order, resolving the relative indices and replaying the group and material statements.
+		for (int i = 0; i < chunkCount; i++) {
+			final Chunk chunk = chunks.get(i);
+			chunk.resolve(verts.size / 3, uvs.size / 2, norms.size / 3);
+			verts.addAll(chunk.verts);
+			uvs.addAll(chunk.uvs);
+			norms.addAll(chunk.norms);
+			final int[] commands = chunk.commands.items;
+			int face = 0;
+			for (int c = 0; c < chunk.commands.size; c += 2) {
+				activeGroup.faces.addAll(chunk.faces.items, face, commands[c + 1] - face);
+				face = commands[c + 1];
+				final String value = chunk.commandValues.get(c / 2);
+				switch (commands[c]) {
+				case Chunk.GROUP:
 					// This implementation only supports single object or group
 					// definitions. i.e. "o group_a group_b" will set group_a
 					// as the active group, while group_b will simply be
 					// ignored.
-					if (tokens.length > 1)
-						activeGroup = setActiveGroup(tokens[1]);
-					else
-						activeGroup = setActiveGroup("default");
-				} else if (tokens[0].equals("mtllib")) {
-					mtl.load(file.parent().child(tokens[1]));
-				} else if (tokens[0].equals("usemtl")) {
-					if (tokens.length == 1)
-						activeGroup.materialName = "default";
-					else
-						activeGroup.materialName = tokens[1].replace('.', '_');
+					activeGroup = setActiveGroup(value == null ? "default" : value);
+					break;
+				case Chunk.MATERIAL:
+					activeGroup.materialName = value == null ? "default" : value.replace('.', '_');
+					break;
+				case Chunk.MATERIAL_LIBRARY:
+					if (value != null) mtl.load(file.parent().child(value));
+					break;
 				}
 			}
-			reader.close();
-		} catch (IOException e) {
-			return null;
+			activeGroup.faces.addAll(chunk.faces.items, face, chunk.faces.size - face);
+			chunk.clear();
 		}
 
 		// If the "default" group or any others were not used, get rid of them
 		for (int i = 0; i < groups.size; i++) {
-			if (groups.get(i).numFaces < 1) {
+			if (groups.get(i).faces.size < 1) {
 				groups.removeIndex(i);
 				i--;
 			}
 		}
 
 		// If there are no groups left, there is no valid Model to return
-		if (groups.size < 1) return null;
+		if (groups.size < 1) {
+			clear();
+			return null;
+		}
 
 		// Get number of objects/groups remaining after removing empty ones
 		final int numGroups = groups.size;
 
 		final ModelData data = new ModelData();
 
+		final int numVerts = verts.size / 3, numUVs = uvs.size / 2, numNorms = norms.size / 3;
 		for (int g = 0; g < numGroups; g++) {
 			Group group = groups.get(g);
-			Array<Integer> faces = group.faces;
-			final int numElements = faces.size;
-			final int numFaces = group.numFaces;
-			final boolean hasNorms = group.hasNorms;
-			final boolean hasUVs = group.hasUVs;
-
-			final float[] finalVerts = new float[(numFaces * 3) * (3 + (hasNorms ? 3 : 0) + (hasUVs ? 2 : 0))];
-
-			for (int i = 0, vi = 0; i < numElements;) {
-				int vertIndex = faces.get(i++) * 3;
-				finalVerts[vi++] = verts.get(vertIndex++);
-				finalVerts[vi++] = verts.get(vertIndex++);
-				finalVerts[vi++] = verts.get(vertIndex);
+			final int[] faces = group.faces.items;
+			final int numElements = group.faces.size;
+			final int numFaces = numElements / 9;
+			boolean hasNorms = false;
+			boolean hasUVs = false;
+			for (int i = 0; i < numElements; i += 3) {
+				hasUVs |= faces[i + 1] >= 0;
+				hasNorms |= faces[i + 2] >= 0;
+			}
+
+			final int vertexSize = 3 + (hasNorms ? 3 : 0) + (hasUVs ? 2 : 0);
+			final float[] finalVerts = new float[(numFaces * 3) * vertexSize];
+
+			for (int i = 0, vi = 0; i < numElements; i += 3) {
+				final int vertIndex = faces[i];
+				if (vertIndex < 0 || vertIndex >= numVerts) throw new GdxRuntimeException("Invalid vertex index: " + vertIndex);
+				System.arraycopy(verts.items, vertIndex * 3, finalVerts, vi, 3);
+				vi += 3;
 				if (hasNorms) {
-					int normIndex = faces.get(i++) * 3;
-					finalVerts[vi++] = norms.get(normIndex++);
-					finalVerts[vi++] = norms.get(normIndex++);
-					finalVerts[vi++] = norms.get(normIndex);
+					final int normIndex = faces[i + 2];
+					if (normIndex >= 0 && normIndex < numNorms) System.arraycopy(norms.items, normIndex * 3, finalVerts, vi, 3);
+					vi += 3;
 				}
 				if (hasUVs) {
-					int uvIndex = faces.get(i++) * 2;
-					finalVerts[vi++] = uvs.get(uvIndex++);
-					finalVerts[vi++] = uvs.get(uvIndex);
+					final int uvIndex = faces[i + 1];
+					if (uvIndex >= 0 && uvIndex < numUVs) System.arraycopy(uvs.items, uvIndex * 2, finalVerts, vi, 2);
+					vi += 2;
 				}
 			}
 
@@ -243,7 +260,7 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 			if (hasNorms) attributes.add(new VertexAttribute(Usage.Normal, 3, ShaderProgram.NORMAL_ATTRIBUTE));
 			if (hasUVs) attributes.add(new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
 
-			String stringId = Integer.toString(++id);
+			String stringId = Integer.toString(g + 1);
 			String nodeId = "default".equals(group.name) ? "node" + stringId : group.name;
 			String meshId = "default".equals(group.name) ? "mesh" + stringId : group.name;
 			String partId = "default".equals(group.name) ? "part" + stringId : group.name;
@@ -275,18 +292,50 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		// for (ModelMaterial m : mtl.materials)
 		// data.materials.add(m);
 
-		// An instance of ObjLoader can be used to load more than one OBJ.
-		// Clearing the Array cache instead of instantiating new
-		// Arrays should result in slightly faster load times for
-		// subsequent calls to loadObj
-		if (verts.size > 0) verts.clear();
-		if (norms.size > 0) norms.clear();
-		if (uvs.size > 0) uvs.clear();
-		if (groups.size > 0) groups.clear();
-
+		clear();
 		return data;
 	}
 
+	/** An instance of ObjLoader can be used to load more than one OBJ. Clearing the array caches instead of instantiating new
+	 * arrays should result in slightly faster load times for subsequent calls to loadObj. */
+	private void clear () {
+		verts.clear();
+		norms.clear();
+		uvs.clear();
+		groups.clear();
+	}
+
+	/** Splits the bytes in chunks at line boundaries and parses them, in parallel if more than one chunk is used.
+	 * @return The number of chunks used. */
+	private int parse (final byte[] bytes, final boolean flipV, final int threads) {
+		final int count = Math.max(1, Math.min(threads, bytes.length / Math.max(1, minChunkSize)));
+		while (chunks.size < count)
+			chunks.add(new Chunk());
+		for (int i = 0, start = 0; i < count; i++) {
+			int end = i == count - 1 ? bytes.length : Math.max(start, (int)((long)bytes.length * (i + 1) / count));
+			while (end > 0 && end < bytes.length && bytes[end - 1] != '\n')
+				end++;
+			chunks.get(i).reset(bytes, start, end, flipV);
+			start = end;
+		}
+		if (count == 1) {
+			chunks.first().parse();
+			return count;
+		}
+		final AsyncExecutor executor = new AsyncExecutor(count - 1, "ObjLoader");
+		try {
+			final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(count - 1);
+			for (int i = 1; i < count; i++)
+				results.add(executor.submit(chunks.get(i)));
+			chunks.first().parse();
+			for (final AsyncResult<Void> result : results)
+				result.get();
+		} finally {
+			executor.dispose();
+		}
+		return count;
+	}
+
 	private Group setActiveGroup (String name) {
 		// TODO: Check if a HashMap.get calls are faster than iterating
 		// through an Array
@@ -298,32 +347,283 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		return group;
 	}
 
-	private int getIndex (String index, int size) {
-		if (index == null || index.length() == 0) return 0;
-		final int idx = Integer.parseInt(index);
-		if (idx < 0)
-			return size + idx;
-		else
-			return idx - 1;
-	}
-
-	private class Group {
+	private static class Group {
 		final String name;
 		String materialName;
-		Array<Integer> faces;
-		int numFaces;
-		boolean hasNorms;
-		boolean hasUVs;
-		Material mat;
+		/** Three indices (position, texture coordinate and normal) per vertex, three vertices per face. */
+		final IntArray faces;
 
 		Group (String name) {
 			this.name = name;
-			this.faces = new Array<Integer>(200);
-			this.numFaces = 0;
-			this.mat = new Material("");
+			this.faces = new IntArray(600);
 			this.materialName = "default";
 		}
 	}
+
+	/** A range of lines of an OBJ file, parsed into primitive arrays. Indices are resolved relative to the chunk, and the group and
+	 * material statements are recorded, so that chunks can be parsed independently and merged in order afterwards. */
+	static class Chunk implements AsyncTask<Void> {
+		final static int GROUP = 0;
+		final static int MATERIAL = 1;
+		final static int MATERIAL_LIBRARY = 2;
+		private final static double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+			1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+		final FloatArray verts = new FloatArray(300);
+		final FloatArray norms = new FloatArray(300);
+		final FloatArray uvs = new FloatArray(200);
+		/** Three indices (position, texture coordinate and normal) per vertex, three vertices per triangle. An index is -1 when not
+		 * specified. */
+		final IntArray faces = new IntArray(600);
+		/** The offsets within {@link #faces} of the negative (relative) indices, which might refer to a previous chunk. */
+		final IntArray relative = new IntArray();
+		/** Pairs of command type and the offset within {@link #faces} at which the command occurred. */
+		final IntArray commands = new IntArray();
+		final Array<String> commandValues = new Array<String>();
+		private final IntArray polygon = new IntArray();
+		private byte[] data;
+		private int start, end, pos;
+		private boolean flipV;
+
+		void reset (final byte[] data, final int start, final int end, final boolean flipV) {
+			clear();
+			this.data = data;
+			this.start = start;
+			this.end = end;
+			this.flipV = flipV;
+		}
+
+		void clear () {
+			data = null;
+			verts.clear();
+			norms.clear();
+			uvs.clear();
+			faces.clear();
+			relative.clear();
+			commands.clear();
+			commandValues.clear();
+		}
+
+		@Override
+		public Void call () throws Exception {
+			parse();
+			return null;
+		}
+
+		void parse () {
+			final byte[] data = this.data;
+			pos = start;
+			while (pos < end) {
+				while (pos < end && data[pos] <= ' ')
+					pos++;
+				if (pos >= end) break;
+				final int keyword = pos;
+				while (pos < end && data[pos] > ' ')
+					pos++;
+				final int length = pos - keyword;
+				final int first = data[keyword] | 0x20;
+				if (first == 'v' && length == 1)
+					verts.add(parseFloat(), parseFloat(), parseFloat());
+				else if (first == 'v' && length == 2 && (data[keyword + 1] | 0x20) == 'n')
+					norms.add(parseFloat(), parseFloat(), parseFloat());
+				else if (first == 'v' && length == 2 && (data[keyword + 1] | 0x20) == 't') {
+					final float u = parseFloat();
+					final float v = parseFloat();
+					uvs.add(u, flipV ? 1 - v : v);
+				} else if (first == 'f' && length == 1)
+					parseFace();
+				else if ((first == 'o' || first == 'g') && length == 1)
+					addCommand(GROUP);
+				else if (matches(keyword, length, "usemtl"))
+					addCommand(MATERIAL);
+				else if (matches(keyword, length, "mtllib")) addCommand(MATERIAL_LIBRARY);
+				// Skip the remainder of the line, including comments and unsupported statements
+				while (pos < end && data[pos] != '\n')
+					pos++;
+			}
+			this.data = null;
+		}
+
+		/** Adjusts the relative indices by the number of elements in the preceding chunks. */
+		void resolve (final int vertBase, final int uvBase, final int normBase) {
+			final int[] faces = this.faces.items;
+			final int[] relative = this.relative.items;
+			for (int i = 0, n = this.relative.size; i < n; i++) {
+				final int offset = relative[i];
+				switch (offset % 3) {
+				case 0:
+					faces[offset] += vertBase;
+					break;
+				case 1:
+					faces[offset] += uvBase;
+					break;
+				default:
+					faces[offset] += normBase;
+					break;
+				}
+			}
+		}
+
+		private boolean matches (final int offset, final int length, final String keyword) {
+			if (length != keyword.length()) return false;
+			for (int i = 0; i < length; i++)
+				if ((data[offset + i] | 0x20) != keyword.charAt(i)) return false;
+			return true;
+		}
+
+		private void addCommand (final int type) {
+			commands.add(type, faces.size);
+			commandValues.add(parseName());
+		}
+
+		/** Triangulates the polygon of a face statement as a fan. */
+		private void parseFace () {
+			final byte[] data = this.data;
+			final IntArray polygon = this.polygon;
+			polygon.clear();
+			while (true) {
+				skipBlank();
+				if (pos >= end || data[pos] <= ' ') break;
+				final int v = parseInt();
+				int t = 0, n = 0;
+				if (pos < end && data[pos] == '/') {
+					pos++;
+					t = parseInt();
+					if (pos < end && data[pos] == '/') {
+						pos++;
+						n = parseInt();
+					}
+				}
+				polygon.add(v, t, n);
+				while (pos < end && data[pos] > ' ')
+					pos++;
+			}
+			final int[] p = polygon.items;
+			for (int i = 3; i < polygon.size - 3; i += 3) {
+				addVertex(p, 0);
+				addVertex(p, i);
+				addVertex(p, i + 3);
+			}
+		}
+
+		private void addVertex (final int[] polygon, final int offset) {
+			addIndex(polygon[offset], verts.size / 3);
+			addIndex(polygon[offset + 1], uvs.size / 2);
+			addIndex(polygon[offset + 2], norms.size / 3);
+		}
+
+		private void addIndex (final int index, final int count) {
+			if (index > 0)
+				faces.add(index - 1);
+			else if (index < 0) {
+				relative.add(faces.size);
+				faces.add(count + index);
+			} else
+				faces.add(-1);
+		}
+
+		private void skipBlank () {
+			while (pos < end && (data[pos] == ' ' || data[pos] == '\t'))
+				pos++;
+		}
+
+		/** @return The name following the keyword, or null if there is none. */
+		private String parseName () {
+			skipBlank();
+			final int begin = pos;
+			while (pos < end && data[pos] > ' ')
+				pos++;
+			return pos > begin ? string(begin, pos) : null;
+		}
+
+		private int parseInt () {
+			final byte[] data = this.data;
+			boolean negative = false;
+			if (pos < end && data[pos] == '-') {
+				negative = true;
+				pos++;
+			}
+			int result = 0, digit;
+			while (pos < end && (digit = data[pos] - '0') >= 0 && digit <= 9) {
+				result = result * 10 + digit;
+				pos++;
+			}
+			return negative ? -result : result;
+		}
+
+		/** Parses a decimal number without allocating. Up to 18 significant digits are taken into account, which is more than enough
+		 * for a float. Falls back to {@link Float#parseFloat(String)} for anything else, like "nan" or "inf".
+		 * @return The number, or zero if there is none left on the current line. */
+		private float parseFloat () {
+			final byte[] data = this.data;
+			skipBlank();
+			final int begin = pos;
+			boolean negative = false;
+			if (pos < end && (data[pos] == '-' || data[pos] == '+')) negative = data[pos++] == '-';
+			long mantissa = 0;
+			int exponent = 0, digits = 0, digit;
+			boolean valid = false;
+			while (pos < end && (digit = data[pos] - '0') >= 0 && digit <= 9) {
+				valid = true;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + digit;
+					if (mantissa != 0) digits++;
+				} else
+					exponent++;
+				pos++;
+			}
+			if (pos < end && data[pos] == '.') {
+				pos++;
+				while (pos < end && (digit = data[pos] - '0') >= 0 && digit <= 9) {
+					valid = true;
+					if (digits < 18) {
+						mantissa = mantissa * 10 + digit;
+						if (mantissa != 0) digits++;
+						exponent--;
+					}
+					pos++;
+				}
+			}
+			if (!valid) return pos == begin && (pos >= end || data[pos] <= ' ') ? 0f : parseFloatSlow(begin);
+			if (pos < end && (data[pos] | 0x20) == 'e') {
+				pos++;
+				boolean negativeExponent = false;
+				if (pos < end && (data[pos] == '-' || data[pos] == '+')) negativeExponent = data[pos++] == '-';
+				int value = 0;
+				while (pos < end && (digit = data[pos] - '0') >= 0 && digit <= 9) {
+					if (value < 10000) value = value * 10 + digit;
+					pos++;
+				}
+				exponent += negativeExponent ? -value : value;
+			}
+			if (pos < end && data[pos] > ' ') return parseFloatSlow(begin);
+			double result = mantissa;
+			if (exponent < 0)
+				result /= -exponent < POW10.length ? POW10[-exponent] : Math.pow(10, -exponent);
+			else if (exponent > 0) result *= exponent < POW10.length ? POW10[exponent] : Math.pow(10, exponent);
+			return (float)(negative ? -result : result);
+		}
+
+		private float parseFloatSlow (final int begin) {
+			pos = begin;
+			while (pos < end && data[pos] > ' ')
+				pos++;
+			final String value = string(begin, pos);
+			try {
+				return Float.parseFloat(value);
+			} catch (NumberFormatException ex) {
+				throw new GdxRuntimeException("Invalid number in OBJ file: " + value, ex);
+			}
+		}
+
+		private String string (final int begin, final int end) {
+			try {
+				return new String(data, begin, end - begin, "UTF-8");
+			} catch (UnsupportedEncodingException ex) {
+				throw new GdxRuntimeException(ex);
+			}
+		}
+	}
 }
 
 class MtlLoader {
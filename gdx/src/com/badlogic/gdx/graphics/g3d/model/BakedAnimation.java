@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.Texture.TextureWrap;
+import com.badlogic.gdx.graphics.g3d.attributes.BakedAnimationAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.AnimationBaker;
+import com.badlogic.gdx.graphics.glutils.FloatTextureData;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.DataInput;
+import com.badlogic.gdx.utils.DataOutput;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** One or more {@link Animation}s of a single skinned {@link NodePart}, sampled at a fixed frame rate into bone matrices. The bone
+ * matrices of every frame are stored as rows of an affine 3x4 matrix, which allows them to be uploaded to a float texture (see
+ * {@link #getTexture()}) and sampled in the vertex shader. A {@link BakedAnimationAttribute} selects which clip to play, this way
+ * many instances can share the same skinned mesh and texture while the animation is driven completely by the GPU.
+ * <p>
+ * Use {@link AnimationBaker} to create a BakedAnimation, and {@link #write(FileHandle)} and {@link #read(FileHandle)} to store it
+ * in a compact binary form so the baking step can be done offline. */
+public class BakedAnimation implements Disposable {
+	/** Identifies the binary format, the ASCII characters "G3BA". */
+	public final static int MAGIC = 0x47334241;
+	public final static int VERSION = 1;
+	/** The number of floats used for a single bone matrix (three rows of four floats). */
+	public final static int BONE_SIZE = 12;
+
+	/** A range of frames within a {@link BakedAnimation}, typically created from a single {@link Animation}. */
+	public static class Clip {
+		/** the id of the animation this clip is baked from */
+		public String id;
+		/** the index of the first frame of this clip */
+		public int frameOffset;
+		/** the number of frames in this clip */
+		public int frameCount;
+
+		public Clip () {
+		}
+
+		public Clip (final String id, final int frameOffset, final int frameCount) {
+			this.id = id;
+			this.frameOffset = frameOffset;
+			this.frameCount = frameCount;
+		}
+	}
+
+	/** the number of bones of each frame */
+	public final int boneCount;
+	/** the number of frames per second the animations are sampled at */
+	public final float fps;
+	/** the total number of frames of all clips */
+	public final int frameCount;
+	/** the bone matrices, {@link #BONE_SIZE} floats per bone, {@link #boneCount} bones per frame */
+	public final float[] data;
+	/** the animation clips */
+	public final Array<Clip> clips = new Array<Clip>();
+	/** the playback time in seconds, shared by all instances playing this animation so the color and depth passes sample the same
+	 * frame. Advance it once per frame, see {@link #update(float)}. */
+	public float time;
+	private Texture texture;
+
+	public BakedAnimation (final int boneCount, final int frameCount, final float fps) {
+		if (boneCount <= 0) throw new GdxRuntimeException("boneCount must be positive");
+		if (frameCount <= 0) throw new GdxRuntimeException("frameCount must be positive");
+		this.boneCount = boneCount;
+		this.frameCount = frameCount;
+		this.fps = fps;
+		this.data = new float[frameCount * boneCount * BONE_SIZE];
+	}
+
+	/** @return the clip with the specified id, or null if not available. */
+	public Clip getClip (final String id) {
+		for (final Clip clip : clips)
+			if (clip.id.equals(id)) return clip;
+		return null;
+	}
+
+	/** @return the index of the clip with the specified id, or -1 if not available. */
+	public int getClipIndex (final String id) {
+		for (int i = 0; i < clips.size; i++)
+			if (clips.get(i).id.equals(id)) return i;
+		return -1;
+	}
+
+	/** Store the specified matrix as bone of the specified frame. Only the first three rows of the matrix are stored. */
+	public void setBone (final int frame, final int bone, final Matrix4 matrix) {
+		final float[] val = matrix.val;
+		final int idx = (frame * boneCount + bone) * BONE_SIZE;
+		data[idx] = val[Matrix4.M00];
+		data[idx + 1] = val[Matrix4.M01];
+		data[idx + 2] = val[Matrix4.M02];
+		data[idx + 3] = val[Matrix4.M03];
+		data[idx + 4] = val[Matrix4.M10];
+		data[idx + 5] = val[Matrix4.M11];
+		data[idx + 6] = val[Matrix4.M12];
+		data[idx + 7] = val[Matrix4.M13];
+		data[idx + 8] = val[Matrix4.M20];
+		data[idx + 9] = val[Matrix4.M21];
+		data[idx + 10] = val[Matrix4.M22];
+		data[idx + 11] = val[Matrix4.M23];
+	}
+
+	/** Get the bone matrix of the specified frame. */
+	public Matrix4 getBone (final int frame, final int bone, final Matrix4 out) {
+		final float[] val = out.idt().val;
+		final int idx = (frame * boneCount + bone) * BONE_SIZE;
+		val[Matrix4.M00] = data[idx];
+		val[Matrix4.M01] = data[idx + 1];
+		val[Matrix4.M02] = data[idx + 2];
+		val[Matrix4.M03] = data[idx + 3];
+		val[Matrix4.M10] = data[idx + 4];
+		val[Matrix4.M11] = data[idx + 5];
+		val[Matrix4.M12] = data[idx + 6];
+		val[Matrix4.M13] = data[idx + 7];
+		val[Matrix4.M20] = data[idx + 8];
+		val[Matrix4.M21] = data[idx + 9];
+		val[Matrix4.M22] = data[idx + 10];
+		val[Matrix4.M23] = data[idx + 11];
+		return out;
+	}
+
+	/** @return the frame (relative to the start of all frames) of the clip at the specified time, wrapping around at the end. */
+	public int getFrame (final Clip clip, final float time) {
+		int frame = (int)Math.floor(time * fps) % clip.frameCount;
+		if (frame < 0) frame += clip.frameCount;
+		return clip.frameOffset + frame;
+	}
+
+	/** Advances the playback {@link #time} of all instances, call this once per frame. */
+	public void update (final float delta) {
+		time += delta;
+	}
+
+	/** @return the width of the texture, three texels per bone */
+	public int getTextureWidth () {
+		return boneCount * 3;
+	}
+
+	/** @return the height of the texture, one row per frame */
+	public int getTextureHeight () {
+		return frameCount;
+	}
+
+	/** Lazily creates the float texture containing all bone matrices, one row per frame. This requires float texture support
+	 * (OpenGL ES 3.0 or the OES_texture_float extension) and vertex texture fetch. The texture is owned by this BakedAnimation. */
+	public Texture getTexture () {
+		if (texture == null) {
+			final FloatTextureData textureData = new FloatTextureData(getTextureWidth(), getTextureHeight(), GL30.GL_RGBA32F,
+				GL20.GL_RGBA, GL20.GL_FLOAT, false);
+			textureData.prepare();
+			final FloatBuffer buffer = textureData.getBuffer();
+			buffer.clear();
+			buffer.put(data);
+			buffer.flip();
+			texture = new Texture(textureData);
+			texture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
+			texture.setWrap(TextureWrap.ClampToEdge, TextureWrap.ClampToEdge);
+		}
+		return texture;
+	}
+
+	/** @return Whether the GPU supports sampling a baked animation texture in the vertex shader. */
+	public static boolean isSupported () {
+		if (!Gdx.graphics.isGL30Available() && !Gdx.graphics.supportsExtension("OES_texture_float")
+			&& !Gdx.graphics.supportsExtension("GL_ARB_texture_float")) return false;
+		final IntBuffer buffer = BufferUtils.newIntBuffer(16);
+		Gdx.gl.glGetIntegerv(GL20.GL_MAX_VERTEX_TEXTURE_IMAGE_UNITS, buffer);
+		return buffer.get(0) > 0;
+	}
+
+	/** Write this BakedAnimation in binary form to the specified file. */
+	public void write (final FileHandle file) {
+		OutputStream output = null;
+		try {
+			output = file.write(false, 8192);
+			write(output);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	/** Write this BakedAnimation in binary form to the specified stream, the stream is not closed. */
+	public void write (final OutputStream output) {
+		try {
+			final DataOutput out = new DataOutput(output);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(boneCount, true);
+			out.writeInt(frameCount, true);
+			out.writeFloat(fps);
+			out.writeInt(clips.size, true);
+			for (final Clip clip : clips) {
+				out.writeString(clip.id);
+				out.writeInt(clip.frameOffset, true);
+				out.writeInt(clip.frameCount, true);
+			}
+			for (int i = 0; i < data.length; i++)
+				out.writeFloat(data[i]);
+			out.flush();
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error writing baked animation", ex);
+		}
+	}
+
+	/** Read a BakedAnimation previously written using {@link #write(FileHandle)}. */
+	public static BakedAnimation read (final FileHandle file) {
+		InputStream input = null;
+		try {
+			input = file.read(8192);
+			return read(input);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** Read a BakedAnimation previously written using {@link #write(OutputStream)}, the stream is not closed. */
+	public static BakedAnimation read (final InputStream input) {
+		try {
+			final DataInput in = new DataInput(input);
+			if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a baked animation");
+			final int version = in.readInt();
+			if (version != VERSION) throw new GdxRuntimeException("Unsupported baked animation version: " + version);
+			final int boneCount = in.readInt(true);
+			final int frameCount = in.readInt(true);
+			final float fps = in.readFloat();
+			final BakedAnimation result = new BakedAnimation(boneCount, frameCount, fps);
+			final int clipCount = in.readInt(true);
+			for (int i = 0; i < clipCount; i++)
+				result.clips.add(new Clip(in.readString(), in.readInt(true), in.readInt(true)));
+			final float[] data = result.data;
+			for (int i = 0; i < data.length; i++)
+				data[i] = in.readFloat();
+			return result;
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading baked animation", ex);
+		}
+	}
+
+	@Override
+	public void dispose () {
+		if (texture != null) {
+			texture.dispose();
+			texture = null;
+		}
+	}
+}
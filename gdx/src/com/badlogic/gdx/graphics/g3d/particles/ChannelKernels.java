@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.particles;
+
+import com.badlogic.gdx.graphics.g3d.particles.values.ScaledNumericValue;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Bulk operations on the data of {@link ParallelArray.FloatChannel}s. Each operation processes count elements, the element n of
+ * an array is located at offset + n * stride, so an offset is typically the first element multiplied by the stride size of the
+ * channel plus the offset of the component (e.g. {@link ParticleChannels#AlphaOffset}).
+ * <p>
+ * The operations are written as plain counted loops without calls or branches in the loop body. When all the strides are 1 a
+ * dedicated loop is used, which the JIT compiler is able to unroll and vectorize. Interleaved components can be processed at once by
+ * treating the channel as a flat array, e.g. the three components of count positions are 3 * count elements with stride 1. The
+ * interpolation channels interleave a start and a difference component, so {@link #lerp} and {@link #mulAdd} also have a
+ * dedicated loop for sources with stride 2 and a destination with stride 1, e.g. the value channel of a {@link
+ * com.badlogic.gdx.graphics.g3d.particles.influencers.SimpleInfluencer}.
+ * <p>
+ * The destination may be the same array as one of the sources as long as the element n of the destination is the element n of
+ * that source, the other overlaps give undefined results. */
+public final class ChannelKernels {
+	private ChannelKernels () {
+	}
+
+	/** dst[n] = value */
+	public static void fill (float[] dst, int offset, int stride, int count, float value) {
+		if (stride == 1) {
+			for (int i = offset, c = offset + count; i < c; i++)
+				dst[i] = value;
+		} else {
+			for (int i = offset, c = offset + count * stride; i < c; i += stride)
+				dst[i] = value;
+		}
+	}
+
+	/** dst[n] = a random value between min (inclusive) and max (exclusive), using {@link MathUtils#random}. */
+	public static void random (float[] dst, int offset, int stride, int count, float min, float max) {
+		final float range = max - min;
+		for (int i = offset, c = offset + count * stride; i < c; i += stride)
+			dst[i] = min + range * MathUtils.random();
+	}
+
+	/** dst[n] = clamp(dst[n], min, max) */
+	public static void clamp (float[] dst, int offset, int stride, int count, float min, float max) {
+		if (stride == 1) {
+			for (int i = offset, c = offset + count; i < c; i++)
+				dst[i] = Math.min(max, Math.max(min, dst[i]));
+		} else {
+			for (int i = offset, c = offset + count * stride; i < c; i += stride)
+				dst[i] = Math.min(max, Math.max(min, dst[i]));
+		}
+	}
+
+	/** y[n] += a * x[n] */
+	public static void axpy (float a, float[] x, int xOffset, int xStride, float[] y, int yOffset, int yStride, int count) {
+		if (xStride == 1 && yStride == 1) {
+			for (int i = 0; i < count; i++)
+				y[yOffset + i] += a * x[xOffset + i];
+		} else {
+			for (int i = 0, xi = xOffset, yi = yOffset; i < count; i++, xi += xStride, yi += yStride)
+				y[yi] += a * x[xi];
+		}
+	}
+
+	/** dst[n] = start[n] + diff[n] * t, which is how the interpolation channels of the influencers are evaluated. */
+	public static void lerp (float[] start, int startOffset, int startStride, float[] diff, int diffOffset, int diffStride, float t,
+		float[] dst, int dstOffset, int dstStride, int count) {
+		if (startStride == 1 && diffStride == 1 && dstStride == 1) {
+			for (int i = 0; i < count; i++)
+				dst[dstOffset + i] = start[startOffset + i] + diff[diffOffset + i] * t;
+		} else if (startStride == 2 && diffStride == 2 && dstStride == 1) {
+			for (int i = 0, j = 0; i < count; i++, j += 2)
+				dst[dstOffset + i] = start[startOffset + j] + diff[diffOffset + j] * t;
+		} else {
+			for (int i = 0, s = startOffset, d = diffOffset, o = dstOffset; i < count; i++, s += startStride, d += diffStride, o += dstStride)
+				dst[o] = start[s] + diff[d] * t;
+		}
+	}
+
+	/** dst[n] = a[n] + b[n] * c[n] */
+	public static void mulAdd (float[] a, int aOffset, int aStride, float[] b, int bOffset, int bStride, float[] c, int cOffset,
+		int cStride, float[] dst, int dstOffset, int dstStride, int count) {
+		if (aStride == 1 && bStride == 1 && cStride == 1 && dstStride == 1) {
+			for (int i = 0; i < count; i++)
+				dst[dstOffset + i] = a[aOffset + i] + b[bOffset + i] * c[cOffset + i];
+		} else if (aStride == 2 && bStride == 2 && cStride == 1 && dstStride == 1) {
+			for (int i = 0, j = 0; i < count; i++, j += 2)
+				dst[dstOffset + i] = a[aOffset + j] + b[bOffset + j] * c[cOffset + i];
+		} else {
+			for (int i = 0, ai = aOffset, bi = bOffset, ci = cOffset, o = dstOffset; i < count; i++, ai += aStride, bi += bStride, ci += cStride, o += dstStride)
+				dst[o] = a[ai] + b[bi] * c[ci];
+		}
+	}
+
+	/** dst[n] = value.getScale(percent[n]), the curve lookup can't be vectorized so this is best followed by a
+	 * {@link #mulAdd(float[], int, int, float[], int, int, float[], int, int, float[], int, int, int)} which uses dst as input. */
+	public static void scale (ScaledNumericValue value, float[] percent, int percentOffset, int percentStride, float[] dst,
+		int dstOffset, int dstStride, int count) {
+		for (int i = 0, p = percentOffset, o = dstOffset; i < count; i++, p += percentStride, o += dstStride)
+			dst[o] = value.getScale(percent[p]);
+	}
+
+	/** Verlet integration of count elements stored with stride 1: position[n] = 2 * position[n] - previous[n] + acceleration[n] *
+	 * deltaTimeSqr and previous[n] = the old position[n]. The channels must have the same layout, e.g. a range of particles of the
+	 * position, previous position and acceleration channels. */
+	public static void verlet (float[] position, float[] previous, float[] acceleration, int offset, int count, float deltaTimeSqr) {
+		for (int i = offset, c = offset + count; i < c; i++) {
+			final float p = position[i];
+			position[i] = 2 * p - previous[i] + acceleration[i] * deltaTimeSqr;
+			previous[i] = p;
+		}
+	}
+}
@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.particles;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter.EmissionMode;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.Influencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer.AspectTextureRegion;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.BillboardRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.values.ScaledNumericValue;
+import com.badlogic.gdx.graphics.glutils.GLVersion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Simulates the billboard particles of a {@link ParticleController} on the GPU. The state of the particles is kept in two vertex
+ * buffers which are advanced using transform feedback, so only the newly emitted particles are transferred each frame, which
+ * makes effects with a very large amount of particles feasible. Requires OpenGL (ES) 3.0, see {@link #isSupported()}.
+ * <p>
+ * The controller is used as a description of the effect, only the common components are supported (see
+ * {@link #isSupported(ParticleController)}): a {@link RegularEmitter}, a {@link SpawnInfluencer} (the spawn positions are still
+ * computed on the CPU), a {@link ScaleInfluencer}, a {@link ColorInfluencer.Single}, a {@link RegionInfluencer.Single} and a
+ * {@link DynamicsInfluencer} with at most one {@link DynamicsModifier.PolarAcceleration}, rendered by a {@link BillboardRenderer}.
+ * The curves of the values are sampled in {@link #CURVE_SAMPLES} points. Other controllers, or devices without OpenGL (ES) 3.0,
+ * should use the regular CPU simulation which remains the reference implementation.
+ * <p>
+ * Particles are allocated in a ring, when more than the maximum particle count of the emitter are alive the oldest slots are
+ * reused. The life offset and the minimum particle count of the emitter are ignored.
+ * @deprecated Experimental, likely to change, do not use! */
+public class GpuParticleController implements Disposable {
+	/** The number of points in which the curves of the scaled values are sampled. */
+	public static final int CURVE_SAMPLES = 16;
+
+	/** The floats per particle: position and age, velocity and life, scale and alpha, strength, theta and phi. */
+	private static final int PARTICLE_SIZE = 20;
+	private static final String[] ATTRIBUTES = {"a_positionAge", "a_velocityLife", "a_scaleAlpha", "a_strength", "a_angles"};
+	private static final String[] VARYINGS = {"v_positionAge", "v_velocityLife", "v_scaleAlpha", "v_strength", "v_angles"};
+
+	/** @return Whether the GPU simulation is supported on this device. */
+	public static boolean isSupported () {
+		return Gdx.gl30 != null;
+	}
+
+	/** @return Whether all the components of the controller are supported by the GPU simulation. */
+	public static boolean isSupported (ParticleController controller) {
+		if (!(controller.emitter instanceof RegularEmitter) || !(controller.renderer instanceof BillboardRenderer)) return false;
+		for (Influencer influencer : controller.influencers) {
+			if (influencer instanceof DynamicsInfluencer) {
+				final DynamicsInfluencer dynamics = (DynamicsInfluencer)influencer;
+				if (dynamics.velocities.size > 1) return false;
+				if (dynamics.velocities.size == 1 && !(dynamics.velocities.first() instanceof DynamicsModifier.PolarAcceleration))
+					return false;
+			} else if (!(influencer instanceof SpawnInfluencer || influencer instanceof ScaleInfluencer
+				|| influencer instanceof ColorInfluencer.Single || influencer instanceof RegionInfluencer.Single)) return false;
+		}
+		return true;
+	}
+
+	/** The controller which describes the effect, its transform is used when emitting particles. */
+	public final ParticleController controller;
+	/** The texture of the particles. */
+	public Texture texture;
+
+	private final RegularEmitter emitter;
+	private final SpawnInfluencer spawn;
+	private final ScaleInfluencer scale;
+	private final ColorInfluencer.Single color;
+	private final DynamicsModifier.PolarAcceleration acceleration;
+	private final AspectTextureRegion region;
+
+	private final int capacity;
+	private final int[] buffers = new int[2];
+	private final int[] simulationArrays = new int[2];
+	private final int[] renderArrays = new int[2];
+	private int cornerBuffer;
+	private int current;
+	private int cursor;
+	private final FloatBuffer spawnBuffer;
+	private final float[] particle = new float[PARTICLE_SIZE];
+
+	private int simulationProgram;
+	private int u_deltaTime, u_strengthCurve, u_thetaCurve, u_phiCurve;
+	private ShaderProgram renderProgram;
+
+	private final float[] strengthCurve = new float[CURVE_SAMPLES], thetaCurve = new float[CURVE_SAMPLES],
+		phiCurve = new float[CURVE_SAMPLES], scaleCurve = new float[CURVE_SAMPLES], alphaCurve = new float[CURVE_SAMPLES],
+		colorCurve = new float[CURVE_SAMPLES * 3];
+
+	// Mirrors the state of the RegularEmitter
+	private float emission, emissionDiff, emissionDelta;
+	private float life, lifeDiff;
+	private float duration, delay, durationTimer, delayTimer;
+	private float percent;
+	private final Vector3 tmpV = new Vector3();
+
+	/** @param controller The description of the effect, must be supported, see {@link #isSupported(ParticleController)}.
+	 * @param texture The texture of the particles, the region of the {@link RegionInfluencer.Single} is used if present.
+	 * @deprecated Experimental, likely to change, do not use! */
+	public GpuParticleController (ParticleController controller, Texture texture) {
+		if (!isSupported()) throw new GdxRuntimeException("GpuParticleController requires OpenGL (ES) 3.0");
+		if (!isSupported(controller)) throw new GdxRuntimeException("Controller not supported: " + controller.name);
+		this.controller = controller;
+		this.texture = texture;
+		this.emitter = (RegularEmitter)controller.emitter;
+		this.spawn = controller.findInfluencer(SpawnInfluencer.class);
+		this.scale = controller.findInfluencer(ScaleInfluencer.class);
+		this.color = controller.findInfluencer(ColorInfluencer.Single.class);
+		final RegionInfluencer.Single regionInfluencer = controller.findInfluencer(RegionInfluencer.Single.class);
+		this.region = regionInfluencer != null && regionInfluencer.regions.size > 0 ? regionInfluencer.regions.first() : null;
+		final DynamicsInfluencer dynamics = controller.findInfluencer(DynamicsInfluencer.class);
+		this.acceleration = dynamics != null && dynamics.velocities.size > 0 ? (DynamicsModifier.PolarAcceleration)dynamics.velocities
+			.first() : null;
+		this.capacity = Math.max(1, emitter.maxParticleCount);
+		this.spawnBuffer = BufferUtils.newFloatBuffer(capacity * PARTICLE_SIZE);
+
+		sampleCurves();
+		createPrograms();
+		createBuffers();
+		if (spawn != null) spawn.spawnShapeValue.init();
+		start();
+	}
+
+	private void sampleCurves () {
+		for (int i = 0; i < CURVE_SAMPLES; i++) {
+			final float t = i / (float)(CURVE_SAMPLES - 1);
+			strengthCurve[i] = acceleration != null ? acceleration.strengthValue.getScale(t) : 0f;
+			thetaCurve[i] = acceleration != null ? acceleration.thetaValue.getScale(t) : 0f;
+			phiCurve[i] = acceleration != null ? acceleration.phiValue.getScale(t) : 0f;
+			scaleCurve[i] = scale != null ? scale.value.getScale(t) : 1f;
+			alphaCurve[i] = color != null ? color.alphaValue.getScale(t) : 1f;
+			if (color != null)
+				color.colorValue.getColor(t, colorCurve, i * 3);
+			else
+				colorCurve[i * 3] = colorCurve[i * 3 + 1] = colorCurve[i * 3 + 2] = 1f;
+		}
+	}
+
+	private static String getPrefix () {
+		final String prefix = Gdx.graphics.getGLVersion().getType() == GLVersion.Type.OpenGL ? "#version 150\n"
+			: "#version 300 es\nprecision highp float;\n";
+		return prefix + "#define numCurveSamples " + CURVE_SAMPLES + "\n";
+	}
+
+	private static String readShader (String name) {
+		return Gdx.files.classpath("com/badlogic/gdx/graphics/g3d/particles/" + name).readString();
+	}
+
+	private void createPrograms () {
+		final GL30 gl = Gdx.gl30;
+		final String prefix = getPrefix();
+		final int vertexShader = compileShader(GL20.GL_VERTEX_SHADER, prefix + readShader("gpu.simulation.vertex.glsl"));
+		final int fragmentShader = compileShader(GL20.GL_FRAGMENT_SHADER, prefix + readShader("gpu.simulation.fragment.glsl"));
+		simulationProgram = gl.glCreateProgram();
+		gl.glAttachShader(simulationProgram, vertexShader);
+		gl.glAttachShader(simulationProgram, fragmentShader);
+		for (int i = 0; i < ATTRIBUTES.length; i++)
+			gl.glBindAttribLocation(simulationProgram, i, ATTRIBUTES[i]);
+		gl.glTransformFeedbackVaryings(simulationProgram, VARYINGS, GL30.GL_INTERLEAVED_ATTRIBS);
+		gl.glLinkProgram(simulationProgram);
+		gl.glDeleteShader(vertexShader);
+		gl.glDeleteShader(fragmentShader);
+		final IntBuffer status = BufferUtils.newIntBuffer(1);
+		gl.glGetProgramiv(simulationProgram, GL20.GL_LINK_STATUS, status);
+		if (status.get(0) == 0) {
+			final String log = gl.glGetProgramInfoLog(simulationProgram);
+			gl.glDeleteProgram(simulationProgram);
+			throw new GdxRuntimeException("Error linking particle simulation shader: " + log);
+		}
+		u_deltaTime = gl.glGetUniformLocation(simulationProgram, "u_deltaTime");
+		u_strengthCurve = gl.glGetUniformLocation(simulationProgram, "u_strengthCurve");
+		u_thetaCurve = gl.glGetUniformLocation(simulationProgram, "u_thetaCurve");
+		u_phiCurve = gl.glGetUniformLocation(simulationProgram, "u_phiCurve");
+
+		renderProgram = new ShaderProgram(prefix + readShader("gpu.render.vertex.glsl"), prefix
+			+ readShader("gpu.render.fragment.glsl"));
+		if (!renderProgram.isCompiled())
+			throw new GdxRuntimeException("Error compiling particle render shader: " + renderProgram.getLog());
+	}
+
+	private static int compileShader (int type, String source) {
+		final GL20 gl = Gdx.gl20;
+		final int shader = gl.glCreateShader(type);
+		gl.glShaderSource(shader, source);
+		gl.glCompileShader(shader);
+		final IntBuffer status = BufferUtils.newIntBuffer(1);
+		gl.glGetShaderiv(shader, GL20.GL_COMPILE_STATUS, status);
+		if (status.get(0) == 0) {
+			final String log = gl.glGetShaderInfoLog(shader);
+			gl.glDeleteShader(shader);
+			throw new GdxRuntimeException("Error compiling particle simulation shader: " + log);
+		}
+		return shader;
+	}
+
+	private void createBuffers () {
+		final GL30 gl = Gdx.gl30;
+		// All particles start dead, which is a life of zero
+		final FloatBuffer empty = BufferUtils.newFloatBuffer(capacity * PARTICLE_SIZE);
+		for (int i = 0; i < 2; i++) {
+			buffers[i] = gl.glGenBuffer();
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[i]);
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity * PARTICLE_SIZE * 4, empty, GL30.GL_DYNAMIC_COPY);
+		}
+		cornerBuffer = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, cornerBuffer);
+		final float[] corners = {-0.5f, -0.5f, 0.5f, -0.5f, -0.5f, 0.5f, 0.5f, 0.5f};
+		final FloatBuffer cornerData = BufferUtils.newFloatBuffer(corners.length);
+		BufferUtils.copy(corners, cornerData, corners.length, 0);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, corners.length * 4, cornerData, GL20.GL_STATIC_DRAW);
+
+		gl.glGenVertexArrays(2, simulationArrays, 0);
+		gl.glGenVertexArrays(2, renderArrays, 0);
+		for (int i = 0; i < 2; i++) {
+			gl.glBindVertexArray(simulationArrays[i]);
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[i]);
+			for (int a = 0; a < ATTRIBUTES.length; a++) {
+				gl.glEnableVertexAttribArray(a);
+				gl.glVertexAttribPointer(a, 4, GL20.GL_FLOAT, false, PARTICLE_SIZE * 4, a * 16);
+			}
+
+			gl.glBindVertexArray(renderArrays[i]);
+			final int corner = renderProgram.getAttributeLocation("a_corner");
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, cornerBuffer);
+			gl.glEnableVertexAttribArray(corner);
+			gl.glVertexAttribPointer(corner, 2, GL20.GL_FLOAT, false, 0, 0);
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[i]);
+			for (int a = 0; a < 3; a++) {
+				final int location = renderProgram.getAttributeLocation(ATTRIBUTES[a]);
+				if (location < 0) continue;
+				gl.glEnableVertexAttribArray(location);
+				gl.glVertexAttribPointer(location, 4, GL20.GL_FLOAT, false, PARTICLE_SIZE * 4, a * 16);
+				gl.glVertexAttribDivisor(location, 1);
+			}
+		}
+		gl.glBindVertexArray(0);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+	}
+
+	/** Restarts the emission, like {@link RegularEmitter#start()}. Particles which are alive are not removed. */
+	public void start () {
+		delay = emitter.delayValue.active ? emitter.delayValue.newLowValue() : 0;
+		delayTimer = 0;
+		durationTimer = 0f;
+		duration = emitter.durationValue.newLowValue();
+		percent = 0f;
+		emission = (int)emitter.emissionValue.newLowValue();
+		emissionDiff = (int)emitter.emissionValue.newHighValue();
+		if (!emitter.emissionValue.isRelative()) emissionDiff -= emission;
+		life = (int)emitter.lifeValue.newLowValue();
+		lifeDiff = (int)emitter.lifeValue.newHighValue();
+		if (!emitter.lifeValue.isRelative()) lifeDiff -= life;
+		if (spawn != null) spawn.spawnShapeValue.start();
+	}
+
+	/** @return Whether the emission completed, particles may still be alive. */
+	public boolean isComplete () {
+		return delayTimer >= delay && durationTimer >= duration
+			&& (!emitter.isContinuous() || emitter.getEmissionMode() != EmissionMode.Enabled);
+	}
+
+	/** Emits the new particles and advances the simulation on the GPU.
+	 * @param deltaTime The time step in seconds. */
+	public void update (float deltaTime) {
+		emit(deltaTime * 1000f);
+		simulate(deltaTime);
+	}
+
+	private void emit (float deltaMillis) {
+		if (delayTimer < delay) {
+			delayTimer += deltaMillis;
+			return;
+		}
+		if (emitter.getEmissionMode() == EmissionMode.Disabled) return;
+		if (durationTimer < duration) {
+			durationTimer += deltaMillis;
+			percent = durationTimer / duration;
+		} else if (emitter.isContinuous() && emitter.getEmissionMode() == EmissionMode.Enabled)
+			start();
+		else
+			return;
+
+		emissionDelta += deltaMillis;
+		float emissionTime = emission + emissionDiff * emitter.emissionValue.getScale(percent);
+		if (emissionTime <= 0) return;
+		emissionTime = 1000 / emissionTime;
+		if (emissionDelta < emissionTime) return;
+		final int count = Math.min((int)(emissionDelta / emissionTime), capacity);
+		emissionDelta -= count * emissionTime;
+		emissionDelta %= emissionTime;
+
+		final float lifeSeconds = (life + lifeDiff * emitter.lifeValue.getScale(percent)) / 1000f;
+		if (lifeSeconds <= 0) return;
+		spawnBuffer.clear();
+		final int first = cursor;
+		for (int i = 0; i < count; i++) {
+			createParticle(lifeSeconds);
+			spawnBuffer.put(particle);
+		}
+		cursor = (cursor + count) % capacity;
+
+		// Upload the new particles in the ring, which may wrap around
+		final GL20 gl = Gdx.gl;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[current]);
+		final int firstCount = Math.min(count, capacity - first);
+		spawnBuffer.position(0);
+		spawnBuffer.limit(firstCount * PARTICLE_SIZE);
+		gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, first * PARTICLE_SIZE * 4, firstCount * PARTICLE_SIZE * 4, spawnBuffer);
+		if (firstCount < count) {
+			spawnBuffer.position(firstCount * PARTICLE_SIZE);
+			spawnBuffer.limit(count * PARTICLE_SIZE);
+			gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, 0, (count - firstCount) * PARTICLE_SIZE * 4, spawnBuffer.slice());
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+	}
+
+	/** Fills {@link #particle} with the initial state of a new particle, like the activateParticles methods of the components. */
+	private void createParticle (float lifeSeconds) {
+		final float[] p = particle;
+		if (spawn != null)
+			spawn.spawnShapeValue.spawn(tmpV, percent);
+		else
+			tmpV.setZero();
+		tmpV.mul(controller.transform);
+		p[0] = tmpV.x;
+		p[1] = tmpV.y;
+		p[2] = tmpV.z;
+		p[3] = 0f;
+		p[4] = p[5] = p[6] = 0f;
+		p[7] = lifeSeconds;
+		if (scale != null) {
+			final float start = scale.value.newLowValue() * controller.scale.x;
+			float diff = scale.value.newHighValue() * controller.scale.x;
+			if (!scale.value.isRelative()) diff -= start;
+			p[8] = start;
+			p[9] = diff;
+		} else {
+			p[8] = 1f;
+			p[9] = 0f;
+		}
+		if (color != null) {
+			p[10] = color.alphaValue.newLowValue();
+			p[11] = color.alphaValue.newHighValue() - p[10];
+		} else {
+			p[10] = 1f;
+			p[11] = 0f;
+		}
+		if (acceleration != null) {
+			setRange(p, 12, acceleration.strengthValue);
+			setRange(p, 16, acceleration.thetaValue);
+			setRange(p, 18, acceleration.phiValue);
+		} else {
+			for (int i = 12; i < PARTICLE_SIZE; i++)
+				p[i] = 0f;
+		}
+	}
+
+	private static void setRange (float[] particle, int offset, ScaledNumericValue value) {
+		final float start = value.newLowValue();
+		float diff = value.newHighValue();
+		if (!value.isRelative()) diff -= start;
+		particle[offset] = start;
+		particle[offset + 1] = diff;
+	}
+
+	private void simulate (float deltaTime) {
+		final GL30 gl = Gdx.gl30;
+		final int target = 1 - current;
+		gl.glUseProgram(simulationProgram);
+		gl.glUniform1f(u_deltaTime, deltaTime);
+		gl.glUniform1fv(u_strengthCurve, CURVE_SAMPLES, strengthCurve, 0);
+		gl.glUniform1fv(u_thetaCurve, CURVE_SAMPLES, thetaCurve, 0);
+		gl.glUniform1fv(u_phiCurve, CURVE_SAMPLES, phiCurve, 0);
+		gl.glBindVertexArray(simulationArrays[current]);
+		gl.glBindBufferBase(GL30.GL_TRANSFORM_FEEDBACK_BUFFER, 0, buffers[target]);
+		gl.glEnable(GL30.GL_RASTERIZER_DISCARD);
+		gl.glBeginTransformFeedback(GL20.GL_POINTS);
+		gl.glDrawArrays(GL20.GL_POINTS, 0, capacity);
+		gl.glEndTransformFeedback();
+		gl.glDisable(GL30.GL_RASTERIZER_DISCARD);
+		gl.glBindBufferBase(GL30.GL_TRANSFORM_FEEDBACK_BUFFER, 0, 0);
+		gl.glBindVertexArray(0);
+		gl.glUseProgram(0);
+		current = target;
+	}
+
+	/** Renders the particles as camera facing billboards, using premultiplied alpha blending and depth testing without writing
+	 * to the depth buffer like the default {@link com.badlogic.gdx.graphics.g3d.particles.batches.BillboardParticleBatch}. */
+	public void render (Camera camera) {
+		final GL30 gl = Gdx.gl30;
+		tmpV.set(camera.direction).crs(camera.up).nor();
+		renderProgram.begin();
+		renderProgram.setUniformMatrix("u_projViewTrans", camera.combined);
+		renderProgram.setUniformf("u_cameraRight", tmpV);
+		renderProgram.setUniformf("u_cameraUp", tmpV.crs(camera.direction).nor());
+		if (region != null) {
+			renderProgram.setUniformf("u_region", region.u, region.v, region.u2, region.v2);
+			renderProgram.setUniformf("u_halfInvAspectRatio", region.halfInvAspectRatio);
+		} else {
+			renderProgram.setUniformf("u_region", 0f, 0f, 1f, 1f);
+			renderProgram.setUniformf("u_halfInvAspectRatio", 0.5f * texture.getHeight() / texture.getWidth());
+		}
+		renderProgram.setUniform1fv("u_scaleCurve", scaleCurve, 0, CURVE_SAMPLES);
+		renderProgram.setUniform1fv("u_alphaCurve", alphaCurve, 0, CURVE_SAMPLES);
+		renderProgram.setUniform3fv("u_colorCurve", colorCurve, 0, CURVE_SAMPLES * 3);
+		texture.bind(0);
+		renderProgram.setUniformi("u_diffuseTexture", 0);
+
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glBlendFunc(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glEnable(GL20.GL_DEPTH_TEST);
+		gl.glDepthFunc(GL20.GL_LEQUAL);
+		gl.glDepthMask(false);
+		gl.glBindVertexArray(renderArrays[current]);
+		gl.glDrawArraysInstanced(GL20.GL_TRIANGLE_STRIP, 0, 4, capacity);
+		gl.glBindVertexArray(0);
+		gl.glDepthMask(true);
+		gl.glDisable(GL20.GL_BLEND);
+		renderProgram.end();
+	}
+
+	/** @return The maximum number of particles alive at the same time. */
+	public int getCapacity () {
+		return capacity;
+	}
+
+	@Override
+	public void dispose () {
+		final GL30 gl = Gdx.gl30;
+		gl.glDeleteVertexArrays(2, simulationArrays, 0);
+		gl.glDeleteVertexArrays(2, renderArrays, 0);
+		gl.glDeleteBuffer(buffers[0]);
+		gl.glDeleteBuffer(buffers[1]);
+		gl.glDeleteBuffer(cornerBuffer);
+		gl.glDeleteProgram(simulationProgram);
+		renderProgram.dispose();
+	}
+}
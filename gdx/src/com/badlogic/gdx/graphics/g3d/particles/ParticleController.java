@@ -29,12 +29,26 @@ import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 
 /** Base class of all the particle controllers. Encapsulate the generic structure of a controller and methods to update the
  * particles simulation.
  * @author Inferno */
 public class ParticleController implements Json.Serializable, ResourceData.Configurable {
+	/** Updates a range of the particles of an {@link Influencer}, see {@link Influencer#update(int, int)}. */
+	private static class RangeUpdate implements AsyncTask<Void> {
+		Influencer influencer;
+		int startIndex, count;
+
+		@Override
+		public Void call () throws Exception {
+			influencer.update(startIndex, count);
+			return null;
+		}
+	}
 
 	/** the default time step used to update the simulation */
 	protected static final float DEFAULT_TIME_STEP = 1f / 60;
@@ -67,6 +81,9 @@ public class ParticleController implements Json.Serializable, ResourceData.Confi
 	/** Time step, DO NOT CHANGE MANUALLY */
 	public float deltaTime, deltaTimeSqr;
 
+	private Array<RangeUpdate> rangeUpdates;
+	private Array<AsyncResult<Void>> rangeResults;
+
 	public ParticleController () {
 		transform = new Matrix4();
 		scale = new Vector3(1, 1, 1);
@@ -225,12 +242,77 @@ public class ParticleController implements Json.Serializable, ResourceData.Confi
 
 	/** Updates the particles data */
 	public void update (float deltaTime) {
+		updateEmitter(deltaTime);
+		updateInfluencers();
+	}
+
+	/** The first part of {@link #update(float)}, which updates the emitter. This activates and kills particles, which uses the
+	 * random number generator of {@link com.badlogic.gdx.math.MathUtils}, so it must not run concurrently with other
+	 * controllers. */
+	public void updateEmitter (float deltaTime) {
 		setTimeStep(deltaTime);
 		emitter.update();
+	}
+
+	/** The second part of {@link #update(float)}, which updates the influencers. This only uses the state of this controller, so
+	 * controllers can be updated concurrently. */
+	public void updateInfluencers () {
 		for (Influencer influencer : influencers)
 			influencer.update();
 	}
 
+	/** Updates the particles data like {@link #update(float)}, but the influencers which support it (see
+	 * {@link Influencer#isRangeUpdatable()}) are updated in parallel by splitting the particles in the specified number of chunks.
+	 * The emitter and the other influencers are updated on the calling thread, one influencer is updated at a time. Returns when
+	 * the update is complete.
+	 * @param executor The executor used to update all but the first chunk, which is updated on the calling thread.
+	 * @param chunkCount The number of chunks, typically the number of threads of the executor plus one. */
+	public void update (float deltaTime, AsyncExecutor executor, int chunkCount) {
+		updateEmitter(deltaTime);
+		updateInfluencers(executor, chunkCount);
+	}
+
+	/** The second part of {@link #update(float, AsyncExecutor, int)}, which updates the influencers in parallel chunks, see
+	 * {@link #updateInfluencers()}. */
+	public void updateInfluencers (AsyncExecutor executor, int chunkCount) {
+		final int size = particles.size;
+		chunkCount = Math.min(chunkCount, size);
+		if (chunkCount <= 1) {
+			for (Influencer influencer : influencers)
+				influencer.update();
+			return;
+		}
+		if (rangeUpdates == null) {
+			rangeUpdates = new Array<RangeUpdate>(false, chunkCount, RangeUpdate.class);
+			rangeResults = new Array<AsyncResult<Void>>(false, chunkCount);
+		}
+		while (rangeUpdates.size < chunkCount)
+			rangeUpdates.add(new RangeUpdate());
+		for (int i = 0, n = influencers.size; i < n; i++) {
+			final Influencer influencer = influencers.items[i];
+			if (!influencer.isRangeUpdatable()) {
+				influencer.update();
+				continue;
+			}
+			for (int c = 0; c < chunkCount; c++) {
+				final RangeUpdate rangeUpdate = rangeUpdates.items[c];
+				rangeUpdate.influencer = influencer;
+				rangeUpdate.startIndex = (int)((long)size * c / chunkCount);
+				rangeUpdate.count = (int)((long)size * (c + 1) / chunkCount) - rangeUpdate.startIndex;
+				if (c > 0) rangeResults.add(executor.submit(rangeUpdate));
+			}
+			try {
+				influencer.update(rangeUpdates.items[0].startIndex, rangeUpdates.items[0].count);
+				for (int c = 0; c < rangeResults.size; c++)
+					rangeResults.get(c).get();
+			} finally {
+				rangeResults.clear();
+			}
+		}
+		for (int c = 0; c < chunkCount; c++)
+			rangeUpdates.items[c].influencer = null;
+	}
+
 	/** Updates the renderer used by this controller, usually this means the particles will be draw inside a batch. */
 	public void draw () {
 		if (particles.size > 0) {
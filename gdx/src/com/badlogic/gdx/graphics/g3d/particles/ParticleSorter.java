@@ -48,11 +48,23 @@ public abstract class ParticleSorter {
 		}
 	}
 
-	/** This class will sort all the particles using the distance from camera. */
+	/** This class will sort all the particles using the distance from camera. The distances are converted to integer keys which
+	 * are sorted using a radix sort, in linear time. Because the order barely changes between frames, the order of the previous
+	 * frame is refined using an insertion sort first when the amount of particles didn't change, falling back to the radix sort
+	 * when too many particles moved. */
 	public static class Distance extends ParticleSorter {
+		private static final int RADIX_BITS = 11, RADIX_SIZE = 1 << RADIX_BITS, RADIX_MASK = RADIX_SIZE - 1;
+
 		private float[] distances;
 		private int[] particleIndices, particleOffsets;
+		private int[] keys, tmpKeys, tmpKeys2, tmpIndices;
+		private final int[] histogram = new int[RADIX_SIZE];
 		private int currentSize = 0;
+		/** The amount of particles sorted in the previous frame, particleIndices contains their order. */
+		private int previousCount = -1;
+		/** The maximum amount of moves of the insertion sort relative to the amount of particles, before falling back to the radix
+		 * sort. */
+		public float maxRefineMoves = 1f;
 
 		@Override
 		public void ensureCapacity (int capacity) {
@@ -60,7 +72,12 @@ public abstract class ParticleSorter {
 				distances = new float[capacity];
 				particleIndices = new int[capacity];
 				particleOffsets = new int[capacity];
+				keys = new int[capacity];
+				tmpKeys = new int[capacity];
+				tmpKeys2 = new int[capacity];
+				tmpIndices = new int[capacity];
 				currentSize = capacity;
+				previousCount = -1;
 			}
 		}
 
@@ -74,12 +91,13 @@ public abstract class ParticleSorter {
 					distances[i] = cx * data.positionChannel.data[k + ParticleChannels.XOffset] + cy
 						* data.positionChannel.data[k + ParticleChannels.YOffset] + cz
 						* data.positionChannel.data[k + ParticleChannels.ZOffset];
-					particleIndices[i] = i;
+					keys[i] = toKey(distances[i]);
 				}
 				count += data.controller.particles.size;
 			}
 
-			qsort(0, count - 1);
+			if (count != previousCount || !refine(count)) radixSort(count);
+			previousCount = count;
 
 			for (i = 0; i < count; ++i) {
 				particleOffsets[particleIndices[i]] = i;
@@ -87,6 +105,65 @@ public abstract class ParticleSorter {
 			return particleOffsets;
 		}
 
+		/** @return A key which has the same order as the distance, when compared as unsigned integer. */
+		private static int toKey (float distance) {
+			final int bits = Float.floatToRawIntBits(distance);
+			return bits ^ ((bits >> 31) | 0x80000000);
+		}
+
+		/** Sorts the particle indices of the previous frame using an insertion sort on the keys.
+		 * @return false if the order changed too much, in which case the order is undefined. */
+		private boolean refine (int count) {
+			final int[] keys = this.keys, indices = particleIndices;
+			int moves = (int)(count * maxRefineMoves);
+			for (int i = 1; i < count; i++) {
+				final int index = indices[i];
+				final int key = keys[index] ^ 0x80000000;
+				int j = i - 1;
+				while (j >= 0 && (keys[indices[j]] ^ 0x80000000) > key) {
+					indices[j + 1] = indices[j];
+					j--;
+					if (--moves < 0) {
+						indices[j + 1] = index;
+						return false;
+					}
+				}
+				indices[j + 1] = index;
+			}
+			return true;
+		}
+
+		/** Sorts the particle indices on their keys using a least significant digit radix sort in three passes of
+		 * {@link #RADIX_BITS}, the result is stored in particleIndices. */
+		private void radixSort (int count) {
+			// The keys are indexed by particle, so they are copied before being permuted
+			System.arraycopy(keys, 0, tmpKeys, 0, count);
+			for (int i = 0; i < count; i++)
+				tmpIndices[i] = i;
+			radixPass(count, 0, tmpKeys, tmpIndices, tmpKeys2, particleIndices);
+			radixPass(count, RADIX_BITS, tmpKeys2, particleIndices, tmpKeys, tmpIndices);
+			radixPass(count, RADIX_BITS * 2, tmpKeys, tmpIndices, tmpKeys2, particleIndices);
+		}
+
+		private void radixPass (int count, int shift, int[] srcKeys, int[] srcIndices, int[] dstKeys, int[] dstIndices) {
+			final int[] histogram = this.histogram;
+			for (int i = 0; i < RADIX_SIZE; i++)
+				histogram[i] = 0;
+			for (int i = 0; i < count; i++)
+				histogram[(srcKeys[i] >>> shift) & RADIX_MASK]++;
+			for (int i = 0, sum = 0; i < RADIX_SIZE; i++) {
+				final int c = histogram[i];
+				histogram[i] = sum;
+				sum += c;
+			}
+			for (int i = 0; i < count; i++) {
+				final int key = srcKeys[i];
+				final int offset = histogram[(key >>> shift) & RADIX_MASK]++;
+				dstKeys[offset] = key;
+				dstIndices[offset] = srcIndices[i];
+			}
+		}
+
 		public void qsort (int si, int ei) {
 			// base case
 			if (si < ei) {
@@ -16,16 +16,36 @@
 
 package com.badlogic.gdx.graphics.g3d.particles;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.particles.batches.ParticleBatch;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.Influencer;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** Singleton class which manages the particle effects. It's a utility class to ease particle batches management and particle
  * effects update.
+ * <p>
+ * Optionally the effects can be updated in parallel, see {@link #setThreads(int)}. The controllers are distributed over the worker
+ * threads, while the influencers of large controllers are updated in parallel chunks (see {@link Influencer#isRangeUpdatable()}).
+ * Drawing always happens on the calling thread.
  * @author inferno */
-public final class ParticleSystem implements RenderableProvider {
+public final class ParticleSystem implements RenderableProvider, Disposable {
+	private static class ControllerUpdate implements AsyncTask<Void> {
+		ParticleController controller;
+
+		@Override
+		public Void call () throws Exception {
+			controller.updateInfluencers();
+			return null;
+		}
+	}
+
 	private static ParticleSystem instance;
 
 	/** @deprecated Please directly use the constructor */
@@ -37,6 +57,15 @@ public final class ParticleSystem implements RenderableProvider {
 	private Array<ParticleBatch<?>> batches;
 	private Array<ParticleEffect> effects;
 
+	/** The minimum number of particles in each chunk when a controller is updated in parallel, smaller controllers are updated as
+	 * a whole on a single thread. */
+	public int minChunkSize = 2048;
+	private AsyncExecutor executor;
+	private int threads;
+	private final Array<ControllerUpdate> controllerUpdates = new Array<ControllerUpdate>(false, 16, ControllerUpdate.class);
+	private final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, 16);
+	private final Array<ParticleController> largeControllers = new Array<ParticleController>(false, 16);
+
 	public ParticleSystem () {
 		batches = new Array<ParticleBatch<?>>();
 		effects = new Array<ParticleEffect>();
@@ -59,14 +88,42 @@ public final class ParticleSystem implements RenderableProvider {
 		effects.clear();
 	}
 
+	/** Sets the number of worker threads used to update the effects. Each controller of the effects is updated on a single thread,
+	 * except for controllers of at least twice {@link #minChunkSize} particles whose influencers are updated in parallel chunks.
+	 * The emitters are updated on the calling thread first, because activating particles uses the random number generator of
+	 * {@link com.badlogic.gdx.math.MathUtils}, after which the influencers are updated in parallel. So the influencers must not share
+	 * any state between controllers or use that random number generator in {@link Influencer#update()}. Call {@link #dispose()} to
+	 * stop the threads when no longer needed.
+	 * @param threads The number of worker threads, 0 to update the effects on the calling thread (the default). */
+	public void setThreads (int threads) {
+		if (threads == this.threads) return;
+		if (executor != null) executor.dispose();
+		this.threads = threads;
+		executor = threads > 0 ? new AsyncExecutor(threads, "ParticleSystem") : null;
+	}
+
+	/** @return The number of worker threads used to update the effects, see {@link #setThreads(int)}. */
+	public int getThreads () {
+		return threads;
+	}
+
 	/** Updates the simulation of all effects */
 	public void update () {
+		if (executor != null) {
+			updateParallel(Gdx.graphics.getDeltaTime());
+			return;
+		}
 		for (ParticleEffect effect : effects) {
 			effect.update();
 		}
 	}
 
 	public void updateAndDraw () {
+		if (executor != null) {
+			updateParallel(Gdx.graphics.getDeltaTime());
+			draw();
+			return;
+		}
 		for (ParticleEffect effect : effects) {
 			effect.update();
 			effect.draw();
@@ -74,17 +131,59 @@ public final class ParticleSystem implements RenderableProvider {
 	}
 
 	public void update (float deltaTime) {
+		if (executor != null) {
+			updateParallel(deltaTime);
+			return;
+		}
 		for (ParticleEffect effect : effects) {
 			effect.update(deltaTime);
 		}
 	}
 	public void updateAndDraw(float deltaTime) {
+		if (executor != null) {
+			updateParallel(deltaTime);
+			draw();
+			return;
+		}
 		for (ParticleEffect effect : effects) {
 			effect.update(deltaTime);
 			effect.draw();
 		}
 	}
 
+	private void updateParallel (float deltaTime) {
+		final int largeSize = Math.max(1, minChunkSize) * 2;
+		int count = 0;
+		try {
+			for (int i = 0; i < effects.size; i++) {
+				final Array<ParticleController> controllers = effects.get(i).getControllers();
+				for (int j = 0; j < controllers.size; j++) {
+					final ParticleController controller = controllers.get(j);
+					controller.updateEmitter(deltaTime);
+					if (controller.particles.size >= largeSize) {
+						largeControllers.add(controller);
+						continue;
+					}
+					if (count == controllerUpdates.size) controllerUpdates.add(new ControllerUpdate());
+					final ControllerUpdate update = controllerUpdates.items[count++];
+					update.controller = controller;
+					results.add(executor.submit(update));
+				}
+			}
+			for (int i = 0; i < largeControllers.size; i++) {
+				final ParticleController controller = largeControllers.get(i);
+				controller.updateInfluencers(executor, Math.min(threads + 1, controller.particles.size / Math.max(1, minChunkSize)));
+			}
+			for (int i = 0; i < results.size; i++)
+				results.get(i).get();
+		} finally {
+			for (int i = 0; i < count; i++)
+				controllerUpdates.items[i].controller = null;
+			results.clear();
+			largeControllers.clear();
+		}
+	}
+
 	/** Must be called one time per frame before any particle effect drawing operation will occur. */
 	public void begin () {
 		for (ParticleBatch<?> batch : batches)
@@ -113,4 +212,10 @@ public final class ParticleSystem implements RenderableProvider {
 	public Array<ParticleBatch<?>> getBatches () {
 		return batches;
 	}
+
+	/** Stops the worker threads, if any. The system can still be used afterwards, updating the effects on the calling thread. */
+	@Override
+	public void dispose () {
+		setThreads(0);
+	}
 }
@@ -0,0 +1,12 @@
+// The version directive and the precision are prepended by the controller.
+
+in vec2 v_texCoords0;
+in vec4 v_color;
+
+out vec4 fragColor;
+
+uniform sampler2D u_diffuseTexture;
+
+void main() {
+	fragColor = texture(u_diffuseTexture, v_texCoords0) * v_color;
+}
@@ -0,0 +1,51 @@
+// Renders the particles of a GpuParticleController as camera facing billboards, one instance per particle.
+// The version directive and the numCurveSamples define are prepended by the controller.
+
+in vec2 a_corner;
+in vec4 a_positionAge;
+in vec4 a_velocityLife;
+in vec4 a_scaleAlpha;
+
+out vec2 v_texCoords0;
+out vec4 v_color;
+
+uniform mat4 u_projViewTrans;
+uniform vec3 u_cameraRight;
+uniform vec3 u_cameraUp;
+// u, v, u2, v2 of the texture region
+uniform vec4 u_region;
+uniform float u_halfInvAspectRatio;
+uniform float u_scaleCurve[numCurveSamples];
+uniform float u_alphaCurve[numCurveSamples];
+uniform vec3 u_colorCurve[numCurveSamples];
+
+float sampleCurve(float curve[numCurveSamples], float percent) {
+	float x = clamp(percent, 0.0, 1.0) * float(numCurveSamples - 1);
+	int i = int(x);
+	int j = min(i + 1, numCurveSamples - 1);
+	return mix(curve[i], curve[j], x - float(i));
+}
+
+vec3 sampleColor(float percent) {
+	float x = clamp(percent, 0.0, 1.0) * float(numCurveSamples - 1);
+	int i = int(x);
+	int j = min(i + 1, numCurveSamples - 1);
+	return mix(u_colorCurve[i], u_colorCurve[j], x - float(i));
+}
+
+void main() {
+	float life = a_velocityLife.w;
+	if (life <= 0.0 || a_positionAge.w >= life) {
+		// Dead particle, move it outside of the clip volume
+		gl_Position = vec4(2.0, 2.0, 2.0, 1.0);
+		v_texCoords0 = vec2(0.0);
+		v_color = vec4(0.0);
+		return;
+	}
+	float percent = a_positionAge.w / life;
+	float scale = a_scaleAlpha.x + a_scaleAlpha.y * sampleCurve(u_scaleCurve, percent);
+	vec3 offset = u_cameraRight * (a_corner.x * scale) + u_cameraUp * (a_corner.y * 2.0 * u_halfInvAspectRatio * scale);
+	gl_Position = u_projViewTrans * vec4(a_positionAge.xyz + offset, 1.0);
+	v_texCoords0 = mix(u_region.xw, u_region.zy, a_corner + 0.5);
+	v_color = vec4(sampleColor(percent), a_scaleAlpha.z + a_scaleAlpha.w * sampleCurve(u_alphaCurve, percent));
+}
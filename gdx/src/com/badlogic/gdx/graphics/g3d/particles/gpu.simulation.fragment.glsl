@@ -0,0 +1,7 @@
+// Not used, rasterization is disabled while simulating, but required to link the program on some drivers.
+
+out vec4 fragColor;
+
+void main() {
+	fragColor = vec4(0.0);
+}
@@ -0,0 +1,50 @@
+// Advances the state of the particles of a GpuParticleController, the result is captured using transform feedback.
+// The version directive and the numCurveSamples define are prepended by the controller.
+
+in vec4 a_positionAge;
+in vec4 a_velocityLife;
+in vec4 a_scaleAlpha;
+in vec4 a_strength;
+in vec4 a_angles;
+
+out vec4 v_positionAge;
+out vec4 v_velocityLife;
+out vec4 v_scaleAlpha;
+out vec4 v_strength;
+out vec4 v_angles;
+
+uniform float u_deltaTime;
+uniform float u_strengthCurve[numCurveSamples];
+uniform float u_thetaCurve[numCurveSamples];
+uniform float u_phiCurve[numCurveSamples];
+
+float sampleCurve(float curve[numCurveSamples], float percent) {
+	float x = clamp(percent, 0.0, 1.0) * float(numCurveSamples - 1);
+	int i = int(x);
+	int j = min(i + 1, numCurveSamples - 1);
+	return mix(curve[i], curve[j], x - float(i));
+}
+
+void main() {
+	vec3 position = a_positionAge.xyz;
+	vec3 velocity = a_velocityLife.xyz;
+	float age = a_positionAge.w + u_deltaTime;
+	float life = a_velocityLife.w;
+	if (life > 0.0 && age < life) {
+		float percent = age / life;
+		float strength = a_strength.x + a_strength.y * sampleCurve(u_strengthCurve, percent);
+		if (strength != 0.0) {
+			float theta = radians(a_angles.x + a_angles.y * sampleCurve(u_thetaCurve, percent));
+			float phi = radians(a_angles.z + a_angles.w * sampleCurve(u_phiCurve, percent));
+			velocity += vec3(cos(theta) * sin(phi), cos(phi), sin(theta) * sin(phi)) * strength * u_deltaTime;
+		}
+		position += velocity * u_deltaTime;
+	} else {
+		life = 0.0;
+	}
+	v_positionAge = vec4(position, age);
+	v_velocityLife = vec4(velocity, life);
+	v_scaleAlpha = a_scaleAlpha;
+	v_strength = a_strength;
+	v_angles = a_angles;
+}
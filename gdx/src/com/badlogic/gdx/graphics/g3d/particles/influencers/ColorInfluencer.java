@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
+import com.badlogic.gdx.graphics.g3d.particles.ChannelKernels;
 import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleChannels;
 import com.badlogic.gdx.graphics.g3d.particles.values.GradientColorValue;
@@ -87,29 +88,47 @@ public abstract class ColorInfluencer extends Influencer {
 
 		@Override
 		public void activateParticles (int startIndex, int count) {
-			for (int i = startIndex * colorChannel.strideSize, a = startIndex * alphaInterpolationChannel.strideSize, l = startIndex
-				* lifeChannel.strideSize + ParticleChannels.LifePercentOffset, c = i + count * colorChannel.strideSize; i < c; i += colorChannel.strideSize, a += alphaInterpolationChannel.strideSize, l += lifeChannel.strideSize) {
-				float alphaStart = alphaValue.newLowValue();
-				float alphaDiff = alphaValue.newHighValue() - alphaStart;
+			for (int i = startIndex * colorChannel.strideSize, c = i + count * colorChannel.strideSize; i < c; i += colorChannel.strideSize)
 				colorValue.getColor(0, colorChannel.data, i);
-				colorChannel.data[i + ParticleChannels.AlphaOffset] = alphaStart + alphaDiff
-					* alphaValue.getScale(lifeChannel.data[l]);
-				alphaInterpolationChannel.data[a + ParticleChannels.InterpolationStartOffset] = alphaStart;
-				alphaInterpolationChannel.data[a + ParticleChannels.InterpolationDiffOffset] = alphaDiff;
-			}
+
+			final float[] interpolation = alphaInterpolationChannel.data;
+			final int stride = alphaInterpolationChannel.strideSize;
+			final int start = startIndex * stride + ParticleChannels.InterpolationStartOffset;
+			final int diff = startIndex * stride + ParticleChannels.InterpolationDiffOffset;
+			ChannelKernels.random(interpolation, start, stride, count, alphaValue.getLowMin(), alphaValue.getLowMax());
+			ChannelKernels.random(interpolation, diff, stride, count, alphaValue.getHighMin(), alphaValue.getHighMax());
+			ChannelKernels.axpy(-1, interpolation, start, stride, interpolation, diff, stride, count);
+			updateAlpha(startIndex, count);
 		}
 
 		@Override
 		public void update () {
-			for (int i = 0, a = 0, l = ParticleChannels.LifePercentOffset, c = i + controller.particles.size
-				* colorChannel.strideSize; i < c; i += colorChannel.strideSize, a += alphaInterpolationChannel.strideSize, l += lifeChannel.strideSize) {
-
-				float lifePercent = lifeChannel.data[l];
-				colorValue.getColor(lifePercent, colorChannel.data, i);
-				colorChannel.data[i + ParticleChannels.AlphaOffset] = alphaInterpolationChannel.data[a
-					+ ParticleChannels.InterpolationStartOffset]
-					+ alphaInterpolationChannel.data[a + ParticleChannels.InterpolationDiffOffset] * alphaValue.getScale(lifePercent);
-			}
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * colorChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, c = i + count * colorChannel.strideSize; i < c; i += colorChannel.strideSize, l += lifeChannel.strideSize)
+				colorValue.getColor(lifeChannel.data[l], colorChannel.data, i);
+			updateAlpha(startIndex, count);
+		}
+
+		private void updateAlpha (int startIndex, int count) {
+			// Sample the curve into the alpha components first, so that the interpolation itself is a bulk operation
+			final float[] colors = colorChannel.data, interpolation = alphaInterpolationChannel.data;
+			final int i = startIndex * colorChannel.strideSize + ParticleChannels.AlphaOffset, a = startIndex
+				* alphaInterpolationChannel.strideSize;
+			ChannelKernels.scale(alphaValue, lifeChannel.data, startIndex * lifeChannel.strideSize + ParticleChannels.LifePercentOffset,
+				lifeChannel.strideSize, colors, i, colorChannel.strideSize, count);
+			ChannelKernels.mulAdd(interpolation, a + ParticleChannels.InterpolationStartOffset, alphaInterpolationChannel.strideSize,
+				interpolation, a + ParticleChannels.InterpolationDiffOffset, alphaInterpolationChannel.strideSize, colors, i,
+				colorChannel.strideSize, colors, i, colorChannel.strideSize, count);
 		}
 
 		@Override
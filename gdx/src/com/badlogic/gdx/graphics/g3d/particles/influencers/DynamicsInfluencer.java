@@ -16,8 +16,7 @@
 
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
-import java.util.Arrays;
-
+import com.badlogic.gdx.graphics.g3d.particles.ChannelKernels;
 import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleChannels;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
@@ -95,32 +94,25 @@ public class DynamicsInfluencer extends Influencer {
 		if (hasAcceleration) {
 			// Previous position is the current position
 			// Attention, this requires that some other influencer setting the position channel must execute before this influencer.
-			for (int i = startIndex * positionChannel.strideSize, c = i + count * positionChannel.strideSize; i < c; i += positionChannel.strideSize) {
-				previousPositionChannel.data[i + ParticleChannels.XOffset] = positionChannel.data[i + ParticleChannels.XOffset];
-				previousPositionChannel.data[i + ParticleChannels.YOffset] = positionChannel.data[i + ParticleChannels.YOffset];
-				previousPositionChannel.data[i + ParticleChannels.ZOffset] = positionChannel.data[i + ParticleChannels.ZOffset];
-				/*
-				 * //Euler intialization previousPositionChannel.data[i+ParticleChannels.XOffset] =
-				 * previousPositionChannel.data[i+ParticleChannels.YOffset] = previousPositionChannel.data[i+ParticleChannels.ZOffset]
-				 * = 0;
-				 */
-			}
+			// Both channels have the same layout
+			System.arraycopy(positionChannel.data, startIndex * positionChannel.strideSize, previousPositionChannel.data, startIndex
+				* previousPositionChannel.strideSize, count * positionChannel.strideSize);
+			/*
+			 * //Euler intialization previousPositionChannel.data[i+ParticleChannels.XOffset] =
+			 * previousPositionChannel.data[i+ParticleChannels.YOffset] = previousPositionChannel.data[i+ParticleChannels.ZOffset] =
+			 * 0;
+			 */
 		}
 
-		if (has2dAngularVelocity) {
+		if (has2dAngularVelocity || has3dAngularVelocity) {
 			// Rotation back to 0
-			for (int i = startIndex * rotationChannel.strideSize, c = i + count * rotationChannel.strideSize; i < c; i += rotationChannel.strideSize) {
-				rotationChannel.data[i + ParticleChannels.CosineOffset] = 1;
-				rotationChannel.data[i + ParticleChannels.SineOffset] = 0;
-			}
-		} else if (has3dAngularVelocity) {
-			// Rotation back to 0
-			for (int i = startIndex * rotationChannel.strideSize, c = i + count * rotationChannel.strideSize; i < c; i += rotationChannel.strideSize) {
-				rotationChannel.data[i + ParticleChannels.XOffset] = 0;
-				rotationChannel.data[i + ParticleChannels.YOffset] = 0;
-				rotationChannel.data[i + ParticleChannels.ZOffset] = 0;
-				rotationChannel.data[i + ParticleChannels.WOffset] = 1;
-			}
+			final float[] data = rotationChannel.data;
+			final int stride = rotationChannel.strideSize, offset = startIndex * stride;
+			ChannelKernels.fill(data, offset, 1, count * stride, 0);
+			if (has2dAngularVelocity)
+				ChannelKernels.fill(data, offset + ParticleChannels.CosineOffset, stride, count, 1);
+			else
+				ChannelKernels.fill(data, offset + ParticleChannels.WOffset, stride, count, 1);
 		}
 
 		for (int k = 0; k < velocities.size; ++k) {
@@ -131,15 +123,45 @@ public class DynamicsInfluencer extends Influencer {
 	public void update () {
 		// Clean previouse frame velocities
 		if (hasAcceleration)
-			Arrays.fill(accellerationChannel.data, 0, controller.particles.size * accellerationChannel.strideSize, 0);
+			ChannelKernels.fill(accellerationChannel.data, 0, 1, controller.particles.size * accellerationChannel.strideSize, 0);
 		if (has2dAngularVelocity || has3dAngularVelocity)
-			Arrays.fill(angularVelocityChannel.data, 0, controller.particles.size * angularVelocityChannel.strideSize, 0);
+			ChannelKernels.fill(angularVelocityChannel.data, 0, 1, controller.particles.size * angularVelocityChannel.strideSize, 0);
 
 		// Sum all the forces/accelerations
 		for (int k = 0; k < velocities.size; ++k) {
 			velocities.items[k].update();
 		}
 
+		integrate(0, controller.particles.size);
+	}
+
+	/** @return true if all the velocities can be updated in ranges. */
+	@Override
+	public boolean isRangeUpdatable () {
+		for (int k = 0; k < velocities.size; ++k)
+			if (!velocities.items[k].isRangeUpdatable()) return false;
+		return true;
+	}
+
+	@Override
+	public void update (int startIndex, int count) {
+		if (hasAcceleration)
+			ChannelKernels.fill(accellerationChannel.data, startIndex * accellerationChannel.strideSize, 1, count
+				* accellerationChannel.strideSize, 0);
+		if (has2dAngularVelocity || has3dAngularVelocity)
+			ChannelKernels.fill(angularVelocityChannel.data, startIndex * angularVelocityChannel.strideSize, 1, count
+				* angularVelocityChannel.strideSize, 0);
+
+		for (int k = 0; k < velocities.size; ++k) {
+			velocities.items[k].update(startIndex, count);
+		}
+
+		integrate(startIndex, count);
+	}
+
+	private void integrate (int startIndex, int count) {
+		final int endIndex = startIndex + count;
+
 		// Apply the forces
 		if (hasAcceleration) {
 			/*
@@ -154,27 +176,13 @@ public class DynamicsInfluencer extends Influencer {
 			 * previousPositionChannel.data[offset + ParticleChannels.YOffset]*controller.deltaTime; positionChannel.data[offset +
 			 * ParticleChannels.ZOffset] += previousPositionChannel.data[offset + ParticleChannels.ZOffset]*controller.deltaTime; }
 			 */
-			// Verlet integration
-			for (int i = 0, offset = 0; i < controller.particles.size; ++i, offset += positionChannel.strideSize) {
-				float x = positionChannel.data[offset + ParticleChannels.XOffset], y = positionChannel.data[offset
-					+ ParticleChannels.YOffset], z = positionChannel.data[offset + ParticleChannels.ZOffset];
-				positionChannel.data[offset + ParticleChannels.XOffset] = 2 * x
-					- previousPositionChannel.data[offset + ParticleChannels.XOffset]
-					+ accellerationChannel.data[offset + ParticleChannels.XOffset] * controller.deltaTimeSqr;
-				positionChannel.data[offset + ParticleChannels.YOffset] = 2 * y
-					- previousPositionChannel.data[offset + ParticleChannels.YOffset]
-					+ accellerationChannel.data[offset + ParticleChannels.YOffset] * controller.deltaTimeSqr;
-				positionChannel.data[offset + ParticleChannels.ZOffset] = 2 * z
-					- previousPositionChannel.data[offset + ParticleChannels.ZOffset]
-					+ accellerationChannel.data[offset + ParticleChannels.ZOffset] * controller.deltaTimeSqr;
-				previousPositionChannel.data[offset + ParticleChannels.XOffset] = x;
-				previousPositionChannel.data[offset + ParticleChannels.YOffset] = y;
-				previousPositionChannel.data[offset + ParticleChannels.ZOffset] = z;
-			}
+			// Verlet integration, the channels have the same layout so all the components are integrated at once
+			ChannelKernels.verlet(positionChannel.data, previousPositionChannel.data, accellerationChannel.data, startIndex
+				* positionChannel.strideSize, count * positionChannel.strideSize, controller.deltaTimeSqr);
 		}
 
 		if (has2dAngularVelocity) {
-			for (int i = 0, offset = 0; i < controller.particles.size; ++i, offset += rotationChannel.strideSize) {
+			for (int i = startIndex, offset = startIndex * rotationChannel.strideSize; i < endIndex; ++i, offset += rotationChannel.strideSize) {
 				float rotation = angularVelocityChannel.data[i] * controller.deltaTime;
 				if (rotation != 0) {
 					float cosBeta = MathUtils.cosDeg(rotation), sinBeta = MathUtils.sinDeg(rotation);
@@ -187,17 +195,23 @@ public class DynamicsInfluencer extends Influencer {
 				}
 			}
 		} else if (has3dAngularVelocity) {
-			for (int i = 0, offset = 0, angularOffset = 0; i < controller.particles.size; ++i, offset += rotationChannel.strideSize, angularOffset += angularVelocityChannel.strideSize) {
+			for (int i = startIndex, offset = startIndex * rotationChannel.strideSize, angularOffset = startIndex
+				* angularVelocityChannel.strideSize; i < endIndex; ++i, offset += rotationChannel.strideSize, angularOffset += angularVelocityChannel.strideSize) {
 
 				float wx = angularVelocityChannel.data[angularOffset + ParticleChannels.XOffset], wy = angularVelocityChannel.data[angularOffset
 					+ ParticleChannels.YOffset], wz = angularVelocityChannel.data[angularOffset + ParticleChannels.ZOffset], qx = rotationChannel.data[offset
 					+ ParticleChannels.XOffset], qy = rotationChannel.data[offset + ParticleChannels.YOffset], qz = rotationChannel.data[offset
 					+ ParticleChannels.ZOffset], qw = rotationChannel.data[offset + ParticleChannels.WOffset];
-				TMP_Q.set(wx, wy, wz, 0).mul(qx, qy, qz, qw).mul(0.5f * controller.deltaTime).add(qx, qy, qz, qw).nor();
-				rotationChannel.data[offset + ParticleChannels.XOffset] = TMP_Q.x;
-				rotationChannel.data[offset + ParticleChannels.YOffset] = TMP_Q.y;
-				rotationChannel.data[offset + ParticleChannels.ZOffset] = TMP_Q.z;
-				rotationChannel.data[offset + ParticleChannels.WOffset] = TMP_Q.w;
+				// q += 0.5 * dt * (w, 0) * q, without a temporary quaternion because ranges may be updated concurrently
+				float h = 0.5f * controller.deltaTime;
+				float x = qx + h * (wx * qw + wy * qz - wz * qy), y = qy + h * (wy * qw + wz * qx - wx * qz), z = qz + h
+					* (wz * qw + wx * qy - wy * qx), w = qw - h * (wx * qx + wy * qy + wz * qz);
+				float len2 = x * x + y * y + z * z + w * w;
+				float invLen = len2 != 0 ? 1f / (float)Math.sqrt(len2) : 1f;
+				rotationChannel.data[offset + ParticleChannels.XOffset] = x * invLen;
+				rotationChannel.data[offset + ParticleChannels.YOffset] = y * invLen;
+				rotationChannel.data[offset + ParticleChannels.ZOffset] = z * invLen;
+				rotationChannel.data[offset + ParticleChannels.WOffset] = w * invLen;
 			}
 		}
 	}
@@ -16,13 +16,14 @@
 
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
+import com.badlogic.gdx.graphics.g3d.particles.ChannelKernels;
 import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleChannels;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleControllerComponent;
 import com.badlogic.gdx.graphics.g3d.particles.values.ScaledNumericValue;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
@@ -32,8 +33,6 @@ import com.badlogic.gdx.utils.JsonValue;
  * {@link DynamicsInfluencer} .
  * @author Inferno */
 public abstract class DynamicsModifier extends Influencer {
-	protected static final Vector3 TMP_V1 = new Vector3(), TMP_V2 = new Vector3(), TMP_V3 = new Vector3();
-	protected static final Quaternion TMP_Q = new Quaternion();
 
 	public static class FaceDirection extends DynamicsModifier {
 		FloatChannel rotationChannel, accellerationChannel;
@@ -96,14 +95,18 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void activateParticles (int startIndex, int count) {
-			float start, diff;
-			for (int i = startIndex * strengthChannel.strideSize, c = i + count * strengthChannel.strideSize; i < c; i += strengthChannel.strideSize) {
-				start = strengthValue.newLowValue();
-				diff = strengthValue.newHighValue();
-				if (!strengthValue.isRelative()) diff -= start;
-				strengthChannel.data[i + ParticleChannels.VelocityStrengthStartOffset] = start;
-				strengthChannel.data[i + ParticleChannels.VelocityStrengthDiffOffset] = diff;
-			}
+			activate(strengthValue, strengthChannel, ParticleChannels.VelocityStrengthStartOffset,
+				ParticleChannels.VelocityStrengthDiffOffset, startIndex, count);
+		}
+
+		/** Assigns random start and difference values of the interpolation to the components of the activated particles. */
+		protected static void activate (ScaledNumericValue value, FloatChannel channel, int startOffset, int diffOffset,
+			int startIndex, int count) {
+			final int stride = channel.strideSize;
+			final int start = startIndex * stride + startOffset, diff = startIndex * stride + diffOffset;
+			ChannelKernels.random(channel.data, start, stride, count, value.getLowMin(), value.getLowMax());
+			ChannelKernels.random(channel.data, diff, stride, count, value.getHighMin(), value.getHighMax());
+			if (!value.isRelative()) ChannelKernels.axpy(-1, channel.data, start, stride, channel.data, diff, stride, count);
 		}
 
 		@Override
@@ -149,23 +152,10 @@ public abstract class DynamicsModifier extends Influencer {
 		@Override
 		public void activateParticles (int startIndex, int count) {
 			super.activateParticles(startIndex, count);
-			float start, diff;
-			for (int i = startIndex * angularChannel.strideSize, c = i + count * angularChannel.strideSize; i < c; i += angularChannel.strideSize) {
-
-				// Theta
-				start = thetaValue.newLowValue();
-				diff = thetaValue.newHighValue();
-				if (!thetaValue.isRelative()) diff -= start;
-				angularChannel.data[i + ParticleChannels.VelocityThetaStartOffset] = start;
-				angularChannel.data[i + ParticleChannels.VelocityThetaDiffOffset] = diff;
-
-				// Phi
-				start = phiValue.newLowValue();
-				diff = phiValue.newHighValue();
-				if (!phiValue.isRelative()) diff -= start;
-				angularChannel.data[i + ParticleChannels.VelocityPhiStartOffset] = start;
-				angularChannel.data[i + ParticleChannels.VelocityPhiDiffOffset] = diff;
-			}
+			activate(thetaValue, angularChannel, ParticleChannels.VelocityThetaStartOffset,
+				ParticleChannels.VelocityThetaDiffOffset, startIndex, count);
+			activate(phiValue, angularChannel, ParticleChannels.VelocityPhiStartOffset, ParticleChannels.VelocityPhiDiffOffset,
+				startIndex, count);
 		}
 
 		@Override
@@ -201,7 +191,18 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, c = i + controller.particles.size
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * rotationalVelocity2dChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, c = i + count
 				* rotationalVelocity2dChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalVelocity2dChannel.strideSize, l += lifeChannel.strideSize) {
 				rotationalVelocity2dChannel.data[i] += strengthChannel.data[s + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[s + ParticleChannels.VelocityStrengthDiffOffset]
@@ -234,6 +235,16 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void update () {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
 
 			// Matrix3 I_t = defined by the shape, it's the inertia tensor
 			// Vector3 r = position vector
@@ -260,8 +271,9 @@ public abstract class DynamicsModifier extends Influencer {
 			// Consider a channel which represent a simple angular momentum L
 			// Proceed as Algorithm 2
 
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, c = controller.particles.size
-				* rotationalForceChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalForceChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
+			for (int i = startIndex * rotationalForceChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, c = i + count * rotationalForceChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalForceChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -274,12 +286,11 @@ public abstract class DynamicsModifier extends Influencer {
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
 
-				TMP_V3.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi);
-				TMP_V3.scl(strength * MathUtils.degreesToRadians);
+				float scale = strength * MathUtils.degreesToRadians;
 
-				rotationalForceChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				rotationalForceChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				rotationalForceChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				rotationalForceChannel.data[i + ParticleChannels.XOffset] += cosTheta * sinPhi * scale;
+				rotationalForceChannel.data[i + ParticleChannels.YOffset] += cosPhi * scale;
+				rotationalForceChannel.data[i + ParticleChannels.ZOffset] += sinTheta * sinPhi * scale;
 			}
 		}
 
@@ -309,6 +320,16 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void update () {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
 			float cx = 0, cy = 0, cz = 0;
 			if (!isGlobal) {
 				float[] val = controller.transform.val;
@@ -317,19 +338,21 @@ public abstract class DynamicsModifier extends Influencer {
 				cz = val[Matrix4.M23];
 			}
 
-			int lifeOffset = ParticleChannels.LifePercentOffset, strengthOffset = 0, positionOffset = 0, forceOffset = 0;
-			for (int i = 0, c = controller.particles.size; i < c; ++i, positionOffset += positionChannel.strideSize, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
+			int lifeOffset = startIndex * lifeChannel.strideSize + ParticleChannels.LifePercentOffset, strengthOffset = startIndex
+				* strengthChannel.strideSize, positionOffset = startIndex * positionChannel.strideSize, forceOffset = startIndex
+				* accelerationChannel.strideSize;
+			for (int i = 0; i < count; ++i, positionOffset += positionChannel.strideSize, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
 
 				float strength = strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]
 					* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3
-					.set(positionChannel.data[positionOffset + ParticleChannels.XOffset] - cx,
-						positionChannel.data[positionOffset + ParticleChannels.YOffset] - cy,
-						positionChannel.data[positionOffset + ParticleChannels.ZOffset] - cz).nor().scl(strength);
-				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += TMP_V3.x;
-				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += TMP_V3.y;
-				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = positionChannel.data[positionOffset + ParticleChannels.XOffset] - cx, y = positionChannel.data[positionOffset
+					+ ParticleChannels.YOffset] - cy, z = positionChannel.data[positionOffset + ParticleChannels.ZOffset] - cz;
+				float len2 = x * x + y * y + z * z;
+				if (len2 != 0) strength /= (float)Math.sqrt(len2);
+				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += x * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += y * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -357,8 +380,19 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, c = i + controller.particles.size
-				* directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * directionalVelocityChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, c = i + count * directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -370,10 +404,10 @@ public abstract class DynamicsModifier extends Influencer {
 
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
-				TMP_V3.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi).nor().scl(strength);
-				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				// The direction is a unit vector
+				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += cosTheta * sinPhi * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += cosPhi * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += sinTheta * sinPhi * strength;
 			}
 		}
 
@@ -402,8 +436,20 @@ public abstract class DynamicsModifier extends Influencer {
 
 		@Override
 		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, positionOffset = 0, c = i
-				+ controller.particles.size * directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize, positionOffset += positionChannel.strideSize) {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean isRangeUpdatable () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * directionalVelocityChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, positionOffset = startIndex * positionChannel.strideSize, c = i + count
+				* directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize, positionOffset += positionChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -415,14 +461,15 @@ public abstract class DynamicsModifier extends Influencer {
 
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
-				TMP_V3
-					.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi)
-					.crs(positionChannel.data[positionOffset + ParticleChannels.XOffset],
-						positionChannel.data[positionOffset + ParticleChannels.YOffset],
-						positionChannel.data[positionOffset + ParticleChannels.ZOffset]).nor().scl(strength);
-				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				float dx = cosTheta * sinPhi, dy = cosPhi, dz = sinTheta * sinPhi;
+				float px = positionChannel.data[positionOffset + ParticleChannels.XOffset], py = positionChannel.data[positionOffset
+					+ ParticleChannels.YOffset], pz = positionChannel.data[positionOffset + ParticleChannels.ZOffset];
+				float x = dy * pz - dz * py, y = dz * px - dx * pz, z = dx * py - dy * px;
+				float len2 = x * x + y * y + z * z;
+				if (len2 != 0) strength /= (float)Math.sqrt(len2);
+				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += x * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += y * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -434,6 +481,8 @@ public abstract class DynamicsModifier extends Influencer {
 
 	public static class BrownianAcceleration extends Strength {
 		FloatChannel accelerationChannel;
+		/** Used instead of {@link MathUtils#random} because the controllers can be updated in parallel. */
+		private final RandomXS128 random = new RandomXS128();
 
 		public BrownianAcceleration () {
 		}
@@ -456,7 +505,7 @@ public abstract class DynamicsModifier extends Influencer {
 				float strength = strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]
 					* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3.set(MathUtils.random(-1, 1f), MathUtils.random(-1, 1f), MathUtils.random(-1, 1f)).nor().scl(strength);
+				TMP_V3.set(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1).nor().scl(strength);
 				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += TMP_V3.x;
 				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += TMP_V3.y;
 				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += TMP_V3.z;
@@ -16,11 +16,27 @@
 
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleControllerComponent;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
 
 /** It's a {@link ParticleControllerComponent} which usually modifies one or more properties of the particles(i.e color, scale,
  * graphical representation, velocity, etc...).
  * @author Inferno */
 public abstract class Influencer extends ParticleControllerComponent {
 
+	/** @return true if {@link #update(int, int)} is supported, which allows large controllers to be updated in parallel chunks, see
+	 *         {@link ParticleController#update(float, AsyncExecutor, int)}. */
+	public boolean isRangeUpdatable () {
+		return false;
+	}
+
+	/** Called instead of {@link #update()} to update only the particles in the range [startIndex, startIndex + count). Can be called
+	 * concurrently for disjoint ranges, so the implementation must only modify the data of the particles within the range and must
+	 * not use any temporary objects shared between ranges, nor the random number generator of
+	 * {@link com.badlogic.gdx.math.MathUtils}. Only called if {@link #isRangeUpdatable()} returns true. */
+	public void update (int startIndex, int count) {
+		throw new GdxRuntimeException(getClass().getName() + " can't be updated in ranges");
+	}
 }
@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
+import com.badlogic.gdx.graphics.g3d.particles.ChannelKernels;
 import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.ChannelDescriptor;
 import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
 import com.badlogic.gdx.graphics.g3d.particles.ParticleChannels;
@@ -57,34 +58,42 @@ public abstract class SimpleInfluencer extends Influencer {
 
 	@Override
 	public void activateParticles (int startIndex, int count) {
-		if (!value.isRelative()) {
-			for (int i = startIndex * valueChannel.strideSize, a = startIndex * interpolationChannel.strideSize, c = i + count
-				* valueChannel.strideSize; i < c; i += valueChannel.strideSize, a += interpolationChannel.strideSize) {
-				float start = value.newLowValue();
-				float diff = value.newHighValue() - start;
-				interpolationChannel.data[a + ParticleChannels.InterpolationStartOffset] = start;
-				interpolationChannel.data[a + ParticleChannels.InterpolationDiffOffset] = diff;
-				valueChannel.data[i] = start + diff * value.getScale(0);
-			}
-		} else {
-			for (int i = startIndex * valueChannel.strideSize, a = startIndex * interpolationChannel.strideSize, c = i + count
-				* valueChannel.strideSize; i < c; i += valueChannel.strideSize, a += interpolationChannel.strideSize) {
-				float start = value.newLowValue();
-				float diff = value.newHighValue();
-				interpolationChannel.data[a + ParticleChannels.InterpolationStartOffset] = start;
-				interpolationChannel.data[a + ParticleChannels.InterpolationDiffOffset] = diff;
-				valueChannel.data[i] = start + diff * value.getScale(0);
-			}
-		}
+		activateParticles(startIndex, count, 1);
+	}
+
+	/** Activates the particles like {@link #activateParticles(int, int)}, with the low and high values multiplied by scale. */
+	protected void activateParticles (int startIndex, int count, float scale) {
+		final float[] interpolation = interpolationChannel.data;
+		final int stride = interpolationChannel.strideSize;
+		final int start = startIndex * stride + ParticleChannels.InterpolationStartOffset;
+		final int diff = startIndex * stride + ParticleChannels.InterpolationDiffOffset;
+		ChannelKernels.random(interpolation, start, stride, count, value.getLowMin() * scale, value.getLowMax() * scale);
+		ChannelKernels.random(interpolation, diff, stride, count, value.getHighMin() * scale, value.getHighMax() * scale);
+		if (!value.isRelative()) ChannelKernels.axpy(-1, interpolation, start, stride, interpolation, diff, stride, count);
+		ChannelKernels.lerp(interpolation, start, stride, interpolation, diff, stride, value.getScale(0), valueChannel.data,
+			startIndex * valueChannel.strideSize, valueChannel.strideSize, count);
 	}
 
 	@Override
 	public void update () {
-		for (int i = 0, a = 0, l = ParticleChannels.LifePercentOffset, c = i + controller.particles.size * valueChannel.strideSize; i < c; i += valueChannel.strideSize, a += interpolationChannel.strideSize, l += lifeChannel.strideSize) {
+		update(0, controller.particles.size);
+	}
 
-			valueChannel.data[i] = interpolationChannel.data[a + ParticleChannels.InterpolationStartOffset]
-				+ interpolationChannel.data[a + ParticleChannels.InterpolationDiffOffset] * value.getScale(lifeChannel.data[l]);
-		}
+	@Override
+	public boolean isRangeUpdatable () {
+		return true;
+	}
+
+	@Override
+	public void update (int startIndex, int count) {
+		// Sample the curve into the value channel first, so that the interpolation itself is a vectorizable loop
+		final float[] values = valueChannel.data, interpolation = interpolationChannel.data;
+		final int i = startIndex * valueChannel.strideSize, a = startIndex * interpolationChannel.strideSize;
+		ChannelKernels.scale(value, lifeChannel.data, startIndex * lifeChannel.strideSize + ParticleChannels.LifePercentOffset,
+			lifeChannel.strideSize, values, i, valueChannel.strideSize, count);
+		ChannelKernels.mulAdd(interpolation, a + ParticleChannels.InterpolationStartOffset, interpolationChannel.strideSize,
+			interpolation, a + ParticleChannels.InterpolationDiffOffset, interpolationChannel.strideSize, values, i,
+			valueChannel.strideSize, values, i, valueChannel.strideSize, count);
 	}
 
 	@Override
@@ -26,6 +26,7 @@ import com.badlogic.gdx.graphics.g3d.Attributes;
 import com.badlogic.gdx.graphics.g3d.Environment;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BakedAnimationAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.CubemapAttribute;
@@ -37,9 +38,11 @@ import com.badlogic.gdx.graphics.g3d.attributes.PointLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.SpotLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.AmbientCubemap;
+import com.badlogic.gdx.graphics.g3d.environment.CascadedShadowMap;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
 import com.badlogic.gdx.graphics.g3d.environment.PointLight;
 import com.badlogic.gdx.graphics.g3d.environment.SpotLight;
+import com.badlogic.gdx.graphics.g3d.model.BakedAnimation;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Matrix3;
@@ -92,6 +95,9 @@ public class DefaultShader extends BaseShader {
 		public final static Uniform projViewWorldTrans = new Uniform("u_projViewWorldTrans");
 		public final static Uniform normalMatrix = new Uniform("u_normalMatrix");
 		public final static Uniform bones = new Uniform("u_bones");
+		public final static Uniform bakedAnimTexture = new Uniform("u_bakedAnimTexture", BakedAnimationAttribute.Type);
+		public final static Uniform bakedAnimSize = new Uniform("u_bakedAnimSize", BakedAnimationAttribute.Type);
+		public final static Uniform bakedAnimFrame = new Uniform("u_bakedAnimFrame", BakedAnimationAttribute.Type);
 
 		public final static Uniform shininess = new Uniform("u_shininess", FloatAttribute.Shininess);
 		public final static Uniform opacity = new Uniform("u_opacity", BlendingAttribute.Type);
@@ -214,6 +220,29 @@ public class DefaultShader extends BaseShader {
 			}
 		}
 
+		public final static Setter bakedAnimTexture = new LocalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final BakedAnimationAttribute ba = (BakedAnimationAttribute)(combinedAttributes.get(BakedAnimationAttribute.Type));
+				shader.set(inputID, shader.context.textureBinder.bind(ba.animation.getTexture()));
+			}
+		};
+		public final static Setter bakedAnimSize = new LocalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final BakedAnimation animation = ((BakedAnimationAttribute)(combinedAttributes.get(BakedAnimationAttribute.Type))).animation;
+				shader.set(inputID, 1f / animation.getTextureWidth(), 1f / animation.getTextureHeight());
+			}
+		};
+		public final static Setter bakedAnimFrame = new LocalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final BakedAnimationAttribute ba = (BakedAnimationAttribute)(combinedAttributes.get(BakedAnimationAttribute.Type));
+				final BakedAnimation animation = ba.animation;
+				shader.set(inputID, (float)animation.getFrame(ba.getClip(), animation.time * ba.speed + ba.offset));
+			}
+		};
+
 		public final static Setter shininess = new LocalSetter() {
 			@Override
 			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
@@ -425,6 +454,9 @@ public class DefaultShader extends BaseShader {
 	public final int u_projViewWorldTrans;
 	public final int u_normalMatrix;
 	public final int u_bones;
+	public final int u_bakedAnimTexture;
+	public final int u_bakedAnimSize;
+	public final int u_bakedAnimFrame;
 	// Material uniforms
 	public final int u_shininess;
 	public final int u_opacity;
@@ -466,6 +498,8 @@ public class DefaultShader extends BaseShader {
 	protected final int u_shadowMapProjViewTrans = register(new Uniform("u_shadowMapProjViewTrans"));
 	protected final int u_shadowTexture = register(new Uniform("u_shadowTexture"));
 	protected final int u_shadowPCFOffset = register(new Uniform("u_shadowPCFOffset"));
+	protected final int u_shadowCascadeScale = register(new Uniform("u_shadowCascadeScale"));
+	protected final int u_shadowCascadeOffset = register(new Uniform("u_shadowCascadeOffset"));
 	// FIXME Cache vertex attribute locations...
 
 	protected int dirLightsLoc;
@@ -489,6 +523,9 @@ public class DefaultShader extends BaseShader {
 	protected final boolean lighting;
 	protected final boolean environmentCubemap;
 	protected final boolean shadowMap;
+	/** The number of cascades of the {@link CascadedShadowMap}, or zero if the shadow map isn't cascaded. */
+	protected final int shadowCascades;
+	protected final boolean bakedAnimation;
 	protected final AmbientCubemap ambientCubemap = new AmbientCubemap();
 	protected final DirectionalLight directionalLights[];
 	protected final PointLight pointLights[];
@@ -529,6 +566,8 @@ public class DefaultShader extends BaseShader {
 		this.environmentCubemap = attributes.has(CubemapAttribute.EnvironmentMap)
 			|| (lighting && attributes.has(CubemapAttribute.EnvironmentMap));
 		this.shadowMap = lighting && renderable.environment.shadowMap != null;
+		this.shadowCascades = shadowMap ? getShadowCascades(renderable.environment) : 0;
+		this.bakedAnimation = attributes.has(BakedAnimationAttribute.Type);
 		this.renderable = renderable;
 		attributesMask = attributes.getMask() | optionalAttributes;
 		vertexMask = renderable.meshPart.mesh.getVertexAttributes().getMaskWithSizePacked();
@@ -560,8 +599,11 @@ public class DefaultShader extends BaseShader {
 		u_viewWorldTrans = register(Inputs.viewWorldTrans, Setters.viewWorldTrans);
 		u_projViewWorldTrans = register(Inputs.projViewWorldTrans, Setters.projViewWorldTrans);
 		u_normalMatrix = register(Inputs.normalMatrix, Setters.normalMatrix);
-		u_bones = (renderable.bones != null && config.numBones > 0) ? register(Inputs.bones, new Setters.Bones(config.numBones))
-			: -1;
+		u_bones = (renderable.bones != null && config.numBones > 0 && !bakedAnimation) ? register(Inputs.bones,
+			new Setters.Bones(config.numBones)) : -1;
+		u_bakedAnimTexture = register(Inputs.bakedAnimTexture, Setters.bakedAnimTexture);
+		u_bakedAnimSize = register(Inputs.bakedAnimSize, Setters.bakedAnimSize);
+		u_bakedAnimFrame = register(Inputs.bakedAnimFrame, Setters.bakedAnimFrame);
 
 		u_shininess = register(Inputs.shininess, Setters.shininess);
 		u_opacity = register(Inputs.opacity);
@@ -664,7 +706,11 @@ public class DefaultShader extends BaseShader {
 				if (attributes.has(ColorAttribute.Fog)) {
 					prefix += "#define fogFlag\n";
 				}
-				if (renderable.environment.shadowMap != null) prefix += "#define shadowMapFlag\n";
+				if (renderable.environment.shadowMap != null) {
+					prefix += "#define shadowMapFlag\n";
+					final int cascades = getShadowCascades(renderable.environment);
+					if (cascades > 0) prefix += "#define numShadowCascades " + cascades + "\n";
+				}
 				if (attributes.has(CubemapAttribute.EnvironmentMap)) prefix += "#define environmentCubemapFlag\n";
 			}
 		}
@@ -713,7 +759,9 @@ public class DefaultShader extends BaseShader {
 			prefix += "#define " + FloatAttribute.ShininessAlias + "Flag\n";
 		if ((attributesMask & FloatAttribute.AlphaTest) == FloatAttribute.AlphaTest)
 			prefix += "#define " + FloatAttribute.AlphaTestAlias + "Flag\n";
-		if (renderable.bones != null && config.numBones > 0) prefix += "#define numBones " + config.numBones + "\n";
+		if (attributes.has(BakedAnimationAttribute.Type))
+			prefix += "#define " + BakedAnimationAttribute.Alias + "Flag\n";
+		else if (renderable.bones != null && config.numBones > 0) prefix += "#define numBones " + config.numBones + "\n";
 		return prefix;
 	}
 
@@ -721,7 +769,13 @@ public class DefaultShader extends BaseShader {
 	public boolean canRender (final Renderable renderable) {
 		final long renderableMask = combineAttributeMasks(renderable);
 		return (attributesMask == (renderableMask | optionalAttributes))
-			&& (vertexMask == renderable.meshPart.mesh.getVertexAttributes().getMaskWithSizePacked()) && (renderable.environment != null) == lighting;
+			&& (vertexMask == renderable.meshPart.mesh.getVertexAttributes().getMaskWithSizePacked()) && (renderable.environment != null) == lighting
+			&& (!shadowMap || getShadowCascades(renderable.environment) == shadowCascades);
+	}
+
+	private static int getShadowCascades (final Environment environment) {
+		return environment != null && environment.shadowMap instanceof CascadedShadowMap
+			? ((CascadedShadowMap)environment.shadowMap).getCascadeCount() : 0;
 	}
 
 	@Override
@@ -885,6 +939,13 @@ public class DefaultShader extends BaseShader {
 			set(u_shadowMapProjViewTrans, lights.shadowMap.getProjViewTrans());
 			set(u_shadowTexture, lights.shadowMap.getDepthMap());
 			set(u_shadowPCFOffset, 1.f / (2f * lights.shadowMap.getDepthMap().texture.getWidth()));
+			if (shadowCascades > 0 && lights.shadowMap instanceof CascadedShadowMap) {
+				final CascadedShadowMap cascaded = (CascadedShadowMap)lights.shadowMap;
+				if (has(u_shadowCascadeScale))
+					program.setUniform3fv(loc(u_shadowCascadeScale), cascaded.getCascadeScales(), 0, shadowCascades * 3);
+				if (has(u_shadowCascadeOffset))
+					program.setUniform3fv(loc(u_shadowCascadeOffset), cascaded.getCascadeOffsets(), 0, shadowCascades * 3);
+			}
 		}
 
 		lightsSet = true;
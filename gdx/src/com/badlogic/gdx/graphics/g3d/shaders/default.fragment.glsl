@@ -89,6 +89,35 @@ uniform float u_shadowPCFOffset;
 varying vec3 v_shadowMapUv;
 #define separateAmbientFlag
 
+#ifdef numShadowCascades
+// The cascades are stored side by side, the coordinates of each cascade are derived from those of the first cascade
+uniform vec3 u_shadowCascadeScale[numShadowCascades];
+uniform vec3 u_shadowCascadeOffset[numShadowCascades];
+
+float getShadowness(vec3 uv, vec2 offset)
+{
+    const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 16581375.0);
+    return step(uv.z, dot(texture2D(u_shadowTexture, uv.xy + offset), bitShifts));
+}
+
+float getShadow()
+{
+	// The depth map is numShadowCascades times as wide as it is high
+	vec2 pcf = vec2(u_shadowPCFOffset, u_shadowPCFOffset * float(numShadowCascades));
+	for (int i = 0; i < numShadowCascades; i++) {
+		vec3 uv = v_shadowMapUv * u_shadowCascadeScale[i] + u_shadowCascadeOffset[i];
+		if (uv.x > 0.0 && uv.x < 1.0 && uv.y > 0.0 && uv.y < 1.0) {
+			uv.x = (uv.x + float(i)) / float(numShadowCascades);
+			uv.z = min(uv.z, 0.998);
+			return (getShadowness(uv, pcf) +
+					getShadowness(uv, vec2(-pcf.x, pcf.y)) +
+					getShadowness(uv, vec2(pcf.x, -pcf.y)) +
+					getShadowness(uv, -pcf)) * 0.25;
+		}
+	}
+	return 1.0;
+}
+#else
 float getShadowness(vec2 offset)
 {
     const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 16581375.0);
@@ -103,6 +132,7 @@ float getShadow()
 			getShadowness(vec2(u_shadowPCFOffset, -u_shadowPCFOffset)) +
 			getShadowness(vec2(-u_shadowPCFOffset, -u_shadowPCFOffset))) * 0.25;
 }
+#endif //numShadowCascades
 #endif //shadowMapFlag
 
 #if defined(ambientFlag) && defined(separateAmbientFlag)
@@ -103,6 +103,10 @@ attribute vec2 a_boneWeight7;
 #endif
 #endif
 
+#if defined(bakedAnimationFlag) && defined(boneWeightsFlag)
+#define skinningFlag
+#endif
+
 uniform mat4 u_worldTrans;
 
 #if defined(numBones)
@@ -111,6 +115,20 @@ uniform mat4 u_bones[numBones];
 #endif //numBones
 #endif
 
+#ifdef bakedAnimationFlag
+uniform sampler2D u_bakedAnimTexture;
+uniform vec2 u_bakedAnimSize;
+uniform float u_bakedAnimFrame;
+
+mat4 getBakedBone(float frameV, float index) {
+	float u = (index * 3.0 + 0.5) * u_bakedAnimSize.x;
+	vec4 r0 = texture2D(u_bakedAnimTexture, vec2(u, frameV));
+	vec4 r1 = texture2D(u_bakedAnimTexture, vec2(u + u_bakedAnimSize.x, frameV));
+	vec4 r2 = texture2D(u_bakedAnimTexture, vec2(u + 2.0 * u_bakedAnimSize.x, frameV));
+	return mat4(r0.x, r1.x, r2.x, 0.0, r0.y, r1.y, r2.y, 0.0, r0.z, r1.z, r2.z, 0.0, r0.w, r1.w, r2.w, 1.0);
+}
+#endif //bakedAnimationFlag
+
 #ifdef shininessFlag
 uniform float u_shininess;
 #else
@@ -215,29 +233,35 @@ void main() {
 	
 	#ifdef skinningFlag
 		mat4 skinning = mat4(0.0);
+		#ifdef bakedAnimationFlag
+			float frameV = (u_bakedAnimFrame + 0.5) * u_bakedAnimSize.y;
+			#define getBone(index) getBakedBone(frameV, index)
+		#else
+			#define getBone(index) u_bones[int(index)]
+		#endif //bakedAnimationFlag
 		#ifdef boneWeight0Flag
-			skinning += (a_boneWeight0.y) * u_bones[int(a_boneWeight0.x)];
+			skinning += (a_boneWeight0.y) * getBone(a_boneWeight0.x);
 		#endif //boneWeight0Flag
 		#ifdef boneWeight1Flag				
-			skinning += (a_boneWeight1.y) * u_bones[int(a_boneWeight1.x)];
+			skinning += (a_boneWeight1.y) * getBone(a_boneWeight1.x);
 		#endif //boneWeight1Flag
 		#ifdef boneWeight2Flag		
-			skinning += (a_boneWeight2.y) * u_bones[int(a_boneWeight2.x)];
+			skinning += (a_boneWeight2.y) * getBone(a_boneWeight2.x);
 		#endif //boneWeight2Flag
 		#ifdef boneWeight3Flag
-			skinning += (a_boneWeight3.y) * u_bones[int(a_boneWeight3.x)];
+			skinning += (a_boneWeight3.y) * getBone(a_boneWeight3.x);
 		#endif //boneWeight3Flag
 		#ifdef boneWeight4Flag
-			skinning += (a_boneWeight4.y) * u_bones[int(a_boneWeight4.x)];
+			skinning += (a_boneWeight4.y) * getBone(a_boneWeight4.x);
 		#endif //boneWeight4Flag
 		#ifdef boneWeight5Flag
-			skinning += (a_boneWeight5.y) * u_bones[int(a_boneWeight5.x)];
+			skinning += (a_boneWeight5.y) * getBone(a_boneWeight5.x);
 		#endif //boneWeight5Flag
 		#ifdef boneWeight6Flag
-			skinning += (a_boneWeight6.y) * u_bones[int(a_boneWeight6.x)];
+			skinning += (a_boneWeight6.y) * getBone(a_boneWeight6.x);
 		#endif //boneWeight6Flag
 		#ifdef boneWeight7Flag
-			skinning += (a_boneWeight7.y) * u_bones[int(a_boneWeight7.x)];
+			skinning += (a_boneWeight7.y) * getBone(a_boneWeight7.x);
 		#endif //boneWeight7Flag
 	#endif //skinningFlag
 
@@ -252,7 +276,9 @@ void main() {
 	#ifdef shadowMapFlag
 		vec4 spos = u_shadowMapProjViewTrans * pos;
 		v_shadowMapUv.xyz = (spos.xyz / spos.w) * 0.5 + 0.5;
-		v_shadowMapUv.z = min(v_shadowMapUv.z, 0.998);
+		#ifndef numShadowCascades
+			v_shadowMapUv.z = min(v_shadowMapUv.z, 0.998);
+		#endif
 	#endif //shadowMapFlag
 	
 	#if defined(normalFlag)
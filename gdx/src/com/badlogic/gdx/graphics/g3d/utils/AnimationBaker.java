@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.Animation;
+import com.badlogic.gdx.graphics.g3d.model.BakedAnimation;
+import com.badlogic.gdx.graphics.g3d.model.BakedAnimation.Clip;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Samples one or more {@link Animation}s of a {@link ModelInstance} at a fixed frame rate and stores the resulting bone matrices
+ * of a skinned {@link NodePart} in a {@link BakedAnimation}. Each animation is stored as a separate {@link Clip}. The target
+ * instance is only used while baking, afterwards its nodes are restored to their original pose. */
+public class AnimationBaker extends BaseAnimationController {
+	/** Construct a new AnimationBaker.
+	 * @param target The {@link ModelInstance} containing the animations and the skinned node part to bake. */
+	public AnimationBaker (final ModelInstance target) {
+		super(target);
+	}
+
+	/** Bake the specified animations for the first skinned node part of the target.
+	 * @param fps The number of frames per second to sample each animation at. */
+	public BakedAnimation bake (final float fps, final Animation... animations) {
+		final NodePart part = findSkinnedPart(target.nodes);
+		if (part == null) throw new GdxRuntimeException("The model instance doesn't contain a skinned node part");
+		return bake(part, fps, animations);
+	}
+
+	/** Bake all animations of the target for the specified node part.
+	 * @param fps The number of frames per second to sample each animation at. */
+	public BakedAnimation bake (final NodePart part, final float fps) {
+		return bake(part, fps, target.animations.toArray(Animation.class));
+	}
+
+	/** Bake the specified animations for the specified node part.
+	 * @param part The skinned node part of the target, of which the {@link NodePart#bones} are baked.
+	 * @param fps The number of frames per second to sample each animation at.
+	 * @param animations The animations of the target to bake, each animation is stored in its own {@link Clip}. */
+	public BakedAnimation bake (final NodePart part, final float fps, final Animation... animations) {
+		if (part.bones == null || part.bones.length == 0) throw new GdxRuntimeException("The node part isn't skinned");
+		if (fps <= 0f) throw new GdxRuntimeException("fps must be positive");
+		if (animations.length == 0) throw new GdxRuntimeException("Nothing to bake");
+
+		int totalFrames = 0;
+		for (final Animation animation : animations)
+			totalFrames += getFrameCount(animation, fps);
+
+		final BakedAnimation result = new BakedAnimation(part.bones.length, totalFrames, fps);
+		int frame = 0;
+		for (final Animation animation : animations) {
+			final int frameCount = getFrameCount(animation, fps);
+			result.clips.add(new Clip(animation.id, frame, frameCount));
+			for (int i = 0; i < frameCount; i++, frame++) {
+				applyAnimation(animation, i / fps);
+				for (int b = 0; b < part.bones.length; b++)
+					result.setBone(frame, b, part.bones[b]);
+			}
+			removeAnimation(animation);
+		}
+		target.calculateTransforms();
+		return result;
+	}
+
+	/** @return The number of frames needed to sample the animation at the specified frame rate, the last frame is not included
+	 *         because the animation wraps around to the first frame. */
+	public static int getFrameCount (final Animation animation, final float fps) {
+		return Math.max(1, MathUtils.round(animation.duration * fps));
+	}
+
+	private static NodePart findSkinnedPart (final Iterable<Node> nodes) {
+		for (final Node node : nodes) {
+			for (final NodePart part : node.parts)
+				if (part.bones != null && part.bones.length > 0) return part;
+			final NodePart result = findSkinnedPart(node.getChildren());
+			if (result != null) return result;
+		}
+		return null;
+	}
+}
@@ -468,9 +468,9 @@ public class MeshBuilder implements MeshPartBuilder {
 		return lastIndex;
 	}
 
-	private final static Vector3 vTmp = new Vector3();
+	private final Vector3 vTmp = new Vector3();
 
-	private final static void transformPosition (final float[] values, final int offset, final int size, Matrix4 transform) {
+	private final void transformPosition (final float[] values, final int offset, final int size, Matrix4 transform) {
 		if (size > 2) {
 			vTmp.set(values[offset], values[offset + 1], values[offset + 2]).mul(transform);
 			values[offset] = vTmp.x;
@@ -484,7 +484,7 @@ public class MeshBuilder implements MeshPartBuilder {
 			values[offset] = vTmp.set(values[offset], 0, 0).mul(transform).x;
 	}
 
-	private final static void transformNormal (final float[] values, final int offset, final int size, Matrix3 transform) {
+	private final void transformNormal (final float[] values, final int offset, final int size, Matrix3 transform) {
 		if (size > 2) {
 			vTmp.set(values[offset], values[offset + 1], values[offset + 2]).mul(transform).nor();
 			values[offset] = vTmp.x;
@@ -755,7 +755,7 @@ public class MeshBuilder implements MeshPartBuilder {
 		addMesh(tmpVertices.items, tmpIndices.items, 0, numIndices);
 	}
 
-	private static IntIntMap indicesMap = null;
+	private IntIntMap indicesMap = null;
 
 	@Override
 	public void addMesh (float[] vertices, short[] indices, int indexOffset, int numIndices) {
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.LodModelInstance;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** Reduces the triangle count of meshes using vertex clustering, e.g. to generate the levels of a {@link LodModelInstance}
+ * offline. The bounds of the mesh are divided in cubic cells of the specified size, all vertices within a cell are merged into a
+ * single vertex at the average position and triangles that collapse to a line or point are removed. The other attributes (normal,
+ * color, texture coordinates, etc.) of a merged vertex are taken from the first vertex within its cell. The larger the cell size,
+ * the coarser the result.
+ * <p>
+ * This is fast and robust for any input, but doesn't preserve sharp features as well as error metric based algorithms. It is
+ * therefore best suited for the distant levels of detail.
+ * <p>
+ * An instance reuses its buffers for every mesh it simplifies, it must not be used by multiple threads at the same time. */
+public class MeshSimplifier {
+	/** Open addressing hash table of the cells, mapping the key of a cell to its cluster or -1 if the slot is empty. */
+	private long[] cellKeys = new long[0];
+	private int[] cellClusters = new int[0];
+	private int cellMask;
+	private final FloatArray sums = new FloatArray();
+	private final IntArray counts = new IntArray();
+	private final IntArray firsts = new IntArray();
+	private final IntArray triangles = new IntArray();
+	private final IntArray remap = new IntArray();
+
+	/** Simplify the triangles of the specified vertices and indices and add the result to the builder. The builder must use the
+	 * same vertex attributes as the vertices and must use the {@link GL20#GL_TRIANGLES} primitive type.
+	 * @param vertices The source vertices.
+	 * @param indices The source indices, three for each triangle.
+	 * @param indexOffset The offset of the first index to simplify.
+	 * @param numIndices The number of indices to simplify, must be a multiple of three.
+	 * @param cellSize The size of the cells vertices are merged in, must be positive.
+	 * @return The number of triangles added to the builder. */
+	public int simplify (final MeshPartBuilder builder, final float[] vertices, final short[] indices,
+		final int indexOffset, final int numIndices, final float cellSize) {
+		if (builder.getPrimitiveType() != GL20.GL_TRIANGLES) throw new GdxRuntimeException("Only triangles are supported");
+		if (cellSize <= 0f) throw new GdxRuntimeException("cellSize must be positive");
+		final VertexAttribute position = builder.getAttributes().findByUsage(Usage.Position);
+		if (position == null || position.numComponents < 3)
+			throw new GdxRuntimeException("Simplification requires a three component position attribute");
+		final int stride = builder.getAttributes().vertexSize / 4;
+		final int posOffset = position.offset / 4;
+		final int numVertices = vertices.length / stride;
+		final float invCellSize = 1f / cellSize;
+
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+		for (int i = indexOffset, n = indexOffset + numIndices; i < n; i++) {
+			final int idx = (indices[i] & 0xFFFF) * stride + posOffset;
+			minX = Math.min(minX, vertices[idx]);
+			minY = Math.min(minY, vertices[idx + 1]);
+			minZ = Math.min(minZ, vertices[idx + 2]);
+		}
+
+		clearCells(Math.min(numVertices, numIndices));
+		sums.clear();
+		counts.clear();
+		firsts.clear();
+		triangles.clear();
+		remap.clear();
+		remap.ensureCapacity(numVertices);
+		remap.size = numVertices;
+		for (int i = 0; i < numVertices; i++)
+			remap.items[i] = -1;
+
+		// Assign each referenced vertex to a cluster
+		for (int i = indexOffset, n = indexOffset + numIndices; i < n; i++) {
+			final int vertex = indices[i] & 0xFFFF;
+			if (remap.items[vertex] >= 0) continue;
+			final int idx = vertex * stride + posOffset;
+			final float x = vertices[idx], y = vertices[idx + 1], z = vertices[idx + 2];
+			final long key = ((long)((x - minX) * invCellSize) & 0x1FFFFF) | (((long)((y - minY) * invCellSize) & 0x1FFFFF) << 21)
+				| (((long)((z - minZ) * invCellSize) & 0x1FFFFF) << 42);
+			int slot = (int)((key * 0x9E3779B97F4A7C15L) >>> 32) & cellMask;
+			while (cellClusters[slot] >= 0 && cellKeys[slot] != key)
+				slot = (slot + 1) & cellMask;
+			if (cellClusters[slot] < 0) {
+				cellKeys[slot] = key;
+				cellClusters[slot] = counts.size;
+				sums.add(0f, 0f, 0f);
+				counts.add(0);
+				firsts.add(vertex);
+			}
+			final int c = cellClusters[slot];
+			sums.items[c * 3] += x;
+			sums.items[c * 3 + 1] += y;
+			sums.items[c * 3 + 2] += z;
+			counts.items[c]++;
+			remap.items[vertex] = c;
+		}
+
+		// Collect the triangles that don't collapse
+		final int clusterCount = counts.size;
+		for (int i = indexOffset, n = indexOffset + numIndices - 2; i < n; i += 3) {
+			final int a = remap.items[indices[i] & 0xFFFF];
+			final int b = remap.items[indices[i + 1] & 0xFFFF];
+			final int c = remap.items[indices[i + 2] & 0xFFFF];
+			if (a == b || b == c || a == c) continue;
+			triangles.add(a, b, c);
+		}
+
+		// Add the used clusters as vertices, reusing the counts array to store the resulting index
+		final float[] vertex = new float[stride];
+		int usedCount = 0;
+		for (int i = 0; i < triangles.size; i++) {
+			final int c = triangles.items[i];
+			if (counts.items[c] > 0) {
+				counts.items[c] = -counts.items[c];
+				usedCount++;
+			}
+		}
+		builder.ensureVertices(usedCount);
+		for (int c = 0; c < clusterCount; c++) {
+			final int count = counts.items[c];
+			if (count >= 0) continue;
+			System.arraycopy(vertices, firsts.items[c] * stride, vertex, 0, stride);
+			final float scale = -1f / count;
+			vertex[posOffset] = sums.items[c * 3] * scale;
+			vertex[posOffset + 1] = sums.items[c * 3 + 1] * scale;
+			vertex[posOffset + 2] = sums.items[c * 3 + 2] * scale;
+			counts.items[c] = builder.vertex(vertex) & 0xFFFF;
+		}
+
+		final int triangleCount = triangles.size / 3;
+		builder.ensureTriangleIndices(triangleCount);
+		for (int i = 0; i < triangles.size; i += 3)
+			builder.triangle((short)counts.items[triangles.items[i]], (short)counts.items[triangles.items[i + 1]],
+				(short)counts.items[triangles.items[i + 2]]);
+		return triangleCount;
+	}
+
+	/** Empties the cell table, making sure it has room for the specified number of cells at a load factor of at most a half. */
+	private void clearCells (final int maxCells) {
+		int capacity = 16;
+		while (capacity < maxCells * 2)
+			capacity <<= 1;
+		if (cellClusters.length < capacity) {
+			cellKeys = new long[capacity];
+			cellClusters = new int[capacity];
+		}
+		final int[] clusters = cellClusters;
+		for (int i = 0, n = clusters.length; i < n; i++)
+			clusters[i] = -1;
+		cellMask = clusters.length - 1;
+	}
+
+	/** Simplify the specified triangle mesh part and add the result to the builder, see
+	 * {@link #simplify(MeshPartBuilder, float[], short[], int, int, float)}.
+	 * @return The number of triangles added to the builder. */
+	public int simplify (final MeshPartBuilder builder, final MeshPart meshPart, final float cellSize) {
+		if (meshPart.primitiveType != GL20.GL_TRIANGLES) throw new GdxRuntimeException("Only triangles are supported");
+		final Mesh mesh = meshPart.mesh;
+		if (!builder.getAttributes().equals(mesh.getVertexAttributes()))
+			throw new GdxRuntimeException("Vertex attributes do not match");
+		final float[] vertices = mesh.getVertices(new float[mesh.getNumVertices() * mesh.getVertexSize() / 4]);
+		final short[] indices = new short[meshPart.size];
+		if (mesh.getNumIndices() > 0)
+			mesh.getIndices(meshPart.offset, meshPart.size, indices, 0);
+		else {
+			for (int i = 0; i < meshPart.size; i++)
+				indices[i] = (short)(meshPart.offset + i);
+		}
+		return simplify(builder, vertices, indices, 0, indices.length, cellSize);
+	}
+
+	/** Create a simplified copy of the specified model. The node hierarchy is flattened, each node with parts is copied with its
+	 * global transform. Triangle parts are simplified, other parts are copied as-is. Materials are shared with the source model,
+	 * therefore the source model must not be disposed while the result is used. Skinning and animations are not copied.
+	 * @param cellSize The size of the cells vertices are merged in, in the local coordinates of each node part.
+	 * @return The simplified model, which should be disposed when no longer needed. */
+	public Model simplify (final Model model, final float cellSize) {
+		final ModelBuilder builder = new ModelBuilder();
+		builder.begin();
+		simplify(builder, model.nodes, cellSize);
+		final Model result = builder.end();
+		result.calculateTransforms();
+		return result;
+	}
+
+	/** Create a chain of simplified models, one for each of the specified cell sizes, to be used as the levels of a
+	 * {@link LodModelInstance}. See {@link #simplify(Model, float)}.
+	 * @param cellSizes The cell sizes, typically in increasing order.
+	 * @return The simplified models, which should be disposed when no longer needed. */
+	public Array<Model> createLodChain (final Model model, final float... cellSizes) {
+		final Array<Model> result = new Array<Model>(cellSizes.length);
+		for (final float cellSize : cellSizes)
+			result.add(simplify(model, cellSize));
+		return result;
+	}
+
+	private void simplify (final ModelBuilder builder, final Iterable<Node> nodes, final float cellSize) {
+		for (final Node node : nodes) {
+			if (node.parts.size > 0) {
+				final Node copy = builder.node();
+				copy.id = node.id;
+				node.globalTransform.getTranslation(copy.translation);
+				node.globalTransform.getRotation(copy.rotation, true);
+				node.globalTransform.getScale(copy.scale);
+				for (final NodePart part : node.parts) {
+					final MeshPart meshPart = part.meshPart;
+					final MeshPartBuilder partBuilder = builder.part(meshPart.id, meshPart.primitiveType,
+						meshPart.mesh.getVertexAttributes(), part.material);
+					if (meshPart.primitiveType == GL20.GL_TRIANGLES)
+						simplify(partBuilder, meshPart, cellSize);
+					else
+						partBuilder.addMesh(meshPart);
+				}
+			}
+			simplify(builder, node.getChildren(), cellSize);
+		}
+	}
+}
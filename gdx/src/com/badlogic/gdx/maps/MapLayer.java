@@ -30,6 +30,7 @@ public class MapLayer {
 	private boolean renderOffsetDirty = true;
 	private MapLayer parent;
 	private MapObjects objects = new MapObjects();
+	private MapObjectIndex objectIndex;
 	private MapProperties properties = new MapProperties();
 
 	/** @return layer's name */
@@ -107,6 +108,16 @@ public class MapLayer {
 		return objects;
 	}
 
+	/** @return spatial index of the layer's objects, or null if none was set */
+	public MapObjectIndex getObjectIndex () {
+		return objectIndex;
+	}
+
+	/** @param objectIndex spatial index of the layer's objects, which has to be rebuilt by the caller when the objects change */
+	public void setObjectIndex (MapObjectIndex objectIndex) {
+		this.objectIndex = objectIndex;
+	}
+
 	/** @return whether the layer is visible or not */
 	public boolean isVisible () {
 		return visible;
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.objects.CircleMapObject;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.PolylineMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.objects.TextureMapObject;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Ellipse;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Spatial index over {@link MapObjects}, speeding up point, rectangle, radius and ray queries on layers with many objects. The
+ * bounding rectangles of the objects are stored in a uniform grid of square cells. Objects overlapping many cells are kept in a
+ * separate list which is checked by every query. The queries don't allocate, they fill an {@link Array} passed by the caller.
+ * <p>
+ * The index is a snapshot of the objects: after objects are added, removed or moved, call {@link #build()}. Rectangle, polygon,
+ * polyline, ellipse, circle and texture objects are indexed, objects of other types are ignored. The cell size should be about
+ * the size of the typical object, in the units of the objects. */
+public class MapObjectIndex {
+	/** Objects overlapping more cells than this are checked by every query instead of being stored in the cells. */
+	static private final int MAX_OBJECT_CELLS = 64;
+
+	private final MapObjects source;
+	private final float cellSize;
+	private final Array<MapObject> objects = new Array<MapObject>();
+	/** minX, minY, maxX, maxY of each indexed object. */
+	private float[] bounds = new float[0];
+	private float originX, originY;
+	private int columns, rows;
+	/** The objects of cell i are cellObjects[cellStarts[i]] to cellObjects[cellStarts[i + 1]] exclusive. */
+	private int[] cellStarts = new int[1];
+	private int[] cellObjects = new int[0];
+	private int[] large = new int[0];
+	private int largeCount;
+	/** The query in which each object was last reported, to report objects overlapping several cells once. */
+	private int[] stamps = new int[0];
+	private int stamp;
+
+	/** Creates and builds the index of the objects of the layer.
+	 * @param cellSize The width and height of the cells of the grid. */
+	public MapObjectIndex (MapLayer layer, float cellSize) {
+		this(layer.getObjects(), cellSize);
+	}
+
+	/** Creates and builds the index.
+	 * @param cellSize The width and height of the cells of the grid. */
+	public MapObjectIndex (MapObjects objects, float cellSize) {
+		if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+		this.source = objects;
+		this.cellSize = cellSize;
+		build();
+	}
+
+	/** Rebuilds the index from the objects, e.g. after objects were added, removed or moved. */
+	public void build () {
+		final int n = source.getCount();
+		objects.clear();
+		if (bounds.length < n * 4) bounds = new float[n * 4];
+		final float[] bounds = this.bounds;
+		int count = 0;
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			final MapObject object = source.get(i);
+			final int o = count * 4;
+			if (!getBounds(object, bounds, o)) continue;
+			objects.add(object);
+			minX = Math.min(minX, bounds[o]);
+			minY = Math.min(minY, bounds[o + 1]);
+			maxX = Math.max(maxX, bounds[o + 2]);
+			maxY = Math.max(maxY, bounds[o + 3]);
+			count++;
+		}
+		if (stamps.length < count) stamps = new int[count];
+		Arrays.fill(stamps, 0);
+		stamp = 0;
+		largeCount = 0;
+		if (count == 0) {
+			columns = rows = 0;
+			cellStarts = new int[1];
+			return;
+		}
+
+		originX = minX;
+		originY = minY;
+		columns = Math.max(1, (int)Math.ceil((maxX - minX) / cellSize));
+		rows = Math.max(1, (int)Math.ceil((maxY - minY) / cellSize));
+		final long cells = (long)columns * rows;
+		if (cells >= Integer.MAX_VALUE) throw new GdxRuntimeException("cellSize is too small for the extent of the objects: " + cellSize);
+
+		// count the objects of each cell, turn the counts into the end of each cell, then place the objects backwards
+		if (cellStarts.length != cells + 1) cellStarts = new int[(int)cells + 1];
+		final int[] cellStarts = this.cellStarts;
+		Arrays.fill(cellStarts, 0);
+		int total = 0;
+		for (int i = 0; i < count; i++) {
+			final int o = i * 4;
+			final int column1 = column(bounds[o]), column2 = column(bounds[o + 2]);
+			final int row1 = row(bounds[o + 1]), row2 = row(bounds[o + 3]);
+			if ((column2 - column1 + 1) * (row2 - row1 + 1) > MAX_OBJECT_CELLS) {
+				if (largeCount == large.length) large = Arrays.copyOf(large, Math.max(8, largeCount * 2));
+				large[largeCount++] = i;
+				continue;
+			}
+			for (int row = row1; row <= row2; row++)
+				for (int column = column1; column <= column2; column++)
+					cellStarts[row * columns + column]++;
+			total += (column2 - column1 + 1) * (row2 - row1 + 1);
+		}
+		for (int i = 1; i < cells; i++)
+			cellStarts[i] += cellStarts[i - 1];
+		cellStarts[(int)cells] = total;
+		if (cellObjects.length < total) cellObjects = new int[total];
+		final int[] cellObjects = this.cellObjects;
+		for (int i = count - 1; i >= 0; i--) {
+			final int o = i * 4;
+			final int column1 = column(bounds[o]), column2 = column(bounds[o + 2]);
+			final int row1 = row(bounds[o + 1]), row2 = row(bounds[o + 3]);
+			if ((column2 - column1 + 1) * (row2 - row1 + 1) > MAX_OBJECT_CELLS) continue;
+			for (int row = row1; row <= row2; row++)
+				for (int column = column1; column <= column2; column++)
+					cellObjects[--cellStarts[row * columns + column]] = i;
+		}
+	}
+
+	/** Finds the objects whose shape contains the point. Polylines have no area and never contain a point, texture objects are
+	 * tested with their unrotated bounds.
+	 * @param results Cleared and filled with the objects, in the order of the source objects within a cell.
+	 * @return The results. */
+	public Array<MapObject> getObjectsAt (float x, float y, Array<MapObject> results) {
+		results.clear();
+		if (columns == 0 || x < originX || y < originY || x > originX + columns * cellSize || y > originY + rows * cellSize)
+			return results;
+		for (int i = 0; i < largeCount; i++)
+			addIfContains(large[i], x, y, results);
+		final int cell = row(y) * columns + column(x);
+		for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++)
+			addIfContains(cellObjects[i], x, y, results);
+		return results;
+	}
+
+	private void addIfContains (int index, float x, float y, Array<MapObject> results) {
+		final float[] bounds = this.bounds;
+		final int o = index * 4;
+		if (x < bounds[o] || y < bounds[o + 1] || x > bounds[o + 2] || y > bounds[o + 3]) return;
+		final MapObject object = objects.get(index);
+		if (contains(object, x, y)) results.add(object);
+	}
+
+	/** Finds the objects whose bounding rectangle overlaps the rectangle.
+	 * @param results Cleared and filled with the objects.
+	 * @return The results. */
+	public Array<MapObject> getObjectsIn (float x, float y, float width, float height, Array<MapObject> results) {
+		return query(x, y, x + width, y + height, 0, 0, -1, results);
+	}
+
+	/** Finds the objects whose bounding rectangle overlaps the rectangle, see {@link #getObjectsIn(float, float, float, float, Array)}. */
+	public Array<MapObject> getObjectsIn (Rectangle rectangle, Array<MapObject> results) {
+		return getObjectsIn(rectangle.x, rectangle.y, rectangle.width, rectangle.height, results);
+	}
+
+	/** Finds the objects whose bounding rectangle is at most the radius away from the point.
+	 * @param results Cleared and filled with the objects.
+	 * @return The results. */
+	public Array<MapObject> getObjectsWithin (float x, float y, float radius, Array<MapObject> results) {
+		return query(x - radius, y - radius, x + radius, y + radius, x, y, radius * radius, results);
+	}
+
+	/** Finds the objects whose bounds overlap the rectangle and, if radius2 >= 0, are at most sqrt(radius2) away from the center. */
+	private Array<MapObject> query (float x1, float y1, float x2, float y2, float centerX, float centerY, float radius2,
+		Array<MapObject> results) {
+		results.clear();
+		if (columns == 0) return results;
+		for (int i = 0; i < largeCount; i++)
+			if (overlaps(large[i], x1, y1, x2, y2, centerX, centerY, radius2)) results.add(objects.get(large[i]));
+		if (x2 < originX || y2 < originY || x1 > originX + columns * cellSize || y1 > originY + rows * cellSize) return results;
+		final int column1 = column(x1), column2 = column(x2), row1 = row(y1), row2 = row(y2);
+		final int stamp = nextStamp();
+		final int[] stamps = this.stamps;
+		for (int row = row1; row <= row2; row++) {
+			for (int column = column1; column <= column2; column++) {
+				final int cell = row * columns + column;
+				for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+					final int index = cellObjects[i];
+					if (stamps[index] == stamp) continue;
+					stamps[index] = stamp;
+					if (overlaps(index, x1, y1, x2, y2, centerX, centerY, radius2)) results.add(objects.get(index));
+				}
+			}
+		}
+		return results;
+	}
+
+	private boolean overlaps (int index, float x1, float y1, float x2, float y2, float centerX, float centerY, float radius2) {
+		final float[] bounds = this.bounds;
+		final int o = index * 4;
+		if (bounds[o] > x2 || bounds[o + 2] < x1 || bounds[o + 1] > y2 || bounds[o + 3] < y1) return false;
+		if (radius2 < 0) return true;
+		final float dx = Math.max(0, Math.max(bounds[o] - centerX, centerX - bounds[o + 2]));
+		final float dy = Math.max(0, Math.max(bounds[o + 1] - centerY, centerY - bounds[o + 3]));
+		return dx * dx + dy * dy <= radius2;
+	}
+
+	/** Finds the objects whose bounding rectangle intersects the segment from start to end, by walking the cells crossed by the
+	 * segment.
+	 * @param results Cleared and filled with the objects. Objects overlapping many cells come first, the others follow in the
+	 *           order of the cells from start to end.
+	 * @return The results. */
+	public Array<MapObject> raycast (float startX, float startY, float endX, float endY, Array<MapObject> results) {
+		results.clear();
+		if (columns == 0) return results;
+		final float dx = endX - startX, dy = endY - startY;
+		for (int i = 0; i < largeCount; i++)
+			if (intersectsSegment(large[i], startX, startY, dx, dy)) results.add(objects.get(large[i]));
+
+		// clip the segment to the grid
+		final float gridX2 = originX + columns * cellSize, gridY2 = originY + rows * cellSize;
+		float t1 = 0, t2 = 1;
+		if (dx != 0) {
+			final float a = (originX - startX) / dx, b = (gridX2 - startX) / dx;
+			t1 = Math.max(t1, Math.min(a, b));
+			t2 = Math.min(t2, Math.max(a, b));
+		} else if (startX < originX || startX > gridX2) return results;
+		if (dy != 0) {
+			final float a = (originY - startY) / dy, b = (gridY2 - startY) / dy;
+			t1 = Math.max(t1, Math.min(a, b));
+			t2 = Math.min(t2, Math.max(a, b));
+		} else if (startY < originY || startY > gridY2) return results;
+		if (t1 > t2) return results;
+
+		int column = column(startX + dx * t1), row = row(startY + dy * t1);
+		final int endColumn = column(startX + dx * t2), endRow = row(startY + dy * t2);
+		final int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1;
+		final float deltaX = dx != 0 ? cellSize / Math.abs(dx) : Float.POSITIVE_INFINITY;
+		final float deltaY = dy != 0 ? cellSize / Math.abs(dy) : Float.POSITIVE_INFINITY;
+		float nextX = dx != 0 ? (originX + (column + (dx > 0 ? 1 : 0)) * cellSize - startX) / dx : Float.POSITIVE_INFINITY;
+		float nextY = dy != 0 ? (originY + (row + (dy > 0 ? 1 : 0)) * cellSize - startY) / dy : Float.POSITIVE_INFINITY;
+		final int stamp = nextStamp();
+		final int[] stamps = this.stamps;
+		while (true) {
+			final int cell = row * columns + column;
+			for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+				final int index = cellObjects[i];
+				if (stamps[index] == stamp) continue;
+				stamps[index] = stamp;
+				if (intersectsSegment(index, startX, startY, dx, dy)) results.add(objects.get(index));
+			}
+			if (column == endColumn && row == endRow) break;
+			if (nextX < nextY) {
+				column += stepX;
+				nextX += deltaX;
+			} else {
+				row += stepY;
+				nextY += deltaY;
+			}
+			if (column < 0 || column >= columns || row < 0 || row >= rows) break;
+		}
+		return results;
+	}
+
+	private boolean intersectsSegment (int index, float startX, float startY, float dx, float dy) {
+		final float[] bounds = this.bounds;
+		final int o = index * 4;
+		float t1 = 0, t2 = 1;
+		if (dx != 0) {
+			final float a = (bounds[o] - startX) / dx, b = (bounds[o + 2] - startX) / dx;
+			t1 = Math.max(t1, Math.min(a, b));
+			t2 = Math.min(t2, Math.max(a, b));
+		} else if (startX < bounds[o] || startX > bounds[o + 2]) return false;
+		if (dy != 0) {
+			final float a = (bounds[o + 1] - startY) / dy, b = (bounds[o + 3] - startY) / dy;
+			t1 = Math.max(t1, Math.min(a, b));
+			t2 = Math.min(t2, Math.max(a, b));
+		} else if (startY < bounds[o + 1] || startY > bounds[o + 3]) return false;
+		return t1 <= t2;
+	}
+
+	private int nextStamp () {
+		if (++stamp == 0) {
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+		return stamp;
+	}
+
+	private int column (float x) {
+		return Math.max(0, Math.min(columns - 1, (int)((x - originX) / cellSize)));
+	}
+
+	private int row (float y) {
+		return Math.max(0, Math.min(rows - 1, (int)((y - originY) / cellSize)));
+	}
+
+	/** @return The objects which are indexed, in the order of the source objects. */
+	public Array<MapObject> getObjects () {
+		return objects;
+	}
+
+	public float getCellSize () {
+		return cellSize;
+	}
+
+	/** Sets the bounding rectangle of a rectangle, polygon, polyline, ellipse, circle or texture object.
+	 * @param bounds Receives minX, minY, maxX and maxY at the offset.
+	 * @return False if the object has no known shape. */
+	static public boolean getBounds (MapObject object, float[] bounds, int offset) {
+		if (object instanceof RectangleMapObject) {
+			setBounds(((RectangleMapObject)object).getRectangle(), bounds, offset);
+		} else if (object instanceof PolygonMapObject) {
+			setBounds(((PolygonMapObject)object).getPolygon().getBoundingRectangle(), bounds, offset);
+		} else if (object instanceof PolylineMapObject) {
+			final float[] vertices = ((PolylineMapObject)object).getPolyline().getTransformedVertices();
+			if (vertices.length < 2) return false;
+			float minX = vertices[0], minY = vertices[1], maxX = minX, maxY = minY;
+			for (int i = 2; i < vertices.length; i += 2) {
+				minX = Math.min(minX, vertices[i]);
+				minY = Math.min(minY, vertices[i + 1]);
+				maxX = Math.max(maxX, vertices[i]);
+				maxY = Math.max(maxY, vertices[i + 1]);
+			}
+			bounds[offset] = minX;
+			bounds[offset + 1] = minY;
+			bounds[offset + 2] = maxX;
+			bounds[offset + 3] = maxY;
+		} else if (object instanceof EllipseMapObject) {
+			final Ellipse ellipse = ((EllipseMapObject)object).getEllipse();
+			bounds[offset] = ellipse.x - ellipse.width / 2;
+			bounds[offset + 1] = ellipse.y - ellipse.height / 2;
+			bounds[offset + 2] = ellipse.x + ellipse.width / 2;
+			bounds[offset + 3] = ellipse.y + ellipse.height / 2;
+		} else if (object instanceof CircleMapObject) {
+			final Circle circle = ((CircleMapObject)object).getCircle();
+			bounds[offset] = circle.x - circle.radius;
+			bounds[offset + 1] = circle.y - circle.radius;
+			bounds[offset + 2] = circle.x + circle.radius;
+			bounds[offset + 3] = circle.y + circle.radius;
+		} else if (object instanceof TextureMapObject) {
+			final TextureMapObject textureObject = (TextureMapObject)object;
+			final TextureRegion region = textureObject.getTextureRegion();
+			if (region == null) return false;
+			final float x1 = textureObject.getX(), y1 = textureObject.getY();
+			final float x2 = x1 + region.getRegionWidth() * textureObject.getScaleX();
+			final float y2 = y1 + region.getRegionHeight() * textureObject.getScaleY();
+			bounds[offset] = Math.min(x1, x2);
+			bounds[offset + 1] = Math.min(y1, y2);
+			bounds[offset + 2] = Math.max(x1, x2);
+			bounds[offset + 3] = Math.max(y1, y2);
+		} else
+			return false;
+		return true;
+	}
+
+	static private void setBounds (Rectangle rectangle, float[] bounds, int offset) {
+		bounds[offset] = rectangle.x;
+		bounds[offset + 1] = rectangle.y;
+		bounds[offset + 2] = rectangle.x + rectangle.width;
+		bounds[offset + 3] = rectangle.y + rectangle.height;
+	}
+
+	/** @return Whether the shape of the object contains the point, see {@link #getObjectsAt(float, float, Array)}. */
+	static private boolean contains (MapObject object, float x, float y) {
+		if (object instanceof RectangleMapObject) return ((RectangleMapObject)object).getRectangle().contains(x, y);
+		if (object instanceof PolygonMapObject) return ((PolygonMapObject)object).getPolygon().contains(x, y);
+		if (object instanceof EllipseMapObject) return ((EllipseMapObject)object).getEllipse().contains(x, y);
+		if (object instanceof CircleMapObject) return ((CircleMapObject)object).getCircle().contains(x, y);
+		return object instanceof TextureMapObject;
+	}
+}
@@ -103,6 +103,7 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<AtlasTmxMapLoader.AtlasT
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle tmxFile, AtlasTiledMapLoaderParameters parameter) {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 		try {
+			loadTiles = parameter == null || parameter.loadTiles;
 			root = xml.parse(tmxFile);
 
 			Element properties = root.getChildByName("properties");
@@ -127,9 +128,15 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<AtlasTmxMapLoader.AtlasT
 			if (parameter != null) {
 				convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 				flipY = parameter.flipY;
+				packTileLayers = parameter.packTileLayers;
+				objectIndexCellSize = parameter.objectIndexCellSize;
+				loadTiles = parameter.loadTiles;
 			} else {
 				convertObjectToTileSpace = false;
 				flipY = true;
+				packTileLayers = false;
+				objectIndexCellSize = 0;
+				loadTiles = true;
 			}
 
 			FileHandle tmxFile = resolve(fileName);
@@ -193,9 +200,15 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<AtlasTmxMapLoader.AtlasT
 		if (parameter != null) {
 			convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			flipY = parameter.flipY;
+			packTileLayers = parameter.packTileLayers;
+			objectIndexCellSize = parameter.objectIndexCellSize;
+			loadTiles = parameter.loadTiles;
 		} else {
 			convertObjectToTileSpace = false;
 			flipY = true;
+			packTileLayers = false;
+			objectIndexCellSize = 0;
+			loadTiles = true;
 		}
 
 		try {
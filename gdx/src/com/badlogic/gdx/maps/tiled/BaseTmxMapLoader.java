@@ -12,6 +12,7 @@ import com.badlogic.gdx.maps.ImageResolver;
 import com.badlogic.gdx.maps.MapGroupLayer;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapObjectIndex;
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.MapObjects;
 import com.badlogic.gdx.maps.MapProperties;
@@ -23,6 +24,7 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
 import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Polyline;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Base64Coder;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.StreamUtils;
@@ -51,6 +53,15 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 		/** Whether to flip all Y coordinates so that Y positive is up. All LibGDX renderers require flipped Y coordinates, and
 		 * thus flipY set to true. This parameter is included for non-rendering related purposes of TMX files, or custom renderers. */
 		public boolean flipY = true;
+		/** Whether to store the cells of the tile layers in a {@link PackedTiledMapTileLayer}, which uses much less memory for large
+		 * maps. */
+		public boolean packTileLayers = false;
+		/** Whether to load the tiles of the tile layers. When false, the tile layers are created empty and their tile data isn't
+		 * kept while parsing, so the tiles can be streamed in by region with {@link TmxRegionLoader}. */
+		public boolean loadTiles = true;
+		/** When greater than 0, a {@link MapObjectIndex} with cells of this size is built for each object layer, see
+		 * {@link MapLayer#getObjectIndex()}. The size is in pixels, or in tiles if {@link #convertObjectToTileSpace} is true. */
+		public float objectIndexCellSize = 0;
 	}
 
 	protected static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
@@ -58,10 +69,33 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 	protected static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
 	protected static final int MASK_CLEAR = 0xE0000000;
 
-	protected XmlReader xml = new XmlReader();
+	protected XmlReader xml = new XmlReader() {
+		private int depth, dataDepth = -1;
+
+		@Override
+		protected void open (String name) {
+			super.open(name);
+			depth++;
+			if (dataDepth == -1 && !loadTiles && name.equals("data")) dataDepth = depth;
+		}
+
+		@Override
+		protected void text (String text) {
+			if (dataDepth == -1) super.text(text);
+		}
+
+		@Override
+		protected void close () {
+			super.close();
+			if (depth-- == dataDepth) dataDepth = -1;
+		}
+	};
 	protected Element root;
 	protected boolean convertObjectToTileSpace;
 	protected boolean flipY = true;
+	protected boolean packTileLayers;
+	protected boolean loadTiles = true;
+	protected float objectIndexCellSize;
 
 	protected int mapTileWidth;
 	protected int mapTileHeight;
@@ -117,24 +151,52 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 			int height = element.getIntAttribute("height", 0);
 			int tileWidth = map.getProperties().get("tilewidth", Integer.class);
 			int tileHeight = map.getProperties().get("tileheight", Integer.class);
-			TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 
-			loadBasicLayerInfo(layer, element);
+			// the layers of infinite maps store their tiles in chunks, the layer covers the bounds of the chunks
+			Element data = element.getChildByName("data");
+			Array<Element> chunks = data != null ? data.getChildrenByName("chunk") : new Array<Element>();
+			int startX = 0, startY = 0;
+			if (chunks.size > 0) {
+				startX = startY = Integer.MAX_VALUE;
+				int endX = Integer.MIN_VALUE, endY = Integer.MIN_VALUE;
+				for (Element chunk : chunks) {
+					int x = chunk.getIntAttribute("x"), y = chunk.getIntAttribute("y");
+					startX = Math.min(startX, x);
+					startY = Math.min(startY, y);
+					endX = Math.max(endX, x + chunk.getIntAttribute("width"));
+					endY = Math.max(endY, y + chunk.getIntAttribute("height"));
+				}
+				width = endX - startX;
+				height = endY - startY;
+			}
 
-			int[] ids = getTileIds(element, width, height);
 			TiledMapTileSets tilesets = map.getTileSets();
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					int id = ids[y * width + x];
-					boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
-					boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
-					boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
+			TiledMapTileLayer layer = packTileLayers ? new PackedTiledMapTileLayer(width, height, tileWidth, tileHeight, tilesets)
+				: new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 
-					TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
-					if (tile != null) {
-						Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
-						cell.setTile(tile);
-						layer.setCell(x, flipY ? height - 1 - y : y, cell);
+			loadBasicLayerInfo(layer, element);
+
+			if (chunks.size > 0) {
+				// keep the origin of the layer in tiles and place it like the tiles of a finite map
+				int mapHeight = map.getProperties().get("height", Integer.class);
+				layer.getProperties().put("startx", startX);
+				layer.getProperties().put("starty", startY);
+				layer.setOffsetX(layer.getOffsetX() + startX * tileWidth);
+				layer.setOffsetY(layer.getOffsetY() + (flipY ? startY + height - mapHeight : startY) * tileHeight);
+			}
+
+			if (loadTiles) {
+				if (chunks.size == 0)
+					setTileIds(map, layer, getTileIds(element, width, height), 0, 0, width, height);
+				else {
+					String encoding = getEncoding(data);
+					String compression = data.getAttribute("compression", null);
+					for (Element chunk : chunks) {
+						int chunkWidth = chunk.getIntAttribute("width"), chunkHeight = chunk.getIntAttribute("height");
+						int[] ids = new int[chunkWidth * chunkHeight];
+						decodeTileIds(chunk.getText(), encoding, compression, chunkWidth, chunkHeight, ids, 0, 0, chunkWidth, chunkHeight);
+						setTileIds(map, layer, ids, chunk.getIntAttribute("x") - startX, chunk.getIntAttribute("y") - startY, chunkWidth,
+							chunkHeight);
 					}
 				}
 			}
@@ -147,6 +209,37 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 		}
 	}
 
+	/** Sets the cells of a rectangle of the layer from global tile ids.
+	 * @param ids The global tile ids of the rectangle, row by row from the top as stored in TMX files.
+	 * @param x The x coordinate of the rectangle in the layer.
+	 * @param y The y coordinate of the top of the rectangle in the layer, in the y down coordinates of TMX files. */
+	protected void setTileIds (TiledMap map, TiledMapTileLayer layer, int[] ids, int x, int y, int width, int height) {
+		int layerHeight = layer.getHeight();
+		if (layer instanceof PackedTiledMapTileLayer) {
+			int[] data = ((PackedTiledMapTileLayer)layer).getData();
+			int layerWidth = layer.getWidth();
+			for (int row = 0; row < height; row++)
+				System.arraycopy(ids, row * width, data, (flipY ? layerHeight - 1 - y - row : y + row) * layerWidth + x, width);
+			return;
+		}
+		TiledMapTileSets tilesets = map.getTileSets();
+		for (int row = 0; row < height; row++) {
+			for (int col = 0; col < width; col++) {
+				int id = ids[row * width + col];
+				boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
+				boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
+				boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
+
+				TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
+				if (tile != null) {
+					Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
+					cell.setTile(tile);
+					layer.setCell(x + col, flipY ? layerHeight - 1 - y - row : y + row, cell);
+				}
+			}
+		}
+	}
+
 	protected void loadObjectGroup (TiledMap map, MapLayers parentLayers, Element element) {
 		if (element.getName().equals("objectgroup")) {
 			MapLayer layer = new MapLayer();
@@ -159,6 +252,7 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 			for (Element objectElement : element.getChildrenByName("object")) {
 				loadObject(map, layer, objectElement);
 			}
+			if (objectIndexCellSize > 0) layer.setObjectIndex(new MapObjectIndex(layer, objectIndexCellSize));
 
 			parentLayers.add(layer);
 		}
@@ -380,58 +474,95 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 
 	static public int[] getTileIds (Element element, int width, int height) {
 		Element data = element.getChildByName("data");
+		int[] ids = new int[width * height];
+		decodeTileIds(data.getText(), getEncoding(data), data.getAttribute("compression", null), width, height, ids, 0, 0, width,
+			height);
+		return ids;
+	}
+
+	static private String getEncoding (Element data) {
 		String encoding = data.getAttribute("encoding", null);
 		if (encoding == null) { // no 'encoding' attribute means that the encoding is XML
 			throw new GdxRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
 		}
-		int[] ids = new int[width * height];
+		return encoding;
+	}
+
+	/** Decodes the global tile ids of a layer or chunk directly into a window of an array, without storing the ids outside of the
+	 * window. The ids are ordered row by row from the top as in TMX files.
+	 * @param text The text of the data or chunk element.
+	 * @param encoding The encoding of the data, csv or base64.
+	 * @param compression The compression of base64 data, null, gzip or zlib.
+	 * @param width The width of the layer or chunk in tiles.
+	 * @param height The height of the layer or chunk in tiles.
+	 * @param ids The array receiving the ids of the window, row by row.
+	 * @param x The x coordinate of the window in the layer or chunk, may be negative.
+	 * @param y The y coordinate of the window in the layer or chunk, may be negative.
+	 * @param idsWidth The width of the window.
+	 * @param idsHeight The height of the window. */
+	static public void decodeTileIds (String text, String encoding, String compression, int width, int height, int[] ids, int x,
+		int y, int idsWidth, int idsHeight) {
+		int startX = Math.max(0, x), startY = Math.max(0, y);
+		int endX = Math.min(width, x + idsWidth), endY = Math.min(height, y + idsHeight);
+		if (text == null || startX >= endX || startY >= endY) return;
+		if (encoding == null) throw new GdxRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
 		if (encoding.equals("csv")) {
-			String[] array = data.getText().split(",");
-			for (int i = 0; i < array.length; i++)
-				ids[i] = (int)Long.parseLong(array[i].trim());
-		} else {
-			if (true)
-				if (encoding.equals("base64")) {
-					InputStream is = null;
-					try {
-						String compression = data.getAttribute("compression", null);
-						byte[] bytes = Base64Coder.decode(data.getText());
-						if (compression == null)
-							is = new ByteArrayInputStream(bytes);
-						else if (compression.equals("gzip"))
-							is = new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length));
-						else if (compression.equals("zlib"))
-							is = new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
-						else
-							throw new GdxRuntimeException("Unrecognised compression (" + compression + ") for TMX Layer Data");
-
-						byte[] temp = new byte[4];
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-								int read = is.read(temp);
-								while (read < temp.length) {
-									int curr = is.read(temp, read, temp.length - read);
-									if (curr == -1) break;
-									read += curr;
-								}
-								if (read != temp.length)
-									throw new GdxRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
-								ids[y * width + x] = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-									| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-							}
-						}
-					} catch (IOException e) {
-						throw new GdxRuntimeException("Error Reading TMX Layer Data - IOException: " + e.getMessage());
-					} finally {
-						StreamUtils.closeQuietly(is);
+			long id = 0;
+			boolean digits = false;
+			for (int i = 0, index = 0, n = text.length(); i <= n; i++) {
+				char c = i < n ? text.charAt(i) : ',';
+				if (c >= '0' && c <= '9') {
+					id = id * 10 + (c - '0');
+					digits = true;
+				} else if (c == ',' && digits) {
+					int row = index / width, col = index - row * width;
+					if (row >= endY) break;
+					if (row >= y && col >= x && col < endX) ids[(row - y) * idsWidth + col - x] = (int)id;
+					index++;
+					id = 0;
+					digits = false;
+				} else if (digits && c > ' ') //
+					throw new GdxRuntimeException("Unexpected character in TMX Layer Data: " + c);
+			}
+		} else if (encoding.equals("base64")) {
+			InputStream is = null;
+			try {
+				byte[] bytes = Base64Coder.decode(text);
+				if (compression == null)
+					is = new ByteArrayInputStream(bytes);
+				else if (compression.equals("gzip"))
+					is = new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length));
+				else if (compression.equals("zlib"))
+					is = new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+				else
+					throw new GdxRuntimeException("Unrecognised compression (" + compression + ") for TMX Layer Data");
+
+				byte[] temp = new byte[width * 4];
+				for (int row = 0; row < endY; row++) {
+					int read = 0;
+					while (read < temp.length) {
+						int curr = is.read(temp, read, temp.length - read);
+						if (curr == -1) break;
+						read += curr;
+					}
+					if (read != temp.length) throw new GdxRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
+					if (row < startY) continue;
+					for (int col = startX, offset = (row - y) * idsWidth - x; col < endX; col++) {
+						int i = col * 4;
+						ids[offset + col] = unsignedByteToInt(temp[i]) | unsignedByteToInt(temp[i + 1]) << 8
+							| unsignedByteToInt(temp[i + 2]) << 16 | unsignedByteToInt(temp[i + 3]) << 24;
 					}
-				} else {
-					// any other value of 'encoding' is one we're not aware of, probably a feature of a future version of Tiled
-					// or another editor
-					throw new GdxRuntimeException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
 				}
+			} catch (IOException e) {
+				throw new GdxRuntimeException("Error Reading TMX Layer Data - IOException: " + e.getMessage());
+			} finally {
+				StreamUtils.closeQuietly(is);
+			}
+		} else {
+			// any other value of 'encoding' is one we're not aware of, probably a feature of a future version of Tiled
+			// or another editor
+			throw new GdxRuntimeException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
 		}
-		return ids;
 	}
 
 	protected static int unsignedByteToInt (byte b) {
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import java.util.Arrays;
+
+/** A {@link TiledMapTileLayer} which stores its cells in a single int array instead of a {@link Cell} object per position. Each
+ * int holds the id of the tile and its flip flags in the same encoding as the global tile ids of TMX files, which reduces the
+ * memory of large layers by an order of magnitude and lets renderers iterate the {@link #getData() data} directly.
+ * <p>
+ * Tiles are identified by their {@link TiledMapTile#getId() id}, which must be unique among the tiles set on the layer. Tiles are
+ * resolved from the {@link TiledMapTileSets} passed to the constructor and from the tiles set through
+ * {@link #setCell(int, int, Cell)}.
+ * <p>
+ * {@link #getCell(int, int)} returns a flyweight cell which is reused by the next call, changes to it are written to the layer.
+ * Since the TMX encoding has 8 orientations, the flip and rotation of a cell are normalized to an equivalent combination, e.g. a
+ * cell rotated by 180 degrees reads back as flipped horizontally and vertically. */
+public class PackedTiledMapTileLayer extends TiledMapTileLayer {
+	static public final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+	static public final int FLAG_FLIP_VERTICALLY = 0x40000000;
+	static public final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+	static public final int MASK_FLAGS = 0xE0000000;
+
+	/** The flags for each combination of flip horizontally, flip vertically and rotation, indexed by h << 3 | v << 2 | rotation. */
+	static private final int[] encodeFlags = {0, 3, 6, 5, 2, 7, 4, 1, 4, 1, 2, 7, 6, 5, 0, 3};
+	/** The flip horizontally, flip vertically and rotation for each combination of flags, see
+	 * {@link com.badlogic.gdx.maps.tiled.BaseTmxMapLoader#createTileLayerCell(boolean, boolean, boolean)}. */
+	static private final boolean[] decodeFlipHorizontally = {false, false, false, false, true, false, true, true};
+	static private final boolean[] decodeFlipVertically = {false, true, true, false, false, false, true, false};
+	static private final int[] decodeRotation = {0, 3, 0, 1, 0, 3, 0, 3};
+
+	private final int[] data;
+	private final TiledMapTileSets tileSets;
+	private TiledMapTile[] tiles = new TiledMapTile[64];
+	private final PackedCell cell = new PackedCell();
+
+	/** @param width layer width in tiles
+	 * @param height layer height in tiles
+	 * @param tileWidth tile width in pixels
+	 * @param tileHeight tile height in pixels
+	 * @param tileSets the tile sets from which the ids are resolved, typically {@link TiledMap#getTileSets()}, may be null */
+	public PackedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets) {
+		super(width, height, tileWidth, tileHeight, false);
+		this.tileSets = tileSets;
+		data = new int[width * height];
+	}
+
+	/** @return The tile ids and flags of the cells, indexed by <code>y * width + x</code>. 0 is an empty cell. Changes to the
+	 *         tiles of the cells must be made with {@link #setData(int, int, int)} or {@link #setCell(int, int, Cell)} when the
+	 *         tile isn't part of the tile sets. */
+	public int[] getData () {
+		return data;
+	}
+
+	/** @return The tile id and flags of the cell at (x, y), 0 if empty or out of bounds. */
+	public int getData (int x, int y) {
+		if (x < 0 || x >= getWidth()) return 0;
+		if (y < 0 || y >= getHeight()) return 0;
+		return data[y * getWidth() + x];
+	}
+
+	/** Sets the tile id and flags of the cell at (x, y), 0 to clear the cell. */
+	public void setData (int x, int y, int value) {
+		if (x < 0 || x >= getWidth()) return;
+		if (y < 0 || y >= getHeight()) return;
+		data[y * getWidth() + x] = value;
+	}
+
+	/** @return The flyweight cell at (x, y), which is only valid until the next call, or null if the cell is empty. */
+	@Override
+	public Cell getCell (int x, int y) {
+		if (x < 0 || x >= getWidth()) return null;
+		if (y < 0 || y >= getHeight()) return null;
+		final int index = y * getWidth() + x;
+		if ((data[index] & ~MASK_FLAGS) == 0) return null;
+		cell.index = index;
+		return cell;
+	}
+
+	/** Sets the tile, flip and rotation of the cell at (x, y). The cell is not referenced by the layer.
+	 * @param cell the {@link Cell} to copy, null to clear the cell */
+	@Override
+	public void setCell (int x, int y, Cell cell) {
+		if (x < 0 || x >= getWidth()) return;
+		if (y < 0 || y >= getHeight()) return;
+		data[y * getWidth() + x] = cell == null ? 0 : pack(cell.getTile(), cell.getFlipHorizontally(), cell.getFlipVertically(),
+			cell.getRotation());
+	}
+
+	/** @param value The tile id and flags of a cell.
+	 * @return The tile of the cell, or null if the cell is empty or the tile is unknown. */
+	public TiledMapTile getTile (int value) {
+		final int id = value & ~MASK_FLAGS;
+		if (id == 0) return null;
+		if (id < tiles.length) {
+			final TiledMapTile tile = tiles[id];
+			if (tile != null) return tile;
+		}
+		final TiledMapTile tile = tileSets == null ? null : tileSets.getTile(id);
+		if (tile != null) putTile(id, tile);
+		return tile;
+	}
+
+	private void putTile (int id, TiledMapTile tile) {
+		if (id >= tiles.length) {
+			final TiledMapTile[] newTiles = new TiledMapTile[Math.max(id + 1, tiles.length * 2)];
+			System.arraycopy(tiles, 0, newTiles, 0, tiles.length);
+			tiles = newTiles;
+		}
+		tiles[id] = tile;
+	}
+
+	/** Clears the tiles resolved from the tile sets, e.g. after a tile of the tile sets was replaced. */
+	public void invalidateTiles () {
+		Arrays.fill(tiles, null);
+	}
+
+	/** @return The tile id and flags of a cell with the tile, flip and rotation, 0 if the tile is null. The tile is added to the
+	 *         tiles known by this layer. */
+	public int pack (TiledMapTile tile, boolean flipHorizontally, boolean flipVertically, int rotation) {
+		if (tile == null) return 0;
+		final int id = tile.getId();
+		if ((id & MASK_FLAGS) != 0 || id == 0) throw new IllegalArgumentException("Invalid tile id: " + id);
+		if (id >= tiles.length || tiles[id] != tile) putTile(id, tile);
+		return id | getFlags(flipHorizontally, flipVertically, rotation);
+	}
+
+	/** @return The flags of the TMX encoding for the flip and rotation of a {@link Cell}. */
+	static public int getFlags (boolean flipHorizontally, boolean flipVertically, int rotation) {
+		return encodeFlags[(flipHorizontally ? 8 : 0) | (flipVertically ? 4 : 0) | (rotation & 3)] << 29;
+	}
+
+	/** @param value The tile id and flags of a cell.
+	 * @return Whether the cell is rendered flipped horizontally, see {@link Cell#getFlipHorizontally()}. */
+	static public boolean getFlipHorizontally (int value) {
+		return decodeFlipHorizontally[value >>> 29];
+	}
+
+	/** @param value The tile id and flags of a cell.
+	 * @return Whether the cell is rendered flipped vertically, see {@link Cell#getFlipVertically()}. */
+	static public boolean getFlipVertically (int value) {
+		return decodeFlipVertically[value >>> 29];
+	}
+
+	/** @param value The tile id and flags of a cell.
+	 * @return The rotation of the cell, see {@link Cell#getRotation()}. */
+	static public int getRotation (int value) {
+		return decodeRotation[value >>> 29];
+	}
+
+	/** A cell which reads and writes the data of a position of the layer. */
+	private class PackedCell extends Cell {
+		int index;
+
+		@Override
+		public TiledMapTile getTile () {
+			return PackedTiledMapTileLayer.this.getTile(data[index]);
+		}
+
+		@Override
+		public Cell setTile (TiledMapTile tile) {
+			data[index] = pack(tile, getFlipHorizontally(), getFlipVertically(), getRotation());
+			return this;
+		}
+
+		@Override
+		public boolean getFlipHorizontally () {
+			return PackedTiledMapTileLayer.getFlipHorizontally(data[index]);
+		}
+
+		@Override
+		public Cell setFlipHorizontally (boolean flipHorizontally) {
+			data[index] = data[index] & ~MASK_FLAGS | getFlags(flipHorizontally, getFlipVertically(), getRotation());
+			return this;
+		}
+
+		@Override
+		public boolean getFlipVertically () {
+			return PackedTiledMapTileLayer.getFlipVertically(data[index]);
+		}
+
+		@Override
+		public Cell setFlipVertically (boolean flipVertically) {
+			data[index] = data[index] & ~MASK_FLAGS | getFlags(getFlipHorizontally(), flipVertically, getRotation());
+			return this;
+		}
+
+		@Override
+		public int getRotation () {
+			return PackedTiledMapTileLayer.getRotation(data[index]);
+		}
+
+		@Override
+		public Cell setRotation (int rotation) {
+			data[index] = data[index] & ~MASK_FLAGS | getFlags(getFlipHorizontally(), getFlipVertically(), rotation);
+			return this;
+		}
+	}
+}
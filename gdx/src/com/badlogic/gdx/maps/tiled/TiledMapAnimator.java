@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+
+/** Animates the {@link AnimatedTiledMapTile}s of a map with its own time base, instead of the time shared by all maps which is
+ * updated by the renderers. Call {@link #update(float)} once per frame; the current frame of each tile is computed once per
+ * update instead of for every visible cell.
+ * <p>
+ * Renderers which cache geometry, like {@link com.badlogic.gdx.maps.tiled.renderers.OrthoChunkedTiledMapRenderer}, only update
+ * the cells whose frame changed. */
+public class TiledMapAnimator {
+	private final Array<AnimatedTiledMapTile> tiles = new Array<AnimatedTiledMapTile>();
+	private final Array<AnimatedTiledMapTile> changedTiles = new Array<AnimatedTiledMapTile>();
+	private double time;
+	private float speed = 1;
+
+	/** Creates an animator for the animated tiles of the tile sets of the map. */
+	public TiledMapAnimator (TiledMap map) {
+		for (TiledMapTileSet tileSet : map.getTileSets())
+			for (TiledMapTile tile : tileSet)
+				if (tile instanceof AnimatedTiledMapTile) add((AnimatedTiledMapTile)tile);
+	}
+
+	/** Adds a tile which isn't part of the tile sets of the map, e.g. one created for a single cell. */
+	public void add (AnimatedTiledMapTile tile) {
+		if (tiles.contains(tile, true)) return;
+		tiles.add(tile);
+		tile.setAnimationTime(getTimeMillis());
+	}
+
+	/** Stops animating the tile, it uses the time shared by all maps again. */
+	public void remove (AnimatedTiledMapTile tile) {
+		if (tiles.removeValue(tile, true)) tile.clearAnimationTime();
+	}
+
+	/** Advances the time of the map and updates the current frame of its tiles.
+	 * @param delta The time in seconds, scaled by {@link #setSpeed(float)}.
+	 * @return Whether the frame of any tile changed, see {@link #getChangedTiles()}. */
+	public boolean update (float delta) {
+		time += delta * speed;
+		changedTiles.clear();
+		final long millis = getTimeMillis();
+		for (int i = 0, n = tiles.size; i < n; i++) {
+			final AnimatedTiledMapTile tile = tiles.get(i);
+			if (tile.setAnimationTime(millis)) changedTiles.add(tile);
+		}
+		return changedTiles.size > 0;
+	}
+
+	/** @return The tiles whose frame changed in the last {@link #update(float)}. */
+	public Array<AnimatedTiledMapTile> getChangedTiles () {
+		return changedTiles;
+	}
+
+	/** @return The animated tiles of the map. */
+	public Array<AnimatedTiledMapTile> getTiles () {
+		return tiles;
+	}
+
+	/** @return The time of the map in seconds. */
+	public float getTime () {
+		return (float)time;
+	}
+
+	/** Sets the time of the map in seconds, e.g. to pause the animations or to restore a saved state. The frames are updated on
+	 * the next {@link #update(float)}. */
+	public void setTime (float time) {
+		this.time = time;
+	}
+
+	/** Sets the factor by which the time passed to {@link #update(float)} is scaled, negative to play the animations backwards.
+	 * Default is 1. */
+	public void setSpeed (float speed) {
+		this.speed = speed;
+	}
+
+	public float getSpeed () {
+		return speed;
+	}
+
+	private long getTimeMillis () {
+		return (long)Math.floor(time * 1000);
+	}
+
+	/** Stops animating all tiles, they use the time shared by all maps again. */
+	public void clear () {
+		for (AnimatedTiledMapTile tile : tiles)
+			tile.clearAnimationTime();
+		tiles.clear();
+		changedTiles.clear();
+	}
+}
@@ -76,6 +76,9 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 		try {
 			this.convertObjectToTileSpace = parameters.convertObjectToTileSpace;
 			this.flipY = parameters.flipY;
+			this.packTileLayers = parameters.packTileLayers;
+			this.objectIndexCellSize = parameters.objectIndexCellSize;
+			this.loadTiles = parameters.loadTiles;
 			FileHandle tmxFile = resolve(fileName);
 			root = xml.parse(tmxFile);
 			ObjectMap<String, Texture> textures = new ObjectMap<String, Texture>();
@@ -104,9 +107,15 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 		if (parameter != null) {
 			convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			flipY = parameter.flipY;
+			packTileLayers = parameter.packTileLayers;
+			objectIndexCellSize = parameter.objectIndexCellSize;
+			loadTiles = parameter.loadTiles;
 		} else {
 			convertObjectToTileSpace = false;
 			flipY = true;
+			packTileLayers = false;
+			objectIndexCellSize = 0;
+			loadTiles = true;
 		}
 		try {
 			map = loadTilemap(root, tmxFile, new AssetManagerImageResolver(manager));
@@ -129,6 +138,7 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle tmxFile, Parameters parameter) {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 		try {
+			loadTiles = parameter == null || parameter.loadTiles;
 			root = xml.parse(tmxFile);
 			boolean generateMipMaps = (parameter != null && parameter.generateMipMaps);
 			TextureLoader.TextureParameter texParams = new TextureParameter();
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Loads the tiles of a rectangular region of the tile layers of a TMX file, so the tiles of very large or infinite maps can be
+ * streamed in around the player instead of being loaded up front. The map is first loaded without its tiles, see
+ * {@link BaseTmxMapLoader.Parameters#loadTiles}, typically into {@link PackedTiledMapTileLayer packed layers}. Regions are then
+ * {@link #load(int, int, int, int) loaded}, optionally on a background thread with
+ * {@link #loadAsync(AsyncExecutor, int, int, int, int)}, and {@link Region#apply(TiledMap) applied} to the map.
+ * <p>
+ * The file is parsed as a stream of elements without building a document, and only the layer data or the chunks of infinite
+ * maps which overlap the region are decoded, directly into the region.
+ * <p>
+ * Regions are specified in the tile coordinates of the TMX file: x to the right and y down from the top left of the map, which
+ * can be negative for infinite maps. */
+public class TmxRegionLoader {
+	private final FileHandle tmxFile;
+	private final boolean flipY;
+
+	public TmxRegionLoader (FileHandle tmxFile) {
+		this(tmxFile, true);
+	}
+
+	/** @param flipY Must match {@link BaseTmxMapLoader.Parameters#flipY} of the map the regions are applied to. */
+	public TmxRegionLoader (FileHandle tmxFile, boolean flipY) {
+		this.tmxFile = tmxFile;
+		this.flipY = flipY;
+	}
+
+	/** Parses the file and decodes the tiles of the region. Can be called from any thread. */
+	public Region load (int x, int y, int width, int height) {
+		return load(x, y, width, height, new Region());
+	}
+
+	/** Parses the file and decodes the tiles of the region, reusing the arrays of a previously loaded region. Can be called from
+	 * any thread.
+	 * @return the region */
+	public Region load (int x, int y, int width, int height, Region region) {
+		if (width < 0 || height < 0) throw new IllegalArgumentException("width and height must be >= 0");
+		region.x = x;
+		region.y = y;
+		region.width = width;
+		region.height = height;
+		region.flipY = flipY;
+		region.layerCount = 0;
+		new RegionParser(region).parse(tmxFile);
+		return region;
+	}
+
+	/** Loads the region on a thread of the executor, see {@link #load(int, int, int, int)}. */
+	public AsyncResult<Region> loadAsync (AsyncExecutor executor, final int x, final int y, final int width, final int height) {
+		return executor.submit(new AsyncTask<Region>() {
+			@Override
+			public Region call () throws Exception {
+				return load(x, y, width, height);
+			}
+		});
+	}
+
+	/** Clears the tiles of the region in the tile layers of the map, e.g. when the region is far from the player. */
+	public void clear (TiledMap map, int x, int y, int width, int height) {
+		Array<TiledMapTileLayer> layers = getTileLayers(map.getLayers(), new Array<TiledMapTileLayer>());
+		for (TiledMapTileLayer layer : layers) {
+			int startX = layer.getProperties().get("startx", 0, Integer.class);
+			int startY = layer.getProperties().get("starty", 0, Integer.class);
+			int layerHeight = layer.getHeight();
+			int col1 = Math.max(0, x - startX), col2 = Math.min(layer.getWidth(), x + width - startX);
+			for (int row = Math.max(0, y - startY), row2 = Math.min(layerHeight, y + height - startY); row < row2; row++) {
+				int layerY = flipY ? layerHeight - 1 - row : row;
+				for (int col = col1; col < col2; col++)
+					layer.setCell(col, layerY, null);
+			}
+		}
+	}
+
+	static Array<TiledMapTileLayer> getTileLayers (MapLayers layers, Array<TiledMapTileLayer> out) {
+		for (int i = 0, n = layers.size(); i < n; i++) {
+			MapLayer layer = layers.get(i);
+			if (layer instanceof MapGroupLayer)
+				getTileLayers(((MapGroupLayer)layer).getLayers(), out);
+			else if (layer instanceof TiledMapTileLayer) //
+				out.add((TiledMapTileLayer)layer);
+		}
+		return out;
+	}
+
+	/** The tiles of a region of the tile layers of a TMX file. */
+	static public class Region {
+		/** The region in the tile coordinates of the TMX file. */
+		public int x, y, width, height;
+		/** The global tile ids of the region for each tile layer, in the order of the file, row by row from the top of the region. 0
+		 * is an empty cell. Only the first {@link #layerCount} arrays are valid. */
+		public final Array<int[]> layers = new Array<int[]>();
+		public int layerCount;
+		boolean flipY = true;
+
+		/** Sets the cells of the region in the tile layers of the map, which must have been loaded from the same file. Cells of the
+		 * region outside of the layers are ignored. */
+		public void apply (TiledMap map) {
+			Array<TiledMapTileLayer> tileLayers = getTileLayers(map.getLayers(), new Array<TiledMapTileLayer>());
+			TiledMapTileSets tileSets = map.getTileSets();
+			for (int i = 0, n = Math.min(layerCount, tileLayers.size); i < n; i++) {
+				TiledMapTileLayer layer = tileLayers.get(i);
+				int[] ids = layers.get(i);
+				int startX = layer.getProperties().get("startx", 0, Integer.class);
+				int startY = layer.getProperties().get("starty", 0, Integer.class);
+				int layerWidth = layer.getWidth(), layerHeight = layer.getHeight();
+				int col1 = Math.max(0, x - startX), col2 = Math.min(layerWidth, x + width - startX);
+				if (col1 >= col2) continue;
+				int row1 = Math.max(0, y - startY), row2 = Math.min(layerHeight, y + height - startY);
+				for (int row = row1; row < row2; row++) {
+					int layerY = flipY ? layerHeight - 1 - row : row;
+					int offset = (row + startY - y) * width + startX - x;
+					if (layer instanceof PackedTiledMapTileLayer) {
+						System.arraycopy(ids, offset + col1, ((PackedTiledMapTileLayer)layer).getData(), layerY * layerWidth + col1,
+							col2 - col1);
+						continue;
+					}
+					for (int col = col1; col < col2; col++) {
+						int id = ids[offset + col];
+						TiledMapTile tile = tileSets.getTile(id & ~PackedTiledMapTileLayer.MASK_FLAGS);
+						if (tile == null) {
+							layer.setCell(col, layerY, null);
+							continue;
+						}
+						Cell cell = new Cell();
+						cell.setTile(tile);
+						cell.setFlipHorizontally(PackedTiledMapTileLayer.getFlipHorizontally(id));
+						cell.setFlipVertically(PackedTiledMapTileLayer.getFlipVertically(id));
+						cell.setRotation(PackedTiledMapTileLayer.getRotation(id));
+						layer.setCell(col, layerY, cell);
+					}
+				}
+			}
+		}
+	}
+
+	/** Receives the elements of the file without building a document and decodes the tiles overlapping the region. */
+	static private class RegionParser extends XmlReader {
+		private final Region region;
+		private final Array<String> elements = new Array<String>();
+		private final StringBuilder text = new StringBuilder();
+		private int[] ids;
+		private int layerWidth, layerHeight;
+		private String encoding, compression;
+		private int chunkX, chunkY, chunkWidth, chunkHeight;
+		private boolean overlaps;
+
+		RegionParser (Region region) {
+			this.region = region;
+		}
+
+		@Override
+		protected void open (String name) {
+			elements.add(name);
+			text.setLength(0);
+			if (name.equals("layer")) {
+				int size = region.width * region.height;
+				if (region.layerCount < region.layers.size) {
+					ids = region.layers.get(region.layerCount);
+					if (ids.length < size) region.layers.set(region.layerCount, ids = new int[size]);
+				} else
+					region.layers.add(ids = new int[size]);
+				for (int i = 0; i < size; i++)
+					ids[i] = 0;
+				region.layerCount++;
+				layerWidth = layerHeight = 0;
+			} else if (name.equals("data")) {
+				encoding = compression = null;
+				overlaps = true;
+			} else if (name.equals("chunk")) {
+				chunkX = chunkY = chunkWidth = chunkHeight = 0;
+			}
+		}
+
+		@Override
+		protected void attribute (String name, String value) {
+			String element = elements.peek();
+			if (element.equals("layer")) {
+				if (name.equals("width"))
+					layerWidth = Integer.parseInt(value);
+				else if (name.equals("height")) //
+					layerHeight = Integer.parseInt(value);
+			} else if (element.equals("data")) {
+				if (name.equals("encoding"))
+					encoding = value;
+				else if (name.equals("compression")) //
+					compression = value;
+			} else if (element.equals("chunk")) {
+				if (name.equals("x"))
+					chunkX = Integer.parseInt(value);
+				else if (name.equals("y"))
+					chunkY = Integer.parseInt(value);
+				else if (name.equals("width"))
+					chunkWidth = Integer.parseInt(value);
+				else if (name.equals("height")) //
+					chunkHeight = Integer.parseInt(value);
+			}
+		}
+
+		@Override
+		protected void text (String text) {
+			String element = elements.peek();
+			if (element.equals("chunk")) {
+				overlaps = chunkX < region.x + region.width && chunkX + chunkWidth > region.x && chunkY < region.y + region.height
+					&& chunkY + chunkHeight > region.y;
+				if (!overlaps) return;
+			} else if (!element.equals("data")) //
+				return;
+			this.text.append(text);
+		}
+
+		@Override
+		protected void close () {
+			String element = elements.pop();
+			if (element.equals("data") && ids != null && text.length() > 0) {
+				BaseTmxMapLoader.decodeTileIds(text.toString(), encoding, compression, layerWidth, layerHeight, ids, region.x, region.y,
+					region.width, region.height);
+			} else if (element.equals("chunk") && overlaps && text.length() > 0) {
+				BaseTmxMapLoader.decodeTileIds(text.toString(), encoding, compression, chunkWidth, chunkHeight, ids,
+					region.x - chunkX, region.y - chunkY, region.width, region.height);
+			} else if (element.equals("layer")) //
+				ids = null;
+			text.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,704 @@
+/*******************************************************************************
+ * Copyright 2014 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.*;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Renders tiles by caching geometry on the GPU like {@link OrthoCachedTiledMapRenderer}, but splits each layer in square chunks
+ * of {@link #getChunkSize()} by {@link #getChunkSize()} cells, each with its own mesh. Only the chunks overlapping the view are
+ * rendered, chunks around the view are built ahead of time a few per frame (see {@link #setPrefetch(int, int)}) and chunks which
+ * are far from the view are released, so the amount of cached geometry is independent of the size of the map.
+ * <p>
+ * Subclasses define the projection of the map by computing the position of a cell and the range of cells which can be visible,
+ * see {@link OrthoChunkedTiledMapRenderer}, {@link IsometricChunkedTiledMapRenderer} and
+ * {@link HexagonalChunkedTiledMapRenderer}. The range does not have to be tight: chunks in the range whose tiles are outside of
+ * the view are skipped.
+ * <p>
+ * Changes to the map are not detected automatically. After a {@link Cell} is set or changed, call
+ * {@link #invalidateCell(TiledMapTileLayer, int, int)} so only the chunk containing it is rebuilt the next time it is rendered.
+ * Changes to the opacity, offset or image of a layer require {@link #invalidateLayer(MapLayer)}.
+ * <p>
+ * Animated tiles are tracked per chunk. When their frame changes, only their vertices are updated. Their frames follow the time
+ * shared by all maps or the time of a {@link com.badlogic.gdx.maps.tiled.TiledMapAnimator}.
+ * <p>
+ * Tiles larger than the tile size of their layer are drawn in the order of their chunk, so where such tiles overlap across a
+ * chunk border the draw order can differ from the other renderers. */
+public abstract class ChunkedTiledMapRenderer implements TiledMapRenderer, Disposable {
+	static private final int NUM_VERTICES = 20;
+	/** The maximum number of tiles of a chunk, limited by the short indices of its mesh. */
+	static private final int MAX_CHUNK_TILES = 16383;
+	/** The maximum number of released chunks kept to reuse their meshes. */
+	static private final int MAX_FREE_CHUNKS = 64;
+
+	/** The cached geometry of a layer in a square of tiles. */
+	static private class Chunk {
+		/** The textures of the runs of tiles, in draw order. */
+		final Array<Texture> textures = new Array<Texture>(2);
+		/** The number of tiles of each run. */
+		final IntArray counts = new IntArray(2);
+		/** The index of the quad, column, row and frame index of each animated tile. */
+		final IntArray animated = new IntArray(0);
+		Mesh mesh;
+		int count;
+		boolean dirty = true;
+		/** The bounds of the quads of the chunk. */
+		float minX, minY, maxX, maxY;
+	}
+
+	protected final TiledMap map;
+	protected float unitScale;
+	protected final int chunkSize;
+	protected final Rectangle viewBounds = new Rectangle();
+	protected final Rectangle imageBounds = new Rectangle();
+	protected final Matrix4 projection = new Matrix4();
+	protected float maxTileWidth, maxTileHeight;
+	protected boolean blending;
+	/** The range of cells which can be visible, set by {@link #computeVisibleTiles(TiledMapTileLayer)}. The first column and row
+	 * are inclusive, the last are exclusive. */
+	protected int col1, row1, col2, row2;
+
+	private final ShaderProgram shader;
+	private final ObjectMap<MapLayer, LongMap<Chunk>> layers = new ObjectMap<MapLayer, LongMap<Chunk>>();
+	private final Array<Chunk> freeChunks = new Array<Chunk>(false, 16);
+	private final float[] vertices = new float[NUM_VERTICES];
+	private final Vector2 position = new Vector2();
+	private float[] buffer;
+	private Chunk current;
+	private float currentColor;
+	private int prefetch = 1, maxPrefetchBuilds = 2, prefetchBuilds;
+
+	/** @param chunkSize The width and height of the chunks in tiles, at most 127. */
+	public ChunkedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		if (chunkSize <= 0 || chunkSize * chunkSize > MAX_CHUNK_TILES)
+			throw new GdxRuntimeException("chunkSize must be between 1 and 127: " + chunkSize);
+		this.map = map;
+		this.unitScale = unitScale;
+		this.chunkSize = chunkSize;
+		shader = SpriteBatch.createDefaultShader();
+	}
+
+	@Override
+	public void setView (OrthographicCamera camera) {
+		projection.set(camera.combined);
+		float width = camera.viewportWidth * camera.zoom + maxTileWidth * 2 * unitScale;
+		float height = camera.viewportHeight * camera.zoom + maxTileHeight * 2 * unitScale;
+		viewBounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
+	}
+
+	@Override
+	public void setView (Matrix4 projection, float x, float y, float width, float height) {
+		this.projection.set(projection);
+		x -= maxTileWidth * unitScale;
+		y -= maxTileHeight * unitScale;
+		width += maxTileWidth * 2 * unitScale;
+		height += maxTileHeight * 2 * unitScale;
+		viewBounds.set(x, y, width, height);
+	}
+
+	@Override
+	public void render () {
+		beginRender();
+		MapLayers mapLayers = map.getLayers();
+		for (int i = 0, n = mapLayers.getCount(); i < n; i++)
+			renderMapLayer(mapLayers.get(i));
+		endRender();
+	}
+
+	@Override
+	public void render (int[] layers) {
+		beginRender();
+		MapLayers mapLayers = map.getLayers();
+		for (int i : layers)
+			renderMapLayer(mapLayers.get(i));
+		endRender();
+	}
+
+	/** Binds the shader used to draw the chunks. Must be called before {@link #renderTileLayer(TiledMapTileLayer)} and
+	 * {@link #renderImageLayer(TiledMapImageLayer)} when they are called directly. */
+	public void beginRender () {
+		prefetchBuilds = 0;
+		AnimatedTiledMapTile.updateAnimationBaseTime();
+		if (blending) {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		}
+		shader.begin();
+		shader.setUniformMatrix("u_projTrans", projection);
+		shader.setUniformi("u_texture", 0);
+	}
+
+	public void endRender () {
+		shader.end();
+		if (blending) Gdx.gl.glDisable(GL20.GL_BLEND);
+	}
+
+	protected void renderMapLayer (MapLayer layer) {
+		if (!layer.isVisible()) return;
+		if (layer instanceof MapGroupLayer) {
+			MapLayers childLayers = ((MapGroupLayer)layer).getLayers();
+			for (int i = 0; i < childLayers.size(); i++)
+				renderMapLayer(childLayers.get(i));
+		} else {
+			if (layer instanceof TiledMapTileLayer)
+				renderTileLayer((TiledMapTileLayer)layer);
+			else if (layer instanceof TiledMapImageLayer) //
+				renderImageLayer((TiledMapImageLayer)layer);
+			renderObjects(layer);
+		}
+	}
+
+	@Override
+	public void renderObjects (MapLayer layer) {
+		for (MapObject object : layer.getObjects()) {
+			renderObject(object);
+		}
+	}
+
+	@Override
+	public void renderObject (MapObject object) {
+	}
+
+	@Override
+	public void renderTileLayer (TiledMapTileLayer layer) {
+		LongMap<Chunk> chunks = layers.get(layer);
+		if (chunks == null) layers.put(layer, chunks = new LongMap<Chunk>());
+
+		computeVisibleTiles(layer);
+		final int col1 = Math.max(0, this.col1), col2 = Math.min(layer.getWidth(), this.col2);
+		final int row1 = Math.max(0, this.row1), row2 = Math.min(layer.getHeight(), this.row2);
+		if (col1 >= col2 || row1 >= row2) {
+			release(chunks, 0, -1, 0, -1);
+			return;
+		}
+
+		final int chunkX1 = col1 / chunkSize, chunkX2 = (col2 - 1) / chunkSize;
+		final int chunkY1 = row1 / chunkSize, chunkY2 = (row2 - 1) / chunkSize;
+		final int keep = prefetch + 1;
+		release(chunks, chunkX1 - keep, chunkX2 + keep, chunkY1 - keep, chunkY2 + keep);
+
+		for (int chunkY = chunkY2; chunkY >= chunkY1; chunkY--) {
+			for (int chunkX = chunkX1; chunkX <= chunkX2; chunkX++) {
+				final Chunk chunk = obtain(chunks, chunkX, chunkY);
+				if (chunk.dirty) buildTileChunk(layer, chunk, chunkX, chunkY);
+				if (!isVisible(chunk)) continue;
+				if (chunk.animated.size > 0 && !animate(layer, chunk)) buildTileChunk(layer, chunk, chunkX, chunkY);
+				draw(chunk);
+			}
+		}
+
+		if (prefetch == 0 || prefetchBuilds >= maxPrefetchBuilds) return;
+		final int lastX = (layer.getWidth() - 1) / chunkSize, lastY = (layer.getHeight() - 1) / chunkSize;
+		for (int chunkY = Math.max(0, chunkY1 - prefetch), y2 = Math.min(lastY, chunkY2 + prefetch); chunkY <= y2; chunkY++) {
+			for (int chunkX = Math.max(0, chunkX1 - prefetch), x2 = Math.min(lastX, chunkX2 + prefetch); chunkX <= x2; chunkX++) {
+				if (chunkX >= chunkX1 && chunkX <= chunkX2 && chunkY >= chunkY1 && chunkY <= chunkY2) continue;
+				final Chunk chunk = chunks.get(key(chunkX, chunkY));
+				if (chunk != null && !chunk.dirty) continue;
+				buildTileChunk(layer, chunk != null ? chunk : obtain(chunks, chunkX, chunkY), chunkX, chunkY);
+				if (++prefetchBuilds >= maxPrefetchBuilds) return;
+			}
+		}
+	}
+
+	@Override
+	public void renderImageLayer (TiledMapImageLayer layer) {
+		LongMap<Chunk> chunks = layers.get(layer);
+		if (chunks == null) layers.put(layer, chunks = new LongMap<Chunk>());
+		final Chunk chunk = obtain(chunks, 0, 0);
+		if (chunk.dirty) buildImageChunk(layer, chunk);
+		if (chunk.count == 0) return;
+		final TextureRegion region = layer.getTextureRegion();
+		imageBounds.set(layer.getX() * unitScale, layer.getY() * unitScale, region.getRegionWidth() * unitScale,
+			region.getRegionHeight() * unitScale);
+		if (viewBounds.overlaps(imageBounds)) draw(chunk);
+	}
+
+	/** Sets {@link #col1}, {@link #row1}, {@link #col2} and {@link #row2} to the range of cells of the layer which can overlap
+	 * {@link #viewBounds}. The range is clamped to the layer afterwards. */
+	protected abstract void computeVisibleTiles (TiledMapTileLayer layer);
+
+	/** Sets the position of the bottom left corner of the cell, including the render offset of the layer, in world units. */
+	protected abstract void getTilePosition (TiledMapTileLayer layer, int col, int row, Vector2 position);
+
+	private boolean isVisible (Chunk chunk) {
+		return chunk.count > 0 && chunk.minX < viewBounds.x + viewBounds.width && chunk.maxX > viewBounds.x
+			&& chunk.minY < viewBounds.y + viewBounds.height && chunk.maxY > viewBounds.y;
+	}
+
+	private void draw (Chunk chunk) {
+		if (chunk.count == 0) return;
+		final Mesh mesh = chunk.mesh;
+		mesh.bind(shader);
+		for (int i = 0, offset = 0, n = chunk.textures.size; i < n; i++) {
+			final int count = chunk.counts.get(i);
+			chunk.textures.get(i).bind();
+			mesh.render(shader, GL20.GL_TRIANGLES, offset * 6, count * 6, false);
+			offset += count;
+		}
+		mesh.unbind(shader);
+	}
+
+	private void buildTileChunk (TiledMapTileLayer layer, Chunk chunk, int chunkX, int chunkY) {
+		begin(chunk);
+		current = chunk;
+		currentColor = Color.toFloatBits(1, 1, 1, layer.getOpacity());
+		final int col1 = chunkX * chunkSize, col2 = Math.min(layer.getWidth(), col1 + chunkSize);
+		final int row1 = chunkY * chunkSize, row2 = Math.min(layer.getHeight(), row1 + chunkSize);
+		buildTiles(layer, col1, row1, col2, row2);
+		current = null;
+		end(chunk);
+	}
+
+	/** Adds the cells of a chunk with {@link #addTile(TiledMapTileLayer, int, int)} in the order they are drawn. By default rows
+	 * are added from top to bottom and the cells of a row from left to right.
+	 * @param col2 The last column, exclusive.
+	 * @param row2 The last row, exclusive. */
+	protected void buildTiles (TiledMapTileLayer layer, int col1, int row1, int col2, int row2) {
+		for (int row = row2 - 1; row >= row1; row--)
+			for (int col = col1; col < col2; col++)
+				addTile(layer, col, row);
+	}
+
+	/** Adds the tile of the cell to the chunk being built. May only be called from
+	 * {@link #buildTiles(TiledMapTileLayer, int, int, int, int)}. */
+	protected void addTile (TiledMapTileLayer layer, int col, int row) {
+		final TiledMapTile tile;
+		final boolean flipX, flipY;
+		final int rotations;
+		if (layer instanceof PackedTiledMapTileLayer) {
+			final PackedTiledMapTileLayer packedLayer = (PackedTiledMapTileLayer)layer;
+			final int value = packedLayer.getData()[row * layer.getWidth() + col];
+			if (value == 0) return;
+			tile = packedLayer.getTile(value);
+			flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+			flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+			rotations = PackedTiledMapTileLayer.getRotation(value);
+		} else {
+			final Cell cell = layer.getCell(col, row);
+			if (cell == null) return;
+			tile = cell.getTile();
+			flipX = cell.getFlipHorizontally();
+			flipY = cell.getFlipVertically();
+			rotations = cell.getRotation();
+		}
+		if (tile == null) return;
+		final Chunk chunk = current;
+		if (tile instanceof AnimatedTiledMapTile)
+			chunk.animated.add(chunk.count, col, row, ((AnimatedTiledMapTile)tile).getCurrentFrameIndex());
+		getTilePosition(layer, col, row, position);
+		setTileVertices(tile, flipX, flipY, rotations, position.x, position.y, currentColor);
+		add(chunk, tile.getTextureRegion().getTexture(), vertices);
+	}
+
+	private void buildImageChunk (TiledMapImageLayer layer, Chunk chunk) {
+		begin(chunk);
+		final TextureRegion region = layer.getTextureRegion();
+		if (region != null) {
+			final float[] vertices = this.vertices;
+			final float color = Color.toFloatBits(1.0f, 1.0f, 1.0f, layer.getOpacity());
+			final float x1 = layer.getX() * unitScale;
+			final float y1 = layer.getY() * unitScale;
+			final float x2 = x1 + region.getRegionWidth() * unitScale;
+			final float y2 = y1 + region.getRegionHeight() * unitScale;
+			setQuad(vertices, x1, y1, x2, y2, color, region.getU(), region.getV2(), region.getU2(), region.getV());
+			add(chunk, region.getTexture(), vertices);
+		}
+		end(chunk);
+	}
+
+	/** Updates the vertices of the animated tiles of the chunk whose frame changed.
+	 * @return False if the chunk has to be rebuilt, because a frame uses another texture or a cell was changed. */
+	private boolean animate (TiledMapTileLayer layer, Chunk chunk) {
+		final IntArray animated = chunk.animated;
+		final PackedTiledMapTileLayer packedLayer = layer instanceof PackedTiledMapTileLayer ? (PackedTiledMapTileLayer)layer : null;
+		for (int i = 0; i < animated.size; i += 4) {
+			final int col = animated.get(i + 1), row = animated.get(i + 2);
+			final TiledMapTile tile;
+			final boolean flipX, flipY;
+			final int rotations;
+			if (packedLayer != null) {
+				final int value = packedLayer.getData(col, row);
+				tile = packedLayer.getTile(value);
+				flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+				flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+				rotations = PackedTiledMapTileLayer.getRotation(value);
+			} else {
+				final Cell cell = layer.getCell(col, row);
+				if (cell == null) return false;
+				tile = cell.getTile();
+				flipX = cell.getFlipHorizontally();
+				flipY = cell.getFlipVertically();
+				rotations = cell.getRotation();
+			}
+			if (!(tile instanceof AnimatedTiledMapTile)) return false;
+			final int frameIndex = ((AnimatedTiledMapTile)tile).getCurrentFrameIndex();
+			if (frameIndex == animated.get(i + 3)) continue;
+			animated.set(i + 3, frameIndex);
+
+			final int quad = animated.get(i);
+			if (tile.getTextureRegion().getTexture() != getTexture(chunk, quad)) return false;
+			getTilePosition(layer, col, row, position);
+			setTileVertices(tile, flipX, flipY, rotations, position.x, position.y, Color.toFloatBits(1, 1, 1, layer.getOpacity()));
+			chunk.mesh.updateVertices(quad * NUM_VERTICES, vertices, 0, NUM_VERTICES);
+		}
+		return true;
+	}
+
+	/** @return The texture of the run containing the quad. */
+	static private Texture getTexture (Chunk chunk, int quad) {
+		for (int i = 0, end = 0, n = chunk.counts.size; i < n; i++) {
+			end += chunk.counts.get(i);
+			if (quad < end) return chunk.textures.get(i);
+		}
+		return null;
+	}
+
+	/** Sets {@link #vertices} to the quad of a tile. */
+	private void setTileVertices (TiledMapTile tile, boolean flipX, boolean flipY, int rotations, float x, float y, float color) {
+		final float[] vertices = this.vertices;
+		final TextureRegion region = tile.getTextureRegion();
+		final Texture texture = region.getTexture();
+
+		final float x1 = x + tile.getOffsetX() * unitScale;
+		final float y1 = y + tile.getOffsetY() * unitScale;
+		final float x2 = x1 + region.getRegionWidth() * unitScale;
+		final float y2 = y1 + region.getRegionHeight() * unitScale;
+
+		final float adjustX = 0.5f / texture.getWidth();
+		final float adjustY = 0.5f / texture.getHeight();
+		setQuad(vertices, x1, y1, x2, y2, color, region.getU() + adjustX, region.getV2() - adjustY, region.getU2() - adjustX,
+			region.getV() + adjustY);
+
+		if (flipX) {
+			float temp = vertices[U1];
+			vertices[U1] = vertices[U3];
+			vertices[U3] = temp;
+			temp = vertices[U2];
+			vertices[U2] = vertices[U4];
+			vertices[U4] = temp;
+		}
+		if (flipY) {
+			float temp = vertices[V1];
+			vertices[V1] = vertices[V3];
+			vertices[V3] = temp;
+			temp = vertices[V2];
+			vertices[V2] = vertices[V4];
+			vertices[V4] = temp;
+		}
+		switch (rotations) {
+		case Cell.ROTATE_90: {
+			float tempV = vertices[V1];
+			vertices[V1] = vertices[V2];
+			vertices[V2] = vertices[V3];
+			vertices[V3] = vertices[V4];
+			vertices[V4] = tempV;
+
+			float tempU = vertices[U1];
+			vertices[U1] = vertices[U2];
+			vertices[U2] = vertices[U3];
+			vertices[U3] = vertices[U4];
+			vertices[U4] = tempU;
+			break;
+		}
+		case Cell.ROTATE_180: {
+			float tempU = vertices[U1];
+			vertices[U1] = vertices[U3];
+			vertices[U3] = tempU;
+			tempU = vertices[U2];
+			vertices[U2] = vertices[U4];
+			vertices[U4] = tempU;
+			float tempV = vertices[V1];
+			vertices[V1] = vertices[V3];
+			vertices[V3] = tempV;
+			tempV = vertices[V2];
+			vertices[V2] = vertices[V4];
+			vertices[V4] = tempV;
+			break;
+		}
+		case Cell.ROTATE_270: {
+			float tempV = vertices[V1];
+			vertices[V1] = vertices[V4];
+			vertices[V4] = vertices[V3];
+			vertices[V3] = vertices[V2];
+			vertices[V2] = tempV;
+
+			float tempU = vertices[U1];
+			vertices[U1] = vertices[U4];
+			vertices[U4] = vertices[U3];
+			vertices[U3] = vertices[U2];
+			vertices[U2] = tempU;
+			break;
+		}
+		}
+	}
+
+	static private void setQuad (float[] vertices, float x1, float y1, float x2, float y2, float color, float u1, float v1,
+		float u2, float v2) {
+		vertices[X1] = x1;
+		vertices[Y1] = y1;
+		vertices[C1] = color;
+		vertices[U1] = u1;
+		vertices[V1] = v1;
+
+		vertices[X2] = x1;
+		vertices[Y2] = y2;
+		vertices[C2] = color;
+		vertices[U2] = u1;
+		vertices[V2] = v2;
+
+		vertices[X3] = x2;
+		vertices[Y3] = y2;
+		vertices[C3] = color;
+		vertices[U3] = u2;
+		vertices[V3] = v2;
+
+		vertices[X4] = x2;
+		vertices[Y4] = y1;
+		vertices[C4] = color;
+		vertices[U4] = u2;
+		vertices[V4] = v1;
+	}
+
+	private void begin (Chunk chunk) {
+		chunk.dirty = false;
+		chunk.count = 0;
+		chunk.textures.clear();
+		chunk.counts.clear();
+		chunk.animated.clear();
+		if (buffer == null) buffer = new float[chunkSize * chunkSize * NUM_VERTICES];
+	}
+
+	private void add (Chunk chunk, Texture texture, float[] vertices) {
+		final int last = chunk.textures.size - 1;
+		if (last >= 0 && chunk.textures.get(last) == texture)
+			chunk.counts.incr(last, 1);
+		else {
+			chunk.textures.add(texture);
+			chunk.counts.add(1);
+		}
+		System.arraycopy(vertices, 0, buffer, chunk.count * NUM_VERTICES, NUM_VERTICES);
+		if (chunk.count++ == 0) {
+			chunk.minX = vertices[X1];
+			chunk.minY = vertices[Y1];
+			chunk.maxX = vertices[X3];
+			chunk.maxY = vertices[Y3];
+		} else {
+			chunk.minX = Math.min(chunk.minX, vertices[X1]);
+			chunk.minY = Math.min(chunk.minY, vertices[Y1]);
+			chunk.maxX = Math.max(chunk.maxX, vertices[X3]);
+			chunk.maxY = Math.max(chunk.maxY, vertices[Y3]);
+		}
+	}
+
+	private void end (Chunk chunk) {
+		final int count = chunk.count;
+		if (count == 0) return;
+		if (chunk.mesh == null || chunk.mesh.getMaxVertices() < count * 4) {
+			if (chunk.mesh != null) chunk.mesh.dispose();
+			final int capacity = Math.min(MAX_CHUNK_TILES, MathUtils.nextPowerOfTwo(count));
+			chunk.mesh = new Mesh(true, capacity * 4, capacity * 6, new VertexAttribute(Usage.Position, 2,
+				ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+				new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			final short[] indices = new short[capacity * 6];
+			for (int i = 0, v = 0; i < indices.length; i += 6, v += 4) {
+				indices[i] = (short)v;
+				indices[i + 1] = (short)(v + 1);
+				indices[i + 2] = (short)(v + 2);
+				indices[i + 3] = (short)(v + 2);
+				indices[i + 4] = (short)(v + 3);
+				indices[i + 5] = (short)v;
+			}
+			chunk.mesh.setIndices(indices);
+		}
+		chunk.mesh.setVertices(buffer, 0, count * NUM_VERTICES);
+	}
+
+	private Chunk obtain (LongMap<Chunk> chunks, int chunkX, int chunkY) {
+		final long key = key(chunkX, chunkY);
+		Chunk chunk = chunks.get(key);
+		if (chunk == null) {
+			chunk = freeChunks.size > 0 ? freeChunks.pop() : new Chunk();
+			chunk.dirty = true;
+			chunks.put(key, chunk);
+		}
+		return chunk;
+	}
+
+	/** Releases the chunks outside of the specified range of chunk coordinates, inclusive. */
+	private void release (LongMap<Chunk> chunks, int chunkX1, int chunkX2, int chunkY1, int chunkY2) {
+		final LongMap.Entries<Chunk> entries = chunks.entries();
+		while (entries.hasNext()) {
+			final LongMap.Entry<Chunk> entry = entries.next();
+			final int chunkX = (int)(entry.key >>> 32), chunkY = (int)entry.key;
+			if (chunkX >= chunkX1 && chunkX <= chunkX2 && chunkY >= chunkY1 && chunkY <= chunkY2) continue;
+			entries.remove();
+			free(entry.value);
+		}
+	}
+
+	private void free (Chunk chunk) {
+		chunk.textures.clear();
+		chunk.count = 0;
+		if (freeChunks.size < MAX_FREE_CHUNKS)
+			freeChunks.add(chunk);
+		else if (chunk.mesh != null) //
+			chunk.mesh.dispose();
+	}
+
+	static private long key (int chunkX, int chunkY) {
+		return (long)chunkX << 32 | chunkY & 0xFFFFFFFFL;
+	}
+
+	/** Causes the chunk containing the cell to be rebuilt the next time it is rendered, e.g. after the cell was set with
+	 * {@link TiledMapTileLayer#setCell(int, int, Cell)} or its tile, flip or rotation was changed.
+	 * @param x The x coordinate of the cell in tiles.
+	 * @param y The y coordinate of the cell in tiles. */
+	public void invalidateCell (TiledMapTileLayer layer, int x, int y) {
+		final LongMap<Chunk> chunks = layers.get(layer);
+		if (chunks == null || x < 0 || y < 0) return;
+		final Chunk chunk = chunks.get(key(x / chunkSize, y / chunkSize));
+		if (chunk != null) chunk.dirty = true;
+	}
+
+	/** Causes the chunks overlapping the rectangle of cells to be rebuilt the next time they are rendered.
+	 * @param x The x coordinate of the first cell in tiles.
+	 * @param y The y coordinate of the first cell in tiles.
+	 * @param width The width of the rectangle in tiles.
+	 * @param height The height of the rectangle in tiles. */
+	public void invalidateCells (TiledMapTileLayer layer, int x, int y, int width, int height) {
+		final LongMap<Chunk> chunks = layers.get(layer);
+		if (chunks == null || width <= 0 || height <= 0) return;
+		final int chunkX1 = Math.max(0, x) / chunkSize, chunkX2 = Math.max(0, x + width - 1) / chunkSize;
+		final int chunkY1 = Math.max(0, y) / chunkSize, chunkY2 = Math.max(0, y + height - 1) / chunkSize;
+		final LongMap.Entries<Chunk> entries = chunks.entries();
+		while (entries.hasNext()) {
+			final LongMap.Entry<Chunk> entry = entries.next();
+			final int chunkX = (int)(entry.key >>> 32), chunkY = (int)entry.key;
+			if (chunkX >= chunkX1 && chunkX <= chunkX2 && chunkY >= chunkY1 && chunkY <= chunkY2) entry.value.dirty = true;
+		}
+	}
+
+	/** Causes all chunks of the layer to be rebuilt the next time they are rendered, e.g. after its opacity or offset changed. For
+	 * a {@link MapGroupLayer} all its children are invalidated. */
+	public void invalidateLayer (MapLayer layer) {
+		if (layer instanceof MapGroupLayer) {
+			MapLayers childLayers = ((MapGroupLayer)layer).getLayers();
+			for (int i = 0; i < childLayers.size(); i++)
+				invalidateLayer(childLayers.get(i));
+			return;
+		}
+		final LongMap<Chunk> chunks = layers.get(layer);
+		if (chunks == null) return;
+		for (Chunk chunk : chunks.values())
+			chunk.dirty = true;
+	}
+
+	/** Causes all chunks to be rebuilt the next time they are rendered. */
+	public void invalidateCache () {
+		for (LongMap<Chunk> chunks : layers.values())
+			for (Chunk chunk : chunks.values())
+				chunk.dirty = true;
+	}
+
+	/** Releases all chunks, e.g. after layers were removed from the map. The chunks are rebuilt when they are rendered again. */
+	public void clearCache () {
+		for (LongMap<Chunk> chunks : layers.values())
+			for (Chunk chunk : chunks.values())
+				free(chunk);
+		layers.clear();
+	}
+
+	/** @return The number of chunks currently cached, including chunks which still have to be rebuilt. */
+	public int getChunkCount () {
+		int count = 0;
+		for (LongMap<Chunk> chunks : layers.values())
+			count += chunks.size;
+		return count;
+	}
+
+	/** @return The width and height of the chunks in tiles. */
+	public int getChunkSize () {
+		return chunkSize;
+	}
+
+	/** Sets how many chunks around the visible chunks are built ahead of time and how many of those are built per frame. Default
+	 * is 1 and 2. Chunks farther than one chunk beyond the prefetched ring are released. The visible chunks are always built
+	 * immediately.
+	 * @param prefetch The number of chunks in each direction, 0 to disable prefetching.
+	 * @param maxBuildsPerFrame The maximum number of prefetched chunks built per call to {@link #render()}. */
+	public void setPrefetch (int prefetch, int maxBuildsPerFrame) {
+		this.prefetch = Math.max(0, prefetch);
+		this.maxPrefetchBuilds = maxBuildsPerFrame;
+	}
+
+	/** Expands the view size in each direction, ensuring that tiles of this size or smaller are never culled from the visible
+	 * portion of the view. Default is 0,0. */
+	public void setMaxTileSize (float maxPixelWidth, float maxPixelHeight) {
+		this.maxTileWidth = maxPixelWidth;
+		this.maxTileHeight = maxPixelHeight;
+	}
+
+	public void setBlending (boolean blending) {
+		this.blending = blending;
+	}
+
+	public TiledMap getMap () {
+		return map;
+	}
+
+	@Override
+	public void dispose () {
+		clearCache();
+		for (Chunk chunk : freeChunks)
+			if (chunk.mesh != null) chunk.mesh.dispose();
+		freeChunks.clear();
+		shader.dispose();
+	}
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2014 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Vector2;
+
+/** Renders hexagonal tiles by caching geometry on the GPU in chunks, see {@link ChunkedTiledMapRenderer}. The stagger axis, stagger
+ * index and side length are read from the map properties like {@link HexagonalTiledMapRenderer} does and the tiles of a chunk are
+ * drawn in the same order. */
+public class HexagonalChunkedTiledMapRenderer extends ChunkedTiledMapRenderer {
+	/** true for X-Axis, false for Y-Axis */
+	private boolean staggerAxisX = true;
+	/** true for even StaggerIndex, false for odd */
+	private boolean staggerIndexEven = false;
+	/** the length of the sides that are parallel to the stagger axis, see {@link HexagonalTiledMapRenderer} */
+	private float hexSideLength;
+
+	/** Creates a renderer with a unit scale of 1 and chunks of 32x32 tiles. */
+	public HexagonalChunkedTiledMapRenderer (TiledMap map) {
+		this(map, 1, 32);
+	}
+
+	/** Creates a renderer with chunks of 32x32 tiles. */
+	public HexagonalChunkedTiledMapRenderer (TiledMap map, float unitScale) {
+		this(map, unitScale, 32);
+	}
+
+	/** @param chunkSize The width and height of the chunks in tiles, at most 127. */
+	public HexagonalChunkedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		super(map, unitScale, chunkSize);
+		final MapProperties properties = map.getProperties();
+		staggerAxisX = !"y".equals(properties.get("staggeraxis", String.class));
+		staggerIndexEven = "even".equals(properties.get("staggerindex", String.class));
+		Integer length = properties.get("hexsidelength", Integer.class);
+		if (length != null)
+			hexSideLength = length.intValue();
+		else {
+			length = properties.get(staggerAxisX ? "tilewidth" : "tileheight", Integer.class);
+			if (length != null)
+				hexSideLength = 0.5f * length.intValue();
+			else {
+				final TiledMapTileLayer layer = (TiledMapTileLayer)map.getLayers().get(0);
+				hexSideLength = 0.5f * (staggerAxisX ? layer.getTileWidth() : layer.getTileHeight());
+			}
+		}
+	}
+
+	@Override
+	protected void computeVisibleTiles (TiledMapTileLayer layer) {
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+		final float layerOffsetX = layer.getRenderOffsetX() * unitScale;
+		// offset in tiled is y down, so we flip it
+		final float layerOffsetY = -layer.getRenderOffsetY() * unitScale;
+		final float layerHexLength = hexSideLength * unitScale;
+
+		if (staggerAxisX) {
+			final float tileWidthLowerCorner = (layerTileWidth - layerHexLength) / 2;
+			final float tileWidthUpperCorner = (layerTileWidth + layerHexLength) / 2;
+			row1 = (int)Math.floor((viewBounds.y - layerTileHeight * 0.5f - layerOffsetY) / layerTileHeight);
+			row2 = (int)((viewBounds.y + viewBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight);
+			col1 = (int)Math.floor((viewBounds.x - tileWidthLowerCorner - layerOffsetX) / tileWidthUpperCorner);
+			col2 = (int)((viewBounds.x + viewBounds.width + tileWidthUpperCorner - layerOffsetX) / tileWidthUpperCorner);
+		} else {
+			final float tileHeightLowerCorner = (layerTileHeight - layerHexLength) / 2;
+			final float tileHeightUpperCorner = (layerTileHeight + layerHexLength) / 2;
+			row1 = (int)Math.floor((viewBounds.y - tileHeightLowerCorner - layerOffsetY) / tileHeightUpperCorner);
+			row2 = (int)((viewBounds.y + viewBounds.height + tileHeightUpperCorner - layerOffsetY) / tileHeightUpperCorner);
+			col1 = (int)Math.floor((viewBounds.x - layerTileWidth * 0.5f - layerOffsetX) / layerTileWidth);
+			col2 = (int)((viewBounds.x + viewBounds.width + layerTileWidth - layerOffsetX) / layerTileWidth);
+		}
+	}
+
+	@Override
+	protected void getTilePosition (TiledMapTileLayer layer, int col, int row, Vector2 position) {
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+		final float layerHexLength = hexSideLength * unitScale;
+		if (staggerAxisX) {
+			position.x = (layerTileWidth + layerHexLength) / 2 * col;
+			position.y = layerTileHeight * row + (isStaggered(col) ? layerTileHeight * 0.5f : 0);
+		} else {
+			position.x = layerTileWidth * col + (isStaggered(row) ? layerTileWidth * 0.5f : 0);
+			position.y = (layerTileHeight + layerHexLength) / 2 * row;
+		}
+		position.x += layer.getRenderOffsetX() * unitScale;
+		position.y -= layer.getRenderOffsetY() * unitScale;
+	}
+
+	/** @return Whether the column (for the x stagger axis) or row (for the y stagger axis) is shifted by half a tile. */
+	private boolean isStaggered (int index) {
+		return staggerAxisX ? (index % 2 == 0) != staggerIndexEven : (index % 2 == 0) == staggerIndexEven;
+	}
+
+	@Override
+	protected void buildTiles (TiledMapTileLayer layer, int col1, int row1, int col2, int row2) {
+		if (!staggerAxisX) {
+			super.buildTiles(layer, col1, row1, col2, row2);
+			return;
+		}
+		// the shifted columns are drawn before the others
+		final int colA = isStaggered(col1) ? col1 : col1 + 1;
+		final int colB = isStaggered(col1) ? col1 + 1 : col1;
+		for (int row = row2 - 1; row >= row1; row--) {
+			for (int col = colA; col < col2; col += 2)
+				addTile(layer, col, row);
+			for (int col = colB; col < col2; col += 2)
+				addTile(layer, col, row);
+		}
+	}
+}
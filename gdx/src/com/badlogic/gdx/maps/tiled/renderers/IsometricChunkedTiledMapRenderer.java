@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright 2014 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Vector2;
+
+/** Renders isometric tiles by caching geometry on the GPU in chunks, see {@link ChunkedTiledMapRenderer}. The tiles are drawn in
+ * the same order as {@link IsometricTiledMapRenderer} within a chunk. A chunk is a diamond on screen, chunks whose quads are
+ * outside of the view are not drawn. */
+public class IsometricChunkedTiledMapRenderer extends ChunkedTiledMapRenderer {
+	/** Creates a renderer with a unit scale of 1 and chunks of 32x32 tiles. */
+	public IsometricChunkedTiledMapRenderer (TiledMap map) {
+		this(map, 1, 32);
+	}
+
+	/** Creates a renderer with chunks of 32x32 tiles. */
+	public IsometricChunkedTiledMapRenderer (TiledMap map, float unitScale) {
+		this(map, unitScale, 32);
+	}
+
+	/** @param chunkSize The width and height of the chunks in tiles, at most 127. */
+	public IsometricChunkedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		super(map, unitScale, chunkSize);
+	}
+
+	@Override
+	protected void computeVisibleTiles (TiledMapTileLayer layer) {
+		final float halfTileWidth = layer.getTileWidth() * unitScale * 0.5f;
+		final float halfTileHeight = layer.getTileHeight() * unitScale * 0.5f;
+		final float layerOffsetX = layer.getRenderOffsetX() * unitScale;
+		// offset in tiled is y down, so we flip it
+		final float layerOffsetY = -layer.getRenderOffsetY() * unitScale;
+
+		// a cell is visible when col + row and row - col are in these ranges, with the same margin for tall tiles below the view as
+		// IsometricTiledMapRenderer
+		final int sum1 = (int)Math.floor((viewBounds.x - layerOffsetX) / halfTileWidth) - 2;
+		final int sum2 = (int)Math.ceil((viewBounds.x + viewBounds.width - layerOffsetX) / halfTileWidth);
+		final int diff1 = (int)Math.floor((viewBounds.y - layerOffsetY) / halfTileHeight) - 4;
+		final int diff2 = (int)Math.ceil((viewBounds.y + viewBounds.height - layerOffsetY) / halfTileHeight);
+		col1 = (sum1 - diff2) >> 1;
+		col2 = ((sum2 - diff1) >> 1) + 1;
+		row1 = (sum1 + diff1) >> 1;
+		row2 = ((sum2 + diff2) >> 1) + 1;
+	}
+
+	@Override
+	protected void getTilePosition (TiledMapTileLayer layer, int col, int row, Vector2 position) {
+		final float halfTileWidth = layer.getTileWidth() * unitScale * 0.5f;
+		final float halfTileHeight = layer.getTileHeight() * unitScale * 0.5f;
+		position.x = (col + row) * halfTileWidth + layer.getRenderOffsetX() * unitScale;
+		position.y = (row - col) * halfTileHeight - layer.getRenderOffsetY() * unitScale;
+	}
+}
@@ -21,6 +21,7 @@ import static com.badlogic.gdx.graphics.g2d.SpriteBatch.*;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
@@ -70,17 +71,30 @@ public class IsometricStaggeredTiledMapRenderer extends BatchTiledMapRenderer {
 		final int maxY = Math.min(layerHeight,
 			(int)((viewBounds.y + viewBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight50));
 
+		final PackedTiledMapTileLayer packedLayer = layer instanceof PackedTiledMapTileLayer ? (PackedTiledMapTileLayer)layer : null;
+
 		for (int y = maxY - 1; y >= minY; y--) {
 			float offsetX = (y % 2 == 1) ? layerTileWidth50 : 0;
 			for (int x = maxX - 1; x >= minX; x--) {
-				final TiledMapTileLayer.Cell cell = layer.getCell(x, y);
-				if (cell == null) continue;
-				final TiledMapTile tile = cell.getTile();
+				final TiledMapTile tile;
+				final boolean flipX, flipY;
+				final int rotations;
+				if (packedLayer != null) {
+					final int value = packedLayer.getData()[y * layerWidth + x];
+					tile = packedLayer.getTile(value);
+					flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+					flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+					rotations = PackedTiledMapTileLayer.getRotation(value);
+				} else {
+					final TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+					if (cell == null) continue;
+					tile = cell.getTile();
+					flipX = cell.getFlipHorizontally();
+					flipY = cell.getFlipVertically();
+					rotations = cell.getRotation();
+				}
 
 				if (tile != null) {
-					final boolean flipX = cell.getFlipHorizontally();
-					final boolean flipY = cell.getFlipVertically();
-					final int rotations = cell.getRotation();
 					TextureRegion region = tile.getTextureRegion();
 
 					float x1 = x * layerTileWidth - offsetX + tile.getOffsetX() * unitScale + layerOffsetX;
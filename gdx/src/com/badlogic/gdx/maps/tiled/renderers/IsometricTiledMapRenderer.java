@@ -21,64 +21,28 @@ import static com.badlogic.gdx.graphics.g2d.Batch.*;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
-import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 
 public class IsometricTiledMapRenderer extends BatchTiledMapRenderer {
 
-	private Matrix4 isoTransform;
-	private Matrix4 invIsotransform;
-	private Vector3 screenPos = new Vector3();
-
-	private Vector2 topRight = new Vector2();
-	private Vector2 bottomLeft = new Vector2();
-	private Vector2 topLeft = new Vector2();
-	private Vector2 bottomRight = new Vector2();
-
 	public IsometricTiledMapRenderer (TiledMap map) {
 		super(map);
-		init();
 	}
 
 	public IsometricTiledMapRenderer (TiledMap map, Batch batch) {
 		super(map, batch);
-		init();
 	}
 
 	public IsometricTiledMapRenderer (TiledMap map, float unitScale) {
 		super(map, unitScale);
-		init();
 	}
 
 	public IsometricTiledMapRenderer (TiledMap map, float unitScale, Batch batch) {
 		super(map, unitScale, batch);
-		init();
-	}
-
-	private void init () {
-		// create the isometric transform
-		isoTransform = new Matrix4();
-		isoTransform.idt();
-
-		// isoTransform.translate(0, 32, 0);
-		isoTransform.scale((float)(Math.sqrt(2.0) / 2.0), (float)(Math.sqrt(2.0) / 4.0), 1.0f);
-		isoTransform.rotate(0.0f, 0.0f, 1.0f, -45);
-
-		// ... and the inverse matrix
-		invIsotransform = new Matrix4(isoTransform);
-		invIsotransform.inv();
-	}
-
-	private Vector3 translateScreenToIso (Vector2 vec) {
-		screenPos.set(vec.x, vec.y, 0);
-		screenPos.mul(invIsotransform);
-
-		return screenPos;
 	}
 
 	@Override
@@ -96,37 +60,44 @@ public class IsometricTiledMapRenderer extends BatchTiledMapRenderer {
 		float halfTileWidth = tileWidth * 0.5f;
 		float halfTileHeight = tileHeight * 0.5f;
 
-		// setting up the screen points
-		// COL1
-		topRight.set(viewBounds.x + viewBounds.width - layerOffsetX, viewBounds.y - layerOffsetY);
-		// COL2
-		bottomLeft.set(viewBounds.x - layerOffsetX, viewBounds.y + viewBounds.height - layerOffsetY);
-		// ROW1
-		topLeft.set(viewBounds.x - layerOffsetX, viewBounds.y - layerOffsetY);
-		// ROW2
-		bottomRight.set(viewBounds.x + viewBounds.width - layerOffsetX, viewBounds.y + viewBounds.height - layerOffsetY);
+		// the tile of a cell is drawn at x = (col + row) * halfTileWidth and y = (row - col) * halfTileHeight, so it overlaps the view
+		// when col + row and row - col are in these ranges. Tiles up to twice the tile height are kept below the view.
+		final int sum1 = (int)Math.floor((viewBounds.x - layerOffsetX) / halfTileWidth) - 2;
+		final int sum2 = (int)Math.ceil((viewBounds.x + viewBounds.width - layerOffsetX) / halfTileWidth);
+		final int diff1 = (int)Math.floor((viewBounds.y - layerOffsetY) / halfTileHeight) - 4;
+		final int diff2 = (int)Math.ceil((viewBounds.y + viewBounds.height - layerOffsetY) / halfTileHeight);
 
-		// transforming screen coordinates to iso coordinates
-		int row1 = (int)(translateScreenToIso(topLeft).y / tileWidth) - 2;
-		int row2 = (int)(translateScreenToIso(bottomRight).y / tileWidth) + 2;
+		final int row1 = Math.max(0, (sum1 + diff1) >> 1);
+		final int row2 = Math.min(layer.getHeight() - 1, (sum2 + diff2) >> 1);
 
-		int col1 = (int)(translateScreenToIso(bottomLeft).x / tileWidth) - 2;
-		int col2 = (int)(translateScreenToIso(topRight).x / tileWidth) + 2;
+		final PackedTiledMapTileLayer packedLayer = layer instanceof PackedTiledMapTileLayer ? (PackedTiledMapTileLayer)layer : null;
 
 		for (int row = row2; row >= row1; row--) {
+			final int col1 = Math.max(0, Math.max(sum1 - row, row - diff2));
+			final int col2 = Math.min(layer.getWidth() - 1, Math.min(sum2 - row, row - diff1));
 			for (int col = col1; col <= col2; col++) {
 				float x = (col * halfTileWidth) + (row * halfTileWidth);
 				float y = (row * halfTileHeight) - (col * halfTileHeight);
 
-				final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
-				if (cell == null) continue;
-				final TiledMapTile tile = cell.getTile();
+				final TiledMapTile tile;
+				final boolean flipX, flipY;
+				final int rotations;
+				if (packedLayer != null) {
+					final int value = packedLayer.getData(col, row);
+					tile = packedLayer.getTile(value);
+					flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+					flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+					rotations = PackedTiledMapTileLayer.getRotation(value);
+				} else {
+					final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
+					if (cell == null) continue;
+					tile = cell.getTile();
+					flipX = cell.getFlipHorizontally();
+					flipY = cell.getFlipVertically();
+					rotations = cell.getRotation();
+				}
 
 				if (tile != null) {
-					final boolean flipX = cell.getFlipHorizontally();
-					final boolean flipY = cell.getFlipVertically();
-					final int rotations = cell.getRotation();
-
 					TextureRegion region = tile.getTextureRegion();
 
 					float x1 = x + tile.getOffsetX() * unitScale + layerOffsetX;
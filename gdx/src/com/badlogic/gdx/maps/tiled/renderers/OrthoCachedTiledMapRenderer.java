@@ -28,6 +28,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
@@ -235,18 +236,29 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 		canCacheMoreS = row1 > 0;
 
 		float[] vertices = this.vertices;
+		final PackedTiledMapTileLayer packedLayer = layer instanceof PackedTiledMapTileLayer ? (PackedTiledMapTileLayer)layer : null;
 		for (int row = row2; row >= row1; row--) {
 			for (int col = col1; col < col2; col++) {
-				final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
-				if (cell == null) continue;
-
-				final TiledMapTile tile = cell.getTile();
+				final TiledMapTile tile;
+				final boolean flipX, flipY;
+				final int rotations;
+				if (packedLayer != null) {
+					final int value = row < layerHeight ? packedLayer.getData()[row * layerWidth + col] : 0;
+					tile = packedLayer.getTile(value);
+					flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+					flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+					rotations = PackedTiledMapTileLayer.getRotation(value);
+				} else {
+					final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
+					if (cell == null) continue;
+					tile = cell.getTile();
+					flipX = cell.getFlipHorizontally();
+					flipY = cell.getFlipVertically();
+					rotations = cell.getRotation();
+				}
 				if (tile == null) continue;
 
 				count++;
-				final boolean flipX = cell.getFlipHorizontally();
-				final boolean flipY = cell.getFlipVertically();
-				final int rotations = cell.getRotation();
 
 				final TextureRegion region = tile.getTextureRegion();
 				final Texture texture = region.getTexture();
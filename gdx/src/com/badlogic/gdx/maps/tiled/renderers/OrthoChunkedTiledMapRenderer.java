@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright 2014 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Vector2;
+
+/** Renders ortho tiles by caching geometry on the GPU in chunks, see {@link ChunkedTiledMapRenderer}. */
+public class OrthoChunkedTiledMapRenderer extends ChunkedTiledMapRenderer {
+	/** Creates a renderer with a unit scale of 1 and chunks of 32x32 tiles. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map) {
+		this(map, 1, 32);
+	}
+
+	/** Creates a renderer with chunks of 32x32 tiles. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map, float unitScale) {
+		this(map, unitScale, 32);
+	}
+
+	/** @param chunkSize The width and height of the chunks in tiles, at most 127. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		super(map, unitScale, chunkSize);
+	}
+
+	@Override
+	protected void computeVisibleTiles (TiledMapTileLayer layer) {
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+		final float layerOffsetX = layer.getRenderOffsetX() * unitScale;
+		// offset in tiled is y down, so we flip it
+		final float layerOffsetY = -layer.getRenderOffsetY() * unitScale;
+
+		col1 = (int)Math.floor((viewBounds.x - layerOffsetX) / layerTileWidth);
+		col2 = (int)((viewBounds.x + viewBounds.width + layerTileWidth - layerOffsetX) / layerTileWidth);
+		row1 = (int)Math.floor((viewBounds.y - layerOffsetY) / layerTileHeight);
+		row2 = (int)((viewBounds.y + viewBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight);
+	}
+
+	@Override
+	protected void getTilePosition (TiledMapTileLayer layer, int col, int row, Vector2 position) {
+		position.x = col * layer.getTileWidth() * unitScale + layer.getRenderOffsetX() * unitScale;
+		position.y = row * layer.getTileHeight() * unitScale - layer.getRenderOffsetY() * unitScale;
+	}
+}
@@ -40,6 +40,7 @@ import static com.badlogic.gdx.graphics.g2d.Batch.Y4;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
@@ -89,22 +90,34 @@ public class OrthogonalTiledMapRenderer extends BatchTiledMapRenderer {
 		float y = row2 * layerTileHeight + layerOffsetY;
 		float xStart = col1 * layerTileWidth + layerOffsetX;
 		final float[] vertices = this.vertices;
+		final PackedTiledMapTileLayer packedLayer = layer instanceof PackedTiledMapTileLayer ? (PackedTiledMapTileLayer)layer : null;
+		final int[] data = packedLayer != null ? packedLayer.getData() : null;
 
 		for (int row = row2; row >= row1; row--) {
 			float x = xStart;
 			for (int col = col1; col < col2; col++) {
-				final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
-				if (cell == null) {
-					x += layerTileWidth;
-					continue;
+				final TiledMapTile tile;
+				final boolean flipX, flipY;
+				final int rotations;
+				if (data != null) {
+					final int value = row < layerHeight ? data[row * layerWidth + col] : 0;
+					tile = packedLayer.getTile(value);
+					flipX = PackedTiledMapTileLayer.getFlipHorizontally(value);
+					flipY = PackedTiledMapTileLayer.getFlipVertically(value);
+					rotations = PackedTiledMapTileLayer.getRotation(value);
+				} else {
+					final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
+					if (cell == null) {
+						x += layerTileWidth;
+						continue;
+					}
+					tile = cell.getTile();
+					flipX = cell.getFlipHorizontally();
+					flipY = cell.getFlipVertically();
+					rotations = cell.getRotation();
 				}
-				final TiledMapTile tile = cell.getTile();
 
 				if (tile != null) {
-					final boolean flipX = cell.getFlipHorizontally();
-					final boolean flipY = cell.getFlipVertically();
-					final int rotations = cell.getRotation();
-
 					TextureRegion region = tile.getTextureRegion();
 
 					float x1 = x + tile.getOffsetX() * unitScale;
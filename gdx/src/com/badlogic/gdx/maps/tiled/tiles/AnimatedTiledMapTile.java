@@ -45,6 +45,12 @@ public class AnimatedTiledMapTile implements TiledMapTile {
 	private int loopDuration;
 	private static final long initialTimeOffset = TimeUtils.millis();
 
+	/** Whether the frame is set with {@link #setAnimationTime(long)} instead of the shared time. */
+	private boolean ownTime;
+	private int currentFrameIndex;
+	/** The shared time for which {@link #currentFrameIndex} was computed. */
+	private long currentFrameTime = -1;
+
 	@Override
 	public int getId () {
 		return id;
@@ -66,7 +72,18 @@ public class AnimatedTiledMapTile implements TiledMapTile {
 	}
 
 	public int getCurrentFrameIndex () {
-		int currentTime = (int)(lastTiledMapRenderTime % loopDuration);
+		if (!ownTime && currentFrameTime != lastTiledMapRenderTime) {
+			currentFrameIndex = getFrameIndex(lastTiledMapRenderTime);
+			currentFrameTime = lastTiledMapRenderTime;
+		}
+		return currentFrameIndex;
+	}
+
+	/** @param time The time of the animation in milliseconds, may be negative.
+	 * @return The index of the frame shown at the time. */
+	public int getFrameIndex (long time) {
+		int currentTime = (int)(time % loopDuration);
+		if (currentTime < 0) currentTime += loopDuration;
 
 		for (int i = 0; i < animationIntervals.length; ++i) {
 			int animationInterval = animationIntervals[i];
@@ -78,6 +95,24 @@ public class AnimatedTiledMapTile implements TiledMapTile {
 			"Could not determine current animation frame in AnimatedTiledMapTile.  This should never happen.");
 	}
 
+	/** Shows the frame at the specified time instead of the time shared by all animated tiles, so maps can be animated
+	 * independently, see {@link com.badlogic.gdx.maps.tiled.TiledMapAnimator}.
+	 * @param time The time of the animation in milliseconds.
+	 * @return Whether the current frame changed. */
+	public boolean setAnimationTime (long time) {
+		final int frameIndex = getFrameIndex(time);
+		final boolean changed = !ownTime || frameIndex != currentFrameIndex;
+		ownTime = true;
+		currentFrameIndex = frameIndex;
+		return changed;
+	}
+
+	/** Shows the frame at the time shared by all animated tiles again, see {@link #updateAnimationBaseTime()}. */
+	public void clearAnimationTime () {
+		ownTime = false;
+		currentFrameTime = -1;
+	}
+
 	public TiledMapTile getCurrentFrame () {
 		return frameTiles[getCurrentFrameIndex()];
 	}
@@ -124,6 +159,7 @@ public class AnimatedTiledMapTile implements TiledMapTile {
 			for (int i = 0; i < intervals.length; i++) {
 				loopDuration += intervals[i];
 			}
+			currentFrameTime = -1;
 
 		} else {
 			throw new GdxRuntimeException("Cannot set " + intervals.length
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Bulk operations on arrays of matrices, boxes and spheres, e.g. to update the world transforms and bounds of a scene graph and
+ * cull it against a {@link Frustum} in a few loops.
+ * <p>
+ * Matrices are stored like {@link Matrix4#val}, matrix n occupies the 16 floats starting at n * 16. Boxes and spheres are stored
+ * as structures of arrays: component c of element n is located at c * stride + n, where stride is the capacity of the array. A box
+ * has the components {@link #CENTER_X}, {@link #CENTER_Y}, {@link #CENTER_Z}, {@link #EXTENT_X}, {@link #EXTENT_Y} and
+ * {@link #EXTENT_Z} (the half size), a sphere has the components {@link #CENTER_X}, {@link #CENTER_Y}, {@link #CENTER_Z} and
+ * {@link #RADIUS}.
+ * <p>
+ * All operations process the elements start to start + count exclusive and only write the outputs of those elements, so disjoint
+ * ranges can be processed concurrently, see {@link #parallel(AsyncExecutor, int, int, RangeKernel)}. The loops over boxes and
+ * spheres which use a single matrix or frustum have no calls or branches in their body and read each component with unit stride,
+ * which the JIT compiler is able to unroll and vectorize. The operations are implemented in Java and don't need the natives. */
+public final class MathKernels {
+	static public final int CENTER_X = 0;
+	static public final int CENTER_Y = 1;
+	static public final int CENTER_Z = 2;
+	static public final int EXTENT_X = 3;
+	static public final int EXTENT_Y = 4;
+	static public final int EXTENT_Z = 5;
+	static public final int RADIUS = 3;
+
+	private MathKernels () {
+	}
+
+	/** dst[n] = left[n] * right[n]. The destination may be the left or right array. */
+	static public void mul (float[] left, float[] right, float[] dst, int start, int count) {
+		for (int n = start, end = start + count; n < end; n++) {
+			final int o = n * 16;
+			mul(left, o, right, o, dst, o);
+		}
+	}
+
+	/** dst[n] = left * right[n]. The destination may be the right array. */
+	static public void mul (Matrix4 left, float[] right, float[] dst, int start, int count) {
+		final float[] l = left.val;
+		for (int n = start, end = start + count; n < end; n++) {
+			final int o = n * 16;
+			mul(l, 0, right, o, dst, o);
+		}
+	}
+
+	/** Computes the world transforms of a hierarchy: world[n] = world[parents[n]] * local[n], or local[n] if parents[n] is
+	 * negative. The parent of an element must precede it, so the elements are processed in order and a hierarchy can't be split in
+	 * concurrent ranges, unlike independent subtrees. */
+	static public void mulHierarchy (float[] local, int[] parents, float[] world, int start, int count) {
+		for (int n = start, end = start + count; n < end; n++) {
+			final int o = n * 16, parent = parents[n];
+			if (parent < 0)
+				System.arraycopy(local, o, world, o, 16);
+			else
+				mul(world, parent * 16, local, o, world, o);
+		}
+	}
+
+	static private void mul (float[] l, int lo, float[] r, int ro, float[] dst, int o) {
+		final float l00 = l[lo], l10 = l[lo + 1], l20 = l[lo + 2], l30 = l[lo + 3];
+		final float l01 = l[lo + 4], l11 = l[lo + 5], l21 = l[lo + 6], l31 = l[lo + 7];
+		final float l02 = l[lo + 8], l12 = l[lo + 9], l22 = l[lo + 10], l32 = l[lo + 11];
+		final float l03 = l[lo + 12], l13 = l[lo + 13], l23 = l[lo + 14], l33 = l[lo + 15];
+		for (int c = 0; c < 16; c += 4) {
+			final float r0 = r[ro + c], r1 = r[ro + c + 1], r2 = r[ro + c + 2], r3 = r[ro + c + 3];
+			dst[o + c] = l00 * r0 + l01 * r1 + l02 * r2 + l03 * r3;
+			dst[o + c + 1] = l10 * r0 + l11 * r1 + l12 * r2 + l13 * r3;
+			dst[o + c + 2] = l20 * r0 + l21 * r1 + l22 * r2 + l23 * r3;
+			dst[o + c + 3] = l30 * r0 + l31 * r1 + l32 * r2 + l33 * r3;
+		}
+	}
+
+	/** Transforms the boxes by an affine matrix, the result is the axis aligned box containing each transformed box. The destination
+	 * may be the source array. */
+	static public void transformBoxes (Matrix4 transform, float[] boxes, float[] dst, int stride, int start, int count) {
+		final float[] m = transform.val;
+		final float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		final float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		final float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		final float a00 = Math.abs(m00), a01 = Math.abs(m01), a02 = Math.abs(m02);
+		final float a10 = Math.abs(m10), a11 = Math.abs(m11), a12 = Math.abs(m12);
+		final float a20 = Math.abs(m20), a21 = Math.abs(m21), a22 = Math.abs(m22);
+		final int cy = stride, cz = 2 * stride, ex = 3 * stride, ey = 4 * stride, ez = 5 * stride;
+		for (int n = start, end = start + count; n < end; n++) {
+			final float x = boxes[n], y = boxes[cy + n], z = boxes[cz + n];
+			final float hx = boxes[ex + n], hy = boxes[ey + n], hz = boxes[ez + n];
+			dst[n] = m00 * x + m01 * y + m02 * z + m03;
+			dst[cy + n] = m10 * x + m11 * y + m12 * z + m13;
+			dst[cz + n] = m20 * x + m21 * y + m22 * z + m23;
+			dst[ex + n] = a00 * hx + a01 * hy + a02 * hz;
+			dst[ey + n] = a10 * hx + a11 * hy + a12 * hz;
+			dst[ez + n] = a20 * hx + a21 * hy + a22 * hz;
+		}
+	}
+
+	/** Transforms box n by the affine matrix n, see {@link #transformBoxes(Matrix4, float[], float[], int, int, int)}. Used to
+	 * compute world bounds from local bounds and the output of {@link #mulHierarchy(float[], int[], float[], int, int)}. */
+	static public void transformBoxes (float[] matrices, float[] boxes, float[] dst, int stride, int start, int count) {
+		final int cy = stride, cz = 2 * stride, ex = 3 * stride, ey = 4 * stride, ez = 5 * stride;
+		for (int n = start, end = start + count; n < end; n++) {
+			final int o = n * 16;
+			final float m00 = matrices[o], m10 = matrices[o + 1], m20 = matrices[o + 2];
+			final float m01 = matrices[o + 4], m11 = matrices[o + 5], m21 = matrices[o + 6];
+			final float m02 = matrices[o + 8], m12 = matrices[o + 9], m22 = matrices[o + 10];
+			final float x = boxes[n], y = boxes[cy + n], z = boxes[cz + n];
+			final float hx = boxes[ex + n], hy = boxes[ey + n], hz = boxes[ez + n];
+			dst[n] = m00 * x + m01 * y + m02 * z + matrices[o + 12];
+			dst[cy + n] = m10 * x + m11 * y + m12 * z + matrices[o + 13];
+			dst[cz + n] = m20 * x + m21 * y + m22 * z + matrices[o + 14];
+			dst[ex + n] = Math.abs(m00) * hx + Math.abs(m01) * hy + Math.abs(m02) * hz;
+			dst[ey + n] = Math.abs(m10) * hx + Math.abs(m11) * hy + Math.abs(m12) * hz;
+			dst[ez + n] = Math.abs(m20) * hx + Math.abs(m21) * hy + Math.abs(m22) * hz;
+		}
+	}
+
+	/** Tests the boxes against the frustum like {@link Frustum#boundsInFrustum(float, float, float, float, float, float)}. The
+	 * planes are tested one at a time over all boxes.
+	 * @param visible Receives whether each box is at least partly inside the frustum.
+	 * @return The number of visible boxes. */
+	static public int cullBoxes (Frustum frustum, float[] boxes, int stride, boolean[] visible, int start, int count) {
+		final int end = start + count;
+		for (int n = start; n < end; n++)
+			visible[n] = true;
+		final int cy = stride, cz = 2 * stride, ex = 3 * stride, ey = 4 * stride, ez = 5 * stride;
+		for (Plane plane : frustum.planes) {
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z, d = plane.d;
+			final float ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+			for (int n = start; n < end; n++)
+				visible[n] &= nx * boxes[n] + ny * boxes[cy + n] + nz * boxes[cz + n] + d + ax * boxes[ex + n] + ay * boxes[ey + n]
+					+ az * boxes[ez + n] >= 0;
+		}
+		return count(visible, start, count);
+	}
+
+	/** Tests the spheres against the frustum like {@link Frustum#sphereInFrustum(float, float, float, float)}.
+	 * @param visible Receives whether each sphere is at least partly inside the frustum.
+	 * @return The number of visible spheres. */
+	static public int cullSpheres (Frustum frustum, float[] spheres, int stride, boolean[] visible, int start, int count) {
+		final int end = start + count;
+		for (int n = start; n < end; n++)
+			visible[n] = true;
+		final int cy = stride, cz = 2 * stride, r = 3 * stride;
+		for (Plane plane : frustum.planes) {
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z, d = plane.d;
+			for (int n = start; n < end; n++)
+				visible[n] &= nx * spheres[n] + ny * spheres[cy + n] + nz * spheres[cz + n] + d + spheres[r + n] >= 0;
+		}
+		return count(visible, start, count);
+	}
+
+	static private int count (boolean[] flags, int start, int count) {
+		int result = 0;
+		for (int n = start, end = start + count; n < end; n++)
+			if (flags[n]) result++;
+		return result;
+	}
+
+	/** Writes the indices of the set flags to the indices array, e.g. to iterate over the visible elements after culling.
+	 * @return The number of indices written. */
+	static public int indicesOf (boolean[] flags, int start, int count, int[] indices) {
+		int result = 0;
+		for (int n = start, end = start + count; n < end; n++)
+			if (flags[n]) indices[result++] = n;
+		return result;
+	}
+
+	/** Sets box n to the box. */
+	static public void setBox (float[] boxes, int stride, int n, BoundingBox box) {
+		boxes[n] = box.getCenterX();
+		boxes[stride + n] = box.getCenterY();
+		boxes[2 * stride + n] = box.getCenterZ();
+		boxes[3 * stride + n] = box.getWidth() / 2;
+		boxes[4 * stride + n] = box.getHeight() / 2;
+		boxes[5 * stride + n] = box.getDepth() / 2;
+	}
+
+	/** Sets the box to box n. */
+	static public BoundingBox getBox (float[] boxes, int stride, int n, BoundingBox box) {
+		final float x = boxes[n], y = boxes[stride + n], z = boxes[2 * stride + n];
+		final float hx = boxes[3 * stride + n], hy = boxes[4 * stride + n], hz = boxes[5 * stride + n];
+		box.min.set(x - hx, y - hy, z - hz);
+		box.max.set(x + hx, y + hy, z + hz);
+		return box.set(box.min, box.max);
+	}
+
+	/** An operation on a range of elements, see {@link MathKernels#parallel(AsyncExecutor, int, int, RangeKernel)}. */
+	static public interface RangeKernel {
+		/** Processes the elements start to start + count exclusive. Called concurrently for disjoint ranges. */
+		public void run (int start, int count);
+	}
+
+	/** Splits the elements 0 to count exclusive in chunkCount ranges of about the same size and runs the kernel on them. The first
+	 * range is processed on the calling thread, the others on the executor. Returns when all ranges are processed. A task is
+	 * allocated per range, so the ranges should be large, typically a few thousand elements.
+	 * @param chunkCount The number of ranges, typically the number of threads of the executor plus one. */
+	static public void parallel (AsyncExecutor executor, int count, int chunkCount, final RangeKernel kernel) {
+		chunkCount = Math.min(chunkCount, count);
+		if (chunkCount <= 1 || executor == null) {
+			kernel.run(0, count);
+			return;
+		}
+		final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, chunkCount - 1);
+		for (int c = 1; c < chunkCount; c++) {
+			final int start = (int)((long)count * c / chunkCount);
+			final int end = (int)((long)count * (c + 1) / chunkCount);
+			results.add(executor.submit(new AsyncTask<Void>() {
+				@Override
+				public Void call () throws Exception {
+					kernel.run(start, end - start);
+					return null;
+				}
+			}));
+		}
+		try {
+			kernel.run(0, (int)((long)count / chunkCount));
+		} finally {
+			// wait for all ranges even if one failed, so no kernel is running anymore when this returns
+			GdxRuntimeException exception = null;
+			for (int i = 0; i < results.size; i++) {
+				try {
+					results.get(i).get();
+				} catch (GdxRuntimeException ex) {
+					if (exception == null) exception = ex;
+				}
+			}
+			if (exception != null) throw exception;
+		}
+	}
+}
@@ -0,0 +1,690 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** Delaunay triangulation in O(n log n), for large point sets. The points are sorted by their distance to a seed triangle and
+ * added one at a time to the convex hull of the previous points, then the new triangles are made Delaunay by flipping edges.
+ * Adapted from the Delaunator library: https://github.com/mapbox/delaunator
+ * <p>
+ * Unlike {@link DelaunayTriangulator} the number of points isn't limited by short indices. Edges can be constrained to be part of
+ * the triangulation, which together with {@link #computeTriangles(float[], int, int, IntArray, boolean)} removing the triangles
+ * outside of the constrained outlines triangulates polygons with holes. The adjacency of the triangles is available from
+ * {@link #getHalfedges()}.
+ * <p>
+ * The buffers are reused by later calls, so triangulating many point sets of similar size doesn't allocate. */
+public class SweepDelaunayTriangulator {
+	private final IntArray triangles = new IntArray(false, 16);
+	private final IntArray halfedges = new IntArray(false, 16);
+	private final IntArray edgeStack = new IntArray();
+	private final IntArray crossings = new IntArray();
+	private final IntArray queue = new IntArray(), nextQueue = new IntArray();
+	private float[] points;
+	private int offset, trianglesLen;
+	private int[] ids = new int[0], hullPrev = ids, hullNext = ids, hullTri = ids, hullHash = ids, vertexEdges = ids, aliases = ids;
+	private int[] depths = ids;
+	private double[] dists = new double[0];
+	private boolean[] constrained = new boolean[0];
+	private int hashSize, hullStart;
+	private double centerX, centerY;
+
+	/** @see #computeTriangles(float[], int, int, IntArray, boolean) */
+	public IntArray computeTriangles (FloatArray points) {
+		return computeTriangles(points.items, 0, points.size, null, false);
+	}
+
+	/** @see #computeTriangles(float[], int, int, IntArray, boolean) */
+	public IntArray computeTriangles (float[] points) {
+		return computeTriangles(points, 0, points.length, null, false);
+	}
+
+	/** @see #computeTriangles(float[], int, int, IntArray, boolean) */
+	public IntArray computeTriangles (float[] points, int offset, int count) {
+		return computeTriangles(points, offset, count, null, false);
+	}
+
+	/** Triangulates the given point cloud to a list of triangle indices that make up the (constrained) Delaunay triangulation.
+	 * Points equal to an earlier point are skipped, edges referencing them use the earlier point. If all points are collinear
+	 * there are no triangles.
+	 * @param points x,y pairs describing points. The points don't have to be sorted.
+	 * @param constrainedEdges Pairs of point indices, each pair is an edge which must be part of the triangulation. May be null.
+	 *           Constrained edges may only touch at their end points, passing through a point splits an edge in two.
+	 * @param removeOutside If true, the triangles outside of the polygons formed by the constrained edges are removed: a triangle
+	 *           is kept when it's separated from the outside of the convex hull by an odd number of constrained edges, so the
+	 *           outline of a polygon and the outlines of its holes can be given as loops of edges.
+	 * @return triples of indices of points that describe the triangles in counterclockwise order (with y up). Note the returned
+	 *         array is reused for later calls to the same method.
+	 * @throws GdxRuntimeException if constrained edges intersect. */
+	public IntArray computeTriangles (float[] points, int offset, int count, IntArray constrainedEdges, boolean removeOutside) {
+		this.points = points;
+		this.offset = offset;
+		final int n = count / 2;
+		triangulate(n);
+		if (constrainedEdges != null && constrainedEdges.size > 0 && trianglesLen > 0) {
+			final int[] edges = constrainedEdges.items;
+			for (int i = 0, size = constrainedEdges.size - 1; i < size; i += 2) {
+				final int a = aliases[edges[i]], b = aliases[edges[i + 1]];
+				if (a != b) constrain(a, b);
+			}
+			legalizeAll();
+			if (removeOutside) removeOutside();
+		}
+		triangles.size = trianglesLen;
+		halfedges.size = trianglesLen;
+		this.points = null;
+		return triangles;
+	}
+
+	/** @return For each index of the triangles returned by the last triangulation, which is the first point of an edge of a
+	 *         triangle, the index of the opposite edge in the adjacent triangle or -1 if the edge is on the outline. The triangle of
+	 *         an edge e is e / 3. Note the returned array is reused for later calls. */
+	public IntArray getHalfedges () {
+		return halfedges;
+	}
+
+	private void triangulate (int n) {
+		final int maxTriangles = Math.max(2 * n - 5, 0);
+		triangles.clear();
+		halfedges.clear();
+		triangles.setSize(maxTriangles * 3);
+		halfedges.setSize(maxTriangles * 3);
+		trianglesLen = 0;
+		if (ids.length < n) {
+			ids = new int[n];
+			hullPrev = new int[n];
+			hullNext = new int[n];
+			hullTri = new int[n];
+			vertexEdges = new int[n];
+			aliases = new int[n];
+			dists = new double[n];
+		}
+		if (constrained.length < maxTriangles * 3) constrained = new boolean[maxTriangles * 3];
+		Arrays.fill(constrained, 0, maxTriangles * 3, false);
+		Arrays.fill(vertexEdges, 0, n, -1);
+		for (int i = 0; i < n; i++)
+			aliases[i] = i;
+		if (n < 3) return;
+
+		final float[] points = this.points;
+		final int offset = this.offset;
+		final int[] ids = this.ids, hullPrev = this.hullPrev, hullNext = this.hullNext, hullTri = this.hullTri;
+		final double[] dists = this.dists;
+
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			final float x = points[offset + 2 * i], y = points[offset + 2 * i + 1];
+			if (x < minX) minX = x;
+			if (y < minY) minY = y;
+			if (x > maxX) maxX = x;
+			if (y > maxY) maxY = y;
+			ids[i] = i;
+		}
+		final double cx = (minX + maxX) / 2.0, cy = (minY + maxY) / 2.0;
+
+		// seed triangle: the point closest to the center, the point closest to it and the point forming the smallest circumcircle
+		double minDist = Double.POSITIVE_INFINITY;
+		int i0 = 0, i1 = 0, i2 = 0;
+		for (int i = 0; i < n; i++) {
+			final double d = dist(cx, cy, x(i), y(i));
+			if (d < minDist) {
+				i0 = i;
+				minDist = d;
+			}
+		}
+		final double i0x = x(i0), i0y = y(i0);
+		minDist = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			if (i == i0) continue;
+			final double d = dist(i0x, i0y, x(i), y(i));
+			if (d < minDist && d > 0) {
+				i1 = i;
+				minDist = d;
+			}
+		}
+		double i1x = x(i1), i1y = y(i1);
+		double minRadius = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			if (i == i0 || i == i1) continue;
+			final double r = circumradius(i0x, i0y, i1x, i1y, x(i), y(i));
+			if (r < minRadius) {
+				i2 = i;
+				minRadius = r;
+			}
+		}
+		if (minRadius == Double.POSITIVE_INFINITY) return; // all points are collinear
+		double i2x = x(i2), i2y = y(i2);
+		if (orient(i0x, i0y, i1x, i1y, i2x, i2y) < 0) {
+			final int i = i1;
+			i1 = i2;
+			i2 = i;
+			i1x = x(i1);
+			i1y = y(i1);
+			i2x = x(i2);
+			i2y = y(i2);
+		}
+
+		// circumcenter of the seed triangle
+		final double dx = i1x - i0x, dy = i1y - i0y, ex = i2x - i0x, ey = i2y - i0y;
+		final double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey, d = 0.5 / (dx * ey - dy * ex);
+		centerX = i0x + (ey * bl - dy * cl) * d;
+		centerY = i0y + (dx * cl - ex * bl) * d;
+
+		for (int i = 0; i < n; i++)
+			dists[i] = dist(x(i), y(i), centerX, centerY);
+		quicksort(ids, dists, 0, n - 1);
+
+		hashSize = (int)Math.ceil(Math.sqrt(n));
+		if (hullHash.length < hashSize) hullHash = new int[hashSize];
+		final int[] hullHash = this.hullHash;
+		Arrays.fill(hullHash, 0, hashSize, -1);
+
+		hullStart = i0;
+		hullNext[i0] = hullPrev[i2] = i1;
+		hullNext[i1] = hullPrev[i0] = i2;
+		hullNext[i2] = hullPrev[i1] = i0;
+		hullTri[i0] = 0;
+		hullTri[i1] = 1;
+		hullTri[i2] = 2;
+		hullHash[hashKey(i0x, i0y)] = i0;
+		hullHash[hashKey(i1x, i1y)] = i1;
+		hullHash[hashKey(i2x, i2y)] = i2;
+		addTriangle(i0, i1, i2, -1, -1, -1);
+
+		double xp = 0, yp = 0;
+		int previous = -1;
+		for (int k = 0; k < n; k++) {
+			final int i = ids[k];
+			final double x = x(i), y = y(i);
+
+			// skip duplicate points
+			if (k > 0 && x == xp && y == yp) {
+				aliases[i] = previous;
+				continue;
+			}
+			xp = x;
+			yp = y;
+			previous = i;
+			if (i == i0 || i == i1 || i == i2) continue;
+			if (x == i0x && y == i0y || x == i1x && y == i1y || x == i2x && y == i2y) {
+				aliases[i] = x == i0x && y == i0y ? i0 : x == i1x && y == i1y ? i1 : i2;
+				previous = aliases[i];
+				continue;
+			}
+
+			// find a visible edge on the convex hull using the edge hash
+			int start = 0;
+			for (int j = 0, key = hashKey(x, y); j < hashSize; j++) {
+				start = hullHash[(key + j) % hashSize];
+				if (start != -1 && start != hullNext[start]) break;
+			}
+			start = hullPrev[start];
+			int e = start, q;
+			while (orient(x(e), y(e), x(q = hullNext[e]), y(q), x, y) >= 0) {
+				e = q;
+				if (e == start) {
+					e = -1;
+					break;
+				}
+			}
+			if (e == -1) continue; // likely a near duplicate point, skip it
+
+			// add the first triangle from the point
+			int t = addTriangle(e, i, hullNext[e], -1, -1, hullTri[e]);
+			hullTri[i] = legalize(t + 2);
+			hullTri[e] = t;
+
+			// walk forward through the hull, adding more triangles and flipping recursively
+			int next = hullNext[e];
+			while (orient(x(next), y(next), x(q = hullNext[next]), y(q), x, y) < 0) {
+				t = addTriangle(next, i, q, hullTri[i], -1, hullTri[next]);
+				hullTri[i] = legalize(t + 2);
+				hullNext[next] = next; // mark as removed
+				next = q;
+			}
+
+			// walk backward from the other side, adding more triangles and flipping
+			if (e == start) {
+				while (orient(x(q = hullPrev[e]), y(q), x(e), y(e), x, y) < 0) {
+					t = addTriangle(q, i, e, -1, hullTri[e], hullTri[q]);
+					legalize(t + 2);
+					hullTri[q] = t;
+					hullNext[e] = e; // mark as removed
+					e = q;
+				}
+			}
+
+			// update the hull indices
+			hullStart = hullPrev[i] = e;
+			hullNext[e] = hullPrev[next] = i;
+			hullNext[i] = next;
+			hullHash[hashKey(x, y)] = i;
+			hullHash[hashKey(x(e), y(e))] = e;
+		}
+
+		final int[] triangles = this.triangles.items, vertexEdges = this.vertexEdges;
+		for (int e = 0; e < trianglesLen; e++)
+			vertexEdges[triangles[e]] = e;
+	}
+
+	private int addTriangle (int i0, int i1, int i2, int a, int b, int c) {
+		final int t = trianglesLen;
+		final int[] triangles = this.triangles.items;
+		triangles[t] = i0;
+		triangles[t + 1] = i1;
+		triangles[t + 2] = i2;
+		link(t, a);
+		link(t + 1, b);
+		link(t + 2, c);
+		trianglesLen += 3;
+		return t;
+	}
+
+	private void link (int a, int b) {
+		final int[] halfedges = this.halfedges.items;
+		halfedges[a] = b;
+		if (b != -1) halfedges[b] = a;
+	}
+
+	/** Flips edges until the triangles around the edge are Delaunay.
+	 * @return The edge which is on the convex hull after the flips. */
+	private int legalize (int a) {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final IntArray edgeStack = this.edgeStack;
+		edgeStack.clear();
+		int ar;
+		while (true) {
+			final int b = halfedges[a];
+			final int a0 = a - a % 3;
+			ar = a0 + (a + 2) % 3;
+			if (b == -1) {
+				if (edgeStack.size == 0) break;
+				a = edgeStack.pop();
+				continue;
+			}
+			final int b0 = b - b % 3;
+			final int bl = b0 + (b + 2) % 3;
+			if (inCircle(triangles[ar], triangles[a], triangles[a0 + (a + 1) % 3], triangles[bl])) {
+				final boolean hull = halfedges[bl] == -1;
+				flip(a);
+				if (hull) {
+					// the edge moved on the other side of the hull, update the reference to it
+					int e = hullStart;
+					do {
+						if (hullTri[e] == bl) {
+							hullTri[e] = a;
+							break;
+						}
+						e = hullPrev[e];
+					} while (e != hullStart);
+				}
+				edgeStack.add(b0 + (b + 1) % 3);
+			} else {
+				if (edgeStack.size == 0) break;
+				a = edgeStack.pop();
+			}
+		}
+		return ar;
+	}
+
+	/** Replaces the edge a, which is shared by the triangles (p, q, r) and (q, p, s), by the edge from r to s. The edges a and its
+	 * opposite edge become the outer edges s to q and r to p, the new edge is the previous edge of a. */
+	private void flip (int a) {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final boolean[] constrained = this.constrained;
+		final int b = halfedges[a];
+		final int a0 = a - a % 3, b0 = b - b % 3;
+		final int al = a0 + (a + 1) % 3, ar = a0 + (a + 2) % 3;
+		final int bl = b0 + (b + 2) % 3, br = b0 + (b + 1) % 3;
+		final int p = triangles[a], q = triangles[al], r = triangles[ar], s = triangles[bl];
+		triangles[a] = s;
+		triangles[b] = r;
+		final int hbl = halfedges[bl], har = halfedges[ar];
+		final boolean cbl = constrained[bl], car = constrained[ar];
+		link(a, hbl);
+		link(b, har);
+		link(ar, bl);
+		constrained[a] = cbl;
+		constrained[b] = car;
+		constrained[ar] = constrained[bl] = false;
+		vertexEdges[p] = br;
+		vertexEdges[q] = al;
+		vertexEdges[r] = ar;
+		vertexEdges[s] = a;
+	}
+
+	/** Makes the edge from a to b part of the triangulation by flipping the edges crossing it. */
+	private void constrain (int a, int b) {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final int start = vertexEdges[a];
+		if (start == -1) throw new GdxRuntimeException("Point is not part of the triangulation: " + a);
+
+		// rotate around a to find the edge to b or the triangle whose opposite edge is crossed by a to b
+		int e = start, crossing;
+		boolean backward = false;
+		while (true) {
+			final int v1 = triangles[next(e)], v2 = triangles[prev(e)];
+			if (v1 == b) {
+				setConstrained(e);
+				return;
+			}
+			if (v2 == b) {
+				setConstrained(prev(e));
+				return;
+			}
+			final double c1 = orient(a, b, v1), c2 = orient(a, b, v2);
+			if (c1 == 0 && isBetween(a, b, v1)) {
+				constrain(a, v1);
+				constrain(v1, b);
+				return;
+			}
+			if (c2 == 0 && isBetween(a, b, v2)) {
+				constrain(a, v2);
+				constrain(v2, b);
+				return;
+			}
+			if (c1 < 0 && c2 > 0) {
+				crossing = next(e);
+				break;
+			}
+			if (!backward) {
+				final int t = halfedges[prev(e)];
+				if (t == start) throw new GdxRuntimeException("Constrained edge not found: " + a + ", " + b);
+				if (t == -1)
+					backward = true;
+				else
+					e = t;
+			} else {
+				final int t = halfedges[e];
+				if (t == -1) throw new GdxRuntimeException("Constrained edge not found: " + a + ", " + b);
+				e = next(t);
+			}
+		}
+
+		// collect the crossed edges, each from its point on the right of a to b to its point on the left
+		final IntArray crossings = this.crossings;
+		crossings.clear();
+		int x = crossing;
+		while (true) {
+			if (constrained[x])
+				throw new GdxRuntimeException("Constrained edges intersect: " + a + ", " + b + " and " + triangles[x] + ", "
+					+ triangles[next(x)]);
+			crossings.add(triangles[x], triangles[next(x)]);
+			final int t = halfedges[x];
+			final int w = triangles[prev(t)];
+			if (w == b) break;
+			final double c = orient(a, b, w);
+			if (c == 0) {
+				// w is on the edge, constrain both parts
+				constrain(a, w);
+				constrain(w, b);
+				return;
+			}
+			x = c > 0 ? next(t) : prev(t);
+		}
+
+		// flip the crossed edges until none crosses a to b
+		int head = 0;
+		while (head < crossings.size) {
+			final int p = crossings.get(head), q = crossings.get(head + 1);
+			head += 2;
+			if (head > 256 && head * 2 > crossings.size) {
+				crossings.removeRange(0, head - 1);
+				head = 0;
+			}
+			final int edge = findEdge(p, q);
+			final int r = triangles[prev(edge)], s = triangles[prev(halfedges[edge])];
+			if (orient(r, s, p) * orient(r, s, q) >= 0) {
+				// the quadrilateral isn't convex, try again after the other edges were flipped
+				crossings.add(p, q);
+				continue;
+			}
+			flip(edge);
+			if (r != a && r != b && s != a && s != b && orient(a, b, r) * orient(a, b, s) < 0 && orient(r, s, a) * orient(r, s, b) < 0)
+				crossings.add(r, s);
+		}
+		final int edge = findEdge(a, b);
+		setConstrained(edge != -1 ? edge : findEdge(b, a));
+	}
+
+	/** Flips the edges which aren't constrained until all triangles are Delaunay, except across the constrained edges. */
+	private void legalizeAll () {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final boolean[] constrained = this.constrained;
+		final IntArray stack = edgeStack;
+		stack.clear();
+		for (int e = 0; e < trianglesLen; e++)
+			if (halfedges[e] > e && !constrained[e]) stack.add(e);
+		while (stack.size > 0) {
+			final int a = stack.pop();
+			final int b = halfedges[a];
+			if (b == -1 || constrained[a]) continue;
+			final int a0 = a - a % 3, b0 = b - b % 3;
+			final int al = a0 + (a + 1) % 3, ar = a0 + (a + 2) % 3, bl = b0 + (b + 2) % 3;
+			if (!inCircle(triangles[ar], triangles[a], triangles[al], triangles[bl])) continue;
+			flip(a);
+			stack.add(a, b, al, b0 + (b + 1) % 3);
+		}
+	}
+
+	/** Removes the triangles which are separated from the outside of the convex hull by an even number of constrained edges. */
+	private void removeOutside () {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final boolean[] constrained = this.constrained;
+		final int triangleCount = trianglesLen / 3;
+		if (depths.length < triangleCount) depths = new int[triangleCount];
+		final int[] depths = this.depths;
+		Arrays.fill(depths, 0, triangleCount, -1);
+
+		// flood fill from the hull, crossing a constrained edge increments the depth
+		IntArray queue = this.queue, nextQueue = this.nextQueue;
+		queue.clear();
+		nextQueue.clear();
+		for (int e = 0; e < trianglesLen; e++) {
+			if (halfedges[e] != -1) continue;
+			if (constrained[e])
+				nextQueue.add(e / 3);
+			else if (depths[e / 3] == -1) {
+				depths[e / 3] = 0;
+				queue.add(e / 3);
+			}
+		}
+		for (int depth = 0; queue.size > 0 || nextQueue.size > 0; depth++) {
+			for (int i = 0; i < queue.size; i++) {
+				final int t = queue.get(i);
+				for (int e = t * 3; e < t * 3 + 3; e++) {
+					final int opposite = halfedges[e];
+					if (opposite == -1 || depths[opposite / 3] != -1) continue;
+					if (constrained[e])
+						nextQueue.add(opposite / 3);
+					else {
+						depths[opposite / 3] = depth;
+						queue.add(opposite / 3);
+					}
+				}
+			}
+			final IntArray swap = queue;
+			queue = nextQueue;
+			nextQueue = swap;
+			nextQueue.clear();
+			for (int i = queue.size - 1; i >= 0; i--) {
+				final int t = queue.get(i);
+				if (depths[t] != -1)
+					queue.removeIndex(i);
+				else
+					depths[t] = depth + 1;
+			}
+		}
+
+		// compact the kept triangles, reusing the depths as the new triangle indices
+		int kept = 0;
+		for (int t = 0; t < triangleCount; t++)
+			depths[t] = (depths[t] & 1) == 1 ? kept++ : -1;
+		for (int t = 0; t < triangleCount; t++) {
+			final int k = depths[t];
+			if (k == -1) continue;
+			for (int i = 0; i < 3; i++) {
+				final int opposite = halfedges[t * 3 + i];
+				triangles[k * 3 + i] = triangles[t * 3 + i];
+				halfedges[k * 3 + i] = opposite == -1 || depths[opposite / 3] == -1 ? -1 : depths[opposite / 3] * 3 + opposite % 3;
+			}
+		}
+		trianglesLen = kept * 3;
+	}
+
+	private void setConstrained (int e) {
+		constrained[e] = true;
+		final int opposite = halfedges.items[e];
+		if (opposite != -1) constrained[opposite] = true;
+	}
+
+	/** @return The edge from p to q, or -1. */
+	private int findEdge (int p, int q) {
+		final int[] triangles = this.triangles.items, halfedges = this.halfedges.items;
+		final int start = vertexEdges[p];
+		int e = start;
+		do {
+			if (triangles[next(e)] == q) return e;
+			e = halfedges[prev(e)];
+		} while (e != -1 && e != start);
+		if (e == -1) {
+			e = start;
+			while (true) {
+				final int t = halfedges[e];
+				if (t == -1) break;
+				e = next(t);
+				if (triangles[next(e)] == q) return e;
+			}
+		}
+		return -1;
+	}
+
+	static private int next (int e) {
+		return e % 3 == 2 ? e - 2 : e + 1;
+	}
+
+	static private int prev (int e) {
+		return e % 3 == 0 ? e + 2 : e - 1;
+	}
+
+	private double x (int i) {
+		return points[offset + 2 * i];
+	}
+
+	private double y (int i) {
+		return points[offset + 2 * i + 1];
+	}
+
+	/** @return Positive if c is left of the line from a to b, negative if it's right, 0 if it's on the line. */
+	private double orient (int a, int b, int c) {
+		return orient(x(a), y(a), x(b), y(b), x(c), y(c));
+	}
+
+	static private double orient (double ax, double ay, double bx, double by, double cx, double cy) {
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/** @return Whether the point c, which is on the line through a and b, is between a and b. */
+	private boolean isBetween (int a, int b, int c) {
+		final double dx = x(b) - x(a), dy = y(b) - y(a);
+		final double t = (x(c) - x(a)) * dx + (y(c) - y(a)) * dy;
+		return t > 0 && t < dx * dx + dy * dy;
+	}
+
+	/** @return Whether p is inside the circumcircle of the counterclockwise triangle a, b, c. */
+	private boolean inCircle (int a, int b, int c, int p) {
+		final double px = x(p), py = y(p);
+		final double dx = x(a) - px, dy = y(a) - py;
+		final double ex = x(b) - px, ey = y(b) - py;
+		final double fx = x(c) - px, fy = y(c) - py;
+		final double ap = dx * dx + dy * dy, bp = ex * ex + ey * ey, cp = fx * fx + fy * fy;
+		return dx * (ey * cp - bp * fy) - dy * (ex * cp - bp * fx) + ap * (ex * fy - ey * fx) > 0;
+	}
+
+	static private double dist (double ax, double ay, double bx, double by) {
+		final double dx = ax - bx, dy = ay - by;
+		return dx * dx + dy * dy;
+	}
+
+	static private double circumradius (double ax, double ay, double bx, double by, double cx, double cy) {
+		final double dx = bx - ax, dy = by - ay, ex = cx - ax, ey = cy - ay;
+		final double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey, d = 0.5 / (dx * ey - dy * ex);
+		final double x = (ey * bl - dy * cl) * d, y = (dx * cl - ex * bl) * d;
+		final double r = x * x + y * y;
+		return Double.isNaN(r) ? Double.POSITIVE_INFINITY : r;
+	}
+
+	private int hashKey (double x, double y) {
+		// monotonic with the angle from the center, without trigonometry
+		final double dx = x - centerX, dy = y - centerY;
+		final double p = dx / (Math.abs(dx) + Math.abs(dy));
+		final double angle = (dy > 0 ? 3 - p : 1 + p) / 4;
+		return (int)Math.floor(angle * hashSize) % hashSize;
+	}
+
+	/** Sorts the ids by their distance, recursing into the smaller part to bound the stack depth. */
+	static private void quicksort (int[] ids, double[] dists, int left, int right) {
+		while (right - left > 20) {
+			final int median = (left + right) >>> 1;
+			int i = left + 1, j = right;
+			swap(ids, median, i);
+			if (dists[ids[left]] > dists[ids[right]]) swap(ids, left, right);
+			if (dists[ids[i]] > dists[ids[right]]) swap(ids, i, right);
+			if (dists[ids[left]] > dists[ids[i]]) swap(ids, left, i);
+			final int temp = ids[i];
+			final double tempDist = dists[temp];
+			while (true) {
+				do
+					i++;
+				while (dists[ids[i]] < tempDist);
+				do
+					j--;
+				while (dists[ids[j]] > tempDist);
+				if (j < i) break;
+				swap(ids, i, j);
+			}
+			ids[left + 1] = ids[j];
+			ids[j] = temp;
+			if (right - i + 1 >= j - left) {
+				quicksort(ids, dists, left, j - 1);
+				left = i;
+			} else {
+				quicksort(ids, dists, i, right);
+				right = j - 1;
+			}
+		}
+		for (int i = left + 1; i <= right; i++) {
+			final int temp = ids[i];
+			final double tempDist = dists[temp];
+			int j = i - 1;
+			while (j >= left && dists[ids[j]] > tempDist)
+				ids[j + 1] = ids[j--];
+			ids[j + 1] = temp;
+		}
+	}
+
+	static private void swap (int[] array, int i, int j) {
+		final int temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.math.collision;
+
+/** Finds the overlapping pairs among many axis aligned boxes, and the boxes overlapping a box or hit by a ray, without testing
+ * every box against every other box. Each box is called a proxy and is identified by the int returned from
+ * {@link #add(float[], int)}, which can be used as index into arrays of the user. Removed proxies are reused by later adds.
+ * <p>
+ * The bounds of a box are its minimum followed by its maximum, with {@link #dimensions} components each: {minX, minY, maxX, maxY}
+ * in 2D or {minX, minY, minZ, maxX, maxY, maxZ} in 3D. Boxes which only touch are considered overlapping.
+ * @see SweepAndPrune
+ * @see DynamicAabbTree */
+public abstract class Broadphase {
+	/** Receives the overlapping pairs of {@link Broadphase#findPairs(PairCallback)}. */
+	public interface PairCallback {
+		void pair (int proxyA, int proxyB);
+	}
+
+	/** Receives the proxies of {@link Broadphase#query(float[], int, QueryCallback)}. */
+	public interface QueryCallback {
+		/** @return false to stop the query. */
+		boolean found (int proxy);
+	}
+
+	/** Receives the proxies hit by the ray of {@link Broadphase#raycast(float[], float[], float, RayCallback)}, in no particular
+	 * order. */
+	public interface RayCallback {
+		/** @param distance Distance from the ray origin to where the ray enters the box, in multiples of the ray direction. 0 if the
+		 *           origin is inside the box.
+		 * @return The new maximum distance of the ray: the distance to only receive closer proxies, the previous maximum distance
+		 *         to receive all proxies or 0 to stop. */
+		float hit (int proxy, float distance);
+	}
+
+	/** The number of components of the positions, 2 or 3. */
+	public final int dimensions;
+	private final float[] rayOrigin = new float[3], rayDirection = new float[3];
+
+	/** @param dimensions 2 or 3. */
+	protected Broadphase (int dimensions) {
+		if (dimensions != 2 && dimensions != 3) throw new IllegalArgumentException("dimensions must be 2 or 3: " + dimensions);
+		this.dimensions = dimensions;
+	}
+
+	/** Adds a box.
+	 * @return The proxy of the box. */
+	public abstract int add (float[] bounds, int offset);
+
+	/** Changes the bounds of the box of the proxy, e.g. after it moved. */
+	public abstract void update (int proxy, float[] bounds, int offset);
+
+	/** Removes the box of the proxy, the proxy may be returned by a later call to {@link #add(float[], int)}. */
+	public abstract void remove (int proxy);
+
+	/** Removes all boxes. */
+	public abstract void clear ();
+
+	/** @return The number of boxes. */
+	public abstract int size ();
+
+	/** Copies the bounds of the box of the proxy to out at offset.
+	 * @return out */
+	public abstract float[] getBounds (int proxy, float[] out, int offset);
+
+	/** Calls the callback once for each pair of overlapping boxes. */
+	public abstract void findPairs (PairCallback callback);
+
+	/** Calls the callback for each box overlapping the given bounds, until it returns false. */
+	public abstract void query (float[] bounds, int offset, QueryCallback callback);
+
+	/** Calls the callback for each box hit by the ray, until it returns 0.
+	 * @param origin The origin with {@link #dimensions} components.
+	 * @param direction The direction with {@link #dimensions} components, doesn't have to be normalized.
+	 * @param maxDistance The length of the ray in multiples of the direction. */
+	public abstract void raycast (float[] origin, float[] direction, float maxDistance, RayCallback callback);
+
+	/** Calls the callback for each box hit by the 2D ray, see {@link #raycast(float[], float[], float, RayCallback)}. */
+	public void raycast (float originX, float originY, float directionX, float directionY, float maxDistance,
+		RayCallback callback) {
+		raycast(originX, originY, 0, directionX, directionY, 0, maxDistance, callback);
+	}
+
+	/** Calls the callback for each box hit by the 3D ray, see {@link #raycast(float[], float[], float, RayCallback)}. The z
+	 * components are ignored in 2D. */
+	public void raycast (float originX, float originY, float originZ, float directionX, float directionY, float directionZ,
+		float maxDistance, RayCallback callback) {
+		final float[] origin = rayOrigin, direction = rayDirection;
+		origin[0] = originX;
+		origin[1] = originY;
+		origin[2] = originZ;
+		direction[0] = directionX;
+		direction[1] = directionY;
+		direction[2] = directionZ;
+		raycast(origin, direction, maxDistance, callback);
+	}
+
+	/** Calls the callback for each box hit by the ray, see {@link #raycast(float[], float[], float, RayCallback)}. */
+	public void raycast (Ray ray, float maxDistance, RayCallback callback) {
+		raycast(ray.origin.x, ray.origin.y, ray.origin.z, ray.direction.x, ray.direction.y, ray.direction.z, maxDistance,
+			callback);
+	}
+
+	static boolean overlaps (float[] a, int offsetA, float[] b, int offsetB, int dimensions) {
+		for (int i = 0; i < dimensions; i++)
+			if (a[offsetA + i] > b[offsetB + dimensions + i] || b[offsetB + i] > a[offsetA + dimensions + i]) return false;
+		return true;
+	}
+
+	static boolean contains (float[] a, int offsetA, float[] b, int offsetB, int dimensions) {
+		for (int i = 0; i < dimensions; i++)
+			if (a[offsetA + i] > b[offsetB + i] || b[offsetB + dimensions + i] > a[offsetA + dimensions + i]) return false;
+		return true;
+	}
+
+	/** @return The distance at which the ray enters the box, or -1 if it misses the box within the maximum distance. */
+	static float intersectRay (float[] bounds, int offset, int dimensions, float[] origin, float[] direction, float maxDistance) {
+		float near = 0, far = maxDistance;
+		for (int i = 0; i < dimensions; i++) {
+			final float o = origin[i], d = direction[i], min = bounds[offset + i], max = bounds[offset + dimensions + i];
+			if (d == 0) {
+				if (o < min || o > max) return -1;
+				continue;
+			}
+			float t1 = (min - o) / d, t2 = (max - o) / d;
+			if (t1 > t2) {
+				final float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return -1;
+		}
+		return near;
+	}
+}
@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.math.collision;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A {@link Broadphase} which keeps the boxes in a balanced bounding volume hierarchy, so that queries, raycasts and
+ * {@link #findPairs(PairCallback)} only visit the branches overlapping the query, in O(log n) per box for spread out boxes.
+ * Each box is stored enlarged by a {@link #margin}, so small movements don't change the tree. Adapted from the dynamic tree of
+ * Box2D.
+ * <p>
+ * Works well for mixed static and moving boxes and for many queries. The nodes are stored in primitive arrays, the proxies are
+ * the indices of the leaf nodes. */
+public class DynamicAabbTree extends Broadphase {
+	/** How much the boxes are enlarged in each direction to avoid updating the tree when they move a little. */
+	public final float margin;
+	private final int stride;
+	/** The enlarged bounds of the nodes. */
+	private float[] nodeBounds;
+	/** The actual bounds of the leaf nodes. */
+	private float[] proxyBounds;
+	private int[] parent, child1, child2, height;
+	private int root = -1, freeList = -1, size;
+	private final IntArray stack = new IntArray();
+	private final float[] tmpBounds;
+
+	/** Creates a tree without margin. */
+	public DynamicAabbTree (int dimensions) {
+		this(dimensions, 0, 16);
+	}
+
+	/** @param margin See {@link #margin}.
+	 * @param capacity The initial number of boxes which can be added without growing the arrays. */
+	public DynamicAabbTree (int dimensions, float margin, int capacity) {
+		super(dimensions);
+		if (margin < 0) throw new IllegalArgumentException("margin must be >= 0: " + margin);
+		this.margin = margin;
+		stride = dimensions * 2;
+		tmpBounds = new float[stride];
+		final int nodeCapacity = Math.max(capacity, 1) * 2;
+		nodeBounds = new float[0];
+		proxyBounds = new float[0];
+		parent = child1 = child2 = height = new int[0];
+		resize(nodeCapacity);
+	}
+
+	private void resize (int newCapacity) {
+		final int oldCapacity = parent.length;
+		nodeBounds = copyOf(nodeBounds, newCapacity * stride);
+		proxyBounds = copyOf(proxyBounds, newCapacity * stride);
+		parent = copyOf(parent, newCapacity);
+		child1 = copyOf(child1, newCapacity);
+		child2 = copyOf(child2, newCapacity);
+		height = copyOf(height, newCapacity);
+		// chain the new nodes in the free list
+		for (int i = oldCapacity; i < newCapacity - 1; i++) {
+			parent[i] = i + 1;
+			height[i] = -1;
+		}
+		parent[newCapacity - 1] = freeList;
+		height[newCapacity - 1] = -1;
+		freeList = oldCapacity;
+	}
+
+	static private float[] copyOf (float[] array, int length) {
+		final float[] result = new float[length];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	static private int[] copyOf (int[] array, int length) {
+		final int[] result = new int[length];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private int allocateNode () {
+		if (freeList == -1) resize(parent.length * 2);
+		final int node = freeList;
+		freeList = parent[node];
+		parent[node] = -1;
+		child1[node] = -1;
+		child2[node] = -1;
+		height[node] = 0;
+		return node;
+	}
+
+	private void freeNode (int node) {
+		parent[node] = freeList;
+		height[node] = -1;
+		freeList = node;
+	}
+
+	@Override
+	public int add (float[] bounds, int offset) {
+		final int proxy = allocateNode();
+		setBounds(proxy, bounds, offset);
+		insertLeaf(proxy);
+		size++;
+		return proxy;
+	}
+
+	@Override
+	public void update (int proxy, float[] bounds, int offset) {
+		checkProxy(proxy);
+		System.arraycopy(bounds, offset, proxyBounds, proxy * stride, stride);
+		if (contains(nodeBounds, proxy * stride, bounds, offset, dimensions)) return;
+		removeLeaf(proxy);
+		setBounds(proxy, bounds, offset);
+		insertLeaf(proxy);
+	}
+
+	@Override
+	public void remove (int proxy) {
+		checkProxy(proxy);
+		removeLeaf(proxy);
+		freeNode(proxy);
+		size--;
+	}
+
+	@Override
+	public void clear () {
+		final int capacity = parent.length;
+		for (int i = 0; i < capacity - 1; i++) {
+			parent[i] = i + 1;
+			height[i] = -1;
+		}
+		parent[capacity - 1] = -1;
+		height[capacity - 1] = -1;
+		freeList = 0;
+		root = -1;
+		size = 0;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public float[] getBounds (int proxy, float[] out, int offset) {
+		checkProxy(proxy);
+		System.arraycopy(proxyBounds, proxy * stride, out, offset, stride);
+		return out;
+	}
+
+	/** @return The height of the tree, 0 if it has at most one box. */
+	public int getHeight () {
+		return root == -1 ? 0 : height[root];
+	}
+
+	private void checkProxy (int proxy) {
+		if (proxy < 0 || proxy >= height.length || height[proxy] != 0 || child1[proxy] != -1)
+			throw new GdxRuntimeException("Proxy not added: " + proxy);
+	}
+
+	private void setBounds (int proxy, float[] bounds, int offset) {
+		final int dimensions = this.dimensions, o = proxy * stride;
+		System.arraycopy(bounds, offset, proxyBounds, o, stride);
+		for (int i = 0; i < dimensions; i++) {
+			nodeBounds[o + i] = bounds[offset + i] - margin;
+			nodeBounds[o + dimensions + i] = bounds[offset + dimensions + i] + margin;
+		}
+	}
+
+	@Override
+	public void findPairs (PairCallback callback) {
+		if (root == -1) return;
+		final float[] nodeBounds = this.nodeBounds, proxyBounds = this.proxyBounds;
+		final int[] child1 = this.child1, child2 = this.child2, height = this.height;
+		final int dimensions = this.dimensions, stride = this.stride;
+		final IntArray stack = this.stack;
+		for (int proxy = 0, n = height.length; proxy < n; proxy++) {
+			if (height[proxy] != 0 || child1[proxy] != -1) continue;
+			final int offset = proxy * stride;
+			stack.clear();
+			stack.add(root);
+			while (stack.size > 0) {
+				final int node = stack.pop();
+				if (!overlaps(nodeBounds, node * stride, proxyBounds, offset, dimensions)) continue;
+				if (child1[node] == -1) {
+					if (node > proxy && overlaps(proxyBounds, node * stride, proxyBounds, offset, dimensions)) callback.pair(proxy, node);
+				} else
+					stack.add(child1[node], child2[node]);
+			}
+		}
+	}
+
+	@Override
+	public void query (float[] bounds, int offset, QueryCallback callback) {
+		if (root == -1) return;
+		final IntArray stack = this.stack;
+		stack.clear();
+		stack.add(root);
+		while (stack.size > 0) {
+			final int node = stack.pop();
+			if (!overlaps(nodeBounds, node * stride, bounds, offset, dimensions)) continue;
+			if (child1[node] == -1) {
+				if (overlaps(proxyBounds, node * stride, bounds, offset, dimensions) && !callback.found(node)) return;
+			} else
+				stack.add(child1[node], child2[node]);
+		}
+	}
+
+	@Override
+	public void raycast (float[] origin, float[] direction, float maxDistance, RayCallback callback) {
+		if (root == -1) return;
+		final IntArray stack = this.stack;
+		stack.clear();
+		stack.add(root);
+		while (stack.size > 0) {
+			final int node = stack.pop();
+			if (intersectRay(nodeBounds, node * stride, dimensions, origin, direction, maxDistance) < 0) continue;
+			if (child1[node] == -1) {
+				final float distance = intersectRay(proxyBounds, node * stride, dimensions, origin, direction, maxDistance);
+				if (distance < 0) continue;
+				maxDistance = callback.hit(node, distance);
+				if (maxDistance <= 0) return;
+			} else
+				stack.add(child1[node], child2[node]);
+		}
+	}
+
+	private void insertLeaf (int leaf) {
+		if (root == -1) {
+			root = leaf;
+			parent[root] = -1;
+			return;
+		}
+		// allocate first, it may grow the arrays
+		final int newParent = allocateNode();
+
+		// find the best sibling by the cost of the enlarged ancestors
+		final int[] child1 = this.child1, child2 = this.child2, parent = this.parent, height = this.height;
+		int index = root;
+		while (child1[index] != -1) {
+			final int c1 = child1[index], c2 = child2[index];
+			final float area = cost(index, -1);
+			final float combinedArea = cost(index, leaf);
+			// cost of creating a new parent for this node and the new leaf
+			final float cost = 2 * combinedArea;
+			// minimum cost of pushing the leaf further down the tree
+			final float inheritanceCost = 2 * (combinedArea - area);
+			float cost1 = cost(c1, leaf) + inheritanceCost;
+			if (child1[c1] != -1) cost1 -= cost(c1, -1);
+			float cost2 = cost(c2, leaf) + inheritanceCost;
+			if (child1[c2] != -1) cost2 -= cost(c2, -1);
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? c1 : c2;
+		}
+		final int sibling = index;
+
+		// create a new parent
+		final int oldParent = parent[sibling];
+		parent[newParent] = oldParent;
+		setUnion(newParent, leaf, sibling);
+		height[newParent] = height[sibling] + 1;
+		if (oldParent != -1) {
+			if (child1[oldParent] == sibling)
+				child1[oldParent] = newParent;
+			else
+				child2[oldParent] = newParent;
+		} else
+			root = newParent;
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		refit(parent[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = -1;
+			return;
+		}
+		final int[] parent = this.parent;
+		final int p = parent[leaf], grandParent = parent[p];
+		final int sibling = child1[p] == leaf ? child2[p] : child1[p];
+		freeNode(p);
+		if (grandParent != -1) {
+			if (child1[grandParent] == p)
+				child1[grandParent] = sibling;
+			else
+				child2[grandParent] = sibling;
+			parent[sibling] = grandParent;
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parent[sibling] = -1;
+		}
+	}
+
+	/** Rebalances and updates the bounds and heights from the node up to the root. */
+	private void refit (int index) {
+		final int[] height = this.height;
+		while (index != -1) {
+			index = balance(index);
+			final int c1 = child1[index], c2 = child2[index];
+			height[index] = 1 + Math.max(height[c1], height[c2]);
+			setUnion(index, c1, c2);
+			index = parent[index];
+		}
+	}
+
+	/** Rotates the child of node a up if the heights of its children differ by more than 1.
+	 * @return The node in the place of a. */
+	private int balance (int a) {
+		final int[] child1 = this.child1, child2 = this.child2, parent = this.parent, height = this.height;
+		if (child1[a] == -1 || height[a] < 2) return a;
+		final int b = child1[a], c = child2[a];
+		final int difference = height[c] - height[b];
+		if (difference > 1) {
+			// rotate c up
+			final int f = child1[c], g = child2[c];
+			child1[c] = a;
+			parent[c] = parent[a];
+			parent[a] = c;
+			replaceChild(parent[c], a, c);
+			if (height[f] > height[g]) {
+				child2[c] = f;
+				child2[a] = g;
+				parent[g] = a;
+				setUnion(a, b, g);
+				setUnion(c, a, f);
+				height[a] = 1 + Math.max(height[b], height[g]);
+				height[c] = 1 + Math.max(height[a], height[f]);
+			} else {
+				child2[c] = g;
+				child2[a] = f;
+				parent[f] = a;
+				setUnion(a, b, f);
+				setUnion(c, a, g);
+				height[a] = 1 + Math.max(height[b], height[f]);
+				height[c] = 1 + Math.max(height[a], height[g]);
+			}
+			return c;
+		}
+		if (difference < -1) {
+			// rotate b up
+			final int d = child1[b], e = child2[b];
+			child1[b] = a;
+			parent[b] = parent[a];
+			parent[a] = b;
+			replaceChild(parent[b], a, b);
+			if (height[d] > height[e]) {
+				child2[b] = d;
+				child1[a] = e;
+				parent[e] = a;
+				setUnion(a, c, e);
+				setUnion(b, a, d);
+				height[a] = 1 + Math.max(height[c], height[e]);
+				height[b] = 1 + Math.max(height[a], height[d]);
+			} else {
+				child2[b] = e;
+				child1[a] = d;
+				parent[d] = a;
+				setUnion(a, c, d);
+				setUnion(b, a, e);
+				height[a] = 1 + Math.max(height[c], height[d]);
+				height[b] = 1 + Math.max(height[a], height[e]);
+			}
+			return b;
+		}
+		return a;
+	}
+
+	private void replaceChild (int node, int oldChild, int newChild) {
+		if (node == -1)
+			root = newChild;
+		else if (child1[node] == oldChild)
+			child1[node] = newChild;
+		else
+			child2[node] = newChild;
+	}
+
+	private void setUnion (int node, int a, int b) {
+		final float[] nodeBounds = this.nodeBounds;
+		final int dimensions = this.dimensions, o = node * stride, oa = a * stride, ob = b * stride;
+		for (int i = 0; i < dimensions; i++) {
+			nodeBounds[o + i] = Math.min(nodeBounds[oa + i], nodeBounds[ob + i]);
+			nodeBounds[o + dimensions + i] = Math.max(nodeBounds[oa + dimensions + i], nodeBounds[ob + dimensions + i]);
+		}
+	}
+
+	/** @return The perimeter in 2D or the surface area in 3D of the bounds of node a, combined with node b if it isn't -1. */
+	private float cost (int a, int b) {
+		final float[] nodeBounds = this.nodeBounds, size = tmpBounds;
+		final int dimensions = this.dimensions, oa = a * stride, ob = b * stride;
+		for (int i = 0; i < dimensions; i++) {
+			float min = nodeBounds[oa + i], max = nodeBounds[oa + dimensions + i];
+			if (b != -1) {
+				min = Math.min(min, nodeBounds[ob + i]);
+				max = Math.max(max, nodeBounds[ob + dimensions + i]);
+			}
+			size[i] = max - min;
+		}
+		if (dimensions == 2) return 2 * (size[0] + size[1]);
+		return 2 * (size[0] * size[1] + size[1] * size[2] + size[2] * size[0]);
+	}
+}
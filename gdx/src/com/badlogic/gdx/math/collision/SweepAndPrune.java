@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.math.collision;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A {@link Broadphase} which keeps the boxes sorted by their minimum on the axis along which they are spread the most, so that
+ * {@link #findPairs(PairCallback)} only has to test the boxes whose intervals on that axis overlap. The order is kept between
+ * calls, so when the boxes move a little per frame it is restored in close to linear time.
+ * <p>
+ * Works best for many boxes that move a lot and are spread out along one axis. Queries and raycasts are linear in the number of
+ * boxes, for those a {@link DynamicAabbTree} is better suited. */
+public class SweepAndPrune extends Broadphase {
+	private final int stride;
+	private float[] bounds;
+	private boolean[] used;
+	private int[] order;
+	private int size, proxyCount, axis, added;
+	private final IntArray freeProxies = new IntArray();
+	private boolean fullSort;
+
+	public SweepAndPrune (int dimensions) {
+		this(dimensions, 16);
+	}
+
+	/** @param capacity The initial number of boxes which can be added without growing the arrays. */
+	public SweepAndPrune (int dimensions, int capacity) {
+		super(dimensions);
+		stride = dimensions * 2;
+		capacity = Math.max(capacity, 1);
+		bounds = new float[capacity * stride];
+		used = new boolean[capacity];
+		order = new int[capacity];
+	}
+
+	@Override
+	public int add (float[] bounds, int offset) {
+		final int proxy;
+		if (freeProxies.size > 0)
+			proxy = freeProxies.pop();
+		else {
+			if (proxyCount == used.length) resize(proxyCount * 2);
+			proxy = proxyCount++;
+		}
+		System.arraycopy(bounds, offset, this.bounds, proxy * stride, stride);
+		used[proxy] = true;
+		order[size++] = proxy;
+		added++;
+		return proxy;
+	}
+
+	@Override
+	public void update (int proxy, float[] bounds, int offset) {
+		if (!used[proxy]) throw new GdxRuntimeException("Proxy not added: " + proxy);
+		System.arraycopy(bounds, offset, this.bounds, proxy * stride, stride);
+	}
+
+	@Override
+	public void remove (int proxy) {
+		if (!used[proxy]) throw new GdxRuntimeException("Proxy not added: " + proxy);
+		used[proxy] = false;
+		freeProxies.add(proxy);
+		final int[] order = this.order;
+		for (int i = 0; i < size; i++) {
+			if (order[i] == proxy) {
+				System.arraycopy(order, i + 1, order, i, --size - i);
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void clear () {
+		Arrays.fill(used, 0, proxyCount, false);
+		size = 0;
+		proxyCount = 0;
+		added = 0;
+		freeProxies.clear();
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public float[] getBounds (int proxy, float[] out, int offset) {
+		if (!used[proxy]) throw new GdxRuntimeException("Proxy not added: " + proxy);
+		System.arraycopy(bounds, proxy * stride, out, offset, stride);
+		return out;
+	}
+
+	private void resize (int newCapacity) {
+		final float[] newBounds = new float[newCapacity * stride];
+		System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+		bounds = newBounds;
+		final boolean[] newUsed = new boolean[newCapacity];
+		System.arraycopy(used, 0, newUsed, 0, used.length);
+		used = newUsed;
+		final int[] newOrder = new int[newCapacity];
+		System.arraycopy(order, 0, newOrder, 0, order.length);
+		order = newOrder;
+	}
+
+	@Override
+	public void findPairs (PairCallback callback) {
+		chooseAxis();
+		sort();
+		final float[] bounds = this.bounds;
+		final int[] order = this.order;
+		final int dimensions = this.dimensions, stride = this.stride, axis = this.axis;
+		for (int i = 0, n = size; i < n; i++) {
+			final int a = order[i], offsetA = a * stride;
+			final float max = bounds[offsetA + dimensions + axis];
+			for (int j = i + 1; j < n; j++) {
+				final int b = order[j], offsetB = b * stride;
+				if (bounds[offsetB + axis] > max) break;
+				if (overlaps(bounds, offsetA, bounds, offsetB, dimensions)) callback.pair(a, b);
+			}
+		}
+	}
+
+	@Override
+	public void query (float[] bounds, int offset, QueryCallback callback) {
+		sort();
+		final float max = bounds[offset + dimensions + axis];
+		final float[] proxyBounds = this.bounds;
+		for (int i = 0, n = size; i < n; i++) {
+			final int proxy = order[i];
+			if (proxyBounds[proxy * stride + axis] > max) break;
+			if (overlaps(proxyBounds, proxy * stride, bounds, offset, dimensions) && !callback.found(proxy)) return;
+		}
+	}
+
+	@Override
+	public void raycast (float[] origin, float[] direction, float maxDistance, RayCallback callback) {
+		for (int i = 0, n = size; i < n; i++) {
+			final int proxy = order[i];
+			final float distance = intersectRay(bounds, proxy * stride, dimensions, origin, direction, maxDistance);
+			if (distance < 0) continue;
+			maxDistance = callback.hit(proxy, distance);
+			if (maxDistance <= 0) return;
+		}
+	}
+
+	/** Uses the axis with the largest variance of the box centers as sweep axis. */
+	private void chooseAxis () {
+		final int n = size;
+		if (n < 2) return;
+		final float[] bounds = this.bounds;
+		final int[] order = this.order;
+		int bestAxis = axis;
+		float bestVariance = 0, currentVariance = 0;
+		for (int d = 0; d < dimensions; d++) {
+			float sum = 0, sum2 = 0;
+			for (int i = 0; i < n; i++) {
+				final int offset = order[i] * stride + d;
+				final float center = (bounds[offset] + bounds[offset + dimensions]) * 0.5f;
+				sum += center;
+				sum2 += center * center;
+			}
+			final float variance = sum2 - sum * sum / n;
+			if (d == axis) currentVariance = variance;
+			if (variance > bestVariance) {
+				bestVariance = variance;
+				bestAxis = d;
+			}
+		}
+		// only switch when it's worth sorting everything again
+		if (bestAxis != axis && bestVariance > currentVariance * 1.5f) {
+			axis = bestAxis;
+			fullSort = true;
+		}
+	}
+
+	/** Sorts the proxies by the minimum on the sweep axis, using insertion sort for the mostly sorted order of the last call unless
+	 * many boxes were added since. */
+	private void sort () {
+		final float[] bounds = this.bounds;
+		final int[] order = this.order;
+		final int stride = this.stride, axis = this.axis;
+		final boolean fullSort = this.fullSort || added > 16 && added * 8 > size;
+		this.fullSort = false;
+		added = 0;
+		if (fullSort) {
+			quicksort(order, bounds, stride, axis, 0, size - 1);
+			return;
+		}
+		for (int i = 1, n = size; i < n; i++) {
+			final int proxy = order[i];
+			final float min = bounds[proxy * stride + axis];
+			int j = i - 1;
+			while (j >= 0 && bounds[order[j] * stride + axis] > min)
+				order[j + 1] = order[j--];
+			order[j + 1] = proxy;
+		}
+	}
+
+	static private void quicksort (int[] order, float[] bounds, int stride, int axis, int left, int right) {
+		while (right - left > 16) {
+			final float pivot = bounds[order[(left + right) >>> 1] * stride + axis];
+			int i = left, j = right;
+			while (i <= j) {
+				while (bounds[order[i] * stride + axis] < pivot)
+					i++;
+				while (bounds[order[j] * stride + axis] > pivot)
+					j--;
+				if (i <= j) {
+					final int temp = order[i];
+					order[i++] = order[j];
+					order[j--] = temp;
+				}
+			}
+			// recurse into the smaller part
+			if (j - left < right - i) {
+				quicksort(order, bounds, stride, axis, left, j);
+				left = i;
+			} else {
+				quicksort(order, bounds, stride, axis, i, right);
+				right = j;
+			}
+		}
+		for (int i = left + 1; i <= right; i++) {
+			final int proxy = order[i];
+			final float min = bounds[proxy * stride + axis];
+			int j = i - 1;
+			while (j >= left && bounds[order[j] * stride + axis] > min)
+				order[j + 1] = order[j--];
+			order[j + 1] = proxy;
+		}
+	}
+}
@@ -92,6 +92,8 @@ public class Actor {
 		Array<Action> actions = this.actions;
 		if (actions.size == 0) return;
 		if (stage != null && stage.getActionsRequestRendering()) Gdx.graphics.requestRendering();
+		// Actions may change the actor without going through its setters, e.g. the color
+		drawChanged();
 		try {
 			for (int i = 0; i < actions.size; i++) {
 				Action action = actions.get(i);
@@ -354,6 +356,23 @@ public class Actor {
 		return parent != null;
 	}
 
+	/** Updates the {@link Group#setSpatialIndex(float) spatial index} of the parent and invalidates the cached groups containing
+	 * this actor after the bounds of this actor changed. */
+	private void updateSpatialIndex () {
+		Group parent = this.parent;
+		if (parent == null) return;
+		if (parent.spatialIndex != null) parent.spatialIndex.update(this);
+		drawChanged();
+	}
+
+	/** Invalidates the {@link CachedGroup cached groups} containing this actor. Called when the actor changes in a way which affects
+	 * how it is drawn, like its bounds, color or visibility. Subclasses call this when their appearance changes otherwise, e.g.
+	 * when the image of a widget changes without changing its size. */
+	protected void drawChanged () {
+		for (Group parent = this.parent; parent != null; parent = parent.parent)
+			if (parent instanceof CachedGroup) ((CachedGroup)parent).invalidateCache();
+	}
+
 	/** Returns the parent actor, or null if not in a group. */
 	public Group getParent () {
 		return parent;
@@ -385,7 +404,9 @@ public class Actor {
 
 	/** If false, the actor will not be drawn and will not receive touch events. Default is true. */
 	public void setVisible (boolean visible) {
+		if (this.visible == visible) return;
 		this.visible = visible;
+		drawChanged();
 	}
 
 	/** Returns true if this actor and all ancestors are visible. */
@@ -459,6 +480,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -474,6 +496,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -486,6 +509,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -501,6 +525,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -520,6 +545,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -540,6 +566,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -549,6 +576,7 @@ public class Actor {
 			this.x += x;
 			this.y += y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -560,6 +588,7 @@ public class Actor {
 		if (this.width != width) {
 			this.width = width;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -571,6 +600,7 @@ public class Actor {
 		if (this.height != height) {
 			this.height = height;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -602,6 +632,7 @@ public class Actor {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -611,6 +642,7 @@ public class Actor {
 			width += size;
 			height += size;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -620,6 +652,7 @@ public class Actor {
 			this.width += width;
 			this.height += height;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -629,11 +662,13 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			updateSpatialIndex();
 		}
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -643,6 +678,7 @@ public class Actor {
 
 	public void setOriginX (float originX) {
 		this.originX = originX;
+		updateSpatialIndex();
 	}
 
 	public float getOriginY () {
@@ -651,12 +687,14 @@ public class Actor {
 
 	public void setOriginY (float originY) {
 		this.originY = originY;
+		updateSpatialIndex();
 	}
 
 	/** Sets the origin position which is relative to the actor's bottom left corner. */
 	public void setOrigin (float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
+		updateSpatialIndex();
 	}
 
 	/** Sets the origin position to the specified {@link Align alignment}. */
@@ -674,6 +712,7 @@ public class Actor {
 			originY = height;
 		else
 			originY = height / 2;
+		updateSpatialIndex();
 	}
 
 	public float getScaleX () {
@@ -682,6 +721,7 @@ public class Actor {
 
 	public void setScaleX (float scaleX) {
 		this.scaleX = scaleX;
+		updateSpatialIndex();
 	}
 
 	public float getScaleY () {
@@ -690,30 +730,35 @@ public class Actor {
 
 	public void setScaleY (float scaleY) {
 		this.scaleY = scaleY;
+		updateSpatialIndex();
 	}
 
 	/** Sets the scale for both X and Y */
 	public void setScale (float scaleXY) {
 		this.scaleX = scaleXY;
 		this.scaleY = scaleXY;
+		updateSpatialIndex();
 	}
 
 	/** Sets the scale X and scale Y. */
 	public void setScale (float scaleX, float scaleY) {
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
+		updateSpatialIndex();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scale) {
 		scaleX += scale;
 		scaleY += scale;
+		updateSpatialIndex();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scaleX, float scaleY) {
 		this.scaleX += scaleX;
 		this.scaleY += scaleY;
+		updateSpatialIndex();
 	}
 
 	public float getRotation () {
@@ -724,6 +769,7 @@ public class Actor {
 		if (this.rotation != degrees) {
 			this.rotation = degrees;
 			rotationChanged();
+			updateSpatialIndex();
 		}
 	}
 
@@ -732,18 +778,22 @@ public class Actor {
 		if (amountInDegrees != 0) {
 			rotation = (rotation + amountInDegrees) % 360;
 			rotationChanged();
+			updateSpatialIndex();
 		}
 	}
 
 	public void setColor (Color color) {
 		this.color.set(color);
+		drawChanged();
 	}
 
 	public void setColor (float r, float g, float b, float a) {
 		color.set(r, g, b, a);
+		drawChanged();
 	}
 
-	/** Returns the color the actor will be tinted when drawn. The returned instance can be modified to change the color. */
+	/** Returns the color the actor will be tinted when drawn. The returned instance can be modified to change the color, which
+	 * requires calling {@link #setColor(Color)} or {@link CachedGroup#invalidateCache()} when the actor is in a cached group. */
 	public Color getColor () {
 		return color;
 	}
@@ -785,6 +835,7 @@ public class Actor {
 		if (children.get(index) == this) return false;
 		if (!children.removeValue(this, true)) return false;
 		children.insert(index, this);
+		parent.childrenOrderChanged();
 		return true;
 	}
 
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/** A group which renders its children into a {@link FrameBuffer} and then draws the frame buffer with a single draw call for as
+ * long as the children don't change. This makes mostly static parts of the UI, like inventories and menus, nearly free to draw.
+ * <p>
+ * The cache is invalidated when actors in the group are added, removed or reordered, when their bounds, color or visibility is set,
+ * when a {@link Layout} widget in the group is invalidated, while any actor in the group has actions and when the size of the group
+ * changes (see {@link Actor#drawChanged()}). Other changes, like modifying the instance returned by {@link Actor#getColor()},
+ * require calling {@link #invalidateCache()}. The group's own color and position can change without invalidating the cache, like
+ * a {@link Group} only the alpha of the group's color is applied to the children.
+ * <p>
+ * Children are only drawn inside the bounds of the group. Children which clip, like a ScrollPane, are not supported as clipping
+ * is done in screen coordinates. Cached groups inside a cached group draw their children directly while the outer group is
+ * recorded. The frame buffer must be released with {@link #dispose()}. */
+public class CachedGroup extends Group implements Disposable {
+	/** Whether a cached group is currently recording its children. */
+	static private boolean recording;
+
+	private FrameBuffer frameBuffer;
+	private final TextureRegion region = new TextureRegion();
+	private final Matrix4 projection = new Matrix4();
+	private final Matrix4 oldProjection = new Matrix4();
+	private final Matrix4 oldTransform = new Matrix4();
+	private final Matrix4 identity = new Matrix4();
+	private float resolution;
+	private float regionWidth, regionHeight;
+	private boolean cacheInvalid = true;
+	private boolean cacheEnabled = true;
+	/** The number of times the children were rendered into the frame buffer, for profiling. */
+	public int cacheUpdates;
+
+	public CachedGroup () {
+	}
+
+	/** Marks the cache as invalid, so the children are rendered into the frame buffer the next time the group is drawn. */
+	public void invalidateCache () {
+		cacheInvalid = true;
+	}
+
+	public boolean isCacheInvalid () {
+		return cacheInvalid;
+	}
+
+	/** When false the children are drawn directly like a regular {@link Group}. Default is true. */
+	public void setCacheEnabled (boolean cacheEnabled) {
+		this.cacheEnabled = cacheEnabled;
+		cacheInvalid = true;
+	}
+
+	public boolean isCacheEnabled () {
+		return cacheEnabled;
+	}
+
+	/** Sets the number of frame buffer pixels per unit of the group. The default of 0 uses the ratio between the screen and world
+	 * size of the viewport of the stage, so the cached children look the same as when drawn directly while the group isn't
+	 * scaled. */
+	public void setResolution (float resolution) {
+		if (resolution < 0) throw new IllegalArgumentException("resolution cannot be < 0.");
+		this.resolution = resolution;
+		cacheInvalid = true;
+	}
+
+	public float getResolution () {
+		return resolution;
+	}
+
+	protected void childrenChanged () {
+		super.childrenChanged();
+		cacheInvalid = true;
+	}
+
+	public void childrenOrderChanged () {
+		super.childrenOrderChanged();
+		cacheInvalid = true;
+	}
+
+	protected void sizeChanged () {
+		cacheInvalid = true;
+	}
+
+	public void draw (Batch batch, float parentAlpha) {
+		if (!cacheEnabled || recording || getWidth() <= 0 || getHeight() <= 0) {
+			super.draw(batch, parentAlpha);
+			return;
+		}
+		if (cacheInvalid) updateCache(batch);
+
+		if (transform) applyTransform(batch, computeTransform());
+		// The frame buffer contains premultiplied alpha.
+		float oldColor = batch.getPackedColor();
+		int srcFunc = batch.getBlendSrcFunc(), dstFunc = batch.getBlendDstFunc();
+		int srcFuncAlpha = batch.getBlendSrcFuncAlpha(), dstFuncAlpha = batch.getBlendDstFuncAlpha();
+		float a = getColor().a * parentAlpha;
+		batch.setColor(a, a, a, a);
+		batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		batch.draw(region, transform ? 0 : getX(), transform ? 0 : getY(), regionWidth, regionHeight);
+		batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+		batch.setPackedColor(oldColor);
+		if (transform) resetTransform(batch);
+	}
+
+	/** Renders the children into the frame buffer, in the coordinate system of this group. */
+	private void updateCache (Batch batch) {
+		cacheInvalid = false;
+		cacheUpdates++;
+
+		float resolution = this.resolution;
+		Stage stage = getStage();
+		Viewport viewport = stage != null ? stage.getViewport() : null;
+		if (resolution == 0) resolution = viewport != null ? viewport.getScreenWidth() / viewport.getWorldWidth() : 1;
+		int width = Math.max(1, MathUtils.ceil(getWidth() * resolution));
+		int height = Math.max(1, MathUtils.ceil(getHeight() * resolution));
+		if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+			if (frameBuffer != null) frameBuffer.dispose();
+			frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+			frameBuffer.getColorBufferTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+			region.setRegion(frameBuffer.getColorBufferTexture());
+			region.flip(false, true);
+		}
+		regionWidth = width / resolution;
+		regionHeight = height / resolution;
+
+		batch.flush();
+		oldProjection.set(batch.getProjectionMatrix());
+		oldTransform.set(batch.getTransformMatrix());
+		int srcFunc = batch.getBlendSrcFunc(), dstFunc = batch.getBlendDstFunc();
+		int srcFuncAlpha = batch.getBlendSrcFuncAlpha(), dstFuncAlpha = batch.getBlendDstFuncAlpha();
+
+		frameBuffer.begin();
+		Gdx.gl.glClearColor(0, 0, 0, 0);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.setProjectionMatrix(projection.setToOrtho2D(0, 0, regionWidth, regionHeight));
+		batch.setTransformMatrix(identity);
+		// Accumulate the alpha correctly, which results in premultiplied colors.
+		batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+		// Draw the children in the coordinate system of this group, the transforms of nested groups are relative to this group.
+		boolean oldTransformEnabled = transform;
+		float oldAlpha = color.a;
+		transform = true;
+		worldTransform.idt();
+		color.a = 1;
+		recording = true;
+		try {
+			drawChildren(batch, 1);
+			batch.flush();
+		} finally {
+			recording = false;
+			color.a = oldAlpha;
+			transform = oldTransformEnabled;
+			if (viewport != null)
+				frameBuffer.end(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
+			else
+				frameBuffer.end();
+			batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+			batch.setProjectionMatrix(oldProjection);
+			batch.setTransformMatrix(oldTransform);
+		}
+	}
+
+	public void dispose () {
+		if (frameBuffer != null) frameBuffer.dispose();
+		frameBuffer = null;
+		cacheInvalid = true;
+	}
+}
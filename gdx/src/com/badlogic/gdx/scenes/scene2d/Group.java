@@ -36,11 +36,12 @@ public class Group extends Actor implements Cullable {
 	static private final Vector2 tmp = new Vector2();
 
 	final SnapshotArray<Actor> children = new SnapshotArray(true, 4, Actor.class);
-	private final Affine2 worldTransform = new Affine2();
+	final Affine2 worldTransform = new Affine2();
 	private final Matrix4 computedTransform = new Matrix4();
 	private final Matrix4 oldTransform = new Matrix4();
 	boolean transform = true;
 	private Rectangle cullingArea;
+	SpatialIndex spatialIndex;
 
 	public void act (float delta) {
 		super.act(delta);
@@ -61,12 +62,21 @@ public class Group extends Actor implements Cullable {
 	/** Draws all children. {@link #applyTransform(Batch, Matrix4)} should be called before and {@link #resetTransform(Batch)}
 	 * after this method if {@link #setTransform(boolean) transform} is true. If {@link #setTransform(boolean) transform} is false
 	 * these methods don't need to be called, children positions are temporarily offset by the group position when drawn. This
-	 * method avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set. */
+	 * method avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set, using the
+	 * {@link #setSpatialIndex(float) spatial index} if enabled. */
 	protected void drawChildren (Batch batch, float parentAlpha) {
 		parentAlpha *= this.color.a;
 		SnapshotArray<Actor> children = this.children;
 		Actor[] actors = children.begin();
+		int n = children.size;
 		Rectangle cullingArea = this.cullingArea;
+		if (cullingArea != null && spatialIndex != null) {
+			// The index already culled the children, draw them as if there was no culling area.
+			Array<Actor> visible = spatialIndex.cull(cullingArea);
+			actors = visible.items;
+			n = visible.size;
+			cullingArea = null;
+		}
 		if (cullingArea != null) {
 			// Draw children only if inside culling area.
 			float cullLeft = cullingArea.x;
@@ -74,7 +84,7 @@ public class Group extends Actor implements Cullable {
 			float cullBottom = cullingArea.y;
 			float cullTop = cullBottom + cullingArea.height;
 			if (transform) {
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
@@ -86,7 +96,7 @@ public class Group extends Actor implements Cullable {
 				float offsetX = x, offsetY = y;
 				x = 0;
 				y = 0;
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
@@ -104,7 +114,7 @@ public class Group extends Actor implements Cullable {
 		} else {
 			// No culling, draw all children.
 			if (transform) {
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					child.draw(batch, parentAlpha);
@@ -114,7 +124,7 @@ public class Group extends Actor implements Cullable {
 				float offsetX = x, offsetY = y;
 				x = 0;
 				y = 0;
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
@@ -237,9 +247,46 @@ public class Group extends Actor implements Cullable {
 		return cullingArea;
 	}
 
+	/** Enables a uniform grid of the children which is used by {@link #hit(float, float, boolean)} and to cull the children
+	 * against the {@link #setCullingArea(Rectangle) culling area}, so only the children near the point or area have to be tested.
+	 * This is useful for groups with many children, e.g. the tiles of a map editor. The grid is updated whenever a child is added,
+	 * removed or changes its bounds. The z-order is preserved.
+	 * <p>
+	 * With the index a child is only hit and drawn when its bounds, rotated and scaled, contain the point or overlap the culling
+	 * area. Child groups which have no size are always tested, other children can't be hit outside their bounds, so child groups
+	 * must be sized to contain their children.
+	 * @param cellSize The size of the cells in the coordinate system of this group, 0 to disable the index. About the size of
+	 *           the typical child works well. */
+	public void setSpatialIndex (float cellSize) {
+		if (cellSize < 0) throw new IllegalArgumentException("cellSize cannot be < 0.");
+		if (cellSize == 0)
+			spatialIndex = null;
+		else if (spatialIndex == null || spatialIndex.cellSize != cellSize) //
+			spatialIndex = new SpatialIndex(this, cellSize);
+	}
+
+	/** @return The size of the cells of the spatial index, 0 if disabled.
+	 * @see #setSpatialIndex(float) */
+	public float getSpatialIndexCellSize () {
+		return spatialIndex == null ? 0 : spatialIndex.cellSize;
+	}
+
+	/** Must be called after modifying the order of the {@link #getChildren() children} directly when the
+	 * {@link #setSpatialIndex(float) spatial index} is enabled. This is done automatically by the methods of this group and
+	 * {@link Actor#setZIndex(int)}. */
+	public void childrenOrderChanged () {
+		if (spatialIndex != null) spatialIndex.orderChanged();
+		drawChanged();
+	}
+
 	public Actor hit (float x, float y, boolean touchable) {
 		if (touchable && getTouchable() == Touchable.disabled) return null;
 		if (!isVisible()) return null;
+		if (spatialIndex != null) {
+			Actor hit = spatialIndex.hit(x, y, touchable);
+			if (hit != null) return hit;
+			return super.hit(x, y, touchable);
+		}
 		Vector2 point = tmp;
 		Actor[] childrenArray = children.items;
 		for (int i = children.size - 1; i >= 0; i--) {
@@ -253,6 +300,7 @@ public class Group extends Actor implements Cullable {
 
 	/** Called when actors are added to or removed from the group. */
 	protected void childrenChanged () {
+		drawChanged();
 	}
 
 	/** Adds an actor as a child of this group, removing it from its previous parent. If the actor is already a child of this
@@ -265,6 +313,7 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
 		childrenChanged();
 	}
 
@@ -282,6 +331,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
 		childrenChanged();
 	}
 
@@ -296,6 +346,7 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
 		childrenChanged();
 	}
 
@@ -313,6 +364,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
 		childrenChanged();
 	}
 
@@ -334,6 +386,7 @@ public class Group extends Actor implements Cullable {
 		}
 		actor.setParent(null);
 		actor.setStage(null);
+		if (spatialIndex != null) spatialIndex.remove(actor);
 		childrenChanged();
 		return true;
 	}
@@ -348,6 +401,7 @@ public class Group extends Actor implements Cullable {
 		}
 		children.end();
 		children.clear();
+		if (spatialIndex != null) spatialIndex.clear();
 		childrenChanged();
 	}
 
@@ -386,6 +440,7 @@ public class Group extends Actor implements Cullable {
 		if (first < 0 || first >= maxIndex) return false;
 		if (second < 0 || second >= maxIndex) return false;
 		children.swap(first, second);
+		childrenOrderChanged();
 		return true;
 	}
 
@@ -395,6 +450,7 @@ public class Group extends Actor implements Cullable {
 		int secondIndex = children.indexOf(second, true);
 		if (firstIndex == -1 || secondIndex == -1) return false;
 		children.swap(firstIndex, secondIndex);
+		childrenOrderChanged();
 		return true;
 	}
 
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** A uniform grid of the children of a {@link Group} in the coordinate system of the group, used to find the children at a point
+ * or in an area without iterating all of them. The children are kept in the cells overlapped by their axis aligned bounds, which
+ * are updated by {@link Actor} whenever the position, size, rotation, scale or origin of a child changes.
+ * @see Group#setSpatialIndex(float) */
+final class SpatialIndex {
+	/** Children overlapping more cells are tested for every query instead. */
+	static private final int maxCells = 256;
+	static private final Comparator<Entry> backToFront = new Comparator<Entry>() {
+		public int compare (Entry o1, Entry o2) {
+			return o1.order - o2.order;
+		}
+	};
+	static private final Comparator<Entry> frontToBack = new Comparator<Entry>() {
+		public int compare (Entry o1, Entry o2) {
+			return o2.order - o1.order;
+		}
+	};
+
+	static private class Entry {
+		final Actor actor;
+		/** The index of the actor in the children of the group. */
+		int order;
+		float left, bottom, right, top;
+		int cellLeft, cellBottom, cellRight, cellTop;
+		/** Whether the entry isn't in any cell and is tested for every query. */
+		boolean unbounded;
+		int stamp;
+
+		Entry (Actor actor) {
+			this.actor = actor;
+		}
+	}
+
+	final float cellSize;
+	private final Group group;
+	private final ObjectMap<Actor, Entry> entries = new ObjectMap<Actor, Entry>();
+	private final LongMap<Array<Entry>> cells = new LongMap<Array<Entry>>();
+	private final Array<Entry> unbounded = new Array<Entry>(false, 16);
+	private final Array<Entry> candidates = new Array<Entry>(false, 16);
+	private final Array<Actor> visible = new Array<Actor>(true, 16, Actor.class);
+	private final Vector2 tmp = new Vector2();
+	private boolean orderChanged;
+	private int stamp;
+
+	SpatialIndex (Group group, float cellSize) {
+		this.group = group;
+		this.cellSize = cellSize;
+		Actor[] actors = group.children.items;
+		for (int i = 0, n = group.children.size; i < n; i++)
+			add(actors[i]);
+	}
+
+	void add (Actor actor) {
+		Entry entry = new Entry(actor);
+		entries.put(actor, entry);
+		computeBounds(entry);
+		insert(entry);
+		orderChanged = true;
+	}
+
+	void remove (Actor actor) {
+		Entry entry = entries.remove(actor);
+		if (entry != null) erase(entry, entry.unbounded, entry.cellLeft, entry.cellBottom, entry.cellRight, entry.cellTop);
+		orderChanged = true;
+	}
+
+	void clear () {
+		entries.clear();
+		cells.clear();
+		unbounded.clear();
+	}
+
+	/** Called when the order of the children changed without children being added or removed. */
+	void orderChanged () {
+		orderChanged = true;
+	}
+
+	/** Called when the bounds of a child may have changed. */
+	void update (Actor actor) {
+		Entry entry = entries.get(actor);
+		if (entry == null) return;
+		int cellLeft = entry.cellLeft, cellBottom = entry.cellBottom, cellRight = entry.cellRight, cellTop = entry.cellTop;
+		boolean wasUnbounded = entry.unbounded;
+		computeBounds(entry);
+		if (wasUnbounded == entry.unbounded && cellLeft == entry.cellLeft && cellBottom == entry.cellBottom
+			&& cellRight == entry.cellRight && cellTop == entry.cellTop) return;
+		erase(entry, wasUnbounded, cellLeft, cellBottom, cellRight, cellTop);
+		insert(entry);
+	}
+
+	/** Returns the topmost child hit at the point in the coordinate system of the group, like {@link Group#hit(float, float, boolean)}
+	 * but only testing the children whose bounds contain the point. */
+	Actor hit (float x, float y, boolean touchable) {
+		updateOrder();
+		Array<Entry> candidates = this.candidates;
+		Array<Entry> cell = cells.get(key(cell(x), cell(y)));
+		if (cell != null) {
+			for (int i = 0, n = cell.size; i < n; i++) {
+				Entry entry = cell.get(i);
+				if (x >= entry.left && x <= entry.right && y >= entry.bottom && y <= entry.top) candidates.add(entry);
+			}
+		}
+		candidates.addAll(unbounded);
+		if (candidates.size > 1) candidates.sort(frontToBack);
+		Vector2 point = tmp;
+		Actor hit = null;
+		for (int i = 0, n = candidates.size; i < n; i++) {
+			Actor child = candidates.get(i).actor;
+			child.parentToLocalCoordinates(point.set(x, y));
+			hit = child.hit(point.x, point.y, touchable);
+			if (hit != null) break;
+		}
+		candidates.clear();
+		return hit;
+	}
+
+	/** Returns the children whose bounds overlap the area in the coordinate system of the group, ordered like the children of the
+	 * group. The returned array is reused by the next call. */
+	Array<Actor> cull (Rectangle area) {
+		updateOrder();
+		float left = area.x, bottom = area.y, right = left + area.width, top = bottom + area.height;
+		Array<Entry> candidates = this.candidates;
+		int cellLeft = cell(left), cellBottom = cell(bottom), cellRight = cell(right), cellTop = cell(top);
+		if ((long)(cellRight - cellLeft + 1) * (cellTop - cellBottom + 1) > entries.size) {
+			// The area covers more cells than there are children.
+			for (Entry entry : entries.values())
+				if (entry.unbounded || overlaps(entry, left, bottom, right, top)) candidates.add(entry);
+		} else {
+			int stamp = ++this.stamp;
+			for (int cy = cellBottom; cy <= cellTop; cy++) {
+				for (int cx = cellLeft; cx <= cellRight; cx++) {
+					Array<Entry> cell = cells.get(key(cx, cy));
+					if (cell == null) continue;
+					for (int i = 0, n = cell.size; i < n; i++) {
+						Entry entry = cell.get(i);
+						if (entry.stamp == stamp) continue;
+						entry.stamp = stamp;
+						if (overlaps(entry, left, bottom, right, top)) candidates.add(entry);
+					}
+				}
+			}
+			candidates.addAll(unbounded);
+		}
+		if (candidates.size > 1) candidates.sort(backToFront);
+		Array<Actor> visible = this.visible;
+		visible.clear();
+		for (int i = 0, n = candidates.size; i < n; i++)
+			visible.add(candidates.get(i).actor);
+		candidates.clear();
+		return visible;
+	}
+
+	static private boolean overlaps (Entry entry, float left, float bottom, float right, float top) {
+		return entry.left <= right && entry.bottom <= top && entry.right >= left && entry.top >= bottom;
+	}
+
+	private void updateOrder () {
+		if (!orderChanged) return;
+		orderChanged = false;
+		Actor[] actors = group.children.items;
+		for (int i = 0, n = group.children.size; i < n; i++) {
+			Entry entry = entries.get(actors[i]);
+			if (entry != null) entry.order = i;
+		}
+	}
+
+	/** Computes the axis aligned bounds of the actor in the coordinate system of the group and the cells they overlap. */
+	private void computeBounds (Entry entry) {
+		Actor actor = entry.actor;
+		float left, bottom, right, top;
+		if (actor.rotation == 0 && actor.scaleX == 1 && actor.scaleY == 1) {
+			left = Math.min(actor.x, actor.x + actor.width);
+			right = Math.max(actor.x, actor.x + actor.width);
+			bottom = Math.min(actor.y, actor.y + actor.height);
+			top = Math.max(actor.y, actor.y + actor.height);
+		} else {
+			Vector2 corner = actor.localToParentCoordinates(tmp.set(0, 0));
+			left = right = corner.x;
+			bottom = top = corner.y;
+			for (int i = 1; i < 4; i++) {
+				actor.localToParentCoordinates(tmp.set((i & 1) == 0 ? 0 : actor.width, (i & 2) == 0 ? 0 : actor.height));
+				left = Math.min(left, tmp.x);
+				right = Math.max(right, tmp.x);
+				bottom = Math.min(bottom, tmp.y);
+				top = Math.max(top, tmp.y);
+			}
+		}
+		entry.left = left;
+		entry.bottom = bottom;
+		entry.right = right;
+		entry.top = top;
+		entry.cellLeft = cell(left);
+		entry.cellBottom = cell(bottom);
+		entry.cellRight = cell(right);
+		entry.cellTop = cell(top);
+		// Groups without a size may have children anywhere.
+		entry.unbounded = (actor instanceof Group && (actor.width == 0 || actor.height == 0))
+			|| (long)(entry.cellRight - entry.cellLeft + 1) * (entry.cellTop - entry.cellBottom + 1) > maxCells;
+	}
+
+	private void insert (Entry entry) {
+		if (entry.unbounded) {
+			unbounded.add(entry);
+			return;
+		}
+		for (int cy = entry.cellBottom; cy <= entry.cellTop; cy++) {
+			for (int cx = entry.cellLeft; cx <= entry.cellRight; cx++) {
+				long key = key(cx, cy);
+				Array<Entry> cell = cells.get(key);
+				if (cell == null) cells.put(key, cell = new Array<Entry>(false, 8));
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void erase (Entry entry, boolean wasUnbounded, int cellLeft, int cellBottom, int cellRight, int cellTop) {
+		if (wasUnbounded) {
+			unbounded.removeValue(entry, true);
+			return;
+		}
+		for (int cy = cellBottom; cy <= cellTop; cy++) {
+			for (int cx = cellLeft; cx <= cellRight; cx++) {
+				long key = key(cx, cy);
+				Array<Entry> cell = cells.get(key);
+				if (cell == null) continue;
+				cell.removeValue(entry, true);
+				if (cell.size == 0) cells.remove(key);
+			}
+		}
+	}
+
+	private int cell (float value) {
+		return (int)Math.floor(value / cellSize);
+	}
+
+	static private long key (int cellX, int cellY) {
+		return (cellX & 0xFFFFFFFFL) | (long)cellY << 32;
+	}
+}
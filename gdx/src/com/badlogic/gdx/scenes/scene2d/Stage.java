@@ -33,10 +33,12 @@ import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.InputEvent.Type;
+import com.badlogic.gdx.scenes.scene2d.actions.TweenScheduler;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.Table.Debug;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener.FocusEvent;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
 import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -80,12 +82,22 @@ public class Stage extends InputAdapter implements Disposable {
 	private Actor keyboardFocus, scrollFocus;
 	final SnapshotArray<TouchFocus> touchFocuses = new SnapshotArray(true, 4, TouchFocus.class);
 	private boolean actionsRequestRendering = true;
+	private final TweenScheduler tweens = new TweenScheduler(this);
 
 	private ShapeRenderer debugShapes;
 	private boolean debugInvisible, debugAll, debugUnderMouse, debugParentUnderMouse;
 	private Debug debugTableUnderMouse = Debug.none;
 	private final Color debugColor = new Color(0, 1, 0, 0.85f);
 
+	private Array<Actor> invalidatedLayouts = new Array<Actor>(false, 16, Actor.class);
+	private Array<Actor> validatingLayouts = new Array<Actor>(false, 16, Actor.class);
+	private final Array<Actor> tempLayouts = new Array<Actor>(true, 16, Actor.class);
+	/** The number of times a widget of this stage was laid out, for profiling. This is never reset by the stage. */
+	public int layoutCount;
+	/** The number of times a widget of this stage was queued for layout because it was invalidated or added while invalid, for
+	 * profiling. This is never reset by the stage. */
+	public int invalidationCount;
+
 	/** Creates a stage with a {@link ScalingViewport} set to {@link Scaling#stretch}. The stage will use its own {@link Batch}
 	 * which will be disposed when the stage is disposed. */
 	public Stage () {
@@ -122,6 +134,8 @@ public class Stage extends InputAdapter implements Disposable {
 
 		if (!root.isVisible()) return;
 
+		validate();
+
 		Batch batch = this.batch;
 		batch.setProjectionMatrix(camera.combined);
 		batch.begin();
@@ -131,6 +145,50 @@ public class Stage extends InputAdapter implements Disposable {
 		if (debug) drawDebug();
 	}
 
+	/** Returns the scheduler of the tweens of this stage, which is updated by {@link #act(float)}. Tweens are a cheaper
+	 * alternative to actions when transitioning the properties of many actors. */
+	public TweenScheduler getTweens () {
+		return tweens;
+	}
+
+	/** Lays out the widgets which were invalidated since the last call, so all changes made during a frame cause a single layout
+	 * before drawing instead of layouts while drawing. Each invalidated widget is validated after its ancestors, so widgets are
+	 * laid out with their final size. Only visible widgets are laid out, others are laid out when they are drawn. Widgets
+	 * invalidated while laying out are laid out on the next call or when drawn. Called by {@link #draw()}. */
+	public void validate () {
+		Array<Actor> validating = invalidatedLayouts;
+		if (validating.size == 0) return;
+		invalidatedLayouts = validatingLayouts;
+		validatingLayouts = validating;
+
+		Array<Actor> ancestors = tempLayouts;
+		Actor[] actors = validating.items;
+		outer:
+		for (int i = 0, n = validating.size; i < n; i++) {
+			Actor actor = actors[i];
+			if (actor.getStage() != this) continue;
+			for (Actor current = actor; current != null; current = current.parent) {
+				if (!current.isVisible()) {
+					ancestors.clear();
+					continue outer;
+				}
+				if (current instanceof Layout) ancestors.add(current);
+			}
+			for (int ii = ancestors.size - 1; ii >= 0; ii--)
+				((Layout)ancestors.get(ii)).validate();
+			ancestors.clear();
+		}
+		validating.clear();
+	}
+
+	/** Called by widgets of this stage when their layout is invalidated, so they are laid out by {@link #validate()}. This also
+	 * invalidates the {@link CachedGroup cached groups} containing the widget. */
+	public void layoutInvalidated (Layout layout) {
+		invalidationCount++;
+		invalidatedLayouts.add((Actor)layout);
+		((Actor)layout).drawChanged();
+	}
+
 	private void drawDebug () {
 		if (debugShapes == null) {
 			debugShapes = new ShapeRenderer();
@@ -220,6 +278,11 @@ public class Stage extends InputAdapter implements Disposable {
 			mouseOverActor = fireEnterAndExit(mouseOverActor, mouseScreenX, mouseScreenY, -1);
 
 		root.act(delta);
+
+		if (tweens.size() > 0) {
+			tweens.update(delta);
+			if (actionsRequestRendering) Gdx.graphics.requestRendering();
+		}
 	}
 
 	private Actor fireEnterAndExit (Actor overLast, int screenX, int screenY, int pointer) {
@@ -583,6 +646,8 @@ public class Stage extends InputAdapter implements Disposable {
 	public void clear () {
 		unfocusAll();
 		root.clear();
+		tweens.clear();
+		invalidatedLayouts.clear();
 	}
 
 	/** Removes the touch, keyboard, and scroll focused actors. */
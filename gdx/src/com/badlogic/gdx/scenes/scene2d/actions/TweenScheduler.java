@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d.actions;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Action;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/** Transitions a property of many actors over time without creating {@link Action actions}. The state of all tweens is stored in
+ * primitive arrays which are updated in a single loop by {@link #update(float)}, so thousands of concurrent tweens don't cause
+ * garbage or per actor action processing. Each {@link Stage} has a scheduler which is updated by {@link Stage#act(float)}, see
+ * {@link Stage#getTweens()}.
+ * <p>
+ * A tween starts after its delay, taking the current value of the property as start value, and is removed when it completes. It
+ * is identified by the handle returned when it is added, handles are never reused. Like {@link TemporalAction}, a tween with a
+ * duration of 0 completes on its first update.
+ * <p>
+ * The tweens of a stage's scheduler are cancelled by the next update after their actor was removed from the stage, so removed
+ * actors aren't kept alive and their completions don't run. Moving an actor to another group of the stage keeps its tweens. */
+public class TweenScheduler {
+	static public final int X = 0, Y = 1, WIDTH = 2, HEIGHT = 3, ROTATION = 4, SCALE_X = 5, SCALE_Y = 6, RED = 7, GREEN = 8,
+		BLUE = 9, ALPHA = 10;
+
+	static private final int BEGAN = 1, RELATIVE = 2, CANCELLED = 4;
+
+	private Actor[] targets = new Actor[16];
+	private int[] properties = new int[16];
+	private int[] handles = new int[16];
+	private int[] flags = new int[16];
+	private float[] starts = new float[16];
+	private float[] ends = new float[16];
+	private float[] delays = new float[16];
+	private float[] durations = new float[16];
+	private float[] times = new float[16];
+	private Interpolation[] interpolations = new Interpolation[16];
+	private Runnable[] completions = new Runnable[16];
+	private int size;
+	private int nextHandle = 1;
+	/** While updating, cancelled tweens are only flagged, so the indices of the loop stay valid. */
+	private boolean updating;
+	private int cancelled;
+	/** Maps the handles to their index in the arrays. */
+	private final IntIntMap indices = new IntIntMap();
+	private final Array<Runnable> completed = new Array<Runnable>(false, 16, Runnable.class);
+	private final Stage stage;
+
+	/** Creates a scheduler whose tweens run until they complete or are cancelled, regardless of the stage of their actors. */
+	public TweenScheduler () {
+		this(null);
+	}
+
+	/** @param stage May be null. If not null, the tweens of actors which aren't in the stage are cancelled. */
+	public TweenScheduler (Stage stage) {
+		this.stage = stage;
+	}
+
+	/** Transitions the property to the value.
+	 * @param property One of the property constants, like {@link #X} or {@link #ALPHA}.
+	 * @return The handle of the tween. */
+	public int to (Actor target, int property, float value, float duration) {
+		return add(target, property, value, duration, 0, null, null, false);
+	}
+
+	/** Transitions the property to the value after the delay.
+	 * @param interpolation May be null for linear interpolation.
+	 * @param completion May be null, run after the tween completed.
+	 * @return The handle of the tween. */
+	public int to (Actor target, int property, float value, float duration, float delay, Interpolation interpolation,
+		Runnable completion) {
+		return add(target, property, value, duration, delay, interpolation, completion, false);
+	}
+
+	/** Transitions the property by the amount, relative to its value when the tween starts.
+	 * @return The handle of the tween. */
+	public int by (Actor target, int property, float amount, float duration) {
+		return add(target, property, amount, duration, 0, null, null, true);
+	}
+
+	/** Transitions the property by the amount after the delay, relative to its value when the tween starts.
+	 * @param interpolation May be null for linear interpolation.
+	 * @param completion May be null, run after the tween completed.
+	 * @return The handle of the tween. */
+	public int by (Actor target, int property, float amount, float duration, float delay, Interpolation interpolation,
+		Runnable completion) {
+		return add(target, property, amount, duration, delay, interpolation, completion, true);
+	}
+
+	private int add (Actor target, int property, float value, float duration, float delay, Interpolation interpolation,
+		Runnable completion, boolean relative) {
+		if (target == null) throw new IllegalArgumentException("target cannot be null.");
+		if (property < X || property > ALPHA) throw new IllegalArgumentException("Invalid property: " + property);
+		if (size == targets.length) resize(Math.max(8, (int)(size * 1.75f)));
+		int index = size++;
+		int handle = nextHandle++;
+		targets[index] = target;
+		properties[index] = property;
+		handles[index] = handle;
+		flags[index] = relative ? RELATIVE : 0;
+		ends[index] = value;
+		delays[index] = delay;
+		durations[index] = duration;
+		times[index] = 0;
+		interpolations[index] = interpolation;
+		completions[index] = completion;
+		indices.put(handle, index);
+		return handle;
+	}
+
+	/** Advances all tweens by the delta time, applies their values and runs the completions of the tweens which completed. */
+	public void update (float delta) {
+		// The arrays aren't kept in locals, as setting a property may add or cancel tweens.
+		updating = true;
+		for (int i = 0; i < size;) {
+			if ((flags[i] & CANCELLED) != 0) {
+				i++;
+				continue;
+			}
+			Actor target = targets[i];
+			if (stage != null && target.getStage() != stage) {
+				removeIndex(i);
+				continue;
+			}
+			float time = times[i] += delta;
+			float delay = delays[i];
+			if (time < delay) {
+				i++;
+				continue;
+			}
+			int property = properties[i];
+			if ((flags[i] & BEGAN) == 0) {
+				flags[i] |= BEGAN;
+				starts[i] = get(target, property);
+				if ((flags[i] & RELATIVE) != 0) ends[i] += starts[i];
+			}
+			float duration = durations[i], elapsed = time - delay;
+			boolean complete = elapsed >= duration;
+			float percent = complete ? 1 : elapsed / duration;
+			Interpolation interpolation = interpolations[i];
+			if (interpolation != null) percent = interpolation.apply(percent);
+			set(target, property, starts[i] + (ends[i] - starts[i]) * percent);
+			if ((flags[i] & CANCELLED) != 0)
+				i++;
+			else if (complete) {
+				Runnable completion = completions[i];
+				if (completion != null) completed.add(completion);
+				removeIndex(i);
+			} else
+				i++;
+		}
+		updating = false;
+		if (cancelled > 0) {
+			for (int i = size - 1; i >= 0; i--)
+				if ((flags[i] & CANCELLED) != 0) removeIndex(i);
+			cancelled = 0;
+		}
+		// Run the completions after the loop, as they may add or cancel tweens.
+		if (completed.size > 0) {
+			Runnable[] runnables = completed.items;
+			for (int i = 0, n = completed.size; i < n; i++) {
+				Runnable runnable = runnables[i];
+				runnables[i] = null;
+				runnable.run();
+			}
+			completed.size = 0;
+		}
+	}
+
+	/** Removes the tween without completing it.
+	 * @return False if the tween already completed or was cancelled. */
+	public boolean cancel (int handle) {
+		int index = indices.get(handle, -1);
+		if (index == -1) return false;
+		cancelIndex(index);
+		return true;
+	}
+
+	/** Removes all tweens of the actor without completing them.
+	 * @return The number of tweens removed. */
+	public int cancel (Actor target) {
+		int count = 0;
+		for (int i = size - 1; i >= 0; i--) {
+			if (targets[i] == target && (flags[i] & CANCELLED) == 0) {
+				cancelIndex(i);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/** @return True if the tween hasn't completed and wasn't cancelled. */
+	public boolean isActive (int handle) {
+		return indices.containsKey(handle);
+	}
+
+	/** @return The number of active tweens, including tweens waiting for their delay. */
+	public int size () {
+		return size - cancelled;
+	}
+
+	/** Removes all tweens without completing them. */
+	public void clear () {
+		for (int i = 0; i < size; i++) {
+			targets[i] = null;
+			interpolations[i] = null;
+			completions[i] = null;
+		}
+		size = 0;
+		cancelled = 0;
+		indices.clear();
+	}
+
+	private void cancelIndex (int index) {
+		if (updating) {
+			indices.remove(handles[index], -1);
+			flags[index] |= CANCELLED;
+			cancelled++;
+		} else
+			removeIndex(index);
+	}
+
+	/** Removes the tween at the index by moving the last tween into its place. */
+	private void removeIndex (int index) {
+		if ((flags[index] & CANCELLED) == 0) indices.remove(handles[index], -1);
+		int last = --size;
+		if (index != last) {
+			targets[index] = targets[last];
+			properties[index] = properties[last];
+			handles[index] = handles[last];
+			flags[index] = flags[last];
+			starts[index] = starts[last];
+			ends[index] = ends[last];
+			delays[index] = delays[last];
+			durations[index] = durations[last];
+			times[index] = times[last];
+			interpolations[index] = interpolations[last];
+			completions[index] = completions[last];
+			if ((flags[index] & CANCELLED) == 0) indices.put(handles[index], index);
+		}
+		targets[last] = null;
+		interpolations[last] = null;
+		completions[last] = null;
+	}
+
+	private void resize (int capacity) {
+		Actor[] targets = new Actor[capacity];
+		System.arraycopy(this.targets, 0, targets, 0, size);
+		this.targets = targets;
+		this.properties = resize(properties, capacity);
+		this.handles = resize(handles, capacity);
+		this.flags = resize(flags, capacity);
+		this.starts = resize(starts, capacity);
+		this.ends = resize(ends, capacity);
+		this.delays = resize(delays, capacity);
+		this.durations = resize(durations, capacity);
+		this.times = resize(times, capacity);
+		Interpolation[] interpolations = new Interpolation[capacity];
+		System.arraycopy(this.interpolations, 0, interpolations, 0, size);
+		this.interpolations = interpolations;
+		Runnable[] completions = new Runnable[capacity];
+		System.arraycopy(this.completions, 0, completions, 0, size);
+		this.completions = completions;
+	}
+
+	private int[] resize (int[] array, int capacity) {
+		int[] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, size);
+		return result;
+	}
+
+	private float[] resize (float[] array, int capacity) {
+		float[] result = new float[capacity];
+		System.arraycopy(array, 0, result, 0, size);
+		return result;
+	}
+
+	static private float get (Actor actor, int property) {
+		switch (property) {
+		case X:
+			return actor.getX();
+		case Y:
+			return actor.getY();
+		case WIDTH:
+			return actor.getWidth();
+		case HEIGHT:
+			return actor.getHeight();
+		case ROTATION:
+			return actor.getRotation();
+		case SCALE_X:
+			return actor.getScaleX();
+		case SCALE_Y:
+			return actor.getScaleY();
+		case RED:
+			return actor.getColor().r;
+		case GREEN:
+			return actor.getColor().g;
+		case BLUE:
+			return actor.getColor().b;
+		default:
+			return actor.getColor().a;
+		}
+	}
+
+	static private void set (Actor actor, int property, float value) {
+		switch (property) {
+		case X:
+			actor.setX(value);
+			break;
+		case Y:
+			actor.setY(value);
+			break;
+		case WIDTH:
+			actor.setWidth(value);
+			break;
+		case HEIGHT:
+			actor.setHeight(value);
+			break;
+		case ROTATION:
+			actor.setRotation(value);
+			break;
+		case SCALE_X:
+			actor.setScaleX(value);
+			break;
+		case SCALE_Y:
+			actor.setScaleY(value);
+			break;
+		case RED:
+			actor.getColor().r = value;
+			break;
+		case GREEN:
+			actor.getColor().g = value;
+			break;
+		case BLUE:
+			actor.getColor().b = value;
+			break;
+		default:
+			actor.getColor().a = value;
+		}
+	}
+}
@@ -148,6 +148,7 @@ public class Image extends Widget {
 		} else
 			invalidateHierarchy();
 		this.drawable = drawable;
+		drawChanged();
 	}
 
 	/** @return May be null. */
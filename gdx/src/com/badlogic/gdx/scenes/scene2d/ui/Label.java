@@ -43,7 +43,7 @@ public class Label extends Widget {
 	private int labelAlign = Align.left;
 	private int lineAlign = Align.left;
 	private boolean wrap;
-	private float lastPrefHeight;
+	private float lastPrefWidth, lastPrefHeight;
 	private boolean prefSizeInvalid = true;
 	private float fontScaleX = 1, fontScaleY = 1;
 	private boolean fontScaleChanged = false;
@@ -112,7 +112,8 @@ public class Label extends Widget {
 			text.append(newText);
 		}
 		intValue = Integer.MIN_VALUE;
-		invalidateHierarchy();
+		// The parents only have to be laid out again if the preferred size changed, which layout() checks.
+		invalidate();
 	}
 
 	public boolean textEquals (CharSequence other) {
@@ -163,12 +164,13 @@ public class Label extends Widget {
 		if (fontScaleChanged) font.getData().setScale(fontScaleX, fontScaleY);
 
 		boolean wrap = this.wrap && ellipsis == null;
-		if (wrap) {
-			float prefHeight = getPrefHeight();
-			if (prefHeight != lastPrefHeight) {
-				lastPrefHeight = prefHeight;
-				invalidateHierarchy();
-			}
+		float prefWidth = getPrefWidth(), prefHeight = getPrefHeight();
+		if (prefWidth != lastPrefWidth || prefHeight != lastPrefHeight) {
+			lastPrefWidth = prefWidth;
+			lastPrefHeight = prefHeight;
+			invalidateHierarchy();
+			// Unless wrapped, the preferred size doesn't depend on the size the parents will set, so it stays valid.
+			if (!wrap) prefSizeInvalid = false;
 		}
 
 		float width = getWidth(), height = getHeight();
@@ -223,7 +223,13 @@ public class List<T> extends Widget implements Cullable {
 		float textOffsetY = selectedDrawable.getTopHeight() - font.getDescent();
 
 		font.setColor(fontColorUnselected.r, fontColorUnselected.g, fontColorUnselected.b, fontColorUnselected.a * parentAlpha);
-		for (int i = 0; i < items.size; i++) {
+		int i = 0;
+		if (cullingArea != null && itemHeight > 0) {
+			// Skip the items above the culling area without iterating them.
+			i = Math.min(items.size, Math.max(0, (int)((itemY - cullingArea.y - cullingArea.height) / itemHeight) - 1));
+			itemY -= i * itemHeight;
+		}
+		for (; i < items.size; i++) {
 			if (cullingArea == null || (itemY - itemHeight <= cullingArea.y + cullingArea.height && itemY >= cullingArea.y)) {
 				T item = items.get(i);
 				boolean selected = selection.contains(item);
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+
+/** A list of items which only has actors for the rows which are visible, for lists with a very large number of items. It is meant
+ * to be used in a {@link ScrollPane}, which sets the {@link #setCullingArea(Rectangle) culling area} of the list to the visible
+ * area. Without a culling area, all rows are visible.
+ * <p>
+ * The rows are created and bound to items by a {@link RowAdapter}. Rows which are scrolled out of view are hidden and reused for
+ * the items which are scrolled into view, so the number of row actors is about the number of visible rows. The preferred height
+ * of the list is computed from the item count and the row heights, which are either fixed or provided for each item by
+ * {@link RowAdapter#getRowHeight(int, Object)}, e.g. an estimate. Rows are sized to the width of the list. A table with many rows
+ * can be virtualized by using a {@link Table} for each row with fixed column widths.
+ * <p>
+ * {@link #itemsChanged()} must be called after changing the {@link #getItems() items}.
+ * @see VirtualTree */
+public class VirtualList<T> extends WidgetGroup implements Cullable {
+	final Array<T> items = new Array<T>();
+	private final RowAdapter<T> adapter;
+	private float rowHeight;
+	/** The top of each row measured from the top of the list, with an extra element for the end of the last row. Not used and
+	 * not allocated while all rows have the fixed {@link #rowHeight}. */
+	private float[] offsets;
+	private boolean fixedHeights = true;
+	private float prefWidth, prefHeight;
+	private boolean offsetsInvalid = true;
+	private Rectangle cullingArea;
+
+	private final IntMap<Actor> rows = new IntMap<Actor>();
+	private final Array<Actor> freeRows = new Array<Actor>();
+	private int firstRow, lastRow = -1;
+	private boolean rowsInvalid = true;
+
+	/** @param rowHeight The height of the rows, unless {@link RowAdapter#getRowHeight(int, Object)} is overridden. */
+	public VirtualList (RowAdapter<T> adapter, float rowHeight) {
+		if (adapter == null) throw new IllegalArgumentException("adapter cannot be null.");
+		this.adapter = adapter;
+		this.rowHeight = rowHeight;
+		setTransform(false);
+	}
+
+	/** Sets the items, which are copied into {@link #getItems()}. */
+	public void setItems (Array<? extends T> newItems) {
+		if (newItems == null) throw new IllegalArgumentException("newItems cannot be null.");
+		items.clear();
+		items.addAll(newItems);
+		itemsChanged();
+	}
+
+	/** Returns the internal items array. If modified, {@link #itemsChanged()} must be called. */
+	public Array<T> getItems () {
+		return items;
+	}
+
+	/** Rebinds the visible rows and recomputes the row heights after the items changed. */
+	public void itemsChanged () {
+		offsetsInvalid = true;
+		unbindRows();
+		invalidateHierarchy();
+	}
+
+	/** Rebinds the visible rows, e.g. after an item changed without changing its height. */
+	public void rowsChanged () {
+		unbindRows();
+	}
+
+	public void setRowHeight (float rowHeight) {
+		this.rowHeight = rowHeight;
+		itemsChanged();
+	}
+
+	public float getRowHeight () {
+		return rowHeight;
+	}
+
+	/** Sets the preferred width of the list, the default is 0. */
+	public void setPrefWidth (float prefWidth) {
+		this.prefWidth = prefWidth;
+		invalidateHierarchy();
+	}
+
+	/** Returns the distance from the top of the list to the top of the row. */
+	public float getRowTop (int index) {
+		computeOffsets();
+		return fixedHeights ? index * rowHeight : offsets[index];
+	}
+
+	/** Returns the y coordinate of the bottom of the row in the coordinate system of the list, e.g. to scroll to the item using
+	 * {@link ScrollPane#scrollTo(float, float, float, float)}. */
+	public float getRowY (int index) {
+		return getHeight() - getRowTop(index + 1);
+	}
+
+	/** Returns the index of the row at the distance from the top of the list, or -1 if there is none. */
+	public int getRowAt (float top) {
+		if (top < 0 || top >= getPrefHeight()) return -1;
+		int index;
+		float[] offsets = this.offsets;
+		if (fixedHeights)
+			index = Math.min((int)(top / rowHeight), items.size - 1);
+		else {
+			int low = 0, high = items.size - 1;
+			while (low < high) {
+				int mid = (low + high + 1) >>> 1;
+				if (offsets[mid] <= top)
+					low = mid;
+				else
+					high = mid - 1;
+			}
+			index = low;
+		}
+		return index;
+	}
+
+	/** Returns the row actor of the item, or null if the row isn't visible. */
+	public Actor getRow (int index) {
+		return rows.get(index);
+	}
+
+	private void computeOffsets () {
+		if (!offsetsInvalid) return;
+		offsetsInvalid = false;
+		int n = items.size;
+		boolean fixed = true;
+		float[] offsets = this.offsets;
+		float top = 0;
+		for (int i = 0; i < n; i++) {
+			float height = adapter.getRowHeight(i, items.get(i));
+			if (height < 0) height = rowHeight;
+			if (fixed && height != rowHeight) {
+				// The offsets are only needed from the first row with another height on.
+				fixed = false;
+				if (offsets == null || offsets.length < n + 1) this.offsets = offsets = new float[n + 1];
+				for (int ii = 0; ii < i; ii++)
+					offsets[ii] = ii * rowHeight;
+				top = i * rowHeight;
+			}
+			if (!fixed) offsets[i] = top;
+			top += height;
+		}
+		if (fixed)
+			top = n * rowHeight;
+		else
+			offsets[n] = top;
+		fixedHeights = fixed;
+		prefHeight = top;
+	}
+
+	public float getPrefWidth () {
+		return prefWidth;
+	}
+
+	public float getPrefHeight () {
+		computeOffsets();
+		return prefHeight;
+	}
+
+	/** Rows being added don't change the size of the list. */
+	protected void childrenChanged () {
+	}
+
+	public void layout () {
+		rowsInvalid = true;
+		updateRows();
+	}
+
+	public void setCullingArea (Rectangle cullingArea) {
+		this.cullingArea = cullingArea;
+	}
+
+	public Rectangle getCullingArea () {
+		return cullingArea;
+	}
+
+	public void draw (Batch batch, float parentAlpha) {
+		validate();
+		updateRows();
+		super.draw(batch, parentAlpha);
+	}
+
+	/** Binds rows to the items which became visible and hides the rows of the items which are no longer visible. */
+	private void updateRows () {
+		computeOffsets();
+		int first = 0, last = items.size - 1;
+		Rectangle cullingArea = this.cullingArea;
+		float height = getHeight();
+		if (cullingArea != null && last >= 0) {
+			int top = getRowAt(Math.max(0, height - (cullingArea.y + cullingArea.height)));
+			if (top == -1) {
+				first = 1;
+				last = 0;
+			} else {
+				first = top;
+				int bottom = getRowAt(height - cullingArea.y);
+				if (bottom != -1) last = bottom;
+			}
+		}
+		if (!rowsInvalid && first == firstRow && last == lastRow) return;
+		rowsInvalid = false;
+
+		// Hide the rows which are no longer visible.
+		for (IntMap.Entries<Actor> entries = rows.entries(); entries.hasNext();) {
+			IntMap.Entry<Actor> entry = entries.next();
+			if (entry.key >= first && entry.key <= last) continue;
+			freeRow(entry.value);
+			entries.remove();
+		}
+
+		float width = getWidth();
+		for (int i = first; i <= last; i++) {
+			Actor row = rows.get(i);
+			if (row == null) {
+				if (freeRows.size > 0)
+					row = freeRows.pop();
+				else {
+					row = adapter.newRow();
+					addActor(row);
+				}
+				row.setVisible(true);
+				adapter.bind(row, i, items.get(i));
+				rows.put(i, row);
+			}
+			float rowTop = getRowTop(i);
+			row.setBounds(0, height - getRowTop(i + 1), width, getRowTop(i + 1) - rowTop);
+			if (row instanceof Layout) ((Layout)row).validate();
+		}
+		firstRow = first;
+		lastRow = last;
+	}
+
+	private void freeRow (Actor row) {
+		adapter.unbind(row);
+		row.setVisible(false);
+		freeRows.add(row);
+	}
+
+	private void unbindRows () {
+		for (Actor row : rows.values())
+			freeRow(row);
+		rows.clear();
+		rowsInvalid = true;
+	}
+
+	/** Creates and binds the row actors of a {@link VirtualList}. */
+	static abstract public class RowAdapter<T> {
+		/** Returns a new row actor, which will be bound to many items over time. */
+		abstract public Actor newRow ();
+
+		/** Sets up the row to display the item. */
+		abstract public void bind (Actor row, int index, T item);
+
+		/** Called when the row no longer displays the item it was bound to, e.g. to release resources. The default implementation
+		 * does nothing. */
+		public void unbind (Actor row) {
+		}
+
+		/** Returns the height of the row of the item, or -1 to use the row height of the list. Computed for all items when the
+		 * items change, so this must be cheap, e.g. an estimate based on the item. The default implementation returns -1. */
+		public float getRowHeight (int index, T item) {
+			return -1;
+		}
+	}
+}
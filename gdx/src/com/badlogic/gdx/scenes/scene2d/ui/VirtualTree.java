@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualList.RowAdapter;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/** A tree which only has actors for the visible rows, for trees with a very large number of nodes. The expanded nodes are
+ * flattened into the items of a {@link VirtualList}, so only the rows of the visible nodes are created. The list fills the tree
+ * and receives its culling area, so the tree can be used in a {@link ScrollPane}. The nodes are provided by a {@link TreeModel},
+ * the {@link RowAdapter} can use {@link #getDepth(int)} to indent the rows and {@link #setExpanded(Object, boolean)} to expand
+ * nodes.
+ * <p>
+ * {@link #nodesChanged()} must be called after changing the roots or the children of expanded nodes. */
+public class VirtualTree<N> extends WidgetGroup implements Cullable {
+	private final VirtualList<N> list;
+	private final TreeModel<N> model;
+	private final Array<N> roots = new Array<N>();
+	private final ObjectSet<N> expanded = new ObjectSet<N>();
+	private final IntArray depths = new IntArray();
+
+	public VirtualTree (TreeModel<N> model, RowAdapter<N> adapter, float rowHeight) {
+		if (model == null) throw new IllegalArgumentException("model cannot be null.");
+		this.model = model;
+		list = new VirtualList<N>(adapter, rowHeight);
+		addActor(list);
+		setTransform(false);
+	}
+
+	/** Returns the list of the visible nodes, e.g. to find the row of a node using {@link VirtualList#getRowAt(float)}. Its items
+	 * are managed by this tree and must not be changed. */
+	public VirtualList<N> getList () {
+		return list;
+	}
+
+	/** Sets the root nodes, which are copied into {@link #getRoots()}. */
+	public void setRoots (Array<? extends N> newRoots) {
+		roots.clear();
+		roots.addAll(newRoots);
+		nodesChanged();
+	}
+
+	/** Returns the internal roots array. If modified, {@link #nodesChanged()} must be called. */
+	public Array<N> getRoots () {
+		return roots;
+	}
+
+	public void setExpanded (N node, boolean expanded) {
+		if (expanded ? this.expanded.add(node) : this.expanded.remove(node)) nodesChanged();
+	}
+
+	public boolean isExpanded (N node) {
+		return expanded.contains(node);
+	}
+
+	/** Expands all nodes, which should only be used for trees with a moderate number of nodes. */
+	public void expandAll () {
+		for (int i = 0; i < roots.size; i++)
+			expandAll(roots.get(i));
+		nodesChanged();
+	}
+
+	private void expandAll (N node) {
+		int count = model.getChildCount(node);
+		if (count == 0) return;
+		expanded.add(node);
+		for (int i = 0; i < count; i++)
+			expandAll(model.getChild(node, i));
+	}
+
+	public void collapseAll () {
+		expanded.clear();
+		nodesChanged();
+	}
+
+	/** Returns the depth of the visible node at the index, 0 for the roots. */
+	public int getDepth (int index) {
+		return depths.get(index);
+	}
+
+	/** Flattens the visible nodes into the items of the list, after the roots, the children or expanded state changed. */
+	public void nodesChanged () {
+		list.items.clear();
+		depths.clear();
+		for (int i = 0; i < roots.size; i++)
+			addVisible(roots.get(i), 0);
+		list.itemsChanged();
+	}
+
+	private void addVisible (N node, int depth) {
+		list.items.add(node);
+		depths.add(depth);
+		if (!expanded.contains(node)) return;
+		for (int i = 0, n = model.getChildCount(node); i < n; i++)
+			addVisible(model.getChild(node, i), depth + 1);
+	}
+
+	public void layout () {
+		list.setBounds(0, 0, getWidth(), getHeight());
+	}
+
+	public float getPrefWidth () {
+		return list.getPrefWidth();
+	}
+
+	public float getPrefHeight () {
+		return list.getPrefHeight();
+	}
+
+	/** The list is at the origin of the tree, so it uses the same culling area. */
+	public void setCullingArea (Rectangle cullingArea) {
+		list.setCullingArea(cullingArea);
+	}
+
+	public Rectangle getCullingArea () {
+		return list.getCullingArea();
+	}
+
+	/** Provides the children of the nodes of a {@link VirtualTree}. */
+	static public interface TreeModel<N> {
+		public int getChildCount (N node);
+
+		public N getChild (N node, int index);
+	}
+}
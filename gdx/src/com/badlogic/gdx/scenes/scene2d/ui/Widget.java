@@ -85,6 +85,8 @@ public class Widget extends Actor implements Layout {
 
 		if (!needsLayout) return;
 		needsLayout = false;
+		Stage stage = getStage();
+		if (stage != null) stage.layoutCount++;
 		layout();
 	}
 
@@ -94,9 +96,20 @@ public class Widget extends Actor implements Layout {
 	}
 
 	public void invalidate () {
+		if (!needsLayout) {
+			// Let the stage lay out the widget before drawing.
+			Stage stage = getStage();
+			if (stage != null) stage.layoutInvalidated(this);
+		}
 		needsLayout = true;
 	}
 
+	protected void setStage (Stage stage) {
+		super.setStage(stage);
+		// A widget added while invalid wasn't queued when it was invalidated.
+		if (stage != null && needsLayout) stage.layoutInvalidated(this);
+	}
+
 	public void invalidateHierarchy () {
 		if (!layoutEnabled) return;
 		invalidate();
@@ -111,6 +111,8 @@ public class WidgetGroup extends Group implements Layout {
 
 		if (!needsLayout) return;
 		needsLayout = false;
+		Stage stage = getStage();
+		if (stage != null) stage.layoutCount++;
 		layout();
 
 		// Widgets may call invalidateHierarchy during layout (eg, a wrapped label). The root-most widget group retries layout a
@@ -122,6 +124,7 @@ public class WidgetGroup extends Group implements Layout {
 			}
 			for (int i = 0; i < 5; i++) {
 				needsLayout = false;
+				if (stage != null) stage.layoutCount++;
 				layout();
 				if (!needsLayout) break;
 			}
@@ -134,9 +137,20 @@ public class WidgetGroup extends Group implements Layout {
 	}
 
 	public void invalidate () {
+		if (!needsLayout) {
+			// Let the stage lay out the widget before drawing.
+			Stage stage = getStage();
+			if (stage != null) stage.layoutInvalidated(this);
+		}
 		needsLayout = true;
 	}
 
+	protected void setStage (Stage stage) {
+		super.setStage(stage);
+		// A widget added while invalid wasn't queued when it was invalidated.
+		if (stage != null && needsLayout) stage.layoutInvalidated(this);
+	}
+
 	public void invalidateHierarchy () {
 		invalidate();
 		Group parent = getParent();
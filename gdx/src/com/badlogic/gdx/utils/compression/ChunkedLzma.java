@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.StreamUtils.OptimizedByteArrayOutputStream;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.badlogic.gdx.utils.compression.lzma.Decoder;
+import com.badlogic.gdx.utils.compression.lzma.Encoder;
+
+/** A container format for LZMA which splits the data in blocks that are compressed independently, so the blocks can be compressed
+ * and decompressed in parallel, and a block can be decompressed without decompressing the blocks before it. Use
+ * {@link ChunkedLzmaOutputStream} and {@link ChunkedLzmaInputStream} to stream the data and {@link ChunkedLzmaReader} for random
+ * access. Smaller blocks allow more parallelism and cheaper random access, larger blocks compress better.
+ * <p>
+ * The format is little endian: the int magic and the int block size, then per block the int uncompressed size, the int compressed
+ * size and the compressed bytes starting with the 5 LZMA property bytes, then an int 0. It ends with an index of the int
+ * uncompressed and compressed size of each block, followed by the long offset of the index, the int block count and the int
+ * magic. */
+public final class ChunkedLzma {
+	static public final int DEFAULT_BLOCK_SIZE = 1 << 20;
+	static final int MAGIC = 0x434D5A4C; // "LZMC"
+	static final int HEADER_SIZE = 8, BLOCK_HEADER_SIZE = 8, INDEX_ENTRY_SIZE = 8, FOOTER_SIZE = 16;
+
+	private ChunkedLzma () {
+	}
+
+	/** Compresses the given {@link InputStream} into the given {@link OutputStream} in blocks of the given size.
+	 * @param executor Compresses the blocks in parallel, or null to compress them on the calling thread. */
+	static public void compress (InputStream in, OutputStream out, int blockSize, AsyncExecutor executor, int maxPending)
+		throws IOException {
+		ChunkedLzmaOutputStream output = new ChunkedLzmaOutputStream(out, blockSize, executor, maxPending);
+		StreamUtils.copyStream(in, output);
+		output.finish();
+	}
+
+	/** Decompresses the given {@link InputStream} into the given {@link OutputStream}.
+	 * @param executor Decompresses the blocks in parallel, or null to decompress them on the calling thread. */
+	static public void decompress (InputStream in, OutputStream out, AsyncExecutor executor, int readAhead) throws IOException {
+		StreamUtils.copyStream(new ChunkedLzmaInputStream(in, executor, readAhead), out);
+	}
+
+	/** Compresses the data to out, starting with the 5 LZMA property bytes. */
+	static void compressBlock (byte[] data, int length, OutputStream out) throws IOException {
+		// the window doesn't have to be larger than the block, which keeps the memory per encoder low
+		int dictionarySize = 1 << 12;
+		while (dictionarySize < length && dictionarySize < 1 << 23)
+			dictionarySize <<= 1;
+		Encoder encoder = new Encoder();
+		if (!encoder.SetAlgorithm(2)) throw new GdxRuntimeException("Incorrect compression mode");
+		if (!encoder.SetDictionarySize(dictionarySize)) throw new GdxRuntimeException("Incorrect dictionary size");
+		if (!encoder.SetNumFastBytes(128)) throw new GdxRuntimeException("Incorrect -fb value");
+		if (!encoder.SetMatchFinder(1)) throw new GdxRuntimeException("Incorrect -mf value");
+		if (!encoder.SetLcLpPb(3, 0, 2)) throw new GdxRuntimeException("Incorrect -lc or -lp or -pb value");
+		encoder.SetEndMarkerMode(false);
+		encoder.WriteCoderProperties(out);
+		encoder.Code(new ByteArrayInputStream(data, 0, length), out, -1, -1, null);
+	}
+
+	/** Decompresses the data written by {@link #compressBlock(byte[], int, OutputStream)} to out. */
+	static void decompressBlock (byte[] compressed, int compressedLength, byte[] out, int offset, int length) throws IOException {
+		if (compressedLength < 5) throw new IOException("Block is too short");
+		byte[] properties = new byte[5];
+		System.arraycopy(compressed, 0, properties, 0, 5);
+		Decoder decoder = new Decoder();
+		if (!decoder.SetDecoderProperties(properties)) throw new IOException("Incorrect stream properties");
+		ArrayOutputStream output = new ArrayOutputStream(out, offset, length);
+		if (!decoder.Code(new ByteArrayInputStream(compressed, 5, compressedLength - 5), output, length))
+			throw new IOException("Error in data stream");
+		if (output.offset != offset + length) throw new IOException("Block is too short");
+	}
+
+	static void writeInt (OutputStream out, int value) throws IOException {
+		out.write(value);
+		out.write(value >>> 8);
+		out.write(value >>> 16);
+		out.write(value >>> 24);
+	}
+
+	static int readInt (InputStream in) throws IOException {
+		int value = 0;
+		for (int i = 0; i < 32; i += 8) {
+			int b = in.read();
+			if (b == -1) throw new IOException("Unexpected end of stream");
+			value |= b << i;
+		}
+		return value;
+	}
+
+	static void readFully (InputStream in, byte[] buffer, int offset, int length) throws IOException {
+		while (length > 0) {
+			int count = in.read(buffer, offset, length);
+			if (count == -1) throw new IOException("Unexpected end of stream");
+			offset += count;
+			length -= count;
+		}
+	}
+
+	/** A block which is compressed or decompressed by an {@link AsyncExecutor}. */
+	static class Block implements AsyncTask<Void> {
+		byte[] data;
+		int length;
+		byte[] compressed;
+		int compressedLength;
+		boolean decompress;
+		AsyncResult<Void> result;
+		private OptimizedByteArrayOutputStream output;
+
+		Block (int capacity) {
+			data = new byte[capacity];
+		}
+
+		@Override
+		public Void call () throws IOException {
+			if (decompress) {
+				if (data.length < length) data = new byte[length];
+				decompressBlock(compressed, compressedLength, data, 0, length);
+			} else {
+				if (output == null) output = new OptimizedByteArrayOutputStream(length / 2 + 64);
+				output.reset();
+				compressBlock(data, length, output);
+				compressed = output.getBuffer();
+				compressedLength = output.size();
+			}
+			return null;
+		}
+
+		/** Runs the task on the calling thread if executor is null, else submits it. */
+		void start (AsyncExecutor executor) throws IOException {
+			if (executor == null)
+				call();
+			else
+				result = executor.submit(this);
+		}
+
+		/** Waits for the task submitted by {@link #start(AsyncExecutor)}. */
+		void finish () throws IOException {
+			if (result == null) return;
+			AsyncResult<Void> result = this.result;
+			this.result = null;
+			try {
+				result.get();
+			} catch (GdxRuntimeException ex) {
+				if (ex.getCause() instanceof IOException) throw (IOException)ex.getCause();
+				throw ex;
+			}
+		}
+	}
+
+	static private class ArrayOutputStream extends OutputStream {
+		final byte[] buffer;
+		final int end;
+		int offset;
+
+		ArrayOutputStream (byte[] buffer, int offset, int length) {
+			this.buffer = buffer;
+			this.offset = offset;
+			this.end = offset + length;
+		}
+
+		@Override
+		public void write (int b) throws IOException {
+			if (offset == end) throw new IOException("Block is too long");
+			buffer[offset++] = (byte)b;
+		}
+
+		@Override
+		public void write (byte[] b, int off, int len) throws IOException {
+			if (len > end - offset) throw new IOException("Block is too long");
+			System.arraycopy(b, off, buffer, offset, len);
+			offset += len;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Queue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.compression.ChunkedLzma.Block;
+
+/** Decompresses data in the {@link ChunkedLzma} format. The compressed blocks are read ahead and decompressed by the executor
+ * while the earlier blocks are being read. */
+public class ChunkedLzmaInputStream extends InputStream {
+	private final InputStream in;
+	private final AsyncExecutor executor;
+	private final int readAhead;
+	private final Queue<Block> pending = new Queue<Block>();
+	private final Array<Block> freeBlocks = new Array<Block>();
+	private final int blockSize;
+	private Block current;
+	private int position;
+	private boolean end;
+
+	/** Creates a stream which decompresses the blocks on the calling thread. */
+	public ChunkedLzmaInputStream (InputStream in) throws IOException {
+		this(in, null, 1);
+	}
+
+	/** @param executor Decompresses the blocks, or null to decompress them on the calling thread.
+	 * @param readAhead The maximum number of blocks being decompressed at a time, at least the number of threads of the executor
+	 *           to use all of them. */
+	public ChunkedLzmaInputStream (InputStream in, AsyncExecutor executor, int readAhead) throws IOException {
+		if (readAhead <= 0) throw new IllegalArgumentException("readAhead must be > 0: " + readAhead);
+		this.in = in;
+		this.executor = executor;
+		this.readAhead = executor == null ? 1 : readAhead;
+		if (ChunkedLzma.readInt(in) != ChunkedLzma.MAGIC) throw new IOException("Not a chunked LZMA stream");
+		blockSize = ChunkedLzma.readInt(in);
+	}
+
+	/** @return The number of uncompressed bytes per block, except for the last block. */
+	public int getBlockSize () {
+		return blockSize;
+	}
+
+	@Override
+	public int read () throws IOException {
+		if (!fillCurrent()) return -1;
+		return current.data[position++] & 0xFF;
+	}
+
+	@Override
+	public int read (byte[] b, int off, int len) throws IOException {
+		if (len == 0) return 0;
+		if (!fillCurrent()) return -1;
+		final int count = Math.min(len, current.length - position);
+		System.arraycopy(current.data, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public long skip (long n) throws IOException {
+		long skipped = 0;
+		while (skipped < n && fillCurrent()) {
+			final int count = (int)Math.min(n - skipped, current.length - position);
+			position += count;
+			skipped += count;
+		}
+		return skipped;
+	}
+
+	@Override
+	public int available () {
+		return current == null ? 0 : current.length - position;
+	}
+
+	/** @return false if the end of the stream is reached. */
+	private boolean fillCurrent () throws IOException {
+		if (current != null && position < current.length) return true;
+		if (current != null) {
+			freeBlocks.add(current);
+			current = null;
+		}
+		readBlocks();
+		if (pending.size == 0) return false;
+		final Block block = pending.removeFirst();
+		block.finish();
+		current = block;
+		position = 0;
+		readBlocks();
+		return true;
+	}
+
+	/** Reads compressed blocks and starts decompressing them until {@link #readAhead} blocks are pending. */
+	private void readBlocks () throws IOException {
+		while (!end && pending.size < readAhead) {
+			final int length = ChunkedLzma.readInt(in);
+			if (length == 0) {
+				end = true;
+				break;
+			}
+			final int compressedLength = ChunkedLzma.readInt(in);
+			if (length < 0 || compressedLength < 0) throw new IOException("Invalid block size");
+			final Block block = freeBlocks.size > 0 ? freeBlocks.pop() : new Block(length);
+			if (block.compressed == null || block.compressed.length < compressedLength) block.compressed = new byte[compressedLength];
+			ChunkedLzma.readFully(in, block.compressed, 0, compressedLength);
+			block.length = length;
+			block.compressedLength = compressedLength;
+			block.decompress = true;
+			block.start(executor);
+			pending.addLast(block);
+		}
+	}
+
+	/** Waits for the pending blocks and closes the underlying stream. */
+	@Override
+	public void close () throws IOException {
+		try {
+			while (pending.size > 0) {
+				try {
+					pending.removeFirst().finish();
+				} catch (IOException ignored) {
+				}
+			}
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Queue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.compression.ChunkedLzma.Block;
+
+/** Compresses the written data in the {@link ChunkedLzma} format. Each time a block is filled it's compressed by the executor while
+ * the next block is written, and the compressed blocks are written to the underlying stream in order.
+ * <p>
+ * {@link #finish()} or {@link #close()} must be called to compress the last block and write the index. {@link #flush()} doesn't
+ * end the current block. */
+public class ChunkedLzmaOutputStream extends OutputStream {
+	private final OutputStream out;
+	private final int blockSize, maxPending;
+	private final AsyncExecutor executor;
+	private final Queue<Block> pending = new Queue<Block>();
+	private final Array<Block> freeBlocks = new Array<Block>();
+	private final IntArray index = new IntArray();
+	private final byte[] single = new byte[1];
+	private Block current;
+	private long position;
+	private boolean finished;
+
+	/** Creates a stream which compresses blocks of {@link ChunkedLzma#DEFAULT_BLOCK_SIZE} on the calling thread. */
+	public ChunkedLzmaOutputStream (OutputStream out) throws IOException {
+		this(out, ChunkedLzma.DEFAULT_BLOCK_SIZE, null, 1);
+	}
+
+	/** @param blockSize The number of uncompressed bytes per block.
+	 * @param executor Compresses the blocks, or null to compress them on the calling thread.
+	 * @param maxPending The maximum number of blocks being compressed at a time, at least the number of threads of the executor to
+	 *           use all of them. Each pending block keeps its uncompressed and compressed data in memory. */
+	public ChunkedLzmaOutputStream (OutputStream out, int blockSize, AsyncExecutor executor, int maxPending) throws IOException {
+		if (blockSize <= 0) throw new IllegalArgumentException("blockSize must be > 0: " + blockSize);
+		if (maxPending <= 0) throw new IllegalArgumentException("maxPending must be > 0: " + maxPending);
+		this.out = out;
+		this.blockSize = blockSize;
+		this.executor = executor;
+		this.maxPending = executor == null ? 1 : maxPending;
+		ChunkedLzma.writeInt(out, ChunkedLzma.MAGIC);
+		ChunkedLzma.writeInt(out, blockSize);
+		position = ChunkedLzma.HEADER_SIZE;
+	}
+
+	@Override
+	public void write (int b) throws IOException {
+		single[0] = (byte)b;
+		write(single, 0, 1);
+	}
+
+	@Override
+	public void write (byte[] b, int off, int len) throws IOException {
+		if (finished) throw new IOException("Stream is finished");
+		while (len > 0) {
+			if (current == null) {
+				current = freeBlocks.size > 0 ? freeBlocks.pop() : new Block(blockSize);
+				current.length = 0;
+				current.decompress = false;
+			}
+			final int count = Math.min(len, blockSize - current.length);
+			System.arraycopy(b, off, current.data, current.length, count);
+			current.length += count;
+			off += count;
+			len -= count;
+			if (current.length == blockSize) submit();
+		}
+	}
+
+	private void submit () throws IOException {
+		final Block block = current;
+		current = null;
+		block.start(executor);
+		pending.addLast(block);
+		while (pending.size >= maxPending)
+			writeBlock(pending.removeFirst());
+	}
+
+	private void writeBlock (Block block) throws IOException {
+		try {
+			block.finish();
+		} catch (IOException ex) {
+			finished = true;
+			throw ex;
+		}
+		ChunkedLzma.writeInt(out, block.length);
+		ChunkedLzma.writeInt(out, block.compressedLength);
+		out.write(block.compressed, 0, block.compressedLength);
+		index.add(block.length, block.compressedLength);
+		position += ChunkedLzma.BLOCK_HEADER_SIZE + block.compressedLength;
+		freeBlocks.add(block);
+	}
+
+	/** Compresses the last block and writes the index without closing the underlying stream. Nothing can be written afterwards. */
+	public void finish () throws IOException {
+		if (finished) return;
+		if (current != null && current.length > 0) submit();
+		while (pending.size > 0)
+			writeBlock(pending.removeFirst());
+		finished = true;
+		ChunkedLzma.writeInt(out, 0);
+		final long indexOffset = position + 4;
+		for (int i = 0; i < index.size; i++)
+			ChunkedLzma.writeInt(out, index.get(i));
+		ChunkedLzma.writeInt(out, (int)indexOffset);
+		ChunkedLzma.writeInt(out, (int)(indexOffset >>> 32));
+		ChunkedLzma.writeInt(out, index.size / 2);
+		ChunkedLzma.writeInt(out, ChunkedLzma.MAGIC);
+		out.flush();
+		freeBlocks.clear();
+	}
+
+	/** Flushes the underlying stream, the current block is only written when it is full or the stream is finished. */
+	@Override
+	public void flush () throws IOException {
+		out.flush();
+	}
+
+	/** Finishes and closes the underlying stream. */
+	@Override
+	public void close () throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+}
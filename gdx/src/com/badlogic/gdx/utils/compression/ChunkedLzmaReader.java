@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Random access to the blocks of data in the {@link ChunkedLzma} format, using the index at the end of the data. Only the blocks
+ * which contain the requested bytes are decompressed. The methods are thread safe, so blocks can be decompressed concurrently,
+ * e.g. by the tasks of an {@link com.badlogic.gdx.utils.async.AsyncExecutor}. */
+public class ChunkedLzmaReader {
+	private final FileHandle file;
+	private final byte[] bytes;
+	private final int blockSize;
+	private final long size;
+	/** The offsets of the compressed data of the blocks. */
+	private final long[] offsets;
+	/** The positions in the uncompressed data where the blocks start. */
+	private final long[] positions;
+	private final int[] lengths, compressedLengths;
+
+	/** Reads the index of the file. The blocks are read by opening the file and skipping to the block, which is fast for files which
+	 * aren't compressed themselves, e.g. local and absolute files. */
+	public ChunkedLzmaReader (FileHandle file) throws IOException {
+		this(file, null, file.length());
+	}
+
+	/** Reads the index of the data in the array. */
+	public ChunkedLzmaReader (byte[] bytes) throws IOException {
+		this(null, bytes, bytes.length);
+	}
+
+	private ChunkedLzmaReader (FileHandle file, byte[] bytes, long length) throws IOException {
+		this.file = file;
+		this.bytes = bytes;
+		if (length < ChunkedLzma.HEADER_SIZE + 4 + ChunkedLzma.FOOTER_SIZE) throw new IOException("Not a chunked LZMA stream");
+
+		InputStream in = open(0);
+		try {
+			if (ChunkedLzma.readInt(in) != ChunkedLzma.MAGIC) throw new IOException("Not a chunked LZMA stream");
+			blockSize = ChunkedLzma.readInt(in);
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+
+		in = open(length - ChunkedLzma.FOOTER_SIZE);
+		final long indexOffset;
+		final int blockCount;
+		try {
+			indexOffset = ChunkedLzma.readInt(in) & 0xFFFFFFFFL | (long)ChunkedLzma.readInt(in) << 32;
+			blockCount = ChunkedLzma.readInt(in);
+			if (ChunkedLzma.readInt(in) != ChunkedLzma.MAGIC) throw new IOException("Chunked LZMA index not found");
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+		if (blockCount < 0 || indexOffset + (long)blockCount * ChunkedLzma.INDEX_ENTRY_SIZE != length - ChunkedLzma.FOOTER_SIZE)
+			throw new IOException("Invalid chunked LZMA index");
+
+		offsets = new long[blockCount];
+		positions = new long[blockCount];
+		lengths = new int[blockCount];
+		compressedLengths = new int[blockCount];
+		in = open(indexOffset);
+		try {
+			long offset = ChunkedLzma.HEADER_SIZE, position = 0;
+			for (int i = 0; i < blockCount; i++) {
+				lengths[i] = ChunkedLzma.readInt(in);
+				compressedLengths[i] = ChunkedLzma.readInt(in);
+				offsets[i] = offset + ChunkedLzma.BLOCK_HEADER_SIZE;
+				positions[i] = position;
+				offset += ChunkedLzma.BLOCK_HEADER_SIZE + compressedLengths[i];
+				position += lengths[i];
+			}
+			size = position;
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+	}
+
+	private InputStream open (long offset) throws IOException {
+		if (bytes != null) return new ByteArrayInputStream(bytes, (int)offset, bytes.length - (int)offset);
+		final InputStream in = file.read();
+		long remaining = offset;
+		while (remaining > 0) {
+			final long skipped = in.skip(remaining);
+			if (skipped <= 0) {
+				if (in.read() == -1) {
+					StreamUtils.closeQuietly(in);
+					throw new IOException("Unexpected end of file: " + file);
+				}
+				remaining--;
+			} else
+				remaining -= skipped;
+		}
+		return in;
+	}
+
+	/** @return The number of uncompressed bytes per block, except for the last block. */
+	public int getBlockSize () {
+		return blockSize;
+	}
+
+	public int getBlockCount () {
+		return lengths.length;
+	}
+
+	/** @return The number of uncompressed bytes. */
+	public long getSize () {
+		return size;
+	}
+
+	/** @return The number of uncompressed bytes of the block. */
+	public int getBlockLength (int block) {
+		return lengths[block];
+	}
+
+	/** @return The position in the uncompressed data where the block starts. */
+	public long getBlockPosition (int block) {
+		return positions[block];
+	}
+
+	/** @return The index of the block containing the position in the uncompressed data, or -1 if the position is out of range. */
+	public int findBlock (long position) {
+		if (position < 0 || position >= size) return -1;
+		int low = 0, high = positions.length - 1;
+		while (low < high) {
+			final int mid = (low + high + 1) >>> 1;
+			if (positions[mid] <= position)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+
+	/** @return A new array with the uncompressed data of the block. */
+	public byte[] readBlock (int block) throws IOException {
+		final byte[] data = new byte[lengths[block]];
+		readBlock(block, data, 0);
+		return data;
+	}
+
+	/** Decompresses the block into the array at the offset, which must have room for {@link #getBlockLength(int)} bytes. */
+	public void readBlock (int block, byte[] out, int offset) throws IOException {
+		final int compressedLength = compressedLengths[block];
+		final byte[] compressed = new byte[compressedLength];
+		final InputStream in = open(offsets[block]);
+		try {
+			ChunkedLzma.readFully(in, compressed, 0, compressedLength);
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+		ChunkedLzma.decompressBlock(compressed, compressedLength, out, offset, lengths[block]);
+	}
+
+	/** Reads uncompressed bytes at the position, decompressing only the blocks containing them.
+	 * @throws IndexOutOfBoundsException if the range isn't in the uncompressed data. */
+	public void read (long position, byte[] out, int offset, int length) throws IOException {
+		if (position < 0 || length < 0 || position + length > size)
+			throw new IndexOutOfBoundsException("position: " + position + ", length: " + length + ", size: " + size);
+		byte[] data = null;
+		while (length > 0) {
+			final int block = findBlock(position);
+			final int start = (int)(position - positions[block]), count = Math.min(length, lengths[block] - start);
+			if (start == 0 && count == lengths[block])
+				readBlock(block, out, offset);
+			else {
+				if (data == null || data.length < lengths[block]) data = new byte[lengths[block]];
+				readBlock(block, data, 0);
+				System.arraycopy(data, start, out, offset, count);
+			}
+			position += count;
+			offset += count;
+			length -= count;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.badlogic.gdx.graphics.g3d.decals;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+public class StaticDecalBucketsTest {
+	private Decal decal (float x, float y, float z) {
+		final Decal decal = new Decal();
+		decal.setTextureRegion(new TextureRegion());
+		decal.setBlending(DecalMaterial.NO_BLEND, DecalMaterial.NO_BLEND);
+		decal.setPosition(x, y, z);
+		return decal;
+	}
+
+	@Test
+	public void testAssignment () {
+		final StaticDecalBuckets buckets = new StaticDecalBuckets();
+		final Decal a = decal(1, 1, 1), b = decal(2, 2, 2), c = decal(20, 2, 2), d = decal(3, 3, 3), e = decal(4, 4, 4);
+		d.setBlending(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		buckets.add(a, 0);
+		buckets.add(b, 0);
+		buckets.add(c, 0);
+		buckets.add(d, 0);
+		buckets.add(e, 1);
+		assertSame(buckets.decals.get(a), buckets.decals.get(b));
+		assertNotSame(buckets.decals.get(a), buckets.decals.get(c));
+		assertNotSame(buckets.decals.get(a), buckets.decals.get(d));
+		assertNotSame(buckets.decals.get(a), buckets.decals.get(e));
+		assertEquals(3, buckets.groups.get(0).size);
+		assertEquals(1, buckets.groups.get(1).size);
+		assertEquals(2, buckets.cells.size);
+		// the bucket keeps a copy of the material
+		assertNotSame(a.getMaterial(), buckets.decals.get(a).material);
+		try {
+			buckets.add(a, 0);
+			fail();
+		} catch (Exception expected) {
+		}
+	}
+
+	@Test
+	public void testInvalidate () {
+		final StaticDecalBuckets buckets = new StaticDecalBuckets();
+		final Decal a = decal(1, 1, 1), b = decal(2, 2, 2);
+		buckets.add(a, 0);
+		buckets.add(b, 0);
+		final StaticDecalBuckets.Bucket bucket = buckets.decals.get(a);
+		bucket.dirty = false;
+
+		// unchanged decal stays in its bucket
+		buckets.invalidate(a, 0);
+		assertSame(bucket, buckets.decals.get(a));
+		assertTrue(bucket.dirty);
+
+		// changing the blending in place moves the decal, the other decal keeps the old material
+		a.setBlending(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		buckets.invalidate(a, 0);
+		assertNotSame(bucket, buckets.decals.get(a));
+		assertSame(bucket, buckets.decals.get(b));
+		assertTrue(bucket.material.isOpaque());
+		assertFalse(buckets.decals.get(a).material.isOpaque());
+
+		// moving to another cell and group
+		b.setPosition(100, 0, 0);
+		buckets.invalidate(b, 2);
+		assertNotSame(bucket, buckets.decals.get(b));
+		assertEquals(2, buckets.decals.get(b).group);
+		assertEquals(0, bucket.decals.size);
+	}
+
+	@Test
+	public void testRemoveEmpty () {
+		final StaticDecalBuckets buckets = new StaticDecalBuckets();
+		final Decal a = decal(1, 1, 1), b = decal(50, 1, 1);
+		buckets.add(a, 0);
+		buckets.add(b, 1);
+		assertTrue(buckets.remove(b));
+		assertFalse(buckets.remove(b));
+		buckets.removeEmpty();
+		assertNull(buckets.groups.get(1));
+		assertEquals(1, buckets.groups.size);
+		assertEquals(1, buckets.cells.size);
+
+		buckets.remove(a);
+		buckets.removeEmpty();
+		assertEquals(0, buckets.groups.size);
+		assertEquals(0, buckets.cells.size);
+		assertEquals(0, buckets.decals.size);
+	}
+}
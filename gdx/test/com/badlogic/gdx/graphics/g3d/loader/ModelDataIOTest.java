@@ -0,0 +1,103 @@
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g3d.loader.ObjLoader.ObjLoaderParameters;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+public class ModelDataIOTest {
+	static ModelData roundTrip (ModelData data, int tag, int readTag) {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ModelDataIO.write(output, data, tag);
+		return ModelDataIO.read(new ByteArrayInputStream(output.toByteArray()), readTag);
+	}
+
+	@Test
+	public void testRoundTrip () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(ObjLoaderTest.file(ObjLoaderTest.OBJ), new ObjLoaderParameters(false));
+		final ModelData result = roundTrip(data, 7, 7);
+		assertEquals(data.id, result.id);
+		assertArrayEquals(data.version, result.version);
+		assertEquals(data.meshes.size, result.meshes.size);
+		for (int i = 0; i < data.meshes.size; i++) {
+			final ModelMesh expected = data.meshes.get(i), actual = result.meshes.get(i);
+			assertEquals(expected.id, actual.id);
+			assertEquals(expected.attributes.length, actual.attributes.length);
+			for (int a = 0; a < expected.attributes.length; a++)
+				assertTrue(expected.attributes[a].equals(actual.attributes[a]));
+			assertArrayEquals(expected.vertices, actual.vertices, 0);
+			assertEquals(expected.parts.length, actual.parts.length);
+			for (int p = 0; p < expected.parts.length; p++) {
+				assertEquals(expected.parts[p].id, actual.parts[p].id);
+				assertEquals(expected.parts[p].primitiveType, actual.parts[p].primitiveType);
+				assertArrayEquals(expected.parts[p].indices, actual.parts[p].indices);
+			}
+		}
+		assertEquals(data.materials.size, result.materials.size);
+		for (int i = 0; i < data.materials.size; i++) {
+			final ModelMaterial expected = data.materials.get(i), actual = result.materials.get(i);
+			assertEquals(expected.id, actual.id);
+			assertEquals(expected.diffuse, actual.diffuse);
+			assertEquals(expected.opacity, actual.opacity, 0);
+		}
+		assertEquals(data.nodes.size, result.nodes.size);
+		for (int i = 0; i < data.nodes.size; i++) {
+			final ModelNode expected = data.nodes.get(i), actual = result.nodes.get(i);
+			assertEquals(expected.id, actual.id);
+			assertEquals(expected.parts.length, actual.parts.length);
+			assertEquals(expected.parts[0].meshPartId, actual.parts[0].meshPartId);
+			assertEquals(expected.parts[0].materialId, actual.parts[0].materialId);
+		}
+		assertEquals(0, result.animations.size);
+	}
+
+	@Test
+	public void testTag () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(ObjLoaderTest.file(ObjLoaderTest.OBJ), new ObjLoaderParameters(false));
+		try {
+			roundTrip(data, 2, 3);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ModelDataIO.write(output, data, 2);
+		assertEquals(data.meshes.size, ModelDataIO.read(new ByteArrayInputStream(output.toByteArray())).meshes.size);
+	}
+
+	@Test
+	public void testSource () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(ObjLoaderTest.file(ObjLoaderTest.OBJ), new ObjLoaderParameters(false));
+		final byte[] source = ObjLoaderTest.OBJ.getBytes("UTF-8");
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ModelDataIO.write(output, data, 2, source);
+		assertEquals(data.meshes.size, ModelDataIO.read(new ByteArrayInputStream(output.toByteArray()), 2, source).meshes.size);
+		// same length, different contents
+		final byte[] changed = source.clone();
+		changed[changed.length - 2] = '3';
+		try {
+			ModelDataIO.read(new ByteArrayInputStream(output.toByteArray()), 2, changed);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+		try {
+			ModelDataIO.read(new ByteArrayInputStream(output.toByteArray()), 2, new byte[0]);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testNotModelData () {
+		ModelDataIO.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}));
+	}
+}
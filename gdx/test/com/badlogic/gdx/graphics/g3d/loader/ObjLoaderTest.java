@@ -0,0 +1,126 @@
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.loader.ObjLoader.ObjLoaderParameters;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+
+public class ObjLoaderTest {
+	static final String OBJ = "# test\r\nv 0 0 0\r\nv 1.5 0 -2e-1\r\nv  1\t1 0\r\nv 0 1 0\r\nvt 0 0\r\nvt 1 0\r\nvt 1 1\r\nvt 0 0.25\r\n"
+		+ "vn 0 0 1\r\ng first\r\nf 1/1/1 2/2/1 3/3/1 4/4/1\r\ng second\r\nf 1/1/1 3/3/1 4/4/1\r\ng third\r\nf 2//1 3//1 4//1\r\n";
+
+	// The output of the line based parser which was replaced by the byte parser, for OBJ with flipV false
+	static final float[] FIRST = {0, 0, 0, 0, 0, 1, 0, 0, 1.5f, 0, -0.2f, 0, 0, 1, 1, 0, 1, 1, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 1, 0,
+		0, 1, 1, 0, 0, 0, 1, 1, 1, 0, 1, 0, 0, 0, 1, 0, 0.25f};
+	static final float[] SECOND = {0, 0, 0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 0, 1, 1, 1, 0, 1, 0, 0, 0, 1, 0, 0.25f};
+	static final float[] THIRD = {1.5f, 0, -0.2f, 0, 0, 1, 1, 1, 0, 0, 0, 1, 0, 1, 0, 0, 0, 1};
+
+	static FileHandle file (String content) throws IOException {
+		final File file = File.createTempFile("model", ".obj");
+		file.deleteOnExit();
+		final FileHandle handle = new FileHandle(file);
+		handle.writeString(content, false, "UTF-8");
+		return handle;
+	}
+
+	static void assertMesh (String id, float[] vertices, short[] indices, ModelMesh mesh) {
+		assertEquals(id, mesh.id);
+		assertArrayEquals(vertices, mesh.vertices, 0);
+		assertEquals(1, mesh.parts.length);
+		assertArrayEquals(indices, mesh.parts[0].indices);
+	}
+
+	@Test
+	public void testParse () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(file(OBJ), new ObjLoaderParameters(false));
+		assertEquals(3, data.meshes.size);
+		assertEquals(3, data.nodes.size);
+		assertEquals(Usage.Position, data.meshes.get(0).attributes[0].usage);
+		assertEquals(Usage.Normal, data.meshes.get(0).attributes[1].usage);
+		assertEquals(Usage.TextureCoordinates, data.meshes.get(0).attributes[2].usage);
+		assertEquals(2, data.meshes.get(2).attributes.length);
+		assertMesh("first", FIRST, new short[] {0, 1, 2, 3, 4, 5}, data.meshes.get(0));
+		assertMesh("second", SECOND, new short[] {0, 1, 2}, data.meshes.get(1));
+		assertMesh("third", THIRD, new short[] {0, 1, 2}, data.meshes.get(2));
+		assertEquals("first", data.nodes.get(0).parts[0].meshPartId);
+		assertEquals("default", data.nodes.get(0).parts[0].materialId);
+	}
+
+	@Test
+	public void testFlipV () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(file(OBJ), new ObjLoaderParameters(true));
+		final float[] vertices = data.meshes.get(0).vertices;
+		for (int i = 0; i < FIRST.length; i += 8) {
+			assertEquals(FIRST[i + 6], vertices[i + 6], 0);
+			assertEquals(1 - FIRST[i + 7], vertices[i + 7], 0);
+		}
+	}
+
+	@Test
+	public void testNegativeIndices () throws IOException {
+		final ModelData data = new ObjLoader().loadModelData(file(OBJ.replace("f 1/1/1 3/3/1 4/4/1", "f -4/-4/-1 -2/-2/-1 -1/-1/-1")),
+			new ObjLoaderParameters(false));
+		assertMesh("second", SECOND, new short[] {0, 1, 2}, data.meshes.get(1));
+	}
+
+	@Test
+	public void testParallel () throws IOException {
+		final StringBuilder content = new StringBuilder(OBJ);
+		for (int i = 0; i < 200; i++)
+			content.append("g group").append(i).append("\nf 1/1/1 2/2/1 3/3/1 4/4/1\n");
+		final FileHandle file = file(content.toString());
+		final int minChunkSize = ObjLoader.minChunkSize;
+		ObjLoader.minChunkSize = 256;
+		try {
+			final ModelData serial = new ObjLoader().loadModelData(file, new ObjLoaderParameters(false, 1, null));
+			final ModelData parallel = new ObjLoader().loadModelData(file, new ObjLoaderParameters(false, 4, null));
+			assertEquals(serial.meshes.size, parallel.meshes.size);
+			for (int i = 0; i < serial.meshes.size; i++) {
+				assertEquals(serial.meshes.get(i).id, parallel.meshes.get(i).id);
+				assertArrayEquals(serial.meshes.get(i).vertices, parallel.meshes.get(i).vertices, 0);
+				assertArrayEquals(serial.meshes.get(i).parts[0].indices, parallel.meshes.get(i).parts[0].indices);
+			}
+		} finally {
+			ObjLoader.minChunkSize = minChunkSize;
+		}
+	}
+
+	@Test
+	public void testCacheParameters () throws IOException {
+		final FileHandle file = file(OBJ);
+		final File cache = File.createTempFile("model", ".g3md");
+		cache.deleteOnExit();
+		final FileHandle cacheFile = new FileHandle(cache);
+		cacheFile.delete();
+		final ObjLoader loader = new ObjLoader();
+		assertArrayEquals(FIRST, loader.loadModelData(file, new ObjLoaderParameters(false, 1, cacheFile)).meshes.get(0).vertices, 0);
+		assertTrue(cacheFile.exists());
+		// a cache written with another flipV must not be used
+		final float[] flipped = loader.loadModelData(file, new ObjLoaderParameters(true, 1, cacheFile)).meshes.get(0).vertices;
+		assertEquals(1 - FIRST[7], flipped[7], 0);
+		assertEquals(1 - FIRST[7], loader.loadModelData(file, new ObjLoaderParameters(true, 1, cacheFile)).meshes.get(0).vertices[7], 0);
+	}
+
+	@Test
+	public void testCacheSource () throws IOException {
+		final FileHandle file = file(OBJ);
+		final File cache = File.createTempFile("model", ".g3md");
+		cache.deleteOnExit();
+		final FileHandle cacheFile = new FileHandle(cache);
+		cacheFile.delete();
+		final ObjLoader loader = new ObjLoader();
+		assertArrayEquals(FIRST, loader.loadModelData(file, new ObjLoaderParameters(false, 1, cacheFile)).meshes.get(0).vertices, 0);
+		// an edited OBJ file must be parsed again, even when the cache looks newer like it does for internal files
+		file.writeString(OBJ.replace("v 0 0 0", "v 2 0 0"), false, "UTF-8");
+		file.file().setLastModified(cache.lastModified() - 60000);
+		assertEquals(2, loader.loadModelData(file, new ObjLoaderParameters(false, 1, cacheFile)).meshes.get(0).vertices[0], 0);
+	}
+}
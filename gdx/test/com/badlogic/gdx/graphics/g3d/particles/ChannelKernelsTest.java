@@ -0,0 +1,61 @@
+package com.badlogic.gdx.graphics.g3d.particles;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChannelKernelsTest {
+
+	@Test
+	public void testStrided () {
+		// Two elements with interleaved start and difference components, like an interpolation channel
+		float[] interpolation = {1, 2, 10, 20};
+		float[] dst = new float[4];
+		ChannelKernels.lerp(interpolation, 0, 2, interpolation, 1, 2, 0.5f, dst, 1, 2, 2);
+		Assert.assertArrayEquals(new float[] {0, 2, 0, 20}, dst, 0f);
+
+		ChannelKernels.fill(dst, 1, 2, 2, 0.5f);
+		ChannelKernels.mulAdd(interpolation, 0, 2, interpolation, 1, 2, dst, 1, 2, dst, 1, 2, 2);
+		Assert.assertArrayEquals(new float[] {0, 2, 0, 20}, dst, 0f);
+
+		ChannelKernels.axpy(-1, interpolation, 0, 2, interpolation, 1, 2, 2);
+		Assert.assertArrayEquals(new float[] {1, 1, 10, 10}, interpolation, 0f);
+	}
+
+	@Test
+	public void testInterleavedSources () {
+		// Interleaved start and difference components into a channel with stride 1, like the value channel of SimpleInfluencer
+		float[] interpolation = {1, 2, 10, 20, 100, 200};
+		float[] dst = {-1, 0, 0, 0, -1};
+		ChannelKernels.lerp(interpolation, 0, 2, interpolation, 1, 2, 0.5f, dst, 1, 1, 3);
+		Assert.assertArrayEquals(new float[] {-1, 2, 20, 200, -1}, dst, 0f);
+
+		float[] percent = {0, 1, 0.25f, -1};
+		ChannelKernels.mulAdd(interpolation, 0, 2, interpolation, 1, 2, percent, 0, 1, percent, 0, 1, 3);
+		Assert.assertArrayEquals(new float[] {1, 30, 150, -1}, percent, 0f);
+	}
+
+	@Test
+	public void testContiguous () {
+		float[] a = {1, 2, 3, 4, 5};
+		float[] b = {1, 1, 1, 1, 1};
+		ChannelKernels.axpy(2, a, 0, 1, b, 0, 1, 5);
+		Assert.assertArrayEquals(new float[] {3, 5, 7, 9, 11}, b, 0f);
+
+		ChannelKernels.clamp(b, 1, 1, 3, 6, 8);
+		Assert.assertArrayEquals(new float[] {3, 6, 7, 8, 11}, b, 0f);
+
+		ChannelKernels.random(a, 0, 1, 5, -1, 1);
+		for (float value : a)
+			Assert.assertTrue(value >= -1 && value < 1);
+	}
+
+	@Test
+	public void testVerlet () {
+		float[] position = {1, 2, 3};
+		float[] previous = {0, 2, 4};
+		float[] acceleration = {0, 4, 0};
+		ChannelKernels.verlet(position, previous, acceleration, 0, 3, 0.25f);
+		Assert.assertArrayEquals(new float[] {2, 3, 2}, position, 0f);
+		Assert.assertArrayEquals(new float[] {1, 2, 3}, previous, 0f);
+	}
+}
@@ -0,0 +1,158 @@
+package com.badlogic.gdx.graphics.g3d.particles;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.ParticleControllerRenderData;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+
+public class ParticleSorterTest {
+	private final Random random = new Random(7);
+
+	@Test
+	public void testRadixMatchesComparator () {
+		ParticleSorter.Distance sorter = createSorter(1000);
+		// Few distinct values to get plenty of ties, half of them negative, including both zeros
+		float[] values = {-1000.5f, -3f, -1f, -0f, 0f, 0.25f, 1f, 3f, 1000.5f, Float.MAX_VALUE, -Float.MAX_VALUE};
+		float[][] depths = {new float[300], new float[500]};
+		for (float[] d : depths)
+			for (int i = 0; i < d.length; i++)
+				d[i] = random.nextInt(4) == 0 ? random.nextFloat() * 200 - 100 : values[random.nextInt(values.length)];
+
+		int[] offsets = sorter.sort(createRenderData(depths));
+		// The radix sort is stable, so ties keep the order of the particles like a stable comparator sort would
+		assertArrayEquals(comparatorOrder(depths), order(offsets, 800));
+	}
+
+	@Test
+	public void testRefine () {
+		ParticleSorter.Distance sorter = createSorter(500);
+		float[][] depths = {new float[500]};
+		for (int i = 0; i < 500; i++)
+			depths[0][i] = random.nextFloat() * 20 - 10;
+		Array<ParticleControllerRenderData> renderData = createRenderData(depths);
+		sorter.sort(renderData);
+
+		// Small movements between frames are handled by the insertion sort, the order of the ties may differ from the comparator
+		// sort but the depths must be the same
+		for (int frame = 0; frame < 10; frame++) {
+			for (int i = 0; i < 500; i++)
+				depths[0][i] += random.nextFloat() * 0.2f - 0.1f;
+			depths[0][random.nextInt(500)] = depths[0][random.nextInt(500)];
+			setDepths(renderData, depths);
+			assertSameDepths(depths, sorter.sort(renderData));
+		}
+
+		// Too many movements fall back to the radix sort
+		sorter.maxRefineMoves = 0.01f;
+		for (int i = 0; i < 500; i++)
+			depths[0][i] = -depths[0][i];
+		setDepths(renderData, depths);
+		assertSameDepths(depths, sorter.sort(renderData));
+		assertArrayEquals(comparatorOrder(depths), order(sorter.sort(renderData), 500));
+	}
+
+	@Test
+	public void testCountChange () {
+		ParticleSorter.Distance sorter = createSorter(100);
+		float[][] depths = {new float[100]};
+		for (int i = 0; i < 100; i++)
+			depths[0][i] = i % 10 - 5;
+		Array<ParticleControllerRenderData> renderData = createRenderData(depths);
+		assertArrayEquals(comparatorOrder(depths), order(sorter.sort(renderData), 100));
+
+		depths[0] = Arrays.copyOf(depths[0], 60);
+		renderData.first().controller.particles.size = 60;
+		setDepths(renderData, depths);
+		assertArrayEquals(comparatorOrder(depths), order(sorter.sort(renderData), 60));
+	}
+
+	private ParticleSorter.Distance createSorter (int capacity) {
+		// The view matrix is identity, so the distance of a particle is its z coordinate
+		PerspectiveCamera camera = new PerspectiveCamera();
+		assertEquals(1, camera.view.val[Matrix4.M22], 0);
+		ParticleSorter.Distance sorter = new ParticleSorter.Distance();
+		sorter.setCamera(camera);
+		sorter.ensureCapacity(capacity);
+		return sorter;
+	}
+
+	private Array<ParticleControllerRenderData> createRenderData (float[][] depths) {
+		Array<ParticleControllerRenderData> renderData = new Array<ParticleControllerRenderData>();
+		for (float[] d : depths) {
+			ParticleControllerRenderData data = new ParticleControllerRenderData() {
+			};
+			data.controller = new ParticleController();
+			data.controller.particles = new ParallelArray(d.length);
+			data.controller.particles.size = d.length;
+			data.positionChannel = data.controller.particles.addChannel(ParticleChannels.Position);
+			renderData.add(data);
+		}
+		setDepths(renderData, depths);
+		return renderData;
+	}
+
+	private void setDepths (Array<ParticleControllerRenderData> renderData, float[][] depths) {
+		for (int i = 0; i < depths.length; i++) {
+			FloatChannel position = renderData.get(i).positionChannel;
+			for (int k = 0; k < depths[i].length; k++) {
+				position.data[k * position.strideSize + ParticleChannels.XOffset] = random.nextFloat();
+				position.data[k * position.strideSize + ParticleChannels.YOffset] = random.nextFloat();
+				position.data[k * position.strideSize + ParticleChannels.ZOffset] = depths[i][k];
+			}
+		}
+	}
+
+	/** @return The particle indices sorted by depth using a stable comparator sort. */
+	private int[] comparatorOrder (float[][] depths) {
+		final float[] all = concat(depths);
+		Integer[] indices = new Integer[all.length];
+		for (int i = 0; i < indices.length; i++)
+			indices[i] = i;
+		Arrays.sort(indices, new Comparator<Integer>() {
+			public int compare (Integer a, Integer b) {
+				// Like the quick sort the sorter used, -0 and 0 are equal
+				return all[a] < all[b] ? -1 : all[a] > all[b] ? 1 : 0;
+			}
+		});
+		int[] order = new int[indices.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = indices[i];
+		return order;
+	}
+
+	private int[] order (int[] offsets, int count) {
+		int[] order = new int[count];
+		Arrays.fill(order, -1);
+		for (int i = 0; i < count; i++) {
+			assertEquals("offsets must be a permutation", -1, order[offsets[i]]);
+			order[offsets[i]] = i;
+		}
+		return order;
+	}
+
+	private void assertSameDepths (float[][] depths, int[] offsets) {
+		float[] all = concat(depths);
+		int[] expected = comparatorOrder(depths), actual = order(offsets, all.length);
+		for (int i = 0; i < all.length; i++)
+			assertEquals(all[expected[i]], all[actual[i]], 0);
+	}
+
+	private float[] concat (float[][] depths) {
+		int count = 0;
+		for (float[] d : depths)
+			count += d.length;
+		float[] all = new float[count];
+		for (int i = 0, n = 0; i < depths.length; n += depths[i].length, i++)
+			System.arraycopy(depths[i], 0, all, n, depths[i].length);
+		return all;
+	}
+}
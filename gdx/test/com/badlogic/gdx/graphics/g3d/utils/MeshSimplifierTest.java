@@ -0,0 +1,70 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+
+public class MeshSimplifierTest {
+
+	/** Creates a flat grid of size x size quads in the XZ plane, with one unit between vertices. */
+	private static void grid (int size, float[] vertices, short[] indices) {
+		for (int z = 0; z <= size; z++)
+			for (int x = 0; x <= size; x++) {
+				int v = (z * (size + 1) + x) * 3;
+				vertices[v] = x;
+				vertices[v + 1] = 0;
+				vertices[v + 2] = z;
+			}
+		int i = 0;
+		for (int z = 0; z < size; z++)
+			for (int x = 0; x < size; x++) {
+				short v00 = (short)(z * (size + 1) + x), v10 = (short)(v00 + 1), v01 = (short)(v00 + size + 1), v11 = (short)(v01 + 1);
+				indices[i++] = v00;
+				indices[i++] = v10;
+				indices[i++] = v11;
+				indices[i++] = v11;
+				indices[i++] = v01;
+				indices[i++] = v00;
+			}
+	}
+
+	@Test
+	public void testSimplify () {
+		final int size = 16;
+		float[] vertices = new float[(size + 1) * (size + 1) * 3];
+		short[] indices = new short[size * size * 6];
+		grid(size, vertices, indices);
+		// the buffers of a simplifier are reused for every mesh
+		final MeshSimplifier simplifier = new MeshSimplifier();
+
+		MeshBuilder builder = new MeshBuilder();
+		builder.begin(Usage.Position, GL20.GL_TRIANGLES);
+		builder.part("small", GL20.GL_TRIANGLES);
+		// cells smaller than the vertex spacing keep every triangle
+		Assert.assertEquals(size * size * 2, simplifier.simplify(builder, vertices, indices, 0, indices.length, 0.5f));
+		Assert.assertEquals((size + 1) * (size + 1), builder.getNumVertices());
+
+		builder = new MeshBuilder();
+		builder.begin(Usage.Position, GL20.GL_TRIANGLES);
+		builder.part("coarse", GL20.GL_TRIANGLES);
+		// cells of four units merge each 4x4 block of quads, leaving a 4x4 grid plus the border row and column
+		int triangles = simplifier.simplify(builder, vertices, indices, 0, indices.length, 4f);
+		Assert.assertTrue(triangles > 0);
+		Assert.assertTrue(triangles < size * size * 2 / 8);
+		Assert.assertEquals(triangles * 3, builder.getNumIndices());
+		Assert.assertTrue(builder.getNumVertices() <= 25);
+	}
+
+	@Test
+	public void testCollapse () {
+		float[] vertices = {0, 0, 0, 0.1f, 0, 0, 0, 0.1f, 0};
+		short[] indices = {0, 1, 2};
+		MeshBuilder builder = new MeshBuilder();
+		builder.begin(Usage.Position, GL20.GL_TRIANGLES);
+		builder.part("collapse", GL20.GL_TRIANGLES);
+		Assert.assertEquals(0, new MeshSimplifier().simplify(builder, vertices, indices, 0, indices.length, 1f));
+		Assert.assertEquals(0, builder.getNumVertices());
+	}
+}
@@ -0,0 +1,112 @@
+package com.badlogic.gdx.maps;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.maps.objects.CircleMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.PolylineMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.utils.Array;
+
+public class MapObjectIndexTest {
+	private MapObjects createObjects () {
+		Random random = new Random(7);
+		MapObjects objects = new MapObjects();
+		for (int i = 0; i < 500; i++) {
+			float x = random.nextFloat() * 1000, y = random.nextFloat() * 1000, size = 1 + random.nextFloat() * 40;
+			switch (i % 4) {
+			case 0:
+				objects.add(new RectangleMapObject(x, y, size, size * 0.5f));
+				break;
+			case 1:
+				objects.add(new CircleMapObject(x, y, size));
+				break;
+			case 2:
+				objects.add(new PolygonMapObject(new float[] {x, y, x + size, y, x, y + size}));
+				break;
+			case 3:
+				objects.add(new PolylineMapObject(new float[] {x, y, x + size, y + size}));
+				break;
+			}
+		}
+		// larger than MAX_OBJECT_CELLS cells
+		objects.add(new RectangleMapObject(100, 100, 600, 600));
+		objects.add(new MapObject());
+		return objects;
+	}
+
+	@Test
+	public void testQueries () {
+		MapObjects objects = createObjects();
+		MapObjectIndex index = new MapObjectIndex(objects, 25);
+		assertEquals(objects.getCount() - 1, index.getObjects().size);
+		float[] bounds = new float[4];
+		Array<MapObject> results = new Array<MapObject>();
+		Random random = new Random(3);
+		for (int q = 0; q < 200; q++) {
+			float x = random.nextFloat() * 1100 - 50, y = random.nextFloat() * 1100 - 50;
+			float width = random.nextFloat() * 100, height = random.nextFloat() * 100, radius = random.nextFloat() * 60;
+			float endX = random.nextFloat() * 1100 - 50, endY = random.nextFloat() * 1100 - 50;
+
+			int at = 0, in = 0, within = 0;
+			for (MapObject object : index.getObjects()) {
+				MapObjectIndex.getBounds(object, bounds, 0);
+				boolean contains = false;
+				if (object instanceof RectangleMapObject)
+					contains = ((RectangleMapObject)object).getRectangle().contains(x, y);
+				else if (object instanceof CircleMapObject)
+					contains = ((CircleMapObject)object).getCircle().contains(x, y);
+				else if (object instanceof PolygonMapObject) contains = ((PolygonMapObject)object).getPolygon().contains(x, y);
+				if (contains) at++;
+				if (bounds[0] <= x + width && bounds[2] >= x && bounds[1] <= y + height && bounds[3] >= y) in++;
+				float dx = Math.max(0, Math.max(bounds[0] - x, x - bounds[2]));
+				float dy = Math.max(0, Math.max(bounds[1] - y, y - bounds[3]));
+				if (dx * dx + dy * dy <= radius * radius) within++;
+			}
+			assertEquals(at, index.getObjectsAt(x, y, results).size);
+			assertEquals(in, index.getObjectsIn(x, y, width, height, results).size);
+			assertEquals(within, index.getObjectsWithin(x, y, radius, results).size);
+
+			int hits = 0;
+			for (MapObject object : index.getObjects()) {
+				MapObjectIndex.getBounds(object, bounds, 0);
+				if (intersects(bounds, x, y, endX, endY)) hits++;
+			}
+			index.raycast(x, y, endX, endY, results);
+			assertEquals(hits, results.size);
+			for (MapObject object : results) {
+				MapObjectIndex.getBounds(object, bounds, 0);
+				assertTrue(intersects(bounds, x, y, endX, endY));
+			}
+		}
+	}
+
+	private boolean intersects (float[] bounds, float x1, float y1, float x2, float y2) {
+		double t1 = 0, t2 = 1;
+		double ax = (bounds[0] - x1) / (double)(x2 - x1), bx = (bounds[2] - x1) / (double)(x2 - x1);
+		double ay = (bounds[1] - y1) / (double)(y2 - y1), by = (bounds[3] - y1) / (double)(y2 - y1);
+		t1 = Math.max(t1, Math.max(Math.min(ax, bx), Math.min(ay, by)));
+		t2 = Math.min(t2, Math.min(Math.max(ax, bx), Math.max(ay, by)));
+		return t1 <= t2;
+	}
+
+	@Test
+	public void testRebuild () {
+		MapObjects objects = new MapObjects();
+		MapObjectIndex index = new MapObjectIndex(objects, 10);
+		Array<MapObject> results = new Array<MapObject>();
+		assertEquals(0, index.getObjectsAt(5, 5, results).size);
+		RectangleMapObject object = new RectangleMapObject(0, 0, 10, 10);
+		objects.add(object);
+		index.build();
+		assertSame(object, index.getObjectsAt(5, 5, results).first());
+		object.getRectangle().setPosition(50, 50);
+		index.build();
+		assertEquals(0, index.getObjectsAt(5, 5, results).size);
+		assertSame(object, index.getObjectsAt(55, 55, results).first());
+	}
+}
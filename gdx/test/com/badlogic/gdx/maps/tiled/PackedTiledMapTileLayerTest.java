@@ -0,0 +1,58 @@
+package com.badlogic.gdx.maps.tiled;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+
+public class PackedTiledMapTileLayerTest {
+	@Test
+	public void testDecodeMatchesTmxLoader () {
+		TmxMapLoader loader = new TmxMapLoader();
+		for (int flags = 0; flags < 8; flags++) {
+			Cell expected = loader.createTileLayerCell((flags & 4) != 0, (flags & 2) != 0, (flags & 1) != 0);
+			int value = 1 | flags << 29;
+			assertEquals(expected.getFlipHorizontally(), PackedTiledMapTileLayer.getFlipHorizontally(value));
+			assertEquals(expected.getFlipVertically(), PackedTiledMapTileLayer.getFlipVertically(value));
+			assertEquals(expected.getRotation(), PackedTiledMapTileLayer.getRotation(value));
+			assertEquals(value & PackedTiledMapTileLayer.MASK_FLAGS, PackedTiledMapTileLayer.getFlags(
+				expected.getFlipHorizontally(), expected.getFlipVertically(), expected.getRotation()));
+		}
+	}
+
+	@Test
+	public void testCells () {
+		TiledMapTileSets tileSets = new TiledMapTileSets();
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		StaticTiledMapTile tile1 = new StaticTiledMapTile((TextureRegion)null);
+		tile1.setId(1);
+		tileSet.putTile(1, tile1);
+		tileSets.addTileSet(tileSet);
+		StaticTiledMapTile tile2 = new StaticTiledMapTile((TextureRegion)null);
+		tile2.setId(200);
+
+		PackedTiledMapTileLayer layer = new PackedTiledMapTileLayer(4, 3, 16, 16, tileSets);
+		assertNull(layer.getCell(1, 1));
+
+		layer.setData(1, 2, 1 | PackedTiledMapTileLayer.FLAG_FLIP_HORIZONTALLY);
+		Cell cell = layer.getCell(1, 2);
+		assertSame(tile1, cell.getTile());
+		assertTrue(cell.getFlipHorizontally());
+		assertEquals(1 | PackedTiledMapTileLayer.FLAG_FLIP_HORIZONTALLY, layer.getData()[2 * 4 + 1]);
+
+		layer.setCell(3, 0, new Cell().setTile(tile2).setFlipVertically(true));
+		cell = layer.getCell(3, 0);
+		assertSame(tile2, cell.getTile());
+		assertFalse(cell.getFlipHorizontally());
+		assertTrue(cell.getFlipVertically());
+
+		cell.setFlipVertically(false).setTile(tile1);
+		assertEquals(1, layer.getData(3, 0));
+		cell.setTile(null);
+		assertNull(layer.getCell(3, 0));
+		assertEquals(0, layer.getData(-1, 0));
+	}
+}
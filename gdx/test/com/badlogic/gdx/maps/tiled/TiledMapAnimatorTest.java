@@ -0,0 +1,78 @@
+package com.badlogic.gdx.maps.tiled;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+
+public class TiledMapAnimatorTest {
+	private TiledMap createMap (AnimatedTiledMapTile tile) {
+		TiledMap map = new TiledMap();
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		tileSet.putTile(1, tile);
+		map.getTileSets().addTileSet(tileSet);
+		return map;
+	}
+
+	private AnimatedTiledMapTile createTile () {
+		Array<StaticTiledMapTile> frames = new Array<StaticTiledMapTile>();
+		for (int i = 0; i < 3; i++)
+			frames.add(new StaticTiledMapTile((TextureRegion)null));
+		return new AnimatedTiledMapTile(0.1f, frames);
+	}
+
+	@Test
+	public void testIndependentMaps () {
+		AnimatedTiledMapTile tile1 = createTile(), tile2 = createTile();
+		TiledMapAnimator animator1 = new TiledMapAnimator(createMap(tile1));
+		TiledMapAnimator animator2 = new TiledMapAnimator(createMap(tile2));
+		assertEquals(1, animator1.getTiles().size);
+		assertEquals(0, tile1.getCurrentFrameIndex());
+
+		assertFalse(animator1.update(0.05f));
+		assertTrue(animator1.update(0.1f));
+		assertSame(tile1, animator1.getChangedTiles().first());
+		assertEquals(1, tile1.getCurrentFrameIndex());
+		assertSame(tile1.getFrameTiles()[1], tile1.getCurrentFrame());
+
+		animator2.update(0.25f);
+		assertEquals(2, tile2.getCurrentFrameIndex());
+		assertEquals(1, tile1.getCurrentFrameIndex());
+
+		animator1.setTime(0.31f);
+		animator1.update(0);
+		assertEquals(0, tile1.getCurrentFrameIndex());
+	}
+
+	@Test
+	public void testFrameIndex () {
+		AnimatedTiledMapTile tile = createTile();
+		assertEquals(0, tile.getFrameIndex(0));
+		assertEquals(0, tile.getFrameIndex(99));
+		assertEquals(1, tile.getFrameIndex(150));
+		assertEquals(2, tile.getFrameIndex(299));
+		assertEquals(0, tile.getFrameIndex(301));
+		assertEquals(2, tile.getFrameIndex(-1));
+		assertEquals(0, tile.getFrameIndex(-250));
+		assertEquals(2, tile.getFrameIndex(-301));
+	}
+
+	@Test
+	public void testNegativeTime () {
+		AnimatedTiledMapTile tile = createTile();
+		TiledMapAnimator animator = new TiledMapAnimator(createMap(tile));
+		animator.setSpeed(-1);
+		assertTrue(animator.update(0.05f));
+		assertEquals(2, tile.getCurrentFrameIndex());
+		animator.update(0.1f);
+		assertEquals(1, tile.getCurrentFrameIndex());
+		animator.setSpeed(1);
+		animator.setTime(-10.35f);
+		animator.update(0);
+		assertEquals(1, tile.getCurrentFrameIndex());
+	}
+}
@@ -0,0 +1,77 @@
+package com.badlogic.gdx.maps.tiled;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TmxRegionLoader.Region;
+import com.badlogic.gdx.utils.Base64Coder;
+
+public class TmxRegionLoaderTest {
+	@Test
+	public void testDecodeWindow () {
+		String csv = "1,2,3,4,\n5,6,7,8,\n9,10,11,12";
+		int[] ids = new int[4];
+		BaseTmxMapLoader.decodeTileIds(csv, "csv", null, 4, 3, ids, 1, 1, 2, 2);
+		assertArrayEquals(new int[] {6, 7, 10, 11}, ids);
+
+		byte[] bytes = new byte[12 * 4];
+		for (int i = 0; i < 12; i++)
+			bytes[i * 4] = (byte)(i + 1);
+		bytes[3] = (byte)0x80; // flip horizontally
+		String base64 = new String(Base64Coder.encode(bytes));
+		ids = new int[9];
+		BaseTmxMapLoader.decodeTileIds(base64, "base64", null, 4, 3, ids, -1, -1, 3, 3);
+		assertArrayEquals(new int[] {0, 0, 0, 0, 1 | 0x80000000, 2, 0, 5, 6}, ids);
+	}
+
+	@Test
+	public void testInfiniteMapRegion () throws IOException {
+		File file = File.createTempFile("region", ".tmx");
+		file.deleteOnExit();
+		FileHandle tmx = new FileHandle(file);
+		tmx.writeString("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<map version=\"1.2\" orientation=\"orthogonal\" width=\"4\" height=\"4\" tilewidth=\"8\" tileheight=\"8\" infinite=\"1\">\n"
+			+ " <layer id=\"1\" name=\"ground\" width=\"4\" height=\"4\">\n" //
+			+ "  <data encoding=\"csv\">\n" //
+			+ "   <chunk x=\"-2\" y=\"-2\" width=\"2\" height=\"2\">1,2,\n3,4</chunk>\n"
+			+ "   <chunk x=\"0\" y=\"-2\" width=\"2\" height=\"2\">5,6,\n7,8</chunk>\n"
+			+ "   <chunk x=\"0\" y=\"0\" width=\"2\" height=\"2\">9,10,\n11,12</chunk>\n" //
+			+ "  </data>\n" //
+			+ " </layer>\n" //
+			+ " <group name=\"group\">\n" //
+			+ "  <layer id=\"2\" name=\"top\" width=\"2\" height=\"1\">\n" //
+			+ "   <data encoding=\"csv\">13,14</data>\n" //
+			+ "  </layer>\n" //
+			+ " </group>\n" //
+			+ "</map>", false);
+
+		Region region = new TmxRegionLoader(tmx).load(-1, -1, 2, 2);
+		assertEquals(2, region.layerCount);
+		assertArrayEquals(new int[] {4, 7, 0, 9}, region.layers.get(0));
+		assertArrayEquals(new int[] {0, 0, 0, 13}, region.layers.get(1));
+
+		PackedTiledMapTileLayer ground = new PackedTiledMapTileLayer(4, 4, 8, 8, null);
+		ground.getProperties().put("startx", -2);
+		ground.getProperties().put("starty", -2);
+		PackedTiledMapTileLayer top = new PackedTiledMapTileLayer(2, 1, 8, 8, null);
+		TiledMap map = new TiledMap();
+		map.getLayers().add(ground);
+		map.getLayers().add(top);
+		region.apply(map);
+		// tmx (-1, -1) is row 1 from the top of the ground layer, row 2 from its bottom
+		assertEquals(4, ground.getData(1, 2));
+		assertEquals(7, ground.getData(2, 2));
+		assertEquals(9, ground.getData(2, 1));
+		assertEquals(13, top.getData(0, 0));
+		assertEquals(0, top.getData(1, 0));
+
+		new TmxRegionLoader(tmx).clear(map, -2, -2, 4, 4);
+		assertEquals(0, ground.getData(1, 2));
+		assertEquals(0, top.getData(0, 0));
+	}
+}
@@ -0,0 +1,143 @@
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class MathKernelsTest {
+	private final Random random = new Random(11);
+
+	private float[] randomAffine (float[] matrices, int n) {
+		for (int i = 0; i < 16; i++)
+			matrices[n * 16 + i] = random.nextFloat() * 4 - 2;
+		matrices[n * 16 + Matrix4.M30] = matrices[n * 16 + Matrix4.M31] = matrices[n * 16 + Matrix4.M32] = 0;
+		matrices[n * 16 + Matrix4.M33] = 1;
+		return matrices;
+	}
+
+	private Vector3 transform (float[] m, int n, Vector3 v) {
+		final int o = n * 16;
+		return v.set(m[o] * v.x + m[o + 4] * v.y + m[o + 8] * v.z + m[o + 12], m[o + 1] * v.x + m[o + 5] * v.y + m[o + 9] * v.z
+			+ m[o + 13], m[o + 2] * v.x + m[o + 6] * v.y + m[o + 10] * v.z + m[o + 14]);
+	}
+
+	@Test
+	public void testMul () {
+		final int count = 10;
+		float[] left = new float[count * 16], right = new float[count * 16], dst = new float[count * 16];
+		for (int n = 0; n < count; n++) {
+			randomAffine(left, n);
+			randomAffine(right, n);
+		}
+		MathKernels.mul(left, right, dst, 0, count);
+		Vector3 expected = new Vector3(), actual = new Vector3();
+		for (int n = 0; n < count; n++) {
+			transform(left, n, transform(right, n, expected.set(1, 2, 3)));
+			transform(dst, n, actual.set(1, 2, 3));
+			assertTrue(expected.epsilonEquals(actual, 1e-4f));
+		}
+
+		// in place, right and dst are the same array
+		float[] copy = right.clone();
+		MathKernels.mul(left, copy, copy, 0, count);
+		assertArrayEquals(dst, copy, 0);
+
+		int[] parents = {-1, 0, 1, 0};
+		float[] world = new float[4 * 16];
+		MathKernels.mulHierarchy(right, parents, world, 0, 4);
+		transform(right, 0, transform(right, 1, transform(right, 2, expected.set(1, 2, 3))));
+		transform(world, 2, actual.set(1, 2, 3));
+		assertTrue(expected.epsilonEquals(actual, 1e-3f));
+	}
+
+	@Test
+	public void testTransformBoxes () {
+		final int count = 20, stride = 32;
+		float[] matrices = new float[count * 16], boxes = new float[6 * stride], dst = new float[6 * stride];
+		BoundingBox box = new BoundingBox(), actual = new BoundingBox();
+		Matrix4 matrix = new Matrix4();
+		for (int n = 0; n < count; n++) {
+			randomAffine(matrices, n);
+			box.set(new Vector3(random.nextFloat(), random.nextFloat(), random.nextFloat()),
+				new Vector3(1 + random.nextFloat(), 1 + random.nextFloat(), 1 + random.nextFloat()));
+			MathKernels.setBox(boxes, stride, n, box);
+		}
+		MathKernels.transformBoxes(matrices, boxes, dst, stride, 0, count);
+		for (int n = 0; n < count; n++) {
+			System.arraycopy(matrices, n * 16, matrix.val, 0, 16);
+			MathKernels.getBox(boxes, stride, n, box).mul(matrix);
+			MathKernels.getBox(dst, stride, n, actual);
+			assertTrue(box.min.epsilonEquals(actual.min, 1e-4f));
+			assertTrue(box.max.epsilonEquals(actual.max, 1e-4f));
+		}
+
+		MathKernels.transformBoxes(matrix, boxes, dst, stride, 0, count);
+		MathKernels.getBox(boxes, stride, 3, box).mul(matrix);
+		MathKernels.getBox(dst, stride, 3, actual);
+		assertTrue(box.min.epsilonEquals(actual.min, 1e-4f));
+		assertTrue(box.max.epsilonEquals(actual.max, 1e-4f));
+	}
+
+	@Test
+	public void testCull () {
+		Frustum frustum = new Frustum();
+		for (Plane plane : frustum.planes) {
+			plane.normal.set(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f).nor();
+			plane.d = random.nextFloat() * 5;
+		}
+		final int count = 1000;
+		float[] boxes = new float[6 * count], spheres = new float[4 * count];
+		boolean[] visible = new boolean[count];
+		for (int i = 0; i < boxes.length; i++)
+			boxes[i] = i < 3 * count ? random.nextFloat() * 20 - 10 : random.nextFloat();
+		for (int i = 0; i < spheres.length; i++)
+			spheres[i] = i < 3 * count ? random.nextFloat() * 20 - 10 : random.nextFloat();
+
+		int expected = 0;
+		int visibleCount = MathKernels.cullBoxes(frustum, boxes, count, visible, 0, count);
+		for (int n = 0; n < count; n++) {
+			boolean inside = frustum.boundsInFrustum(boxes[n], boxes[count + n], boxes[2 * count + n], boxes[3 * count + n],
+				boxes[4 * count + n], boxes[5 * count + n]);
+			assertEquals(inside, visible[n]);
+			if (inside) expected++;
+		}
+		assertEquals(expected, visibleCount);
+		assertTrue(expected > 0 && expected < count);
+		int[] indices = new int[count];
+		assertEquals(expected, MathKernels.indicesOf(visible, 0, count, indices));
+
+		expected = 0;
+		visibleCount = MathKernels.cullSpheres(frustum, spheres, count, visible, 0, count);
+		for (int n = 0; n < count; n++) {
+			boolean inside = frustum.sphereInFrustum(spheres[n], spheres[count + n], spheres[2 * count + n], spheres[3 * count + n]);
+			assertEquals(inside, visible[n]);
+			if (inside) expected++;
+		}
+		assertEquals(expected, visibleCount);
+	}
+
+	@Test
+	public void testParallel () {
+		final int count = 10001;
+		final int[] visits = new int[count];
+		AsyncExecutor executor = new AsyncExecutor(3);
+		try {
+			MathKernels.parallel(executor, count, 4, new MathKernels.RangeKernel() {
+				@Override
+				public void run (int start, int count) {
+					for (int i = start; i < start + count; i++)
+						visits[i]++;
+				}
+			});
+		} finally {
+			executor.dispose();
+		}
+		for (int i = 0; i < count; i++)
+			assertEquals(1, visits[i]);
+	}
+}
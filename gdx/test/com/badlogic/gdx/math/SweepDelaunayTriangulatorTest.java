@@ -0,0 +1,128 @@
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+public class SweepDelaunayTriangulatorTest {
+	private final Random random = new Random(5);
+
+	private float[] randomPoints (int count) {
+		float[] points = new float[count * 2];
+		for (int i = 0; i < points.length; i++)
+			points[i] = random.nextFloat() * 100;
+		return points;
+	}
+
+	private float area (float[] points, IntArray triangles, int t) {
+		final int a = triangles.get(t) * 2, b = triangles.get(t + 1) * 2, c = triangles.get(t + 2) * 2;
+		return ((points[b] - points[a]) * (points[c + 1] - points[a + 1]) - (points[b + 1] - points[a + 1]) * (points[c] - points[a]))
+			/ 2;
+	}
+
+	private float area (float[] points, IntArray triangles) {
+		float area = 0;
+		for (int t = 0; t < triangles.size; t += 3)
+			area += area(points, triangles, t);
+		return area;
+	}
+
+	private boolean hasEdge (IntArray triangles, int a, int b) {
+		for (int t = 0; t < triangles.size; t += 3)
+			for (int i = 0; i < 3; i++)
+				if (triangles.get(t + i) == a && triangles.get(t + (i + 1) % 3) == b) return true;
+		return false;
+	}
+
+	private void assertAdjacency (IntArray triangles, IntArray halfedges) {
+		assertEquals(triangles.size, halfedges.size);
+		for (int e = 0; e < halfedges.size; e++) {
+			final int opposite = halfedges.get(e);
+			if (opposite == -1) continue;
+			assertEquals(e, halfedges.get(opposite));
+			assertEquals(triangles.get(e), triangles.get(opposite - opposite % 3 + (opposite + 1) % 3));
+		}
+	}
+
+	@Test
+	public void testDelaunay () {
+		final float[] points = randomPoints(500);
+		final SweepDelaunayTriangulator triangulator = new SweepDelaunayTriangulator();
+		final IntArray triangles = triangulator.computeTriangles(points);
+		assertAdjacency(triangles, triangulator.getHalfedges());
+
+		for (int t = 0; t < triangles.size; t += 3) {
+			assertTrue(area(points, triangles, t) > 0);
+			// no point is inside the circumcircle
+			final int a = triangles.get(t) * 2, b = triangles.get(t + 1) * 2, c = triangles.get(t + 2) * 2;
+			for (int i = 0; i < points.length; i += 2) {
+				final double ax = points[a] - points[i], ay = points[a + 1] - points[i + 1];
+				final double bx = points[b] - points[i], by = points[b + 1] - points[i + 1];
+				final double cx = points[c] - points[i], cy = points[c + 1] - points[i + 1];
+				final double det = (ax * ax + ay * ay) * (bx * cy - cx * by) - (bx * bx + by * by) * (ax * cy - cx * ay)
+					+ (cx * cx + cy * cy) * (ax * by - bx * ay);
+				assertTrue(det < 1e-3);
+			}
+		}
+
+		// the triangles cover the convex hull
+		final FloatArray hull = new ConvexHull().computePolygon(points, false);
+		final float hullArea = -GeometryUtils.polygonArea(hull.items, 0, hull.size - 2);
+		assertEquals(Math.abs(hullArea), area(points, triangles), 0.1f);
+		assertEquals(2 * 500 - (hull.size / 2 - 1) - 2, triangles.size / 3);
+	}
+
+	@Test
+	public void testDegenerate () {
+		final SweepDelaunayTriangulator triangulator = new SweepDelaunayTriangulator();
+		assertEquals(0, triangulator.computeTriangles(new float[] {0, 0, 1, 1}).size);
+		assertEquals(0, triangulator.computeTriangles(new float[] {0, 0, 1, 1, 2, 2, 3, 3}).size);
+		// duplicate points are skipped
+		final IntArray triangles = triangulator.computeTriangles(new float[] {0, 0, 1, 0, 1, 1, 0, 1, 1, 0, 0, 0});
+		assertEquals(6, triangles.size);
+		// grid with collinear and cocircular points
+		final float[] grid = new float[20 * 20 * 2];
+		for (int i = 0; i < grid.length; i += 2) {
+			grid[i] = i / 2 % 20;
+			grid[i + 1] = i / 2 / 20;
+		}
+		final IntArray gridTriangles = triangulator.computeTriangles(grid);
+		assertAdjacency(gridTriangles, triangulator.getHalfedges());
+		assertEquals(19 * 19, area(grid, gridTriangles), 0.001f);
+	}
+
+	@Test
+	public void testConstrained () {
+		// a square outline with a square hole, filled with random points
+		final float[] random = randomPoints(200);
+		final float[] points = new float[16 + random.length];
+		final float[] outlines = {0, 0, 100, 0, 100, 100, 0, 100, 30, 30, 30, 70, 70, 70, 70, 30};
+		System.arraycopy(outlines, 0, points, 0, 16);
+		int count = 16;
+		for (int i = 0; i < random.length; i += 2) {
+			final float x = random[i], y = random[i + 1];
+			if (x > 29 && x < 71 && y > 29 && y < 71) continue;
+			points[count++] = x;
+			points[count++] = y;
+		}
+		// an edge crossing the hole diagonally is constrained too, without removing the outside
+		final IntArray edges = new IntArray(new int[] {0, 1, 1, 2, 2, 3, 3, 0, 4, 5, 5, 6, 6, 7, 7, 4});
+		final SweepDelaunayTriangulator triangulator = new SweepDelaunayTriangulator();
+		IntArray triangles = triangulator.computeTriangles(points, 0, count, new IntArray(new int[] {4, 6}), false);
+		assertTrue(hasEdge(triangles, 4, 6) || hasEdge(triangles, 6, 4));
+		assertEquals(100 * 100, area(points, triangles), 0.1f);
+
+		triangles = triangulator.computeTriangles(points, 0, count, edges, true);
+		assertAdjacency(triangles, triangulator.getHalfedges());
+		for (int i = 0; i < edges.size; i += 2)
+			assertTrue(hasEdge(triangles, edges.get(i), edges.get(i + 1)) || hasEdge(triangles, edges.get(i + 1), edges.get(i)));
+		assertEquals(100 * 100 - 40 * 40, area(points, triangles), 0.1f);
+		for (int t = 0; t < triangles.size; t += 3)
+			assertTrue(area(points, triangles, t) > 0);
+	}
+}
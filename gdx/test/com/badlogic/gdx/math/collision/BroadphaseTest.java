@@ -0,0 +1,137 @@
+package com.badlogic.gdx.math.collision;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.collision.Broadphase.PairCallback;
+import com.badlogic.gdx.math.collision.Broadphase.QueryCallback;
+import com.badlogic.gdx.math.collision.Broadphase.RayCallback;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+public class BroadphaseTest {
+	private final Random random = new Random(3);
+
+	private void randomBox (float[] boxes, int index, int dimensions) {
+		final int offset = index * dimensions * 2;
+		for (int i = 0; i < dimensions; i++) {
+			boxes[offset + i] = random.nextFloat() * 100;
+			boxes[offset + dimensions + i] = boxes[offset + i] + random.nextFloat() * 10;
+		}
+	}
+
+	private LongArray findPairs (Broadphase broadphase, final int[] indices) {
+		final LongArray pairs = new LongArray();
+		broadphase.findPairs(new PairCallback() {
+			public void pair (int proxyA, int proxyB) {
+				final int a = indices[proxyA], b = indices[proxyB];
+				pairs.add((long)Math.min(a, b) << 32 | Math.max(a, b));
+			}
+		});
+		pairs.sort();
+		return pairs;
+	}
+
+	private LongArray naivePairs (float[] boxes, boolean[] removed, int count, int dimensions) {
+		final LongArray pairs = new LongArray();
+		for (int a = 0; a < count; a++)
+			for (int b = a + 1; b < count; b++)
+				if (!removed[a] && !removed[b] && Broadphase.overlaps(boxes, a * dimensions * 2, boxes, b * dimensions * 2, dimensions))
+					pairs.add((long)a << 32 | b);
+		return pairs;
+	}
+
+	private void testBroadphase (Broadphase broadphase) {
+		final int dimensions = broadphase.dimensions, count = 500;
+		final float[] boxes = new float[count * dimensions * 2];
+		final boolean[] removed = new boolean[count];
+		final int[] proxies = new int[count];
+		final int[] indices = new int[count * 2];
+		for (int i = 0; i < count; i++) {
+			randomBox(boxes, i, dimensions);
+			proxies[i] = broadphase.add(boxes, i * dimensions * 2);
+			indices[proxies[i]] = i;
+		}
+		assertEquals(count, broadphase.size());
+		assertEquals(naivePairs(boxes, removed, count, dimensions), findPairs(broadphase, indices));
+
+		// move and remove some boxes
+		for (int i = 0; i < count; i += 3) {
+			for (int d = 0; d < dimensions * 2; d++)
+				boxes[i * dimensions * 2 + d] += i % 2 == 0 ? 0.5f : 20;
+			broadphase.update(proxies[i], boxes, i * dimensions * 2);
+		}
+		for (int i = 1; i < count; i += 7) {
+			broadphase.remove(proxies[i]);
+			removed[i] = true;
+		}
+		assertEquals(naivePairs(boxes, removed, count, dimensions), findPairs(broadphase, indices));
+
+		// query
+		final float[] query = new float[dimensions * 2];
+		for (int i = 0; i < dimensions; i++) {
+			query[i] = 20;
+			query[dimensions + i] = 50;
+		}
+		final IntArray found = new IntArray();
+		broadphase.query(query, 0, new QueryCallback() {
+			public boolean found (int proxy) {
+				found.add(indices[proxy]);
+				return true;
+			}
+		});
+		found.sort();
+		final IntArray expected = new IntArray();
+		for (int i = 0; i < count; i++)
+			if (!removed[i] && Broadphase.overlaps(boxes, i * dimensions * 2, query, 0, dimensions)) expected.add(i);
+		assertEquals(expected, found);
+
+		// raycast keeping the closest hit
+		final float[] origin = {-10, 50, 50}, direction = {1, 0.1f, -0.05f};
+		final int[] closest = {-1};
+		broadphase.raycast(origin, direction, 1000, new RayCallback() {
+			public float hit (int proxy, float distance) {
+				closest[0] = indices[proxy];
+				return distance;
+			}
+		});
+		int expectedClosest = -1;
+		float minDistance = 1000;
+		for (int i = 0; i < count; i++) {
+			if (removed[i]) continue;
+			final float distance = Broadphase.intersectRay(boxes, i * dimensions * 2, dimensions, origin, direction, minDistance);
+			if (distance >= 0 && distance < minDistance) {
+				minDistance = distance;
+				expectedClosest = i;
+			}
+		}
+		assertTrue(expectedClosest != -1);
+		assertEquals(expectedClosest, closest[0]);
+
+		broadphase.clear();
+		assertEquals(0, broadphase.size());
+		assertEquals(0, findPairs(broadphase, indices).size);
+	}
+
+	@Test
+	public void testSweepAndPrune () {
+		testBroadphase(new SweepAndPrune(2));
+		testBroadphase(new SweepAndPrune(3));
+	}
+
+	@Test
+	public void testDynamicAabbTree () {
+		testBroadphase(new DynamicAabbTree(2));
+		testBroadphase(new DynamicAabbTree(3, 1, 4));
+		final DynamicAabbTree tree = new DynamicAabbTree(2);
+		final float[] box = new float[4];
+		for (int i = 0; i < 1024; i++) {
+			box[0] = box[2] = i;
+			tree.add(box, 0);
+		}
+		assertTrue(tree.getHeight() < 20);
+	}
+}
@@ -0,0 +1,119 @@
+package com.badlogic.gdx.scenes.scene2d;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+public class GroupSpatialIndexTest {
+	static Actor actor (Group group, float x, float y, float width, float height) {
+		final Actor actor = new Actor();
+		actor.setBounds(x, y, width, height);
+		group.addActor(actor);
+		return actor;
+	}
+
+	static Array<Actor> cull (Group group, float x, float y, float width, float height) {
+		return new Array(group.spatialIndex.cull(new Rectangle(x, y, width, height)));
+	}
+
+	@Test
+	public void testHitOrder () {
+		final Group group = new Group();
+		group.setSpatialIndex(10);
+		final Actor a = actor(group, 0, 0, 10, 10), b = actor(group, 5, 5, 10, 10);
+		assertSame(b, group.hit(7, 7, true));
+		assertSame(a, group.hit(2, 2, true));
+		assertSame(b, group.hit(12, 12, true));
+		assertNull(group.hit(20, 20, true));
+		b.setZIndex(0);
+		assertSame(a, group.hit(7, 7, true));
+		group.swapActor(a, b);
+		assertSame(b, group.hit(7, 7, true));
+		final Actor c = new Actor();
+		c.setBounds(6, 6, 1, 1);
+		group.addActorAt(0, c);
+		assertSame(b, group.hit(6.5f, 6.5f, true));
+		c.toFront();
+		assertSame(c, group.hit(6.5f, 6.5f, true));
+		b.setTouchable(Touchable.disabled);
+		c.setTouchable(Touchable.disabled);
+		assertSame(a, group.hit(6.5f, 6.5f, true));
+		assertSame(c, group.hit(6.5f, 6.5f, false));
+	}
+
+	@Test
+	public void testCulling () {
+		final Group group = new Group();
+		group.setSpatialIndex(10);
+		final Actor a = actor(group, 0, 0, 10, 10), b = actor(group, 50, 50, 10, 10), c = actor(group, 200, 0, 5, 5);
+		final Actor d = actor(group, 5, 5, 100, 2);
+		assertEquals(new Array(new Actor[] {a, d}), cull(group, 0, 0, 10, 10));
+		assertEquals(new Array(new Actor[] {b}), cull(group, 45, 45, 10, 10));
+		assertEquals(new Array(new Actor[] {a, b, c, d}), cull(group, -10, -10, 300, 300));
+		assertEquals(0, cull(group, 1000, 1000, 10, 10).size);
+		// child groups without a size are never culled
+		final Group empty = new Group();
+		group.addActorAt(0, empty);
+		assertEquals(new Array(new Actor[] {empty, b}), cull(group, 45, 45, 10, 10));
+	}
+
+	@Test
+	public void testUpdates () {
+		final Group group = new Group();
+		group.setSpatialIndex(10);
+		final Actor a = actor(group, 0, 0, 10, 10);
+		a.setPosition(100, 100);
+		assertNull(group.hit(5, 5, true));
+		assertSame(a, group.hit(105, 105, true));
+		a.setSize(100, 100);
+		assertSame(a, group.hit(195, 195, true));
+		assertEquals(new Array(new Actor[] {a}), cull(group, 150, 150, 1, 1));
+		a.setX(0);
+		assertSame(a, group.hit(50, 150, true));
+		a.setHeight(10);
+		assertNull(group.hit(50, 150, true));
+		a.setBounds(0, 0, 10, 10);
+		a.setRotation(45);
+		assertSame(a, group.hit(-5, 7, true));
+		a.setRotation(0);
+		a.setScale(2);
+		assertSame(a, group.hit(15, 15, true));
+		final Actor b = actor(group, 0, 0, 10, 10);
+		assertSame(b, group.hit(5, 5, true));
+		group.removeActor(b);
+		assertSame(a, group.hit(5, 5, true));
+		assertEquals(new Array(new Actor[] {a}), cull(group, 0, 0, 10, 10));
+		a.remove();
+		assertNull(group.hit(5, 5, true));
+		assertEquals(0, cull(group, 0, 0, 10, 10).size);
+		actor(group, 0, 0, 10, 10);
+		group.clearChildren();
+		assertNull(group.hit(5, 5, true));
+	}
+
+	@Test
+	public void testMatchesWithoutIndex () {
+		final Random random = new Random(7);
+		final Group group = new Group();
+		for (int i = 0; i < 200; i++) {
+			final Actor actor = actor(group, random.nextFloat() * 500, random.nextFloat() * 500, 1 + random.nextFloat() * 40,
+				1 + random.nextFloat() * 40);
+			if (i % 3 == 0) actor.setRotation(random.nextFloat() * 360);
+			if (i % 5 == 0) actor.setScale(0.5f + random.nextFloat());
+		}
+		final float[] points = new float[2000];
+		for (int i = 0; i < points.length; i++)
+			points[i] = random.nextFloat() * 520 - 10;
+		final Actor[] expected = new Actor[points.length / 2];
+		for (int i = 0; i < expected.length; i++)
+			expected[i] = group.hit(points[i * 2], points[i * 2 + 1], true);
+		group.setSpatialIndex(25);
+		for (int i = 0; i < expected.length; i++)
+			assertSame(expected[i], group.hit(points[i * 2], points[i * 2 + 1], true));
+	}
+}
@@ -0,0 +1,199 @@
+package com.badlogic.gdx.scenes.scene2d;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.actions.TweenScheduler;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.utils.viewport.ScalingViewport;
+
+public class StageLayoutTest {
+	static private Graphics graphics;
+	static private Files files;
+	static private GL20 gl;
+
+	/** Returns an implementation of the interface whose methods do nothing and return default values. */
+	static <T> T stub (Class<T> type) {
+		return (T)Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				final Class<?> result = method.getReturnType();
+				if (result == boolean.class) return false;
+				if (result == int.class) return 0;
+				if (result == long.class) return 0L;
+				if (result == float.class) return 0f;
+				if (result == double.class) return 0d;
+				return null;
+			}
+		});
+	}
+
+	@BeforeClass
+	static public void setUp () {
+		graphics = Gdx.graphics;
+		files = Gdx.files;
+		gl = Gdx.gl;
+		Gdx.graphics = stub(Graphics.class);
+		// Cell.defaults() are created per Files instance
+		Gdx.files = stub(Files.class);
+		Gdx.gl = stub(GL20.class);
+	}
+
+	@AfterClass
+	static public void tearDown () {
+		Gdx.graphics = graphics;
+		Gdx.files = files;
+		Gdx.gl = gl;
+	}
+
+	static class CountingWidget extends Widget {
+		float prefWidth = 10, prefHeight = 10;
+		int layouts;
+
+		public void layout () {
+			layouts++;
+		}
+
+		public float getPrefWidth () {
+			return prefWidth;
+		}
+
+		public float getPrefHeight () {
+			return prefHeight;
+		}
+
+		void setPrefSize (float prefWidth, float prefHeight) {
+			this.prefWidth = prefWidth;
+			this.prefHeight = prefHeight;
+			invalidateHierarchy();
+		}
+	}
+
+	static class CountingTable extends Table {
+		int layouts;
+
+		public void layout () {
+			layouts++;
+			super.layout();
+		}
+	}
+
+	private Stage stage;
+	private CountingTable table, inner;
+	private CountingWidget[] widgets;
+
+	private void createStage () {
+		// The camera isn't updated, as the matrix operations require the natives.
+		final OrthographicCamera camera = new OrthographicCamera() {
+			public void update (boolean updateFrustum) {
+			}
+		};
+		stage = new Stage(new ScalingViewport(Scaling.stretch, 100, 100, camera), stub(Batch.class));
+		table = new CountingTable();
+		inner = new CountingTable();
+		widgets = new CountingWidget[6];
+		for (int i = 0; i < widgets.length; i++) {
+			widgets[i] = new CountingWidget();
+			(i < 3 ? table : inner).add(widgets[i]);
+		}
+		table.add(inner);
+		table.setSize(100, 100);
+		stage.addActor(table);
+		stage.validate();
+	}
+
+	@Test
+	public void testInitialLayout () {
+		createStage();
+		assertEquals(1, table.layouts);
+		assertEquals(1, inner.layouts);
+		for (CountingWidget widget : widgets)
+			assertEquals(1, widget.layouts);
+		assertEquals(8, stage.layoutCount);
+	}
+
+	@Test
+	public void testOneLayoutPerFrame () {
+		createStage();
+		final int layoutCount = stage.layoutCount;
+		// many changes during a frame cause a single layout of the tables
+		for (int i = 0; i < 10; i++)
+			for (CountingWidget widget : widgets)
+				widget.setPrefSize(10 + i, 10 + i);
+		assertEquals(1, table.layouts);
+		stage.validate();
+		assertEquals(2, table.layouts);
+		assertEquals(2, inner.layouts);
+		for (CountingWidget widget : widgets)
+			assertEquals(2, widget.layouts);
+		assertEquals(layoutCount + 8, stage.layoutCount);
+		// nothing changed, nothing is laid out
+		stage.validate();
+		assertEquals(layoutCount + 8, stage.layoutCount);
+	}
+
+	@Test
+	public void testInvalidateWithoutPrefSizeChange () {
+		createStage();
+		final int layoutCount = stage.layoutCount;
+		// invalidating a widget only lays out the widget, not its parents
+		widgets[4].invalidate();
+		widgets[4].invalidate();
+		stage.validate();
+		assertEquals(2, widgets[4].layouts);
+		assertEquals(1, inner.layouts);
+		assertEquals(1, table.layouts);
+		assertEquals(layoutCount + 1, stage.layoutCount);
+	}
+
+	@Test
+	public void testInvisible () {
+		createStage();
+		inner.setVisible(false);
+		widgets[4].invalidate();
+		widgets[1].invalidate();
+		stage.validate();
+		// invisible widgets are laid out when they are drawn
+		assertEquals(1, widgets[4].layouts);
+		assertEquals(2, widgets[1].layouts);
+		inner.setVisible(true);
+		stage.validate();
+		assertEquals(1, widgets[4].layouts);
+		widgets[4].validate();
+		assertEquals(2, widgets[4].layouts);
+	}
+
+	@Test
+	public void testTweensOfRemovedActors () {
+		createStage();
+		final TweenScheduler tweens = stage.getTweens();
+		final float x0 = widgets[0].getX(), x1 = widgets[1].getX();
+		final int moved = tweens.to(widgets[0], TweenScheduler.X, 50, 1);
+		final int removed = tweens.to(widgets[1], TweenScheduler.X, 50, 1);
+		final int notAdded = tweens.to(new Actor(), TweenScheduler.X, 50, 1);
+		// moving an actor within the stage keeps its tweens
+		inner.add(widgets[0]);
+		widgets[1].remove();
+		tweens.update(0.5f);
+		assertTrue(tweens.isActive(moved));
+		assertFalse(tweens.isActive(removed));
+		assertFalse(tweens.isActive(notAdded));
+		assertEquals(x0 + (50 - x0) / 2, widgets[0].getX(), 0.0001f);
+		assertEquals(x1, widgets[1].getX(), 0);
+		assertEquals(1, tweens.size());
+	}
+}
@@ -0,0 +1,156 @@
+package com.badlogic.gdx.scenes.scene2d.actions;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+
+public class TweenSchedulerTest {
+	@Test
+	public void testTo () {
+		final TweenScheduler tweens = new TweenScheduler();
+		final Actor actor = new Actor();
+		actor.setX(10);
+		final int handle = tweens.to(actor, TweenScheduler.X, 20, 1);
+		assertTrue(tweens.isActive(handle));
+		tweens.update(0.25f);
+		assertEquals(12.5f, actor.getX(), 0.0001f);
+		tweens.update(0.5f);
+		assertEquals(17.5f, actor.getX(), 0.0001f);
+		tweens.update(0.5f);
+		assertEquals(20, actor.getX(), 0);
+		assertFalse(tweens.isActive(handle));
+		assertEquals(0, tweens.size());
+	}
+
+	@Test
+	public void testDelay () {
+		final TweenScheduler tweens = new TweenScheduler();
+		final Actor actor = new Actor();
+		final int handle = tweens.by(actor, TweenScheduler.ALPHA, -1, 1, 0.5f, null, null);
+		tweens.update(0.25f);
+		// the start value is taken when the delay elapsed
+		actor.getColor().a = 0.5f;
+		tweens.update(0.25f);
+		assertEquals(0.5f, actor.getColor().a, 0);
+		tweens.update(0.5f);
+		assertEquals(0, actor.getColor().a, 0.0001f);
+		assertTrue(tweens.isActive(handle));
+		tweens.update(0.5f);
+		assertEquals(-0.5f, actor.getColor().a, 0.0001f);
+		assertFalse(tweens.isActive(handle));
+	}
+
+	@Test
+	public void testInterpolationAndZeroDuration () {
+		final TweenScheduler tweens = new TweenScheduler();
+		final Actor actor = new Actor();
+		tweens.to(actor, TweenScheduler.WIDTH, 100, 1, 0, Interpolation.pow2In, null);
+		tweens.to(actor, TweenScheduler.ROTATION, 90, 0);
+		tweens.update(0.5f);
+		assertEquals(25, actor.getWidth(), 0.0001f);
+		assertEquals(90, actor.getRotation(), 0);
+		assertEquals(1, tweens.size());
+	}
+
+	@Test
+	public void testRepeat () {
+		// tweens are repeated by adding them again from the completion
+		final TweenScheduler tweens = new TweenScheduler();
+		final Actor actor = new Actor();
+		final int[] repeats = new int[1];
+		final Runnable repeat = new Runnable() {
+			public void run () {
+				if (++repeats[0] < 3) tweens.by(actor, TweenScheduler.Y, 10, 1, 0, null, this);
+			}
+		};
+		tweens.by(actor, TweenScheduler.Y, 10, 1, 0, null, repeat);
+		for (int i = 0; i < 10; i++)
+			tweens.update(0.5f);
+		assertEquals(3, repeats[0]);
+		assertEquals(30, actor.getY(), 0);
+		assertEquals(0, tweens.size());
+	}
+
+	@Test
+	public void testCancel () {
+		final TweenScheduler tweens = new TweenScheduler();
+		final Actor a = new Actor(), b = new Actor();
+		final boolean[] completed = new boolean[1];
+		final int handle = tweens.to(a, TweenScheduler.X, 10, 1, 0, null, new Runnable() {
+			public void run () {
+				completed[0] = true;
+			}
+		});
+		tweens.to(a, TweenScheduler.Y, 10, 1);
+		final int other = tweens.to(b, TweenScheduler.X, 10, 1);
+		tweens.update(0.5f);
+		assertTrue(tweens.cancel(handle));
+		assertFalse(tweens.cancel(handle));
+		assertFalse(tweens.isActive(handle));
+		assertEquals(1, tweens.cancel(a));
+		assertEquals(1, tweens.size());
+		tweens.update(1);
+		assertFalse(completed[0]);
+		assertEquals(5, a.getX(), 0);
+		assertEquals(5, a.getY(), 0);
+		assertEquals(10, b.getX(), 0);
+		assertFalse(tweens.isActive(other));
+		tweens.to(a, TweenScheduler.X, 10, 1);
+		tweens.clear();
+		assertEquals(0, tweens.size());
+	}
+
+	/** An actor which cancels tweens when its position changes, to cancel while the scheduler updates. */
+	static class CancellingActor extends Actor {
+		TweenScheduler tweens;
+		int handle;
+		Actor target;
+
+		protected void positionChanged () {
+			if (target != null) tweens.cancel(target);
+			if (handle != 0) tweens.cancel(handle);
+		}
+	}
+
+	@Test
+	public void testCancelWhileUpdating () {
+		final TweenScheduler tweens = new TweenScheduler();
+		final CancellingActor actor = new CancellingActor();
+		actor.tweens = tweens;
+		final Actor a = new Actor(), b = new Actor(), c = new Actor();
+		final int first = tweens.to(a, TweenScheduler.X, 10, 1);
+		final int self = tweens.to(actor, TweenScheduler.X, 10, 1);
+		tweens.to(b, TweenScheduler.X, 10, 1);
+		final int last = tweens.to(c, TweenScheduler.X, 10, 1);
+		// cancels a tween which was already updated and one which wasn't, the others must still be updated this frame
+		actor.handle = first;
+		actor.target = c;
+		tweens.update(0.5f);
+		assertFalse(tweens.isActive(first));
+		assertFalse(tweens.isActive(last));
+		assertTrue(tweens.isActive(self));
+		assertEquals(2, tweens.size());
+		assertEquals(5, a.getX(), 0);
+		assertEquals(5, actor.getX(), 0);
+		assertEquals(5, b.getX(), 0);
+		assertEquals(0, c.getX(), 0);
+		// a tween cancelling itself doesn't complete and doesn't remove another tween
+		assertTrue(tweens.cancel(self));
+		final boolean[] completed = new boolean[1];
+		actor.target = null;
+		actor.handle = tweens.to(actor, TweenScheduler.X, 15, 0.25f, 0, null, new Runnable() {
+			public void run () {
+				completed[0] = true;
+			}
+		});
+		tweens.update(0.25f);
+		assertFalse(tweens.isActive(actor.handle));
+		assertFalse(completed[0]);
+		assertEquals(15, actor.getX(), 0);
+		assertEquals(7.5f, b.getX(), 0);
+		assertEquals(1, tweens.size());
+	}
+}
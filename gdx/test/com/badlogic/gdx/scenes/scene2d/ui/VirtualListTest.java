@@ -0,0 +1,158 @@
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualList.RowAdapter;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualTree.TreeModel;
+import com.badlogic.gdx.utils.Array;
+
+public class VirtualListTest {
+	static class Adapter extends RowAdapter<Integer> {
+		int created;
+		boolean variable;
+
+		public Actor newRow () {
+			created++;
+			return new Actor();
+		}
+
+		public void bind (Actor row, int index, Integer item) {
+			row.setName(String.valueOf(item));
+		}
+
+		public float getRowHeight (int index, Integer item) {
+			return variable ? 10 + (index % 2) * 10 : -1;
+		}
+	}
+
+	static Array<Integer> items (int count) {
+		final Array<Integer> items = new Array<Integer>();
+		for (int i = 0; i < count; i++)
+			items.add(i);
+		return items;
+	}
+
+	@Test
+	public void testFixedRows () {
+		final VirtualList<Integer> list = new VirtualList<Integer>(new Adapter(), 10);
+		list.setItems(items(5));
+		assertEquals(50, list.getPrefHeight(), 0);
+		assertEquals(30, list.getRowTop(3), 0);
+		assertEquals(0, list.getRowAt(0));
+		assertEquals(0, list.getRowAt(9.9f));
+		assertEquals(1, list.getRowAt(10));
+		assertEquals(4, list.getRowAt(49.9f));
+		assertEquals(-1, list.getRowAt(50));
+		assertEquals(-1, list.getRowAt(500));
+		assertEquals(-1, list.getRowAt(-1));
+		list.setHeight(50);
+		assertEquals(10, list.getRowY(3), 0);
+	}
+
+	@Test
+	public void testVariableRows () {
+		final Adapter adapter = new Adapter();
+		adapter.variable = true;
+		final VirtualList<Integer> list = new VirtualList<Integer>(adapter, 10);
+		list.setItems(items(5));
+		// 10, 20, 10, 20, 10
+		assertEquals(70, list.getPrefHeight(), 0);
+		assertEquals(40, list.getRowTop(3), 0);
+		assertEquals(0, list.getRowAt(0));
+		assertEquals(1, list.getRowAt(10));
+		assertEquals(1, list.getRowAt(29.9f));
+		assertEquals(2, list.getRowAt(30));
+		assertEquals(4, list.getRowAt(69.9f));
+		assertEquals(-1, list.getRowAt(70));
+		assertEquals(-1, list.getRowAt(500));
+		assertEquals(-1, list.getRowAt(-1));
+
+		adapter.variable = false;
+		list.itemsChanged();
+		assertEquals(50, list.getPrefHeight(), 0);
+		assertEquals(30, list.getRowTop(3), 0);
+		assertEquals(3, list.getRowAt(35));
+
+		// the first row with another height is the last one
+		adapter.variable = true;
+		list.setItems(items(2));
+		assertEquals(30, list.getPrefHeight(), 0);
+		assertEquals(10, list.getRowTop(1), 0);
+		assertEquals(1, list.getRowAt(29.9f));
+	}
+
+	@Test
+	public void testEmpty () {
+		final VirtualList<Integer> list = new VirtualList<Integer>(new Adapter(), 10);
+		assertEquals(0, list.getPrefHeight(), 0);
+		assertEquals(-1, list.getRowAt(0));
+		list.setSize(100, 100);
+		list.layout();
+		assertEquals(0, list.getChildren().size);
+	}
+
+	@Test
+	public void testVisibleRows () {
+		final Adapter adapter = new Adapter();
+		final VirtualList<Integer> list = new VirtualList<Integer>(adapter, 10);
+		list.setItems(items(1000));
+		list.setSize(100, list.getPrefHeight());
+		// the top three rows are visible
+		list.setCullingArea(new Rectangle(0, 10000 - 25, 100, 25));
+		list.layout();
+		assertEquals(3, adapter.created);
+		assertEquals("0", list.getRow(0).getName());
+		assertEquals("2", list.getRow(2).getName());
+		assertNull(list.getRow(3));
+		assertEquals(9990, list.getRow(0).getY(), 0);
+		assertEquals(100, list.getRow(0).getWidth(), 0);
+		// scrolling reuses the rows
+		list.getCullingArea().y = 5001;
+		list.layout();
+		assertEquals(3, adapter.created);
+		assertNull(list.getRow(0));
+		assertEquals("498", list.getRow(498).getName());
+		// a culling area below the list has no rows
+		list.getCullingArea().y = -100;
+		list.layout();
+		assertNull(list.getRow(999));
+		assertNull(list.getRow(498));
+	}
+
+	@Test
+	public void testTree () {
+		final TreeModel<Integer> model = new TreeModel<Integer>() {
+			public int getChildCount (Integer node) {
+				return node < 100 ? 2 : 0;
+			}
+
+			public Integer getChild (Integer node, int index) {
+				return node * 10 + 10 + index;
+			}
+		};
+		final VirtualTree<Integer> tree = new VirtualTree<Integer>(model, new Adapter(), 10);
+		tree.setRoots(items(2));
+		assertEquals(2, tree.getList().getItems().size);
+		tree.setExpanded(1, true);
+		assertEquals(new Array<Integer>(new Integer[] {0, 1, 20, 21}), tree.getList().getItems());
+		assertEquals(1, tree.getDepth(2));
+		assertEquals(40, tree.getPrefHeight(), 0);
+		tree.setExpanded(20, true);
+		assertEquals(new Array<Integer>(new Integer[] {0, 1, 20, 210, 211, 21}), tree.getList().getItems());
+		assertEquals(2, tree.getDepth(3));
+		tree.setExpanded(1, false);
+		assertEquals(2, tree.getList().getItems().size);
+		tree.expandAll();
+		assertEquals(14, tree.getList().getItems().size);
+		tree.collapseAll();
+		assertEquals(2, tree.getList().getItems().size);
+		tree.setSize(100, 20);
+		tree.validate();
+		assertEquals(100, tree.getList().getWidth(), 0);
+		assertEquals(20, tree.getList().getHeight(), 0);
+	}
+}
@@ -0,0 +1,117 @@
+package com.badlogic.gdx.utils.compression;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ChunkedLzmaTest {
+	private final Random random = new Random(7);
+
+	private byte[] createData (int length) {
+		final String[] words = {"libgdx ", "texture ", "atlas ", "sprite ", "batch ", "mesh ", "shader "};
+		final byte[] data = new byte[length];
+		for (int i = 0; i < length;) {
+			if (random.nextInt(8) == 0) {
+				data[i++] = (byte)random.nextInt();
+				continue;
+			}
+			final String word = words[random.nextInt(words.length)];
+			for (int j = 0; j < word.length() && i < length; j++)
+				data[i++] = (byte)word.charAt(j);
+		}
+		return data;
+	}
+
+	private byte[] compress (byte[] data, int blockSize, AsyncExecutor executor) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ChunkedLzma.compress(new ByteArrayInputStream(data), out, blockSize, executor, 4);
+		return out.toByteArray();
+	}
+
+	private byte[] decompress (byte[] compressed, AsyncExecutor executor) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ChunkedLzma.decompress(new ByteArrayInputStream(compressed), out, executor, 4);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void testRoundTrip () throws IOException {
+		final byte[] data = createData(300000);
+		final byte[] compressed = compress(data, 1 << 16, null);
+		assertTrue(compressed.length < data.length / 2);
+		assertArrayEquals(data, decompress(compressed, null));
+
+		final AsyncExecutor executor = new AsyncExecutor(4);
+		try {
+			assertArrayEquals(compressed, compress(data, 1 << 16, executor));
+			assertArrayEquals(data, decompress(compressed, executor));
+		} finally {
+			executor.dispose();
+		}
+
+		assertArrayEquals(new byte[0], decompress(compress(new byte[0], 1 << 16, null), null));
+	}
+
+	@Test
+	public void testStreams () throws IOException {
+		final byte[] data = createData(50000);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final ChunkedLzmaOutputStream output = new ChunkedLzmaOutputStream(out, 1000, null, 1);
+		for (int i = 0; i < data.length;) {
+			if (i % 3 == 0)
+				output.write(data[i++]);
+			else {
+				final int count = Math.min(random.nextInt(3000), data.length - i);
+				output.write(data, i, count);
+				i += count;
+			}
+		}
+		output.close();
+
+		final ChunkedLzmaInputStream input = new ChunkedLzmaInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(1000, input.getBlockSize());
+		assertEquals(data[0], (byte)input.read());
+		assertEquals(2000, input.skip(2000));
+		final byte[] rest = new byte[data.length - 2001];
+		ChunkedLzma.readFully(input, rest, 0, rest.length);
+		for (int i = 0; i < rest.length; i++)
+			assertEquals(data[2001 + i], rest[i]);
+		assertEquals(-1, input.read());
+		input.close();
+	}
+
+	@Test
+	public void testReader () throws IOException {
+		final byte[] data = createData(100000);
+		final ChunkedLzmaReader reader = new ChunkedLzmaReader(compress(data, 7000, null));
+		assertEquals(100000, reader.getSize());
+		assertEquals(15, reader.getBlockCount());
+		assertEquals(100000 - 14 * 7000, reader.getBlockLength(14));
+		assertEquals(14, reader.findBlock(99999));
+		assertEquals(-1, reader.findBlock(100000));
+
+		final byte[] block = reader.readBlock(3);
+		for (int i = 0; i < block.length; i++)
+			assertEquals(data[3 * 7000 + i], block[i]);
+
+		for (int i = 0; i < 20; i++) {
+			final int position = random.nextInt(data.length), length = random.nextInt(Math.min(20000, data.length - position));
+			final byte[] range = new byte[length + 2];
+			reader.read(position, range, 1, length);
+			for (int j = 0; j < length; j++)
+				assertEquals(data[position + j], range[j + 1]);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalid () throws IOException {
+		new ChunkedLzmaInputStream(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.collision.Broadphase;
+import com.badlogic.gdx.math.collision.Broadphase.PairCallback;
+import com.badlogic.gdx.math.collision.DynamicAabbTree;
+import com.badlogic.gdx.math.collision.SweepAndPrune;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares finding the overlapping pairs of moving boxes with naive checks of every pair against {@link SweepAndPrune} and
+ * {@link DynamicAabbTree}. Touch to double the number of boxes. */
+public class BroadphaseBench extends GdxTest {
+	static final float WORLD_SIZE = 1000, BOX_SIZE = 8, SPEED = 30;
+
+	private SpriteBatch batch;
+	private BitmapFont font;
+	private int count;
+	private Rectangle[] rectangles;
+	private float[] bounds, velocities;
+	private Broadphase[] broadphases;
+	private int[][] proxies;
+	private final long[] times = new long[3];
+	private final int[] pairs = new int[3];
+	private int frames;
+	private int pairCount;
+	private final PairCallback counter = new PairCallback() {
+		@Override
+		public void pair (int proxyA, int proxyB) {
+			pairCount++;
+		}
+	};
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		setCount(1000);
+	}
+
+	private void setCount (int count) {
+		this.count = count;
+		rectangles = new Rectangle[count];
+		bounds = new float[count * 4];
+		velocities = new float[count * 2];
+		for (int i = 0; i < count; i++) {
+			final float x = MathUtils.random(WORLD_SIZE), y = MathUtils.random(WORLD_SIZE);
+			final float width = MathUtils.random(1, BOX_SIZE), height = MathUtils.random(1, BOX_SIZE);
+			rectangles[i] = new Rectangle(x, y, width, height);
+			velocities[i * 2] = MathUtils.random(-SPEED, SPEED);
+			velocities[i * 2 + 1] = MathUtils.random(-SPEED, SPEED);
+		}
+		toBounds();
+		broadphases = new Broadphase[] {new SweepAndPrune(2, count), new DynamicAabbTree(2, 2, count)};
+		proxies = new int[broadphases.length][count];
+		for (int b = 0; b < broadphases.length; b++)
+			for (int i = 0; i < count; i++)
+				proxies[b][i] = broadphases[b].add(bounds, i * 4);
+		resetTimes();
+	}
+
+	private void toBounds () {
+		for (int i = 0; i < count; i++) {
+			final Rectangle rectangle = rectangles[i];
+			bounds[i * 4] = rectangle.x;
+			bounds[i * 4 + 1] = rectangle.y;
+			bounds[i * 4 + 2] = rectangle.x + rectangle.width;
+			bounds[i * 4 + 3] = rectangle.y + rectangle.height;
+		}
+	}
+
+	private void resetTimes () {
+		frames = 0;
+		for (int i = 0; i < times.length; i++)
+			times[i] = 0;
+	}
+
+	private void move (float delta) {
+		for (int i = 0; i < count; i++) {
+			final Rectangle rectangle = rectangles[i];
+			rectangle.x += velocities[i * 2] * delta;
+			rectangle.y += velocities[i * 2 + 1] * delta;
+			if (rectangle.x < 0 || rectangle.x > WORLD_SIZE) velocities[i * 2] = -velocities[i * 2];
+			if (rectangle.y < 0 || rectangle.y > WORLD_SIZE) velocities[i * 2 + 1] = -velocities[i * 2 + 1];
+		}
+		toBounds();
+	}
+
+	/** Like {@link Broadphase}, and unlike {@link Rectangle#overlaps(Rectangle)}, boxes which only touch are overlapping. */
+	static boolean overlaps (Rectangle a, Rectangle b) {
+		return a.x <= b.x + b.width && b.x <= a.x + a.width && a.y <= b.y + b.height && b.y <= a.y + a.height;
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) setCount(count * 2);
+		move(Math.min(Gdx.graphics.getDeltaTime(), 0.1f));
+
+		long start = TimeUtils.nanoTime();
+		int naivePairs = 0;
+		for (int a = 0; a < count; a++)
+			for (int b = a + 1; b < count; b++)
+				if (overlaps(rectangles[a], rectangles[b])) naivePairs++;
+		times[0] += TimeUtils.nanoTime() - start;
+		pairs[0] = naivePairs;
+
+		for (int b = 0; b < broadphases.length; b++) {
+			final Broadphase broadphase = broadphases[b];
+			start = TimeUtils.nanoTime();
+			for (int i = 0; i < count; i++)
+				broadphase.update(proxies[b][i], bounds, i * 4);
+			pairCount = 0;
+			broadphase.findPairs(counter);
+			times[b + 1] += TimeUtils.nanoTime() - start;
+			pairs[b + 1] = pairCount;
+		}
+		frames++;
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, count + " boxes, touch to double", 10, 100);
+		font.draw(batch, "Naive: " + format(0), 10, 80);
+		font.draw(batch, "SweepAndPrune: " + format(1), 10, 60);
+		font.draw(batch, "DynamicAabbTree: " + format(2), 10, 40);
+		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		batch.end();
+	}
+
+	private String format (int index) {
+		return pairs[index] + " pairs, " + (times[index] / frames / 1000) + " us";
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
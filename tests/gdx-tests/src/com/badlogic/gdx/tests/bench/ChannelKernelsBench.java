@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.particles.ChannelKernels;
+import com.badlogic.gdx.graphics.g3d.particles.values.ScaledNumericValue;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares activating and updating the channels of a {@link com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer}
+ * with per particle scalar loops against the {@link ChannelKernels}. The channels have the stride of the particle system, two
+ * floats for the interpolation and one for the value and life percent. Touch to double the number of particles. */
+public class ChannelKernelsBench extends GdxTest {
+	static final int STRIDE = 2;
+
+	private SpriteBatch batch;
+	private BitmapFont font;
+	private int count;
+	private float[] interpolation, values, life;
+	private final ScaledNumericValue value = new ScaledNumericValue();
+	private final long[] times = new long[2];
+	private final float[] checksums = new float[2];
+	private int frames;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		value.setLow(0.5f, 1f);
+		value.setHigh(2f, 3f);
+		value.setScaling(new float[] {0, 1, 0.5f});
+		value.setTimeline(new float[] {0, 0.5f, 1});
+		setCount(100000);
+	}
+
+	private void setCount (int count) {
+		this.count = count;
+		interpolation = new float[count * STRIDE];
+		values = new float[count];
+		life = new float[count];
+		for (int i = 0; i < count; i++)
+			life[i] = MathUtils.random();
+		frames = 0;
+		times[0] = times[1] = 0;
+	}
+
+	private void scalar (float scale) {
+		for (int i = 0, a = 0; i < count; i++, a += STRIDE) {
+			final float start = value.newLowValue() * scale;
+			final float diff = value.newHighValue() * scale - start;
+			interpolation[a] = start;
+			interpolation[a + 1] = diff;
+			values[i] = start + diff * value.getScale(0);
+		}
+		for (int i = 0, a = 0; i < count; i++, a += STRIDE)
+			values[i] = interpolation[a] + interpolation[a + 1] * value.getScale(life[i]);
+	}
+
+	private void kernels (float scale) {
+		ChannelKernels.random(interpolation, 0, STRIDE, count, value.getLowMin() * scale, value.getLowMax() * scale);
+		ChannelKernels.random(interpolation, 1, STRIDE, count, value.getHighMin() * scale, value.getHighMax() * scale);
+		ChannelKernels.axpy(-1, interpolation, 0, STRIDE, interpolation, 1, STRIDE, count);
+		ChannelKernels.lerp(interpolation, 0, STRIDE, interpolation, 1, STRIDE, value.getScale(0), values, 0, 1, count);
+		ChannelKernels.scale(value, life, 0, 1, values, 0, 1, count);
+		ChannelKernels.mulAdd(interpolation, 0, STRIDE, interpolation, 1, STRIDE, values, 0, 1, values, 0, 1, count);
+	}
+
+	private float checksum () {
+		float sum = 0;
+		for (int i = 0; i < count; i++)
+			sum += values[i];
+		return sum / count;
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) setCount(count * 2);
+
+		long start = TimeUtils.nanoTime();
+		scalar(2);
+		times[0] += TimeUtils.nanoTime() - start;
+		checksums[0] = checksum();
+
+		start = TimeUtils.nanoTime();
+		kernels(2);
+		times[1] += TimeUtils.nanoTime() - start;
+		checksums[1] = checksum();
+		frames++;
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, count + " particles, touch to double", 10, 80);
+		font.draw(batch, "Scalar: " + format(0), 10, 60);
+		font.draw(batch, "ChannelKernels: " + format(1), 10, 40);
+		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		batch.end();
+	}
+
+	private String format (int index) {
+		return (times[index] / frames / 1000) + " us, mean value " + checksums[index];
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
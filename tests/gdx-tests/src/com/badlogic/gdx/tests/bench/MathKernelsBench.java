@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathKernels;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares transforming boxes by a rotating matrix and culling them against the camera frustum one {@link BoundingBox} at a time,
+ * using {@link BoundingBox#mul(Matrix4)} and {@link com.badlogic.gdx.math.Frustum#boundsInFrustum(BoundingBox)}, against
+ * {@link MathKernels#transformBoxes(Matrix4, float[], float[], int, int, int)} and
+ * {@link MathKernels#cullBoxes(com.badlogic.gdx.math.Frustum, float[], int, boolean[], int, int)}. Touch to double the number of
+ * boxes. */
+public class MathKernelsBench extends GdxTest {
+	private SpriteBatch batch;
+	private BitmapFont font;
+	private PerspectiveCamera camera;
+	private final Matrix4 transform = new Matrix4();
+	private final BoundingBox tmp = new BoundingBox();
+	private int count;
+	private BoundingBox[] localBounds;
+	private float[] boxes, worldBoxes;
+	private boolean[] visible;
+	private final long[] times = new long[2];
+	private final int[] visibleCounts = new int[2];
+	private int frames;
+	private float angle;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		camera = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		camera.position.set(0, 0, 150);
+		camera.lookAt(0, 0, 0);
+		camera.near = 1;
+		camera.far = 300;
+		camera.update();
+		setCount(100000);
+	}
+
+	private void setCount (int count) {
+		this.count = count;
+		localBounds = new BoundingBox[count];
+		boxes = new float[count * 6];
+		worldBoxes = new float[count * 6];
+		visible = new boolean[count];
+		final Vector3 min = new Vector3(), max = new Vector3();
+		for (int i = 0; i < count; i++) {
+			min.set(MathUtils.random(-200f, 200f), MathUtils.random(-200f, 200f), MathUtils.random(-200f, 200f));
+			max.set(min).add(MathUtils.random(0.5f, 5f), MathUtils.random(0.5f, 5f), MathUtils.random(0.5f, 5f));
+			localBounds[i] = new BoundingBox(min, max);
+			MathKernels.setBox(boxes, count, i, localBounds[i]);
+		}
+		frames = 0;
+		times[0] = times[1] = 0;
+	}
+
+	private int scalar () {
+		int result = 0;
+		for (int i = 0; i < count; i++)
+			if (camera.frustum.boundsInFrustum(tmp.set(localBounds[i]).mul(transform))) result++;
+		return result;
+	}
+
+	private int kernels () {
+		MathKernels.transformBoxes(transform, boxes, worldBoxes, count, 0, count);
+		return MathKernels.cullBoxes(camera.frustum, worldBoxes, count, visible, 0, count);
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) setCount(count * 2);
+
+		angle += Gdx.graphics.getDeltaTime() * 20;
+		transform.setToRotation(Vector3.Y, angle);
+
+		long start = TimeUtils.nanoTime();
+		visibleCounts[0] = scalar();
+		times[0] += TimeUtils.nanoTime() - start;
+
+		start = TimeUtils.nanoTime();
+		visibleCounts[1] = kernels();
+		times[1] += TimeUtils.nanoTime() - start;
+		frames++;
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, count + " boxes, touch to double", 10, 80);
+		font.draw(batch, "BoundingBox: " + format(0), 10, 60);
+		font.draw(batch, "MathKernels: " + format(1), 10, 40);
+		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		batch.end();
+	}
+
+	private String format (int index) {
+		return (times[index] / frames / 1000) + " us, " + visibleCounts[index] + " visible";
+	}
+
+	@Override
+	public void resize (int width, int height) {
+		camera.viewportWidth = width;
+		camera.viewportHeight = height;
+		camera.update();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
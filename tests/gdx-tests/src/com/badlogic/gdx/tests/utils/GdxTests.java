@@ -37,6 +37,9 @@ import java.util.Collections;
 import java.util.List;
 
 import com.badlogic.gdx.tests.*;
+import com.badlogic.gdx.tests.bench.BroadphaseBench;
+import com.badlogic.gdx.tests.bench.ChannelKernelsBench;
+import com.badlogic.gdx.tests.bench.MathKernelsBench;
 import com.badlogic.gdx.tests.bench.TiledMapBench;
 import com.badlogic.gdx.tests.conformance.DisplayModeTest;
 import com.badlogic.gdx.tests.examples.MoveSpriteExample;
@@ -109,8 +112,10 @@ public class GdxTests {
 		Box2DTest.class,
 		Box2DTestCollection.class,
 		Bresenham2Test.class,
+		BroadphaseBench.class,
 		BufferUtilsTest.class,
 		BulletTestCollection.class,
+		ChannelKernelsBench.class,
 		CollectionsTest.class,
 		ColorTest.class,
 		ContainerTest.class,
@@ -165,6 +170,7 @@ public class GdxTests {
 		LightsTest.class,
 		MaterialTest.class,
 		MaterialEmissiveTest.class,
+		MathKernelsBench.class,
 		MatrixJNITest.class,
 		MeshBuilderTest.class,
 		MeshShaderTest.class,